@@ -75,7 +75,7 @@ class AudioDeviceHandlerConnectionService implements
             case AudioModeModule.DEVICE_SPEAKER:
                 return CallAudioState.ROUTE_SPEAKER;
             default:
-                JitsiMeetLogger.e(TAG + " Unsupported device name: " + audioDevice);
+                JitsiMeetLogger.e("%s Unsupported device name: %s", TAG, audioDevice);
                 return CallAudioState.ROUTE_SPEAKER;
         }
     }
@@ -129,7 +129,7 @@ class AudioDeviceHandlerConnectionService implements
                     supportedRouteMask = newSupportedRoutes;
                     Set<String> devices = routesToDeviceNames(supportedRouteMask);
                     module.replaceDevices(devices);
-                    JitsiMeetLogger.i(TAG + " Available audio devices: " + devices.toString());
+                    JitsiMeetLogger.i("%s Available audio devices: %s", TAG, devices);
                 }
 
                 if (audioRouteChanged || audioDevicesChanged) {
@@ -142,7 +142,7 @@ class AudioDeviceHandlerConnectionService implements
 
     @Override
     public void start(AudioModeModule audioModeModule) {
-        JitsiMeetLogger.i("Using " + TAG + " as the audio device handler");
+        JitsiMeetLogger.i("Using %s as the audio device handler", TAG);
 
         module = audioModeModule;
         rcs = module.getContext().getNativeModule(RNConnectionService.class);
@@ -101,7 +101,7 @@ class AudioDeviceHandlerGeneric implements
 
             module.replaceDevices(devices);
 
-            JitsiMeetLogger.i(TAG + " Available audio devices: " + devices.toString());
+            JitsiMeetLogger.i("%s Available audio devices: %s", TAG, devices);
 
             module.updateAudioRoute();
         }
@@ -112,14 +112,14 @@ class AudioDeviceHandlerGeneric implements
             @Override
             public void onAudioDevicesAdded(
                 AudioDeviceInfo[] addedDevices) {
-                JitsiMeetLogger.d(TAG + " Audio devices added");
+                JitsiMeetLogger.d("%s Audio devices added", TAG);
                 onAudioDeviceChange();
             }
 
             @Override
             public void onAudioDevicesRemoved(
                 AudioDeviceInfo[] removedDevices) {
-                JitsiMeetLogger.d(TAG + " Audio devices removed");
+                JitsiMeetLogger.d("%s Audio devices removed", TAG);
                 onAudioDeviceChange();
             }
         };
@@ -149,7 +149,7 @@ class AudioDeviceHandlerGeneric implements
             public void run() {
                 switch (focusChange) {
                     case AudioManager.AUDIOFOCUS_GAIN: {
-                        JitsiMeetLogger.d(TAG + " Audio focus gained");
+                        JitsiMeetLogger.d("%s Audio focus gained", TAG);
                         // Some other application potentially stole our audio focus
                         // temporarily. Restore our mode.
                         if (audioFocusLost) {
@@ -161,7 +161,7 @@ class AudioDeviceHandlerGeneric implements
                     case AudioManager.AUDIOFOCUS_LOSS:
                     case AudioManager.AUDIOFOCUS_LOSS_TRANSIENT:
                     case AudioManager.AUDIOFOCUS_LOSS_TRANSIENT_CAN_DUCK: {
-                        JitsiMeetLogger.d(TAG + " Audio focus lost");
+                        JitsiMeetLogger.d("%s Audio focus lost", TAG);
                         audioFocusLost = true;
                         break;
                     }
@@ -187,7 +187,7 @@ class AudioDeviceHandlerGeneric implements
 
     @Override
     public void start(AudioModeModule audioModeModule) {
-        JitsiMeetLogger.i("Using " + TAG + " as the audio device handler");
+        JitsiMeetLogger.i("Using %s as the audio device handler", TAG);
 
         module = audioModeModule;
 
@@ -245,7 +245,7 @@ class AudioDeviceHandlerGeneric implements
         }
 
         if (gotFocus == AudioManager.AUDIOFOCUS_REQUEST_FAILED) {
-            JitsiMeetLogger.w(TAG + " Audio focus request failed");
+            JitsiMeetLogger.w("%s Audio focus request failed", TAG);
             return false;
         }
 
@@ -200,7 +200,7 @@ class AudioModeModule extends ReactContextBaseJavaModule {
                     data.pushMap(deviceInfo);
                 }
                 getContext().getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class).emit(DEVICE_CHANGE_EVENT, data);
-                JitsiMeetLogger.i(TAG + " Updating audio device list");
+                JitsiMeetLogger.i("%s Updating audio device list", TAG);
             }
         });
     }
@@ -267,13 +267,13 @@ class AudioModeModule extends ReactContextBaseJavaModule {
             @Override
             public void run() {
                 if (!availableDevices.contains(device)) {
-                    JitsiMeetLogger.w(TAG + " Audio device not available: " + device);
+                    JitsiMeetLogger.w("%s Audio device not available: %s", TAG, device);
                     userSelectedDevice = null;
                     return;
                 }
 
                 if (mode != -1) {
-                    JitsiMeetLogger.i(TAG + " User selected device set to: " + device);
+                    JitsiMeetLogger.i("%s User selected device set to: %s", TAG, device);
                     userSelectedDevice = device;
                     updateAudioRoute(mode, false);
                 }
@@ -313,7 +313,7 @@ class AudioModeModule extends ReactContextBaseJavaModule {
                     success = updateAudioRoute(mode, false);
                 } catch (Throwable e) {
                     success = false;
-                    JitsiMeetLogger.e(e, TAG + " Failed to update audio route for mode: " + mode);
+                    JitsiMeetLogger.e(e, "%s Failed to update audio route for mode: %d", TAG, mode);
                 }
                 if (success) {
                     AudioModeModule.this.mode = mode;
@@ -350,7 +350,7 @@ class AudioModeModule extends ReactContextBaseJavaModule {
      * {@code false}, otherwise.
      */
     private boolean updateAudioRoute(int mode, boolean force) {
-        JitsiMeetLogger.i(TAG + " Update audio route for mode: " + mode);
+        JitsiMeetLogger.i("%s Update audio route for mode: %d", TAG, mode);
 
         if (!audioDeviceHandler.setMode(mode)) {
             return false;
@@ -389,7 +389,7 @@ class AudioModeModule extends ReactContextBaseJavaModule {
         }
 
         selectedDevice = audioDevice;
-        JitsiMeetLogger.i(TAG + " Selected audio device: " + audioDevice);
+        JitsiMeetLogger.i("%s Selected audio device: %s", TAG, audioDevice);
 
         audioDeviceHandler.setAudioRoute(audioDevice);
 
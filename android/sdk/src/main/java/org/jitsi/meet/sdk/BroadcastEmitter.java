@@ -8,23 +8,60 @@ import androidx.localbroadcastmanager.content.LocalBroadcastManager;
 import com.facebook.react.bridge.ReadableMap;
 
 /**
- * Class used to emit events through the LocalBroadcastManager, called when events
- * from JS occurred. Takes an action name from JS, builds and broadcasts the {@link BroadcastEvent}
+ * Class used to emit events, called when events from JS occurred. Takes an action name from JS,
+ * builds the {@link BroadcastEvent} and posts it on the {@link JitsiMeetEventBus}.
+ *
+ * For compatibility, events are also broadcast as intents through the LocalBroadcastManager,
+ * unless disabled with {@link JitsiMeet#setBroadcastIntentsEnabled(boolean)}. When there is no
+ * one to deliver it to, the {@link BroadcastEvent} isn't even built.
  */
 public class BroadcastEmitter {
+    private static volatile boolean broadcastIntentsEnabled = true;
+
     private final LocalBroadcastManager localBroadcastManager;
 
     public BroadcastEmitter(Context context) {
         localBroadcastManager = LocalBroadcastManager.getInstance(context);
     }
 
+    static void setBroadcastIntentsEnabled(boolean enabled) {
+        broadcastIntentsEnabled = enabled;
+    }
+
     public void sendBroadcast(String name, ReadableMap data) {
+        sendBroadcast(name, data, 0, 0);
+    }
+
+    /**
+     * Sends an event which came from the JS side.
+     *
+     * @param sentAtNanos - When the JS side sent it, {@code 0} if unknown.
+     * @param arrivalNanos - When it got to the native side, {@code 0} if unknown.
+     */
+    void sendBroadcast(String name, ReadableMap data, long sentAtNanos, long arrivalNanos) {
+        JitsiMeetEventBus eventBus = JitsiMeetEventBus.getInstance();
+        boolean hasSubscribers = eventBus.hasSubscribers(BroadcastEvent.class);
+
+        if (!hasSubscribers && !broadcastIntentsEnabled) {
+            return;
+        }
+
         BroadcastEvent event = new BroadcastEvent(name, data);
 
-        Intent intent = event.buildIntent();
+        event.setTimestamps(sentAtNanos, arrivalNanos);
+
+        if (hasSubscribers) {
+            eventBus.post(event);
+        }
+
+        if (broadcastIntentsEnabled) {
+            Intent intent = event.buildIntent();
 
-        if (intent != null) {
-            localBroadcastManager.sendBroadcast(intent);
+            if (intent != null) {
+                localBroadcastManager.sendBroadcast(intent);
+            }
         }
+
+        EventDispatchMetrics.getInstance().recordEmitted(event);
     }
 }
@@ -5,9 +5,9 @@ import android.os.Bundle;
 
 import com.facebook.react.bridge.ReadableMap;
 
-import org.jitsi.meet.sdk.log.JitsiMeetLogger;
-
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 /**
  * Wraps the name and extra data for the events that occur on the JS side and are
@@ -15,38 +15,108 @@ import java.util.HashMap;
  */
 public class BroadcastEvent {
 
-    private static final String TAG = BroadcastEvent.class.getSimpleName();
-
     private final Type type;
-    private final HashMap<String, Object> data;
+
+    /**
+     * The payload, with the types of the values preserved. See {@link ReadableMapConverter}.
+     */
+    private final Bundle data;
+
+    /**
+     * When the JS side sent this event and when it got to the native side, as
+     * {@link System#nanoTime()}. {@code 0} if unknown, e.g. for events built from intents.
+     * See {@link EventDispatchMetrics}.
+     */
+    private long sentAtNanos;
+    private long arrivalNanos;
 
     public BroadcastEvent(String name, ReadableMap data) {
         this.type = Type.buildTypeFromName(name);
-        this.data = data.toHashMap();
+        this.data = ReadableMapConverter.toBundle(data);
     }
 
     public BroadcastEvent(Intent intent) {
+        Bundle extras = intent.getExtras();
+
         this.type = Type.buildTypeFromAction(intent.getAction());
-        this.data = buildDataFromBundle(intent.getExtras());
+        this.data = extras != null ? extras : new Bundle();
     }
 
     public Type getType() {
         return this.type;
     }
 
+    long getSentAtNanos() {
+        return sentAtNanos;
+    }
+
+    long getArrivalNanos() {
+        return arrivalNanos;
+    }
+
+    void setTimestamps(long sentAtNanos, long arrivalNanos) {
+        this.sentAtNanos = sentAtNanos;
+        this.arrivalNanos = arrivalNanos;
+    }
+
+    /**
+     * Gets the payload as a map, the way it has always been: every value is a string, e.g.
+     * {@code "true"} for a boolean. Use {@link #getDataBundle()} for the typed values.
+     *
+     * @return A new map with the top level values of the payload, as strings.
+     */
     public HashMap<String, Object> getData() {
+        return ReadableMapConverter.toLegacyHashMap(this.data);
+    }
+
+    /**
+     * Gets an array of objects in the payload as a list of maps, e.g. the participants of the
+     * {@link Type#PARTICIPANTS_JOINED_BATCH} events. Like {@link #getData()}, the values are
+     * strings.
+     *
+     * @param key - The key of the array.
+     * @return A new list with a map for each object, empty if there is no such array.
+     */
+    public List<HashMap<String, Object>> getDataList(String key) {
+        ArrayList<Bundle> bundles = this.data.getParcelableArrayList(key);
+        List<HashMap<String, Object>> list = new ArrayList<>();
+
+        if (bundles != null) {
+            for (Bundle bundle : bundles) {
+                list.add(ReadableMapConverter.toLegacyHashMap(bundle));
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * Gets the payload, with the types of the values preserved. Must not be modified, it's
+     * shared by all the listeners. For events built from intents the values are strings, like
+     * the extras, see {@link #buildIntent()}.
+     *
+     * @return The payload.
+     */
+    public Bundle getDataBundle() {
         return this.data;
     }
 
+    /**
+     * Builds the intent broadcast for this event. Its extras are the top level values of the
+     * payload as strings, like {@link #getData()}, which is what intent listeners have always
+     * received.
+     *
+     * @return The intent, or {@code null} if the event has no action.
+     */
     public Intent buildIntent() {
         if (type != null && type.action != null) {
             Intent intent = new Intent(type.action);
 
             for (String key : this.data.keySet()) {
-                try {
-                    intent.putExtra(key, this.data.get(key).toString());
-                } catch (Exception e) {
-                    JitsiMeetLogger.w(TAG + " invalid extra data in event", e);
+                String value = ReadableMapConverter.toLegacyString(this.data.get(key));
+
+                if (value != null) {
+                    intent.putExtra(key, value);
                 }
             }
 
@@ -56,24 +126,6 @@ public class BroadcastEvent {
         return null;
     }
 
-    private static HashMap<String, Object> buildDataFromBundle(Bundle bundle) {
-        if (bundle != null) {
-            try {
-                HashMap<String, Object> map = new HashMap<>();
-
-                for (String key : bundle.keySet()) {
-                    map.put(key, bundle.get(key));
-                }
-
-                return map;
-            } catch (Exception e) {
-                JitsiMeetLogger.w(TAG + " invalid extra data", e);
-            }
-        }
-
-        return null;
-    }
-
     public enum Type {
         CONFERENCE_BLURRED("org.jitsi.meet.CONFERENCE_BLURRED"),
         CONFERENCE_FOCUSED("org.jitsi.meet.CONFERENCE_FOCUSED"),
@@ -91,7 +143,10 @@ public class BroadcastEvent {
         VIDEO_MUTED_CHANGED("org.jitsi.meet.VIDEO_MUTED_CHANGED"),
         READY_TO_CLOSE("org.jitsi.meet.READY_TO_CLOSE"),
         TRANSCRIPTION_CHUNK_RECEIVED("org.jitsi.meet.TRANSCRIPTION_CHUNK_RECEIVED"),
-        CUSTOM_OVERFLOW_MENU_BUTTON_PRESSED("org.jitsi.meet.CUSTOM_OVERFLOW_MENU_BUTTON_PRESSED");
+        CUSTOM_OVERFLOW_MENU_BUTTON_PRESSED("org.jitsi.meet.CUSTOM_OVERFLOW_MENU_BUTTON_PRESSED"),
+        PARTICIPANTS_JOINED_BATCH("org.jitsi.meet.PARTICIPANTS_JOINED_BATCH"),
+        PARTICIPANTS_LEFT_BATCH("org.jitsi.meet.PARTICIPANTS_LEFT_BATCH"),
+        PARTICIPANT_UPDATED("org.jitsi.meet.PARTICIPANT_UPDATED");
 
         private static final String CONFERENCE_BLURRED_NAME = "CONFERENCE_BLURRED";
         private static final String CONFERENCE_FOCUSED_NAME = "CONFERENCE_FOCUSED";
@@ -110,6 +165,9 @@ public class BroadcastEvent {
         private static final String READY_TO_CLOSE_NAME = "READY_TO_CLOSE";
         private static final String TRANSCRIPTION_CHUNK_RECEIVED_NAME = "TRANSCRIPTION_CHUNK_RECEIVED";
         private static final String CUSTOM_OVERFLOW_MENU_BUTTON_PRESSED_NAME = "CUSTOM_OVERFLOW_MENU_BUTTON_PRESSED";
+        private static final String PARTICIPANTS_JOINED_BATCH_NAME = "PARTICIPANTS_JOINED_BATCH";
+        private static final String PARTICIPANTS_LEFT_BATCH_NAME = "PARTICIPANTS_LEFT_BATCH";
+        private static final String PARTICIPANT_UPDATED_NAME = "PARTICIPANT_UPDATED";
 
         private final String action;
 
@@ -130,6 +188,16 @@ public class BroadcastEvent {
             return null;
         }
 
+        /**
+         * Gets the type of the events with the given name, as sent by the JS side.
+         *
+         * @param name - The name of the event, e.g. {@code "CONFERENCE_JOINED"}.
+         * @return The type, or {@code null} if the name is unknown.
+         */
+        public static Type fromName(String name) {
+            return buildTypeFromName(name);
+        }
+
         private static Type buildTypeFromName(String name) {
             switch (name) {
                 case CONFERENCE_BLURRED_NAME:
@@ -166,6 +234,12 @@ public class BroadcastEvent {
                     return TRANSCRIPTION_CHUNK_RECEIVED;
                 case CUSTOM_OVERFLOW_MENU_BUTTON_PRESSED_NAME:
                     return CUSTOM_OVERFLOW_MENU_BUTTON_PRESSED;
+                case PARTICIPANTS_JOINED_BATCH_NAME:
+                    return PARTICIPANTS_JOINED_BATCH;
+                case PARTICIPANTS_LEFT_BATCH_NAME:
+                    return PARTICIPANTS_LEFT_BATCH;
+                case PARTICIPANT_UPDATED_NAME:
+                    return PARTICIPANT_UPDATED;
             }
 
             return null;
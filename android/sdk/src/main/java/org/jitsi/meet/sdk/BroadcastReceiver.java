@@ -7,13 +7,15 @@ import android.content.IntentFilter;
 import androidx.localbroadcastmanager.content.LocalBroadcastManager;
 
 /**
- * Listens for {@link BroadcastAction}s on LocalBroadcastManager. When one occurs,
- * it emits it to JS.
+ * Listens for {@link BroadcastAction}s on LocalBroadcastManager. When one occurs, it posts it
+ * on the {@link JitsiMeetEventBus}, which delivers it to JS. Kept for compatibility, actions
+ * can be posted on the bus directly.
  */
 public class BroadcastReceiver extends android.content.BroadcastReceiver {
+    private final LocalBroadcastManager localBroadcastManager;
 
     public BroadcastReceiver(Context context) {
-        LocalBroadcastManager localBroadcastManager = LocalBroadcastManager.getInstance(context);
+        localBroadcastManager = LocalBroadcastManager.getInstance(context);
 
         IntentFilter intentFilter = new IntentFilter();
 
@@ -26,9 +28,13 @@ public class BroadcastReceiver extends android.content.BroadcastReceiver {
 
     @Override
     public void onReceive(Context context, Intent intent) {
-        BroadcastAction action = new BroadcastAction(intent);
-        String actionName = action.getType().getAction();
+        JitsiMeetEventBus.getInstance().post(new BroadcastAction(intent));
+    }
 
-        ReactInstanceManagerHolder.emitEvent(actionName, action.getDataAsWritableNativeMap());
+    /**
+     * Stops listening for intents.
+     */
+    void release() {
+        localBroadcastManager.unregisterReceiver(this);
     }
 }
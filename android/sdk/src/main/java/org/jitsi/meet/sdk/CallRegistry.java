@@ -0,0 +1,406 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.os.Build;
+import android.telecom.PhoneAccountHandle;
+
+import androidx.annotation.RequiresApi;
+
+import com.facebook.react.bridge.Promise;
+
+import org.jitsi.meet.sdk.log.JitsiMeetLogger;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The calls of the {@link ConnectionService}, mapped by call UUID.
+ *
+ * The registry is touched from the Telecom binder callbacks and from the React Native modules
+ * thread, so every call has an explicit {@link State}, only ever moved forward with a
+ * compare-and-set: whoever makes a transition owns its side effects (resolving the start call
+ * promise, disconnecting the connection, etc.) and racing callers find out they lost. Calls are
+ * removed once {@link State#DISCONNECTED}, and their phone account is given back to the
+ * {@link PhoneAccountPool} then.
+ *
+ * Iterating the calls, see {@link #getCalls()}, takes no lock nor copy.
+ *
+ * Calls staying in a transitional state ({@link State#REGISTERING}, {@link State#PLACING},
+ * {@link State#ANSWERED} or {@link State#DISCONNECTING}) for longer than
+ * {@link #setStuckTimeout(long, TimeUnit)} are logged and counted, see {@link #getStuckCount(State)}.
+ * Apps get to both through {@link JitsiMeet#setStuckCallTimeout(long, TimeUnit)} and
+ * {@link JitsiMeet#getStuckCallCounts()}.
+ */
+@RequiresApi(api = Build.VERSION_CODES.O)
+final class CallRegistry {
+    private static final String TAG = ConnectionService.TAG;
+
+    private static final long DEFAULT_STUCK_TIMEOUT_MILLIS = 10000;
+
+    /**
+     * The states of a call, in the order they are gone through. States may be skipped, e.g. a
+     * call which fails to be placed goes straight to {@link #DISCONNECTED}.
+     */
+    enum State {
+        /**
+         * The phone account of the call is being registered.
+         */
+        REGISTERING,
+
+        /**
+         * The call was handed to Telecom, waiting for its connection and, for outgoing calls, for
+         * the JS side to report it connected.
+         */
+        PLACING,
+
+        /**
+         * An incoming call waiting for the user to answer it.
+         */
+        RINGING,
+
+        /**
+         * An incoming call which was answered, waiting for the JS side to report the conference
+         * joined.
+         */
+        ANSWERED,
+
+        ACTIVE,
+
+        /**
+         * The connection was told to disconnect, waiting for Telecom to confirm.
+         */
+        DISCONNECTING,
+
+        DISCONNECTED;
+
+        boolean isTransitional() {
+            return this == REGISTERING || this == PLACING || this == ANSWERED || this == DISCONNECTING;
+        }
+    }
+
+    /**
+     * A call. Its fields are set by whoever owns the transition into the state they belong to.
+     */
+    static final class Call {
+        private final String callUUID;
+        private final AtomicReference<State> state = new AtomicReference<>(State.REGISTERING);
+        private final AtomicReference<Promise> startCallPromise;
+        private final AtomicBoolean connectionDisconnected = new AtomicBoolean();
+        private final AtomicBoolean held = new AtomicBoolean();
+        private final boolean incoming;
+        private final AtomicReference<JitsiMeet.IncomingCallListener> incomingCallListener;
+
+        final long createdAtNanos = System.nanoTime();
+
+        /**
+         * When the {@link CallSetupMetrics.Stage}s of the call started, by ordinal, {@code 0} for
+         * the ones which didn't or ended.
+         */
+        final AtomicLongArray stageStartNanos = new AtomicLongArray(CallSetupMetrics.Stage.values().length);
+        final int traceCookie;
+        private volatile long stateChangedAtNanos = createdAtNanos;
+
+        private final AtomicReference<PhoneAccountHandle> phoneAccountHandle = new AtomicReference<>();
+
+        volatile ConnectionService.ConnectionImpl connection;
+
+        /**
+         * Fails the start call if Telecom doesn't create the connection in time, cancelled when
+         * the start call promise is taken.
+         */
+        volatile TimerWheel.Timeout startCallWatchdog;
+
+        private Call(
+                String callUUID,
+                Promise startCallPromise,
+                JitsiMeet.IncomingCallListener incomingCallListener) {
+            this.callUUID = callUUID;
+            this.traceCookie = callUUID.hashCode();
+            this.startCallPromise = new AtomicReference<>(startCallPromise);
+            this.incoming = incomingCallListener != null;
+            this.incomingCallListener = new AtomicReference<>(incomingCallListener);
+        }
+
+        String getCallUUID() {
+            return callUUID;
+        }
+
+        boolean isIncoming() {
+            return incoming;
+        }
+
+        /**
+         * @return The listener of the app which reported the incoming call, {@code null} for
+         * outgoing calls and once the call ended.
+         */
+        JitsiMeet.IncomingCallListener getIncomingCallListener() {
+            return incomingCallListener.get();
+        }
+
+        /**
+         * Takes the listener of an incoming call, to tell it the call ended exactly once.
+         */
+        JitsiMeet.IncomingCallListener takeIncomingCallListener() {
+            return incomingCallListener.getAndSet(null);
+        }
+
+        State getState() {
+            return state.get();
+        }
+
+        /**
+         * Takes the promise of the JS {@code startCall}, which must be settled exactly once, and
+         * cancels its watchdog.
+         *
+         * @return The promise, or {@code null} if someone else took it already.
+         */
+        Promise takeStartCallPromise() {
+            Promise promise = startCallPromise.getAndSet(null);
+            TimerWheel.Timeout watchdog = startCallWatchdog;
+
+            if (promise != null && watchdog != null) {
+                watchdog.cancel();
+            }
+
+            return promise;
+        }
+
+        /**
+         * Sets the phone account leased for the call, which is given back to the
+         * {@link PhoneAccountPool} when the call is removed.
+         */
+        void setPhoneAccountHandle(PhoneAccountHandle handle) {
+            phoneAccountHandle.set(handle);
+
+            // Removed meanwhile, there was no account to give back then.
+            if (state.get() == State.DISCONNECTED) {
+                releasePhoneAccount(this);
+            }
+        }
+
+        /**
+         * Puts the call on hold or takes it off.
+         *
+         * @return {@code true} if the call wasn't already.
+         */
+        boolean setHeld(boolean held) {
+            return this.held.compareAndSet(!held, held);
+        }
+
+        /**
+         * Claims disconnecting the connection of the call, which the system must be told once.
+         *
+         * @return {@code true} the first time only.
+         */
+        boolean claimDisconnect() {
+            return connectionDisconnected.compareAndSet(false, true);
+        }
+
+        long getTimeInStateMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stateChangedAtNanos);
+        }
+
+        @Override
+        public String toString() {
+            return "Call[uuid=" + callUUID + ", state=" + state.get() + "]";
+        }
+    }
+
+    private static final CallRegistry instance = new CallRegistry();
+
+    private final ConcurrentHashMap<String, Call> calls = new ConcurrentHashMap<>();
+    private final Collection<Call> callsView = Collections.unmodifiableCollection(calls.values());
+
+    private final AtomicLongArray stuckCounts = new AtomicLongArray(State.values().length);
+
+    private volatile long stuckTimeoutMillis = DEFAULT_STUCK_TIMEOUT_MILLIS;
+
+    static CallRegistry getInstance() {
+        return instance;
+    }
+
+    private CallRegistry() {
+    }
+
+    /**
+     * Adds a new call, in the {@link State#REGISTERING} state.
+     *
+     * @param callUUID - The UUID of the call.
+     * @param startCallPromise - The promise of the JS {@code startCall}, if any.
+     * @return The call, or {@code null} if there already is a call with the same UUID.
+     */
+    Call add(String callUUID, Promise startCallPromise) {
+        return add(new Call(callUUID, startCallPromise, null));
+    }
+
+    /**
+     * Adds a new incoming call, in the {@link State#REGISTERING} state.
+     *
+     * @param callUUID - The UUID of the call.
+     * @param listener - The listener of the app which reported the call.
+     * @return The call, or {@code null} if there already is a call with the same UUID.
+     */
+    Call addIncoming(String callUUID, JitsiMeet.IncomingCallListener listener) {
+        return add(new Call(callUUID, null, listener));
+    }
+
+    private Call add(Call call) {
+        String callUUID = call.callUUID;
+
+        if (calls.putIfAbsent(callUUID, call) != null) {
+            return null;
+        }
+
+        watch(call, State.REGISTERING);
+
+        return call;
+    }
+
+    Call get(String callUUID) {
+        return callUUID != null ? calls.get(callUUID) : null;
+    }
+
+    /**
+     * Gets the calls which are not disconnected yet.
+     *
+     * @return A live, unmodifiable view: it is iterated without locking and reflects the calls
+     * coming and going during the iteration, or not.
+     */
+    Collection<Call> getCalls() {
+        return callsView;
+    }
+
+    /**
+     * Moves a call forward to the given state, atomically.
+     *
+     * @param call - The call.
+     * @param state - The new state.
+     * @return {@code true} if the caller made the transition, {@code false} if the call already
+     * is in this state or a later one.
+     */
+    boolean moveTo(Call call, State state) {
+        for (;;) {
+            State oldState = call.state.get();
+
+            if (oldState.compareTo(state) >= 0) {
+                return false;
+            }
+
+            if (call.state.compareAndSet(oldState, state)) {
+                call.stateChangedAtNanos = System.nanoTime();
+                JitsiMeetLogger.d("%s %s: %s -> %s", TAG, call.callUUID, oldState, state);
+
+                if (state == State.DISCONNECTED) {
+                    calls.remove(call.callUUID, call);
+                    releasePhoneAccount(call);
+                    CallSetupMetrics.getInstance().abandon(call);
+                } else if (state.isTransitional()) {
+                    watch(call, state);
+                }
+
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives the phone account leased for a call back to the {@link PhoneAccountPool}, unless
+     * it was already.
+     */
+    private static void releasePhoneAccount(Call call) {
+        PhoneAccountHandle phoneAccountHandle = call.phoneAccountHandle.getAndSet(null);
+
+        if (phoneAccountHandle != null) {
+            CallSetupMetrics metrics = CallSetupMetrics.getInstance();
+
+            metrics.begin(call, CallSetupMetrics.Stage.RELEASE_PHONE_ACCOUNT);
+            try {
+                PhoneAccountPool.getInstance().release(phoneAccountHandle);
+            } catch (Throwable tr) {
+                // UnsupportedOperationException: System does not support feature
+                // android.software.connectionservice was observed here. Ignore.
+                JitsiMeetLogger.e(tr, "%s error releasing the phone account of %s", TAG, call.callUUID);
+            } finally {
+                metrics.end(call, CallSetupMetrics.Stage.RELEASE_PHONE_ACCOUNT);
+            }
+        }
+    }
+
+    /**
+     * Sets how long a call may stay in a transitional state before it's reported as stuck, 10
+     * seconds by default.
+     *
+     * @param timeout - The timeout, {@code 0} disables the reports.
+     * @param unit - The unit of the timeout.
+     */
+    void setStuckTimeout(long timeout, TimeUnit unit) {
+        stuckTimeoutMillis = unit.toMillis(timeout);
+    }
+
+    /**
+     * Gets the number of calls which got stuck in the given state, since the process started.
+     */
+    long getStuckCount(State state) {
+        return stuckCounts.get(state.ordinal());
+    }
+
+    /**
+     * Gets the number of calls which got stuck in each of the transitional states, since the
+     * process started.
+     *
+     * @return A new map with the counts, by state name.
+     */
+    Map<String, Long> getStuckCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+
+        for (State state : State.values()) {
+            if (state.isTransitional()) {
+                counts.put(state.name(), getStuckCount(state));
+            }
+        }
+
+        return counts;
+    }
+
+    private void watch(final Call call, final State state) {
+        long timeout = stuckTimeoutMillis;
+
+        if (timeout <= 0) {
+            return;
+        }
+
+        TimerWheel.getShared().schedule(new Runnable() {
+            @Override
+            public void run() {
+                // States only move forward, the call is still in the same one.
+                if (call.state.get() == state) {
+                    stuckCounts.incrementAndGet(state.ordinal());
+                    JitsiMeetLogger.w(
+                        "%s %s stuck in %s for %dms", TAG, call.callUUID, state, call.getTimeInStateMillis());
+                }
+            }
+        }, timeout, TimeUnit.MILLISECONDS);
+    }
+}
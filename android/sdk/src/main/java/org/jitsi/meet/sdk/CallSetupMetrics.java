@@ -0,0 +1,270 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.os.Build;
+import android.os.Trace;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.log.JitsiMeetLogger;
+import org.jitsi.meet.sdk.metrics.LatencyHistogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the stages of setting up and tearing down the calls of the
+ * {@link ConnectionService} take, with a {@link LatencyHistogram} for each {@link Stage}, so
+ * that the devices on which ConnectionService is too slow can be told apart.
+ *
+ * Every stage of every call is also an {@link Trace} section, named after the stage, so that
+ * the calls can be looked at in Perfetto or systrace. The stages which start and end on
+ * different threads are async sections, which need Android 10.
+ */
+public final class CallSetupMetrics {
+    private static final String TAG = ConnectionService.TAG;
+
+    /**
+     * The stages of a call.
+     */
+    public enum Stage {
+        /**
+         * The JS side starting the call, until the call was handed to Telecom.
+         */
+        START_CALL(false),
+
+        /**
+         * Leasing the phone account of the call, see {@link PhoneAccountPool}.
+         */
+        LEASE_PHONE_ACCOUNT(false),
+
+        /**
+         * {@code TelecomManager.placeCall}.
+         */
+        PLACE_CALL(false),
+
+        /**
+         * {@code TelecomManager.addNewIncomingCall}.
+         */
+        ADD_INCOMING_CALL(false),
+
+        /**
+         * From placing the call, or adding the incoming call, to Telecom creating its connection.
+         */
+        CREATE_CONNECTION(true),
+
+        /**
+         * From the connection being created to the JS side reporting the conference joined.
+         */
+        REPORT_CONNECTED(true),
+
+        /**
+         * {@code Connection.setActive}.
+         */
+        SET_ACTIVE(false),
+
+        /**
+         * From the JS side starting the call to the connection being active.
+         */
+        SETUP(true),
+
+        /**
+         * From the user answering an incoming call to the connection being active, i.e. the JS
+         * side reporting the conference joined.
+         */
+        ANSWER(true),
+
+        /**
+         * From the call being ended, by the JS side or the system, to its connection being
+         * disconnected.
+         */
+        DISCONNECT(true),
+
+        /**
+         * {@code Connection.setDisconnected} and {@code Connection.destroy}.
+         */
+        SET_DISCONNECTED(false),
+
+        /**
+         * Giving the phone account of the call back, see {@link PhoneAccountPool}.
+         */
+        RELEASE_PHONE_ACCOUNT(false);
+
+        /**
+         * Whether the stage may start and end on different threads.
+         */
+        final boolean async;
+
+        final String sectionName;
+
+        Stage(boolean async) {
+            this.async = async;
+            this.sectionName = "ConnectionService." + name();
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private static final CallSetupMetrics instance = new CallSetupMetrics();
+
+    /**
+     * Indexed by stage ordinal.
+     */
+    private final LatencyHistogram[] histograms = new LatencyHistogram[STAGES.length];
+
+    public static CallSetupMetrics getInstance() {
+        return instance;
+    }
+
+    private CallSetupMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records the start of a stage of a call. Stages which don't start and end on different
+     * threads must end on the thread they started on, in a {@code finally} block.
+     */
+    void begin(CallRegistry.Call call, Stage stage) {
+        call.stageStartNanos.set(stage.ordinal(), System.nanoTime());
+
+        if (stage.async) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                Trace.beginAsyncSection(stage.sectionName, call.traceCookie);
+            }
+        } else {
+            Trace.beginSection(stage.sectionName);
+        }
+    }
+
+    /**
+     * Records the end of a stage of a call, unless it didn't start or ended already.
+     *
+     * @return The duration of the stage, in nanoseconds, or {@code -1}.
+     */
+    long end(CallRegistry.Call call, Stage stage) {
+        long startNanos = call.stageStartNanos.getAndSet(stage.ordinal(), 0);
+
+        if (startNanos == 0) {
+            return -1;
+        }
+
+        long nanos = System.nanoTime() - startNanos;
+
+        histograms[stage.ordinal()].recordNanos(nanos);
+
+        if (stage.async) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                Trace.endAsyncSection(stage.sectionName, call.traceCookie);
+            }
+        } else {
+            Trace.endSection();
+        }
+
+        return nanos;
+    }
+
+    /**
+     * Ends the trace sections of the stages of a call which will never end, e.g. because the call
+     * couldn't be started, without recording them.
+     */
+    void abandon(CallRegistry.Call call) {
+        for (Stage stage : STAGES) {
+            if (stage.async && call.stageStartNanos.getAndSet(stage.ordinal(), 0) != 0
+                    && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                Trace.endAsyncSection(stage.sectionName, call.traceCookie);
+            }
+        }
+    }
+
+    /**
+     * Gets the durations of a stage, over the calls of this device since the process started.
+     *
+     * @param stage - The stage.
+     * @return A snapshot of the durations.
+     */
+    public LatencyHistogram.Snapshot getSnapshot(Stage stage) {
+        return histograms[stage.ordinal()].getSnapshot();
+    }
+
+    /**
+     * Gets the durations of all the stages which were seen.
+     *
+     * @return The snapshots, by stage.
+     */
+    public Map<Stage, LatencyHistogram.Snapshot> getSnapshots() {
+        Map<Stage, LatencyHistogram.Snapshot> snapshots = new EnumMap<>(Stage.class);
+
+        for (Stage stage : STAGES) {
+            LatencyHistogram.Snapshot snapshot = getSnapshot(stage);
+
+            if (snapshot.getCount() != 0) {
+                snapshots.put(stage, snapshot);
+            }
+        }
+
+        return snapshots;
+    }
+
+    /**
+     * Removes all the recorded durations.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Logs the durations of all the stages which were seen.
+     */
+    public void logSummary() {
+        for (Map.Entry<Stage, LatencyHistogram.Snapshot> entry : getSnapshots().entrySet()) {
+            JitsiMeetLogger.i("%s %s durations: %s", TAG, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Converts the durations of the stages which were seen for the JS side, in milliseconds.
+     */
+    WritableMap toWritableMap() {
+        WritableMap stages = Arguments.createMap();
+
+        for (Map.Entry<Stage, LatencyHistogram.Snapshot> entry : getSnapshots().entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue();
+            WritableMap stage = Arguments.createMap();
+
+            stage.putDouble("count", snapshot.getCount());
+            stage.putDouble("mean", snapshot.getMeanMicros() / 1000);
+            stage.putDouble("p50", toMillis(snapshot.getValueAtPercentile(50)));
+            stage.putDouble("p90", toMillis(snapshot.getValueAtPercentile(90)));
+            stage.putDouble("p99", toMillis(snapshot.getValueAtPercentile(99)));
+            stage.putDouble("max", toMillis(snapshot.getMaxMicros()));
+            stages.putMap(entry.getKey().name(), stage);
+        }
+
+        return stages;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / (double) TimeUnit.MILLISECONDS.toMicros(1);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.os.Bundle;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.events.JitsiMeetCommand;
+import org.jitsi.meet.sdk.log.JitsiMeetFlightRecorder;
+import org.jitsi.meet.sdk.log.JitsiMeetLogger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends commands to the JS side and lets the host app know when they took effect.
+ * <pre>
+ *     CommandService.getInstance().send(new SetAudioMutedCommand(true)).whenComplete(
+ *         new BiConsumer&lt;Bundle, Throwable&gt;() {
+ *             &#64;Override
+ *             public void accept(Bundle result, Throwable error) {
+ *                 // result.getBoolean("muted") is the actual state after the command.
+ *             }
+ *         });
+ * </pre>
+ *
+ * Every command gets a correlation id which the JS side echoes back once the command was
+ * executed, along with its result or the error it failed with. Commands which don't get an
+ * answer in time, e.g. because there is no conference, fail with a
+ * {@link java.util.concurrent.TimeoutException}.
+ *
+ * The futures are completed on the React Native JS thread, use the {@code ...Async} variants of
+ * the {@link CompletableFuture} methods for anything but trivial work.
+ */
+public final class CommandService {
+    private static final String TAG = CommandService.class.getSimpleName();
+
+    /**
+     * The key of the correlation id in the payload of the commands.
+     */
+    static final String COMMAND_ID = "commandId";
+
+    private static final long DEFAULT_TIMEOUT_MILLIS = 5000;
+
+    private static final CommandService instance = new CommandService();
+
+    private final PendingRequests<Bundle> pendingCommands
+        = new PendingRequests<>(TAG, TimerWheel.getShared());
+
+    private volatile long defaultTimeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+
+    public static CommandService getInstance() {
+        return instance;
+    }
+
+    private CommandService() {
+    }
+
+    /**
+     * Sets the timeout of the commands sent with {@link #send(JitsiMeetCommand)}, 5 seconds by
+     * default.
+     *
+     * @param timeout - The timeout.
+     * @param unit - The unit of the timeout.
+     */
+    public void setDefaultTimeout(long timeout, TimeUnit unit) {
+        defaultTimeoutMillis = unit.toMillis(timeout);
+    }
+
+    /**
+     * Sends a command, with the default timeout.
+     *
+     * @param command - The command.
+     * @return A future completed with the result of the command, a {@link Bundle} whose
+     * contents depend on the command, possibly empty.
+     */
+    public CompletableFuture<Bundle> send(JitsiMeetCommand command) {
+        return send(command, defaultTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends a command.
+     *
+     * @param command - The command.
+     * @param timeout - How long to wait for the JS side to execute it.
+     * @param unit - The unit of the timeout.
+     * @return A future completed with the result of the command, or failed with a
+     * {@link CommandException} or a {@link java.util.concurrent.TimeoutException}. Cancelling
+     * it doesn't cancel the command, only the wait for its result.
+     */
+    public CompletableFuture<Bundle> send(JitsiMeetCommand command, long timeout, TimeUnit unit) {
+        String id = PendingRequests.newId();
+        CompletableFuture<Bundle> future = pendingCommands.add(id, timeout, unit);
+        String actionName = command.getType().getAction();
+        WritableMap data = command.toWritableMap();
+
+        data.putString(COMMAND_ID, id);
+
+        JitsiMeetFlightRecorder.recordEvent(actionName);
+        ReactInstanceManagerHolder.emitEvent(actionName, data);
+
+        return future;
+    }
+
+    /**
+     * Called when the JS side executed a command.
+     *
+     * @param id - The correlation id of the command.
+     * @param result - The result, if it succeeded.
+     * @param error - The error, if it failed.
+     */
+    void onCommandResult(String id, ReadableMap result, String error) {
+        boolean found;
+
+        if (error != null) {
+            found = pendingCommands.fail(id, new CommandException(error));
+        } else {
+            found = pendingCommands.complete(
+                id, result != null ? ReadableMapConverter.toBundle(result) : new Bundle());
+        }
+
+        if (!found) {
+            JitsiMeetLogger.d("%s Result for unknown or expired command %s", TAG, id);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.app.Application;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.Nullable;
+
+import org.jitsi.meet.sdk.log.JitsiMeetLogger;
+
+import java.net.InetAddress;
+import java.net.URL;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Gets a conference ready to be joined before it is, e.g. while its incoming call rings: starts
+ * the React Native instance, and looks up the server in the background. The JS side takes the
+ * conference, see {@link #takeOptions()}, and loads its config.js, so that the URL of the config
+ * is worked out in one place only.
+ *
+ * Only the last conference is kept, for {@link #OPTIONS_TTL_MILLIS}.
+ */
+final class ConferencePrewarmer {
+    private static final String TAG = ConferencePrewarmer.class.getSimpleName();
+
+    /**
+     * Long enough for the React Native instance to start, and for the call to ring.
+     */
+    static final long OPTIONS_TTL_MILLIS = 120000;
+
+    private static final ConferencePrewarmer instance = new ConferencePrewarmer();
+
+    private final AtomicReference<PrewarmedConference> prewarmedConference = new AtomicReference<>();
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Looks up the servers, one at a time.
+     */
+    private final Executor executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, TAG);
+
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    });
+
+    static ConferencePrewarmer getInstance() {
+        return instance;
+    }
+
+    ConferencePrewarmer() {
+    }
+
+    /**
+     * Gets the conference of the given options ready to be joined.
+     *
+     * @param context - The context.
+     * @param options - The options the conference will be joined with.
+     */
+    void prewarm(Context context, @Nullable JitsiMeetConferenceOptions options) {
+        final Application application = (Application) context.getApplicationContext();
+
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    ReactInstanceManagerHolder.warmUp(application);
+                } catch (Throwable tr) {
+                    JitsiMeetLogger.e(tr, "%s failed to start React Native", TAG);
+                }
+            }
+        });
+
+        if (options == null) {
+            return;
+        }
+
+        offer(options, System.nanoTime());
+
+        final URL serverURL = getServerURL(options);
+
+        if (serverURL == null) {
+            return;
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    resolve(serverURL);
+                } catch (Throwable tr) {
+                    JitsiMeetLogger.w(tr, "%s failed to resolve %s", TAG, serverURL.getHost());
+                }
+            }
+        });
+    }
+
+    /**
+     * Keeps the options of a conference for the JS side to take, and tells it to if it's running.
+     */
+    void offer(JitsiMeetConferenceOptions options, long nowNanos) {
+        prewarmedConference.set(new PrewarmedConference(options, nowNanos));
+
+        RNConnectionService module = RNConnectionService.getInstance();
+
+        if (module != null) {
+            module.emitEvent("org.jitsi.meet:features/connection_service#prewarm", null);
+        }
+    }
+
+    /**
+     * Takes the options of the last conference which was prewarmed, if it's still fresh.
+     *
+     * @return The options, or {@code null}.
+     */
+    @Nullable
+    JitsiMeetConferenceOptions takeOptions() {
+        return takeOptions(System.nanoTime());
+    }
+
+    @Nullable
+    JitsiMeetConferenceOptions takeOptions(long nowNanos) {
+        PrewarmedConference conference = prewarmedConference.getAndSet(null);
+
+        if (conference == null) {
+            return null;
+        }
+
+        long ageMillis = TimeUnit.NANOSECONDS.toMillis(nowNanos - conference.prewarmedAtNanos);
+
+        if (ageMillis > OPTIONS_TTL_MILLIS) {
+            JitsiMeetLogger.i("%s prewarmed conference expired", TAG);
+            return null;
+        }
+
+        JitsiMeetLogger.i("%s taking the conference prewarmed %dms ago", TAG, ageMillis);
+
+        return conference.options;
+    }
+
+    /**
+     * Warms up the DNS cache of the system for the server of the conference, which also hosts
+     * its XMPP and media connections for most deployments.
+     */
+    private static void resolve(URL url) throws Exception {
+        long startNanos = System.nanoTime();
+
+        InetAddress.getAllByName(url.getHost());
+
+        JitsiMeetLogger.d("%s resolved %s in %dms",
+            TAG, url.getHost(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * @return The server named by the options, or by the default ones, or {@code null}. The
+     * server of a room which is a full URL isn't looked up ahead.
+     */
+    @Nullable
+    private static URL getServerURL(JitsiMeetConferenceOptions options) {
+        String room = options.getRoom();
+
+        if (room != null && room.contains("://")) {
+            return null;
+        }
+
+        URL serverURL = options.getServerURL();
+
+        if (serverURL == null) {
+            JitsiMeetConferenceOptions defaultOptions = JitsiMeet.getDefaultConferenceOptions();
+
+            serverURL = defaultOptions != null ? defaultOptions.getServerURL() : null;
+        }
+
+        return serverURL;
+    }
+
+    private static final class PrewarmedConference {
+        final JitsiMeetConferenceOptions options;
+        final long prewarmedAtNanos;
+
+        PrewarmedConference(JitsiMeetConferenceOptions options, long prewarmedAtNanos) {
+            this.options = options;
+            this.prewarmedAtNanos = prewarmedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the state of the current conference, as published by
+ * {@link ConferenceStateStore}. Every change produces a new instance.
+ */
+public final class ConferenceState {
+    /**
+     * The state when there is no conference.
+     */
+    static final ConferenceState EMPTY
+        = new ConferenceState(null, false, false, false, false, 0, Collections.<String>emptySet());
+
+    private final String url;
+    private final boolean joined;
+    private final boolean audioMuted;
+    private final boolean videoMuted;
+    private final boolean chatOpen;
+    private final int participantCount;
+    private final Set<String> screenSharingParticipantIds;
+
+    private ConferenceState(
+            String url,
+            boolean joined,
+            boolean audioMuted,
+            boolean videoMuted,
+            boolean chatOpen,
+            int participantCount,
+            Set<String> screenSharingParticipantIds) {
+        this.url = url;
+        this.joined = joined;
+        this.audioMuted = audioMuted;
+        this.videoMuted = videoMuted;
+        this.chatOpen = chatOpen;
+        this.participantCount = participantCount;
+        this.screenSharingParticipantIds = screenSharingParticipantIds;
+    }
+
+    /**
+     * @return The URL of the current conference, {@code null} if there is none.
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return Whether the conference was joined, as opposed to still being joined.
+     */
+    public boolean isJoined() {
+        return joined;
+    }
+
+    public boolean isAudioMuted() {
+        return audioMuted;
+    }
+
+    public boolean isVideoMuted() {
+        return videoMuted;
+    }
+
+    public boolean isChatOpen() {
+        return chatOpen;
+    }
+
+    /**
+     * @return The number of remote participants who joined since the conference was joined.
+     */
+    public int getParticipantCount() {
+        return participantCount;
+    }
+
+    /**
+     * @return The ids of the participants sharing their screen.
+     */
+    public Set<String> getScreenSharingParticipantIds() {
+        return screenSharingParticipantIds;
+    }
+
+    ConferenceState withConference(String url, boolean joined) {
+        return new ConferenceState(
+            url, joined, audioMuted, videoMuted, false, 0, Collections.<String>emptySet());
+    }
+
+    ConferenceState withJoined() {
+        return new ConferenceState(
+            url, true, audioMuted, videoMuted, chatOpen, participantCount, screenSharingParticipantIds);
+    }
+
+    ConferenceState withAudioMuted(boolean audioMuted) {
+        return new ConferenceState(
+            url, joined, audioMuted, videoMuted, chatOpen, participantCount, screenSharingParticipantIds);
+    }
+
+    ConferenceState withVideoMuted(boolean videoMuted) {
+        return new ConferenceState(
+            url, joined, audioMuted, videoMuted, chatOpen, participantCount, screenSharingParticipantIds);
+    }
+
+    ConferenceState withChatOpen(boolean chatOpen) {
+        return new ConferenceState(
+            url, joined, audioMuted, videoMuted, chatOpen, participantCount, screenSharingParticipantIds);
+    }
+
+    ConferenceState withParticipantCount(int participantCount) {
+        return new ConferenceState(
+            url, joined, audioMuted, videoMuted, chatOpen, participantCount, screenSharingParticipantIds);
+    }
+
+    ConferenceState withParticipantCountDelta(int delta) {
+        return new ConferenceState(
+            url,
+            joined,
+            audioMuted,
+            videoMuted,
+            chatOpen,
+            Math.max(0, participantCount + delta),
+            screenSharingParticipantIds);
+    }
+
+    ConferenceState withScreenSharing(String participantId, boolean sharing) {
+        if (screenSharingParticipantIds.contains(participantId) == sharing) {
+            return this;
+        }
+
+        // Only a handful of participants share at once, copying is cheap.
+        Set<String> ids = new HashSet<>(screenSharingParticipantIds);
+
+        if (sharing) {
+            ids.add(participantId);
+        } else {
+            ids.remove(participantId);
+        }
+
+        return new ConferenceState(
+            url, joined, audioMuted, videoMuted, chatOpen, participantCount, Collections.unmodifiableSet(ids));
+    }
+
+    @Override
+    public String toString() {
+        return "ConferenceState{url=" + url
+            + ", joined=" + joined
+            + ", audioMuted=" + audioMuted
+            + ", videoMuted=" + videoMuted
+            + ", chatOpen=" + chatOpen
+            + ", participantCount=" + participantCount
+            + ", screenSharingParticipantIds=" + screenSharingParticipantIds
+            + "}";
+    }
+}
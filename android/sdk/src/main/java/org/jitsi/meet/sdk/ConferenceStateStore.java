@@ -0,0 +1,248 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import org.jitsi.meet.sdk.events.AudioMutedChangedEvent;
+import org.jitsi.meet.sdk.events.ChatToggledEvent;
+import org.jitsi.meet.sdk.events.ConferenceEvent;
+import org.jitsi.meet.sdk.events.JitsiMeetEvent;
+import org.jitsi.meet.sdk.events.ParticipantsBatchEvent;
+import org.jitsi.meet.sdk.events.ParticipantsInfoRetrievedEvent;
+import org.jitsi.meet.sdk.events.ScreenShareToggledEvent;
+import org.jitsi.meet.sdk.events.VideoMutedChangedEvent;
+import org.jitsi.meet.sdk.log.JitsiMeetLogger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Native copy of the state of the current conference, kept up to date from the events the JS
+ * side sends, see {@link ExternalAPIModule#sendEvent}.
+ *
+ * The state is an immutable {@link ConferenceState} published through an
+ * {@link AtomicReference}, so {@link #getState()} is wait-free and can be called from any
+ * thread. Listeners are called with the current state as soon as they are added (sticky
+ * delivery), then after every change, on the thread the change happens on (the React Native JS
+ * thread).
+ *
+ * The store registers the conference types it handles with {@link EventSubscriptionRegistry}, so
+ * it's kept up to date when event filtering is enabled (see
+ * {@link JitsiMeet#setEventFilteringEnabled(boolean)}) as well. The participant types are left to
+ * the {@link ParticipantRoster}, which registers them once it's started: with filtering enabled
+ * the participant count is only kept from then on.
+ *
+ * The participant count is taken from the {@link ParticipantRoster}, when it's started, once the
+ * conference is joined and from every {@link ParticipantsInfoRetrievedEvent}, the joined and left
+ * events only adjust it in between.
+ */
+public final class ConferenceStateStore {
+    private static final String TAG = ConferenceStateStore.class.getSimpleName();
+
+    /**
+     * Receives the state of the conference.
+     */
+    public interface Listener {
+        void onStateChanged(ConferenceState state);
+    }
+
+    /**
+     * The types of the events about the conference {@link #reduce} handles, registered for good.
+     */
+    private static final BroadcastEvent.Type[] CONFERENCE_TYPES = {
+        BroadcastEvent.Type.CONFERENCE_WILL_JOIN,
+        BroadcastEvent.Type.CONFERENCE_JOINED,
+        BroadcastEvent.Type.CONFERENCE_TERMINATED,
+        BroadcastEvent.Type.AUDIO_MUTED_CHANGED,
+        BroadcastEvent.Type.VIDEO_MUTED_CHANGED,
+        BroadcastEvent.Type.CHAT_TOGGLED,
+        BroadcastEvent.Type.SCREEN_SHARE_TOGGLED
+    };
+
+    /**
+     * The types of the events about the participants {@link #reduce} handles, registered by the
+     * {@link ParticipantRoster}.
+     */
+    private static final BroadcastEvent.Type[] PARTICIPANT_TYPES = {
+        BroadcastEvent.Type.PARTICIPANT_JOINED,
+        BroadcastEvent.Type.PARTICIPANT_LEFT,
+        BroadcastEvent.Type.PARTICIPANTS_JOINED_BATCH,
+        BroadcastEvent.Type.PARTICIPANTS_LEFT_BATCH,
+        BroadcastEvent.Type.PARTICIPANTS_INFO_RETRIEVED
+    };
+
+    private static final ConferenceStateStore instance = new ConferenceStateStore();
+
+    private final Set<BroadcastEvent.Type> types;
+
+    private final AtomicReference<ConferenceState> state
+        = new AtomicReference<>(ConferenceState.EMPTY);
+
+    /**
+     * Guarded by itself, which also serializes the notifications so that every listener sees the
+     * states in order.
+     */
+    private final List<Listener> listeners = new ArrayList<>();
+
+    public static ConferenceStateStore getInstance() {
+        return instance;
+    }
+
+    private ConferenceStateStore() {
+        types = EnumSet.noneOf(BroadcastEvent.Type.class);
+        Collections.addAll(types, CONFERENCE_TYPES);
+        Collections.addAll(types, PARTICIPANT_TYPES);
+
+        // Needed for as long as the app runs, never released.
+        EventSubscriptionRegistry.getInstance().register(CONFERENCE_TYPES);
+    }
+
+    /**
+     * Gets the current state.
+     *
+     * @return The state, never {@code null}.
+     */
+    public ConferenceState getState() {
+        return state.get();
+    }
+
+    /**
+     * Adds a listener and calls it right away with the current state.
+     *
+     * @param listener - The listener.
+     */
+    public void addListener(Listener listener) {
+        synchronized (listeners) {
+            listeners.add(listener);
+            notifyListener(listener, state.get());
+        }
+    }
+
+    public void removeListener(Listener listener) {
+        synchronized (listeners) {
+            listeners.remove(listener);
+        }
+    }
+
+    /**
+     * @param type - The type of the events.
+     * @return Whether the events of the given type affect the state, i.e. whether they are to be
+     * passed to {@link #onEvent(JitsiMeetEvent)}.
+     */
+    boolean handles(BroadcastEvent.Type type) {
+        return types.contains(type);
+    }
+
+    /**
+     * Updates the state with an event sent by the JS side. The event is the one posted on the
+     * {@link JitsiMeetEventBus}, so that it's only built once.
+     *
+     * @param event - The event, of a type the store {@link #handles(BroadcastEvent.Type)}.
+     */
+    void onEvent(JitsiMeetEvent event) {
+        synchronized (listeners) {
+            ConferenceState oldState = state.get();
+            ConferenceState newState = reduce(oldState, event);
+
+            if (newState == oldState) {
+                return;
+            }
+
+            state.set(newState);
+
+            for (Listener listener : listeners) {
+                notifyListener(listener, newState);
+            }
+        }
+    }
+
+    private static ConferenceState reduce(ConferenceState state, JitsiMeetEvent event) {
+        switch (event.getType()) {
+            case CONFERENCE_WILL_JOIN: {
+                String url = ((ConferenceEvent) event).getUrl();
+
+                return url != null ? state.withConference(url, false) : state;
+            }
+            case CONFERENCE_JOINED: {
+                ConferenceEvent conferenceEvent = (ConferenceEvent) event;
+                String url = conferenceEvent.getUrl();
+
+                if (url == null || !url.equals(state.getUrl())) {
+                    return state;
+                }
+
+                state = state.withJoined().withAudioMuted(conferenceEvent.isAudioMuted());
+
+                // The roster was cleared when the conference was about to be joined, it has
+                // everyone who joined since, without the duplicates.
+                ParticipantRoster roster = ParticipantRoster.getInstance();
+
+                return roster.isStarted()
+                    ? state.withParticipantCount(roster.getRemoteParticipantCount()) : state;
+            }
+            case CONFERENCE_TERMINATED: {
+                String url = ((ConferenceEvent) event).getUrl();
+
+                // Late terminations of previous conferences don't affect the current one.
+                return url != null && url.equals(state.getUrl()) ? ConferenceState.EMPTY : state;
+            }
+            case AUDIO_MUTED_CHANGED:
+                return state.withAudioMuted(((AudioMutedChangedEvent) event).isMuted());
+            case VIDEO_MUTED_CHANGED:
+                return state.withVideoMuted(((VideoMutedChangedEvent) event).isMuted());
+            case CHAT_TOGGLED:
+                return state.withChatOpen(((ChatToggledEvent) event).isOpen());
+            case SCREEN_SHARE_TOGGLED: {
+                ScreenShareToggledEvent screenShareEvent = (ScreenShareToggledEvent) event;
+                String participantId = screenShareEvent.getParticipantId();
+
+                return participantId != null
+                    ? state.withScreenSharing(participantId, screenShareEvent.isSharing()) : state;
+            }
+            case PARTICIPANT_JOINED:
+                return state.withParticipantCountDelta(1);
+            case PARTICIPANT_LEFT:
+                return state.withParticipantCountDelta(-1);
+            case PARTICIPANTS_JOINED_BATCH:
+                return state.withParticipantCountDelta(
+                    ((ParticipantsBatchEvent) event).getParticipants().size());
+            case PARTICIPANTS_LEFT_BATCH:
+                return state.withParticipantCountDelta(
+                    -((ParticipantsBatchEvent) event).getParticipants().size());
+            case PARTICIPANTS_INFO_RETRIEVED: {
+                // Even a page has the size of the whole list, which starts with the local
+                // participant.
+                int total = ((ParticipantsInfoRetrievedEvent) event).getTotal();
+
+                return state.isJoined() ? state.withParticipantCount(Math.max(0, total - 1)) : state;
+            }
+            default:
+                return state;
+        }
+    }
+
+    private static void notifyListener(Listener listener, ConferenceState state) {
+        try {
+            listener.onStateChanged(state);
+        } catch (Throwable t) {
+            JitsiMeetLogger.e(t, "%s Listener failed to handle %s", TAG, state);
+        }
+    }
+}
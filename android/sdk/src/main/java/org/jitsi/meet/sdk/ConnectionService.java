@@ -1,10 +1,11 @@
 package org.jitsi.meet.sdk;
 
-import android.content.ComponentName;
 import android.content.Context;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.telecom.CallAudioState;
 import android.telecom.Connection;
 import android.telecom.ConnectionRequest;
@@ -13,6 +14,7 @@ import android.telecom.PhoneAccount;
 import android.telecom.PhoneAccountHandle;
 import android.telecom.TelecomManager;
 import android.telecom.VideoProfile;
+import android.util.Log;
 
 import androidx.annotation.RequiresApi;
 
@@ -22,15 +24,12 @@ import com.facebook.react.bridge.WritableNativeMap;
 
 import org.jitsi.meet.sdk.log.JitsiMeetLogger;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Jitsi Meet implementation of {@link ConnectionService}. At the time of this
- * writing it implements only the outgoing call scenario.
+ * Jitsi Meet implementation of {@link ConnectionService}. It implements the
+ * outgoing call scenario, for the conferences the app joins, and the incoming
+ * call scenario, for the calls reported with {@link JitsiMeet#reportIncomingCall}.
  *
  * NOTE the class needs to be public, but is not part of the SDK API and should
  * never be used directly.
@@ -46,140 +45,356 @@ public class ConnectionService extends android.telecom.ConnectionService {
     static final String TAG = "JitsiConnectionService";
 
     /**
-     * The extra added to the {@link ConnectionImpl} and
-     * {@link ConnectionRequest} which stores the {@link PhoneAccountHandle}
-     * created for the call.
+     * The extra of the {@link ConnectionRequest} which stores the UUID of the
+     * call, the phone accounts being shared by the calls, see
+     * {@link PhoneAccountPool}.
      */
-    static final String EXTRA_PHONE_ACCOUNT_HANDLE
-        = "org.jitsi.meet.sdk.connection_service.PHONE_ACCOUNT_HANDLE";
+    static final String EXTRA_CALL_UUID
+        = "org.jitsi.meet.sdk.connection_service.CALL_UUID";
 
     /**
-     * Connections mapped by call UUID.
+     * The calls, mapped by call UUID.
      */
-    static private final Map<String, ConnectionImpl> connections
-            = new HashMap<>();
+    static private final CallRegistry registry = CallRegistry.getInstance();
 
     /**
-     * The start call Promises mapped by call UUID.
+     * The {@link JitsiMeet.IncomingCallListener}s are called on the main
+     * thread.
      */
-    static private final HashMap<String, Promise> startCallPromises
-            = new HashMap<>();
+    static private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
     /**
      * Aborts all ongoing connections. This is a last resort mechanism which forces all resources to
      * be freed on the system in case of fatal error.
      */
     static void abortConnections() {
-        for (ConnectionImpl connection: getConnections()) {
-            connection.onAbort();
+        for (CallRegistry.Call call : registry.getCalls()) {
+            ConnectionImpl connection = call.connection;
+
+            if (connection != null) {
+                connection.onAbort();
+            }
         }
     }
 
     /**
-     * Adds {@link ConnectionImpl} to the list.
+     * @return {@code true} if running a Samsung device.
+     */
+    static boolean isSamsungDevice() {
+        return android.os.Build.MANUFACTURER.toLowerCase().contains("samsung");
+    }
+
+    /**
+     * Used to adjusts the connection's state to
+     * {@link android.telecom.Connection#STATE_ACTIVE}.
      *
-     * @param connection - {@link ConnectionImpl}
+     * @param callUUID the call UUID which identifies the connection.
+     * @return Whether the connection was set as active or not.
      */
-    static void addConnection(ConnectionImpl connection) {
-        connections.put(connection.getCallUUID(), connection);
+    static boolean setConnectionActive(String callUUID) {
+        CallRegistry.Call call = registry.get(callUUID);
+        ConnectionImpl connection = call != null ? call.connection : null;
+
+        if (connection != null && registry.moveTo(call, CallRegistry.State.ACTIVE)) {
+            CallSetupMetrics metrics = CallSetupMetrics.getInstance();
+
+            metrics.end(call, CallSetupMetrics.Stage.REPORT_CONNECTED);
+            metrics.begin(call, CallSetupMetrics.Stage.SET_ACTIVE);
+            try {
+                connection.setActive();
+            } finally {
+                metrics.end(call, CallSetupMetrics.Stage.SET_ACTIVE);
+            }
+
+            PhoneAccountPool pool = PhoneAccountPool.getInstance();
+            boolean incoming = call.isIncoming();
+            long setupNanos = metrics.end(
+                call, incoming ? CallSetupMetrics.Stage.ANSWER : CallSetupMetrics.Stage.SETUP);
+
+            JitsiMeetLogger.i("%s %s active %dms after %s, phone accounts reused %d / %d",
+                TAG,
+                callUUID,
+                TimeUnit.NANOSECONDS.toMillis(setupNanos),
+                incoming ? "being answered" : "startCall",
+                pool.getHitCount(),
+                pool.getHitCount() + pool.getMissCount());
+            return true;
+        } else {
+            JitsiMeetLogger.w("%s setConnectionActive - no connection to activate for UUID: %s (%s)",
+                TAG, callUUID, call);
+            return false;
+        }
     }
 
     /**
-     * Returns all {@link ConnectionImpl} instances held in this list.
+     * Used to adjusts the connection's state to
+     * {@link android.telecom.Connection#STATE_DISCONNECTED}.
      *
-     * @return a list of {@link ConnectionImpl}.
+     * @param callUUID the call UUID which identifies the connection.
+     * @param cause disconnection reason.
      */
-    static List<ConnectionImpl> getConnections() {
-        return new ArrayList<>(connections.values());
+    static void setConnectionDisconnected(String callUUID, DisconnectCause cause) {
+        CallRegistry.Call call = registry.get(callUUID);
+
+        if (call == null) {
+            JitsiMeetLogger.e("%s endCall no connection for UUID: %s", TAG, callUUID);
+            return;
+        }
+
+        // Both the JS side and the system may end the call, only the first one does.
+        if (!registry.moveTo(call, CallRegistry.State.DISCONNECTING)) {
+            JitsiMeetLogger.d("%s endCall %s already ending", TAG, callUUID);
+            return;
+        }
+
+        CallSetupMetrics.getInstance().begin(call, CallSetupMetrics.Stage.DISCONNECT);
+
+        ConnectionImpl connection = call.connection;
+
+        if (connection != null) {
+            disconnect(call, connection, cause);
+        } else {
+            // The connection is disconnected as soon as it is created, see
+            // onCreateOutgoingConnection.
+            JitsiMeetLogger.w("%s endCall %s before the connection was created", TAG, callUUID);
+        }
     }
 
     /**
-     * @return {@code true} if running a Samsung device.
+     * Disconnects the connection of a call, unless it was already.
      */
-    static boolean isSamsungDevice() {
-        return android.os.Build.MANUFACTURER.toLowerCase().contains("samsung");
+    static void disconnect(CallRegistry.Call call, ConnectionImpl connection, DisconnectCause cause) {
+        if (!call.claimDisconnect()) {
+            return;
+        }
+
+        CallSetupMetrics metrics = CallSetupMetrics.getInstance();
+
+        metrics.begin(call, CallSetupMetrics.Stage.SET_DISCONNECTED);
+        try {
+            setDisconnected(connection, cause);
+        } finally {
+            metrics.end(call, CallSetupMetrics.Stage.SET_DISCONNECTED);
+        }
+    }
+
+    private static void setDisconnected(ConnectionImpl connection, DisconnectCause cause) {
+        if (isSamsungDevice()) {
+            // Required to release the audio focus correctly.
+            connection.setOnHold();
+            // Prevents from including in the native phone calls history
+            connection.setConnectionProperties(
+                Connection.PROPERTY_SELF_MANAGED
+                    | Connection.PROPERTY_IS_EXTERNAL_CALL);
+        }
+        // Note that the call is not removed from the registry here, but
+        // in ConnectionImpl's state changed callback. It's a safer
+        // approach, because in case the app would crash on the JavaScript
+        // side the calls would be cleaned up by the system they would still
+        // be removed from the registry.
+        connection.setDisconnected(cause);
+        connection.destroy();
     }
 
     /**
-     * Registers a start call promise.
+     * Reports an incoming call to Telecom, which creates its connection, see
+     * {@link #onCreateIncomingConnection}, and then has the app show its
+     * ringing UI.
      *
-     * @param uuid - the call UUID to which the start call promise belongs to.
-     * @param promise - the Promise instance to be stored for later use.
+     * @param context the current Android context.
+     * @param callUUID the call UUID.
+     * @param handle who is calling, shown by the system.
+     * @param listener the listener of the app.
+     * @return {@code false} if the call couldn't be reported.
      */
-    static void registerStartCallPromise(String uuid, Promise promise) {
-        startCallPromises.put(uuid, promise);
+    static boolean addIncomingCall(
+            Context context,
+            String callUUID,
+            String handle,
+            JitsiMeet.IncomingCallListener listener) {
+        CallRegistry.Call call = registry.addIncoming(callUUID, listener);
+
+        if (call == null) {
+            JitsiMeetLogger.e("%s addIncomingCall %s already exists", TAG, callUUID);
+            return false;
+        }
+
+        CallSetupMetrics metrics = CallSetupMetrics.getInstance();
+        PhoneAccountPool pool = PhoneAccountPool.getInstance();
+        PhoneAccountHandle accountHandle;
+
+        metrics.begin(call, CallSetupMetrics.Stage.LEASE_PHONE_ACCOUNT);
+        try {
+            accountHandle = pool.lease(
+                context, PhoneAccount.SCHEME_SIP, PhoneAccountPool.DEFAULT_CAPABILITIES);
+        } catch (Throwable tr) {
+            JitsiMeetLogger.e(tr, "%s error in addIncomingCall", TAG);
+            call.takeIncomingCallListener();
+            registry.moveTo(call, CallRegistry.State.DISCONNECTED);
+            return false;
+        } finally {
+            metrics.end(call, CallSetupMetrics.Stage.LEASE_PHONE_ACCOUNT);
+        }
+
+        call.setPhoneAccountHandle(accountHandle);
+
+        // Passed on to the ConnectionRequest.
+        Bundle callExtras = new Bundle();
+        callExtras.putString(EXTRA_CALL_UUID, callUUID);
+
+        Bundle extras = new Bundle();
+        extras.putParcelable(
+            TelecomManager.EXTRA_INCOMING_CALL_ADDRESS,
+            Uri.fromParts(PhoneAccount.SCHEME_SIP, handle, null));
+        extras.putBundle(TelecomManager.EXTRA_INCOMING_CALL_EXTRAS, callExtras);
+
+        registry.moveTo(call, CallRegistry.State.PLACING);
+        watchIncomingCall(call);
+
+        // Telecom may create the connection before addNewIncomingCall returns.
+        metrics.begin(call, CallSetupMetrics.Stage.CREATE_CONNECTION);
+        metrics.begin(call, CallSetupMetrics.Stage.ADD_INCOMING_CALL);
+        try {
+            pool.addNewIncomingCall(accountHandle, extras);
+        } catch (Throwable tr) {
+            JitsiMeetLogger.e(tr, "%s error in addIncomingCall", TAG);
+            call.takeIncomingCallListener();
+            registry.moveTo(call, CallRegistry.State.DISCONNECTED);
+            return false;
+        } finally {
+            metrics.end(call, CallSetupMetrics.Stage.ADD_INCOMING_CALL);
+        }
+
+        return true;
     }
 
     /**
-     * Removes {@link ConnectionImpl} from the list.
-     *
-     * @param connection - {@link ConnectionImpl}
+     * Ends an incoming call Telecom doesn't create the connection of in time,
+     * like {@link RNConnectionService} does for the outgoing ones.
      */
-    static void removeConnection(ConnectionImpl connection) {
-        connections.remove(connection.getCallUUID());
+    private static void watchIncomingCall(final CallRegistry.Call call) {
+        long timeout = RNConnectionService.getStartCallTimeoutMillis();
+
+        if (timeout <= 0) {
+            return;
+        }
+
+        TimerWheel.getShared().schedule(new Runnable() {
+            @Override
+            public void run() {
+                // Telecom called back, or the call failed already. If Telecom is
+                // creating the connection right now, it is disconnected as soon
+                // as it is, see onCreateIncomingConnection.
+                if (call.connection != null
+                        || !registry.moveTo(call, CallRegistry.State.DISCONNECTED)) {
+                    return;
+                }
+
+                JitsiMeetLogger.w("%s addIncomingCall %s timed out", TAG, call.getCallUUID());
+                notifyIncomingCallEnded(call);
+            }
+        }, timeout, TimeUnit.MILLISECONDS);
     }
 
     /**
-     * Used to adjusts the connection's state to
-     * {@link android.telecom.Connection#STATE_ACTIVE}.
+     * Answers an incoming call, from the UI of the app or of the system, and
+     * tells the app to join its conference.
      *
      * @param callUUID the call UUID which identifies the connection.
-     * @return Whether the connection was set as active or not.
+     * @return Whether there was such a call to answer or not.
      */
-    static boolean setConnectionActive(String callUUID) {
-        ConnectionImpl connection = connections.get(callUUID);
+    static boolean answerIncomingCall(final String callUUID) {
+        CallRegistry.Call call = registry.get(callUUID);
 
-        if (connection != null) {
-            connection.setActive();
-            return true;
-        } else {
-            JitsiMeetLogger.w("%s setConnectionActive - no connection for UUID: %s", TAG, callUUID);
+        if (!answer(call)) {
+            JitsiMeetLogger.w("%s answerIncomingCall - no call to answer for UUID: %s (%s)",
+                TAG, callUUID, call);
             return false;
         }
+
+        final JitsiMeet.IncomingCallListener listener = call.getIncomingCallListener();
+
+        if (listener != null) {
+            mainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onAnswer(callUUID);
+                }
+            });
+        }
+
+        return true;
     }
 
     /**
-     * Used to adjusts the connection's state to
-     * {@link android.telecom.Connection#STATE_DISCONNECTED}.
+     * Takes an incoming call as the call of a conference the JS side is
+     * joining, answering it if it wasn't, e.g. when the app joined without
+     * going through {@link #answerIncomingCall(String)} or joins again. The app
+     * isn't told to join, it is already.
      *
-     * @param callUUID the call UUID which identifies the connection.
-     * @param cause disconnection reason.
+     * @param call the call.
+     * @return Whether the call is, or was, answered, {@code false} if it's
+     * ending.
      */
-    static void setConnectionDisconnected(String callUUID, DisconnectCause cause) {
-        ConnectionImpl connection = connections.get(callUUID);
+    static boolean adoptIncomingCall(CallRegistry.Call call) {
+        return call.isIncoming()
+            && (answer(call) || call.getState().compareTo(CallRegistry.State.DISCONNECTING) < 0);
+    }
+
+    private static boolean answer(CallRegistry.Call call) {
+        if (call == null
+                || !call.isIncoming()
+                || !registry.moveTo(call, CallRegistry.State.ANSWERED)) {
+            return false;
+        }
+
+        CallSetupMetrics.getInstance().begin(call, CallSetupMetrics.Stage.ANSWER);
+
+        ConnectionImpl connection = call.connection;
 
+        // Otherwise activated as soon as Telecom creates it.
         if (connection != null) {
-            if (isSamsungDevice()) {
-                // Required to release the audio focus correctly.
-                connection.setOnHold();
-                // Prevents from including in the native phone calls history
-                connection.setConnectionProperties(
-                    Connection.PROPERTY_SELF_MANAGED
-                        | Connection.PROPERTY_IS_EXTERNAL_CALL);
-            }
-            // Note that the connection is not removed from the list here, but
-            // in ConnectionImpl's state changed callback. It's a safer
-            // approach, because in case the app would crash on the JavaScript
-            // side the calls would be cleaned up by the system they would still
-            // be removed from the ConnectionList.
-            connection.setDisconnected(cause);
-            connection.destroy();
-        } else {
-            JitsiMeetLogger.e(TAG + " endCall no connection for UUID: " + callUUID);
+            connection.setActive();
         }
+
+        return true;
     }
 
     /**
-     * Unregisters a start call promise. Must be called after the Promise is
-     * rejected or resolved.
+     * Rejects an incoming call which wasn't answered.
      *
-     * @param uuid the call UUID which identifies the call to which the promise
-     *        belongs to.
-     * @return the unregistered Promise instance or <tt>null</tt> if there
-     *         wasn't any for the given call UUID.
+     * @param callUUID the call UUID which identifies the connection.
+     * @return Whether there was such a call to reject or not.
+     */
+    static boolean rejectIncomingCall(String callUUID) {
+        CallRegistry.Call call = registry.get(callUUID);
+
+        if (call == null
+                || !call.isIncoming()
+                || call.getState().compareTo(CallRegistry.State.RINGING) > 0) {
+            JitsiMeetLogger.w("%s rejectIncomingCall - no call to reject for UUID: %s (%s)",
+                TAG, callUUID, call);
+            return false;
+        }
+
+        setConnectionDisconnected(callUUID, new DisconnectCause(DisconnectCause.REJECTED));
+        return true;
+    }
+
+    /**
+     * Tells the app an incoming call ended, unless it was told already.
      */
-    static Promise unregisterStartCallPromise(String uuid) {
-        return startCallPromises.remove(uuid);
+    private static void notifyIncomingCallEnded(final CallRegistry.Call call) {
+        final JitsiMeet.IncomingCallListener listener = call.takeIncomingCallListener();
+
+        if (listener != null) {
+            mainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onEnded(call.getCallUUID());
+                }
+            });
+        }
     }
 
     /**
@@ -190,7 +405,8 @@ public class ConnectionService extends android.telecom.ConnectionService {
      *        "KEY_*" constants in {@link ConnectionImpl} for the list of keys.
      */
     static void updateCall(String callUUID, ReadableMap callState) {
-        ConnectionImpl connection = connections.get(callUUID);
+        CallRegistry.Call call = registry.get(callUUID);
+        ConnectionImpl connection = call != null ? call.connection : null;
 
         if (connection != null) {
             if (callState.hasKey(ConnectionImpl.KEY_HAS_VIDEO)) {
@@ -204,22 +420,24 @@ public class ConnectionService extends android.telecom.ConnectionService {
                                 : VideoProfile.STATE_AUDIO_ONLY);
             }
         } else {
-            JitsiMeetLogger.e(TAG + " updateCall no connection for UUID: " + callUUID);
+            JitsiMeetLogger.e("%s updateCall no connection for UUID: %s", TAG, callUUID);
         }
     }
 
     @Override
     public Connection onCreateOutgoingConnection(
             PhoneAccountHandle accountHandle, ConnectionRequest request) {
-        ConnectionImpl connection = new ConnectionImpl();
-
-        connection.setConnectionProperties(Connection.PROPERTY_SELF_MANAGED);
-        connection.setAddress(
-            request.getAddress(),
-            TelecomManager.PRESENTATION_UNKNOWN);
-        connection.setExtras(request.getExtras());
+        String callUUID = getCallUUID(request);
+        CallRegistry.Call call = registry.get(callUUID);
+
+        if (call == null) {
+            // Not placed by RNConnectionService#startCall, or its start timed out and the JS side
+            // moved on without it. Its phone account was released already.
+            JitsiMeetLogger.e("%s onCreateOutgoingConnection: unknown call %s", TAG, callUUID);
+            return Connection.createFailedConnection(new DisconnectCause(DisconnectCause.CANCELED));
+        }
 
-        connection.setAudioModeIsVoip(true);
+        ConnectionImpl connection = newConnection(call, request);
 
         // NOTE there's a time gap between the placeCall and this callback when
         // things could get out of sync, but they are put back in sync once
@@ -227,24 +445,29 @@ public class ConnectionService extends android.telecom.ConnectionService {
         // the JavaScript side there's a logic to sync up in .then() callback.
         connection.setVideoState(request.getVideoState());
 
-        Bundle moreExtras = new Bundle();
+        call.connection = connection;
+        registry.moveTo(call, CallRegistry.State.PLACING);
+
+        CallSetupMetrics metrics = CallSetupMetrics.getInstance();
 
-        moreExtras.putParcelable(
-            EXTRA_PHONE_ACCOUNT_HANDLE,
-            Objects.requireNonNull(request.getAccountHandle(), "accountHandle"));
-        connection.putExtras(moreExtras);
+        metrics.end(call, CallSetupMetrics.Stage.CREATE_CONNECTION);
+        metrics.begin(call, CallSetupMetrics.Stage.REPORT_CONNECTED);
 
-        addConnection(connection);
+        Promise startCallPromise = call.takeStartCallPromise();
 
-        Promise startCallPromise
-            = unregisterStartCallPromise(connection.getCallUUID());
+        // The JS side ended the call, or its start timed out, while Telecom was creating the
+        // connection.
+        if (call.getState().compareTo(CallRegistry.State.DISCONNECTING) >= 0) {
+            JitsiMeetLogger.w("%s onCreateOutgoingConnection: %s was ended already", TAG, callUUID);
+            disconnect(call, connection, new DisconnectCause(DisconnectCause.LOCAL));
+        }
 
         if (startCallPromise != null) {
-            JitsiMeetLogger.d(TAG + " onCreateOutgoingConnection " + connection.getCallUUID());
+            JitsiMeetLogger.d("%s onCreateOutgoingConnection %s", TAG, callUUID);
             startCallPromise.resolve(null);
         } else {
             JitsiMeetLogger.e(
-                TAG + " onCreateOutgoingConnection: no start call Promise for " + connection.getCallUUID());
+                "%s onCreateOutgoingConnection: no start call Promise for %s", TAG, callUUID);
         }
 
         return connection;
@@ -253,85 +476,124 @@ public class ConnectionService extends android.telecom.ConnectionService {
     @Override
     public Connection onCreateIncomingConnection(
             PhoneAccountHandle accountHandle, ConnectionRequest request) {
-        throw new RuntimeException("Not implemented");
+        String callUUID = getCallUUID(request);
+        CallRegistry.Call call = registry.get(callUUID);
+
+        if (call == null || !call.isIncoming()) {
+            // Not reported by addIncomingCall, or it timed out.
+            JitsiMeetLogger.e("%s onCreateIncomingConnection: unknown call %s", TAG, callUUID);
+            return Connection.createFailedConnection(new DisconnectCause(DisconnectCause.CANCELED));
+        }
+
+        ConnectionImpl connection = newConnection(call, request);
+
+        // The JavaScript side updates the video state once the conference is
+        // joined.
+        connection.setVideoState(VideoProfile.STATE_AUDIO_ONLY);
+
+        call.connection = connection;
+        registry.moveTo(call, CallRegistry.State.RINGING);
+
+        CallSetupMetrics.getInstance().end(call, CallSetupMetrics.Stage.CREATE_CONNECTION);
+
+        CallRegistry.State state = call.getState();
+
+        if (state == CallRegistry.State.RINGING) {
+            JitsiMeetLogger.d("%s onCreateIncomingConnection %s", TAG, callUUID);
+            connection.setRinging();
+        } else if (state == CallRegistry.State.ANSWERED) {
+            // Answered from the app's UI while Telecom was creating the
+            // connection.
+            connection.setActive();
+        } else {
+            // Rejected, or timed out, while Telecom was creating the connection.
+            JitsiMeetLogger.w("%s onCreateIncomingConnection: %s was ended already", TAG, callUUID);
+            disconnect(call, connection, new DisconnectCause(DisconnectCause.CANCELED));
+        }
+
+        return connection;
     }
 
     @Override
     public void onCreateIncomingConnectionFailed(
             PhoneAccountHandle accountHandle, ConnectionRequest request) {
-        throw new RuntimeException("Not implemented");
+        String callUUID = getCallUUID(request);
+
+        // E.g. there's an ongoing call in another app which can't be held.
+        JitsiMeetLogger.e("%s onCreateIncomingConnectionFailed %s", TAG, callUUID);
+
+        CallRegistry.Call call = registry.get(callUUID);
+
+        if (call == null) {
+            JitsiMeetLogger.e("%s onCreateIncomingConnectionFailed - unknown call %s", TAG, callUUID);
+            return;
+        }
+
+        registry.moveTo(call, CallRegistry.State.DISCONNECTED);
+        notifyIncomingCallEnded(call);
     }
 
     @Override
     public void onCreateOutgoingConnectionFailed(
             PhoneAccountHandle accountHandle, ConnectionRequest request) {
-        PhoneAccountHandle theAccountHandle = request.getAccountHandle();
-        String callUUID = theAccountHandle.getId();
+        String callUUID = getCallUUID(request);
 
-        JitsiMeetLogger.e(TAG + " onCreateOutgoingConnectionFailed " + callUUID);
+        JitsiMeetLogger.e("%s onCreateOutgoingConnectionFailed %s", TAG, callUUID);
 
-        if (callUUID != null) {
-            Promise startCallPromise = unregisterStartCallPromise(callUUID);
+        CallRegistry.Call call = registry.get(callUUID);
 
-            if (startCallPromise != null) {
-                startCallPromise.reject(
-                        "CREATE_OUTGOING_CALL_FAILED",
-                        "The request has been denied by the system");
-            } else {
-                JitsiMeetLogger.e(TAG + " startCallFailed - no start call Promise for UUID: " + callUUID);
-            }
-        } else {
-            JitsiMeetLogger.e(TAG + " onCreateOutgoingConnectionFailed - no call UUID");
+        if (call == null) {
+            JitsiMeetLogger.e("%s onCreateOutgoingConnectionFailed - unknown call %s", TAG, callUUID);
+            return;
         }
 
-        unregisterPhoneAccount(theAccountHandle);
-    }
+        registry.moveTo(call, CallRegistry.State.DISCONNECTED);
 
-    private void unregisterPhoneAccount(PhoneAccountHandle phoneAccountHandle) {
-        TelecomManager telecom = getSystemService(TelecomManager.class);
-        if (telecom != null) {
-            if (phoneAccountHandle != null) {
-                telecom.unregisterPhoneAccount(phoneAccountHandle);
-            } else {
-                JitsiMeetLogger.e(TAG + " unregisterPhoneAccount - account handle is null");
-            }
+        Promise startCallPromise = call.takeStartCallPromise();
+
+        if (startCallPromise != null) {
+            startCallPromise.reject(
+                    "CREATE_OUTGOING_CALL_FAILED",
+                    "The request has been denied by the system");
         } else {
-            JitsiMeetLogger.e(TAG + " unregisterPhoneAccount - telecom is null");
+            JitsiMeetLogger.e("%s startCallFailed - no start call Promise for UUID: %s", TAG, callUUID);
         }
     }
 
     /**
-     * Registers new {@link PhoneAccountHandle}.
-     *
-     * @param context the current Android context.
-     * @param address the phone account's address. At the time of this writing
-     *        it's the call handle passed from the Java Script side.
-     * @param callUUID the call's UUID for which the account is to be created.
-     *        It will be used as the account's id.
-     * @return {@link PhoneAccountHandle} described by the given arguments.
+     * Creates the self-managed connection of a call.
      */
-    static PhoneAccountHandle registerPhoneAccount(
-            Context context, Uri address, String callUUID) {
-        PhoneAccountHandle phoneAccountHandle
-            = new PhoneAccountHandle(
-                    new ComponentName(context, ConnectionService.class),
-                    callUUID);
-
-        PhoneAccount.Builder builder
-            = PhoneAccount.builder(phoneAccountHandle, address.toString())
-                .setAddress(address)
-                .setCapabilities(PhoneAccount.CAPABILITY_SELF_MANAGED |
-                        PhoneAccount.CAPABILITY_VIDEO_CALLING |
-                        PhoneAccount.CAPABILITY_SUPPORTS_VIDEO_CALLING)
-                .addSupportedUriScheme(PhoneAccount.SCHEME_SIP);
-
-        PhoneAccount account = builder.build();
-
-        TelecomManager telecomManager
-            = context.getSystemService(TelecomManager.class);
-        telecomManager.registerPhoneAccount(account);
-
-        return phoneAccountHandle;
+    private ConnectionImpl newConnection(CallRegistry.Call call, ConnectionRequest request) {
+        ConnectionImpl connection = new ConnectionImpl(call);
+
+        connection.setConnectionProperties(Connection.PROPERTY_SELF_MANAGED);
+        // Another call, cellular or from another app, puts the conference on
+        // hold rather than ending it.
+        connection.setConnectionCapabilities(
+            Connection.CAPABILITY_HOLD | Connection.CAPABILITY_SUPPORT_HOLD);
+        connection.setAddress(
+            request.getAddress(),
+            TelecomManager.PRESENTATION_UNKNOWN);
+        connection.setExtras(request.getExtras());
+
+        connection.setAudioModeIsVoip(true);
+
+        return connection;
+    }
+
+    /**
+     * Gets the UUID of the call of a request, see {@link #EXTRA_CALL_UUID}.
+     */
+    private static String getCallUUID(ConnectionRequest request) {
+        Bundle extras = request.getExtras();
+        String callUUID = extras != null ? extras.getString(EXTRA_CALL_UUID) : null;
+
+        // The id of the account used to be the UUID of the call.
+        if (callUUID == null && request.getAccountHandle() != null) {
+            callUUID = request.getAccountHandle().getId();
+        }
+
+        return callUUID;
     }
 
     /**
@@ -348,6 +610,12 @@ public class ConnectionService extends android.telecom.ConnectionService {
          */
         static final String KEY_HAS_VIDEO = "hasVideo";
 
+        private final CallRegistry.Call call;
+
+        ConnectionImpl(CallRegistry.Call call) {
+            this.call = call;
+        }
+
         /**
          * Called when system wants to disconnect the call.
          *
@@ -355,12 +623,18 @@ public class ConnectionService extends android.telecom.ConnectionService {
          */
         @Override
         public void onDisconnect() {
-            JitsiMeetLogger.i(TAG + " onDisconnect " + getCallUUID());
-            WritableNativeMap data = new WritableNativeMap();
-            data.putString("callUUID", getCallUUID());
-            RNConnectionService.getInstance().emitEvent(
-                    "org.jitsi.meet:features/connection_service#disconnect",
-                    data);
+            JitsiMeetLogger.i("%s onDisconnect %s", TAG, getCallUUID());
+            // The React instance may not be up yet if an incoming call is
+            // still ringing.
+            RNConnectionService module = RNConnectionService.getInstance();
+
+            if (module != null) {
+                WritableNativeMap data = new WritableNativeMap();
+                data.putString("callUUID", getCallUUID());
+                module.emitEvent(
+                        "org.jitsi.meet:features/connection_service#disconnect",
+                        data);
+            }
             // The JavaScript side will not go back to the native with
             // 'endCall', so the Connection must be removed immediately.
             setConnectionDisconnected(
@@ -375,12 +649,18 @@ public class ConnectionService extends android.telecom.ConnectionService {
          */
         @Override
         public void onAbort() {
-            JitsiMeetLogger.i(TAG + " onAbort " + getCallUUID());
-            WritableNativeMap data = new WritableNativeMap();
-            data.putString("callUUID", getCallUUID());
-            RNConnectionService.getInstance().emitEvent(
-                    "org.jitsi.meet:features/connection_service#abort",
-                    data);
+            JitsiMeetLogger.i("%s onAbort %s", TAG, getCallUUID());
+            // The React instance may not be up yet if an incoming call is
+            // still ringing.
+            RNConnectionService module = RNConnectionService.getInstance();
+
+            if (module != null) {
+                WritableNativeMap data = new WritableNativeMap();
+                data.putString("callUUID", getCallUUID());
+                module.emitEvent(
+                        "org.jitsi.meet:features/connection_service#abort",
+                        data);
+            }
             // The JavaScript side will not go back to the native with
             // 'endCall', so the Connection must be removed immediately.
             setConnectionDisconnected(
@@ -388,13 +668,99 @@ public class ConnectionService extends android.telecom.ConnectionService {
                     new DisconnectCause(DisconnectCause.CANCELED));
         }
 
+        /**
+         * Called when the system wants the app to show the UI of an incoming
+         * call, which is the app's to provide for self-managed calls.
+         *
+         * {@inheritDoc}
+         */
+        @Override
+        public void onShowIncomingCallUi() {
+            JitsiMeetLogger.i("%s onShowIncomingCallUi %s", TAG, getCallUUID());
+
+            JitsiMeet.IncomingCallListener listener = call.getIncomingCallListener();
+
+            if (listener != null) {
+                listener.onShowIncomingCallUi(getCallUUID());
+            }
+        }
+
+        /**
+         * Called when the user answers an incoming call through the system,
+         * e.g. from a headset, a watch or a car.
+         *
+         * {@inheritDoc}
+         */
+        @Override
+        public void onAnswer() {
+            JitsiMeetLogger.i("%s onAnswer %s", TAG, getCallUUID());
+            answerIncomingCall(getCallUUID());
+        }
+
+        /**
+         * Called when the user rejects an incoming call through the system.
+         *
+         * {@inheritDoc}
+         */
+        @Override
+        public void onReject() {
+            JitsiMeetLogger.i("%s onReject %s", TAG, getCallUUID());
+            setConnectionDisconnected(
+                    getCallUUID(),
+                    new DisconnectCause(DisconnectCause.REJECTED));
+        }
+
+        /**
+         * Called when the system puts the call on hold, e.g. for another call.
+         * The JavaScript side stops sending and receiving media, but stays in
+         * the conference.
+         *
+         * {@inheritDoc}
+         */
         @Override
         public void onHold() {
-            // What ?! Android will still call this method even if we do not add
-            // the HOLD capability, so do the same thing as on abort.
-            // TODO implement HOLD
-            JitsiMeetLogger.w(TAG + " onHold %s - HOLD is not supported, aborting the call...", getCallUUID());
-            this.onAbort();
+            JitsiMeetLogger.i("%s onHold %s", TAG, getCallUUID());
+            setHeld(true);
+        }
+
+        /**
+         * Called when the system takes the call off hold. The JavaScript side
+         * resumes the media of the conference.
+         *
+         * {@inheritDoc}
+         */
+        @Override
+        public void onUnhold() {
+            JitsiMeetLogger.i("%s onUnhold %s", TAG, getCallUUID());
+            setHeld(false);
+        }
+
+        private void setHeld(boolean held) {
+            if (call.getState().compareTo(CallRegistry.State.DISCONNECTING) >= 0
+                    || !call.setHeld(held)) {
+                return;
+            }
+
+            // Only a call which was actually held goes back to ACTIVE, one
+            // still PLACING or RINGING keeps its state.
+            if (held) {
+                if (getState() == STATE_ACTIVE) {
+                    setOnHold();
+                }
+            } else if (getState() == STATE_HOLDING) {
+                setActive();
+            }
+
+            RNConnectionService module = RNConnectionService.getInstance();
+
+            if (module != null) {
+                WritableNativeMap data = new WritableNativeMap();
+                data.putString("callUUID", getCallUUID());
+                data.putBoolean("held", held);
+                module.emitEvent(
+                        "org.jitsi.meet:features/connection_service#hold",
+                        data);
+            }
         }
 
         /**
@@ -406,7 +772,7 @@ public class ConnectionService extends android.telecom.ConnectionService {
          */
         @Override
         public void onCallAudioStateChanged(CallAudioState state) {
-            JitsiMeetLogger.d(TAG + " onCallAudioStateChanged: " + state);
+            JitsiMeetLogger.d("%s onCallAudioStateChanged: %s", TAG, state);
             RNConnectionService module = RNConnectionService.getInstance();
             if (module != null) {
                 module.onCallAudioStateChange(state);
@@ -414,18 +780,22 @@ public class ConnectionService extends android.telecom.ConnectionService {
         }
 
         /**
-         * Unregisters the account when the call is disconnected.
+         * Releases the account when the call is disconnected, and tells the
+         * app if it was an incoming call.
          *
          * @param state - the new connection's state.
          */
         @Override
         public void onStateChanged(int state) {
-            JitsiMeetLogger.d(
-                "%s onStateChanged: %s %s", TAG, Connection.stateToString(state), getCallUUID());
+            if (JitsiMeetLogger.isLoggable(Log.DEBUG)) {
+                JitsiMeetLogger.d(
+                    "%s onStateChanged: %s %s", TAG, Connection.stateToString(state), getCallUUID());
+            }
 
             if (state == STATE_DISCONNECTED) {
-                removeConnection(this);
-                unregisterPhoneAccount(getPhoneAccountHandle());
+                CallSetupMetrics.getInstance().end(call, CallSetupMetrics.Stage.DISCONNECT);
+                registry.moveTo(call, CallRegistry.State.DISCONNECTED);
+                notifyIncomingCallEnded(call);
             }
         }
 
@@ -435,12 +805,7 @@ public class ConnectionService extends android.telecom.ConnectionService {
          * @return call UUID
          */
         String getCallUUID() {
-            return getPhoneAccountHandle().getId();
-        }
-
-        private PhoneAccountHandle getPhoneAccountHandle() {
-            return getExtras().getParcelable(
-                    ConnectionService.EXTRA_PHONE_ACCOUNT_HANDLE);
+            return call.getCallUUID();
         }
 
         @Override
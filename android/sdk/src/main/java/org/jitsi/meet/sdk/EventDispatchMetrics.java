@@ -0,0 +1,228 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import org.jitsi.meet.sdk.events.JitsiMeetEvent;
+import org.jitsi.meet.sdk.log.JitsiMeetLogger;
+import org.jitsi.meet.sdk.metrics.LatencyHistogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how long the events take to go from the JS side to the host app's listeners, with a
+ * {@link LatencyHistogram} for each {@link BroadcastEvent.Type} and {@link Stage}.
+ *
+ * The JS side stamps every event with {@code performance.now()}, which React Native backs with
+ * the same monotonic clock as {@link System#nanoTime()}. A summary of the histograms is logged
+ * every minute, as long as events keep coming.
+ */
+public final class EventDispatchMetrics {
+    private static final String TAG = EventDispatchMetrics.class.getSimpleName();
+
+    /**
+     * The legs of the path of an event.
+     */
+    public enum Stage {
+        /**
+         * From the JS side sending the event to the native side receiving it.
+         */
+        BRIDGE,
+
+        /**
+         * From the native side receiving the event to {@link BroadcastEmitter} having posted it
+         * and broadcast its intent.
+         */
+        EMIT,
+
+        /**
+         * From the native side receiving the event to a listener being called with it, mostly
+         * the time spent waiting for the main thread.
+         */
+        DELIVERY,
+
+        /**
+         * From the JS side sending the event to a listener being called with it.
+         */
+        TOTAL
+    }
+
+    private static final BroadcastEvent.Type[] TYPES = BroadcastEvent.Type.values();
+    private static final Stage[] STAGES = Stage.values();
+
+    private static final long SUMMARY_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final EventDispatchMetrics instance = new EventDispatchMetrics();
+
+    /**
+     * Indexed by type ordinal, then stage ordinal.
+     */
+    private final LatencyHistogram[] histograms = new LatencyHistogram[TYPES.length * STAGES.length];
+
+    private final AtomicLong nextSummary = new AtomicLong(System.nanoTime() + SUMMARY_INTERVAL_NANOS);
+
+    public static EventDispatchMetrics getInstance() {
+        return instance;
+    }
+
+    private EventDispatchMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Converts a JS {@code performance.now()} timestamp to {@link System#nanoTime()}.
+     *
+     * @param millis - The timestamp, in milliseconds.
+     * @return The timestamp, in nanoseconds, or {@code 0} if unknown.
+     */
+    static long fromJSTime(double millis) {
+        return millis > 0 ? (long) (millis * 1_000_000) : 0;
+    }
+
+    /**
+     * Records the arrival of an event from the JS side.
+     */
+    void recordArrival(BroadcastEvent.Type type, long sentAtNanos, long arrivalNanos) {
+        if (sentAtNanos != 0) {
+            record(type, Stage.BRIDGE, arrivalNanos - sentAtNanos, arrivalNanos);
+        }
+    }
+
+    /**
+     * Records the end of the emission of an event.
+     */
+    void recordEmitted(BroadcastEvent event) {
+        long arrivalNanos = event.getArrivalNanos();
+
+        if (arrivalNanos != 0 && event.getType() != null) {
+            long now = System.nanoTime();
+
+            record(event.getType(), Stage.EMIT, now - arrivalNanos, now);
+        }
+    }
+
+    /**
+     * Records that a listener is being called with an event. The SDK's own listeners
+     * (e.g. {@link JitsiMeetActivity}) call it, apps listening to the {@link JitsiMeetEventBus}
+     * may call it as well in order to have their delivery times recorded. Events rebuilt from
+     * intents carry no timestamps and are ignored.
+     *
+     * @param event - The event being delivered.
+     */
+    public void recordDelivery(BroadcastEvent event) {
+        recordDelivery(event.getType(), event.getSentAtNanos(), event.getArrivalNanos());
+    }
+
+    /**
+     * Same as {@link #recordDelivery(BroadcastEvent)}, for the typed events. Events built by the
+     * app itself carry no timestamps and are ignored.
+     *
+     * @param event - The event being delivered.
+     */
+    public void recordDelivery(JitsiMeetEvent event) {
+        recordDelivery(event.getType(), event.getSentAtNanos(), event.getArrivalNanos());
+    }
+
+    private void recordDelivery(BroadcastEvent.Type type, long sentAtNanos, long arrivalNanos) {
+        if (arrivalNanos == 0 || type == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+
+        record(type, Stage.DELIVERY, now - arrivalNanos, now);
+        if (sentAtNanos != 0) {
+            record(type, Stage.TOTAL, now - sentAtNanos, now);
+        }
+    }
+
+    /**
+     * Gets the latencies of a stage of the events of a type.
+     *
+     * @param type - The type of the events.
+     * @param stage - The stage.
+     * @return A snapshot of the latencies.
+     */
+    public LatencyHistogram.Snapshot getSnapshot(BroadcastEvent.Type type, Stage stage) {
+        return getHistogram(type, stage).getSnapshot();
+    }
+
+    /**
+     * Gets the latencies of all the types of events which were seen.
+     *
+     * @return The snapshots of the stages of each type, by type.
+     */
+    public Map<BroadcastEvent.Type, Map<Stage, LatencyHistogram.Snapshot>> getSnapshots() {
+        Map<BroadcastEvent.Type, Map<Stage, LatencyHistogram.Snapshot>> snapshots
+            = new EnumMap<>(BroadcastEvent.Type.class);
+
+        for (BroadcastEvent.Type type : TYPES) {
+            Map<Stage, LatencyHistogram.Snapshot> stageSnapshots = new EnumMap<>(Stage.class);
+            boolean seen = false;
+
+            for (Stage stage : STAGES) {
+                LatencyHistogram.Snapshot snapshot = getSnapshot(type, stage);
+
+                stageSnapshots.put(stage, snapshot);
+                seen |= snapshot.getCount() != 0;
+            }
+
+            if (seen) {
+                snapshots.put(type, stageSnapshots);
+            }
+        }
+
+        return snapshots;
+    }
+
+    /**
+     * Removes all the recorded latencies.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Logs the latencies of all the types of events which were seen.
+     */
+    public void logSummary() {
+        for (Map.Entry<BroadcastEvent.Type, Map<Stage, LatencyHistogram.Snapshot>> entry
+                : getSnapshots().entrySet()) {
+            JitsiMeetLogger.i("%s %s latencies: %s", TAG, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private LatencyHistogram getHistogram(BroadcastEvent.Type type, Stage stage) {
+        return histograms[type.ordinal() * STAGES.length + stage.ordinal()];
+    }
+
+    private void record(BroadcastEvent.Type type, Stage stage, long nanos, long now) {
+        getHistogram(type, stage).recordNanos(nanos);
+
+        long next = nextSummary.get();
+
+        if (now - next >= 0 && nextSummary.compareAndSet(next, now + SUMMARY_INTERVAL_NANOS)) {
+            logSummary();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+/**
+ * Keeps track of the {@link BroadcastEvent.Type}s the host app and the SDK itself consume, so
+ * that the JS side doesn't send the others at all.
+ *
+ * Every consumer declares the types it wants with {@link #register(BroadcastEvent.Type...)} and
+ * releases the returned {@link Registration} when it's done. The union of the registered types
+ * is kept as a bitset (bit {@code 1 << ordinal} for each type) which is pushed to the JS side
+ * whenever it changes.
+ *
+ * With event batching enabled the JS side sends the participants which joined or left in
+ * batches, so registering {@link BroadcastEvent.Type#PARTICIPANT_JOINED} or
+ * {@link BroadcastEvent.Type#PARTICIPANT_LEFT} also lets their batch type through.
+ *
+ * Filtering is disabled by default, since apps listening to the broadcast intents have no way
+ * to declare what they consume. Until {@link #setFilteringEnabled(boolean)} is called the mask
+ * has all the types.
+ */
+public final class EventSubscriptionRegistry {
+    /**
+     * Notified when the mask changes.
+     */
+    interface MaskListener {
+        void onMaskChanged(long mask);
+    }
+
+    /**
+     * A set of types declared by a consumer. Keep it around in order to release it.
+     */
+    public static final class Registration {
+        private final EventSubscriptionRegistry registry;
+        private final BroadcastEvent.Type[] types;
+
+        private boolean released;
+
+        private Registration(EventSubscriptionRegistry registry, BroadcastEvent.Type[] types) {
+            this.registry = registry;
+            this.types = types;
+        }
+
+        /**
+         * Withdraws the types of this registration. Calling it again has no effect.
+         */
+        public void release() {
+            registry.release(this);
+        }
+    }
+
+    private static final BroadcastEvent.Type[] TYPES = BroadcastEvent.Type.values();
+
+    private static final long ALL_TYPES = (1L << TYPES.length) - 1;
+
+    private static final EventSubscriptionRegistry instance = new EventSubscriptionRegistry();
+
+    /**
+     * Number of registrations for each type, by ordinal. Guarded by {@code this}.
+     */
+    private final int[] counts = new int[TYPES.length];
+
+    private boolean filteringEnabled;
+
+    private MaskListener maskListener;
+
+    /**
+     * The current mask, read without locking on every event.
+     */
+    private volatile long mask = ALL_TYPES;
+
+    public static EventSubscriptionRegistry getInstance() {
+        return instance;
+    }
+
+    private EventSubscriptionRegistry() {
+    }
+
+    /**
+     * Gets the bit of the given type in the mask.
+     *
+     * @param type - The type of the events.
+     * @return The bit.
+     */
+    public static long getBit(BroadcastEvent.Type type) {
+        return 1L << type.ordinal();
+    }
+
+    /**
+     * Declares that the caller consumes the events of the given types.
+     *
+     * @param types - The types of the events.
+     * @return The registration, to be released once the events are no longer needed.
+     */
+    public Registration register(BroadcastEvent.Type... types) {
+        Registration registration = new Registration(this, types.clone());
+
+        synchronized (this) {
+            for (BroadcastEvent.Type type : registration.types) {
+                counts[type.ordinal()]++;
+            }
+            updateMask();
+        }
+
+        return registration;
+    }
+
+    private synchronized void release(Registration registration) {
+        if (registration.released) {
+            return;
+        }
+
+        registration.released = true;
+        for (BroadcastEvent.Type type : registration.types) {
+            counts[type.ordinal()]--;
+        }
+        updateMask();
+    }
+
+    /**
+     * Enables or disables filtering. When enabled, only the registered types are sent by the JS
+     * side, broadcast intents included.
+     *
+     * @param enabled - Whether to filter the events.
+     */
+    public synchronized void setFilteringEnabled(boolean enabled) {
+        filteringEnabled = enabled;
+        updateMask();
+    }
+
+    public synchronized boolean isFilteringEnabled() {
+        return filteringEnabled;
+    }
+
+    /**
+     * Gets the types which are to be sent, as a bitset.
+     *
+     * @return The mask, with all the types if filtering is disabled.
+     */
+    public long getMask() {
+        return mask;
+    }
+
+    /**
+     * Checks whether the events of the given type are to be sent.
+     *
+     * @param type - The type of the events.
+     * @return {@code true} if someone consumes them, or filtering is disabled.
+     */
+    public boolean isSubscribed(BroadcastEvent.Type type) {
+        return (mask & getBit(type)) != 0;
+    }
+
+    synchronized void setMaskListener(MaskListener listener) {
+        maskListener = listener;
+    }
+
+    /**
+     * Recomputes the mask and notifies the listener if it changed. Called with the lock held,
+     * so the listener sees the changes in order.
+     */
+    private void updateMask() {
+        long newMask = 0;
+
+        if (filteringEnabled) {
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    newMask |= 1L << i;
+                }
+            }
+            if ((newMask & getBit(BroadcastEvent.Type.PARTICIPANT_JOINED)) != 0) {
+                newMask |= getBit(BroadcastEvent.Type.PARTICIPANTS_JOINED_BATCH);
+            }
+            if ((newMask & getBit(BroadcastEvent.Type.PARTICIPANT_LEFT)) != 0) {
+                newMask |= getBit(BroadcastEvent.Type.PARTICIPANTS_LEFT_BATCH);
+            }
+        } else {
+            newMask = ALL_TYPES;
+        }
+
+        if (newMask != mask) {
+            mask = newMask;
+
+            if (maskListener != null) {
+                maskListener.onMaskChanged(newMask);
+            }
+        }
+    }
+}
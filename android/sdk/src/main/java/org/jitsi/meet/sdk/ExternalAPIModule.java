@@ -16,12 +16,21 @@
 
 package org.jitsi.meet.sdk;
 
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.module.annotations.ReactModule;
 
+import org.jitsi.meet.sdk.events.CommandBatch;
+import org.jitsi.meet.sdk.events.JitsiMeetCommand;
+import org.jitsi.meet.sdk.events.JitsiMeetEvent;
+import org.jitsi.meet.sdk.events.JitsiMeetEvents;
+import org.jitsi.meet.sdk.log.JitsiMeetFlightRecorder;
 import org.jitsi.meet.sdk.log.JitsiMeetLogger;
 
 import java.util.HashMap;
@@ -37,8 +46,22 @@ class ExternalAPIModule extends ReactContextBaseJavaModule {
 
     private static final String TAG = NAME;
 
+    /**
+     * The event through which the mask of the event types to be sent is pushed to JS, see
+     * {@link EventSubscriptionRegistry}.
+     */
+    private static final String SET_EVENT_SUBSCRIPTIONS = "org.jitsi.meet.SET_EVENT_SUBSCRIPTIONS";
+
+    /**
+     * The event carrying a {@link CommandBatch} to JS.
+     */
+    private static final String EXECUTE_COMMANDS = "org.jitsi.meet.EXECUTE_COMMANDS";
+
     private final BroadcastEmitter broadcastEmitter;
     private final BroadcastReceiver broadcastReceiver;
+    private final JitsiMeetEventBus.Subscription actionSubscription;
+    private final JitsiMeetEventBus.Subscription commandSubscription;
+    private final JitsiMeetEventBus.Subscription commandBatchSubscription;
 
     /**
      * Initializes a new module instance. There shall be a single instance of
@@ -53,7 +76,77 @@ class ExternalAPIModule extends ReactContextBaseJavaModule {
         broadcastEmitter = new BroadcastEmitter(reactContext);
         broadcastReceiver = new BroadcastReceiver(reactContext);
 
-        ParticipantsService.init(reactContext);
+        // Deliver the host app's commands to JS right away, on whatever thread they come from.
+        actionSubscription = JitsiMeetEventBus.getInstance().subscribe(
+            BroadcastAction.class,
+            JitsiMeetEventBus.ThreadMode.CALLER,
+            new JitsiMeetEventBus.Listener<BroadcastAction>() {
+                @Override
+                public void onEvent(BroadcastAction action) {
+                    if (action.getType() == null) {
+                        return;
+                    }
+
+                    String actionName = action.getType().getAction();
+
+                    JitsiMeetFlightRecorder.recordEvent(actionName);
+                    ReactInstanceManagerHolder.emitEvent(actionName, action.getDataAsWritableNativeMap());
+                }
+            });
+        commandSubscription = JitsiMeetEventBus.getInstance().subscribe(
+            JitsiMeetCommand.class,
+            JitsiMeetEventBus.ThreadMode.CALLER,
+            new JitsiMeetEventBus.Listener<JitsiMeetCommand>() {
+                @Override
+                public void onEvent(JitsiMeetCommand command) {
+                    String actionName = command.getType().getAction();
+
+                    JitsiMeetFlightRecorder.recordEvent(actionName);
+                    ReactInstanceManagerHolder.emitEvent(actionName, command.toWritableMap());
+                }
+            });
+        commandBatchSubscription = JitsiMeetEventBus.getInstance().subscribe(
+            CommandBatch.class,
+            JitsiMeetEventBus.ThreadMode.CALLER,
+            new JitsiMeetEventBus.Listener<CommandBatch>() {
+                @Override
+                public void onEvent(CommandBatch batch) {
+                    JitsiMeetFlightRecorder.recordEvent(EXECUTE_COMMANDS);
+                    ReactInstanceManagerHolder.emitEvent(EXECUTE_COMMANDS, batch.toWritableArray());
+                }
+            });
+
+        EventSubscriptionRegistry.getInstance().setMaskListener(
+            new EventSubscriptionRegistry.MaskListener() {
+                @Override
+                public void onMaskChanged(long mask) {
+                    emitEventSubscriptions(mask);
+                }
+            });
+
+        // The store registers the types it needs when created, which has to happen before the
+        // JS side gets the mask with the constants, or it won't send them.
+        ConferenceStateStore.getInstance();
+        ParticipantsService.init();
+    }
+
+    @Override
+    public void invalidate() {
+        actionSubscription.unsubscribe();
+        commandSubscription.unsubscribe();
+        commandBatchSubscription.unsubscribe();
+        broadcastReceiver.release();
+        EventSubscriptionRegistry.getInstance().setMaskListener(null);
+
+        super.invalidate();
+    }
+
+    private static void emitEventSubscriptions(long mask) {
+        WritableMap data = Arguments.createMap();
+
+        // Fine as a double, there are fewer than 53 types.
+        data.putDouble("mask", mask);
+        ReactInstanceManagerHolder.emitEvent(SET_EVENT_SUBSCRIPTIONS, data);
     }
 
     @ReactMethod
@@ -98,9 +191,40 @@ class ExternalAPIModule extends ReactContextBaseJavaModule {
         constants.put("SET_CLOSED_CAPTIONS_ENABLED", BroadcastAction.Type.SET_CLOSED_CAPTIONS_ENABLED.getAction());
         constants.put("TOGGLE_CAMERA", BroadcastAction.Type.TOGGLE_CAMERA.getAction());
 
+        Map<String, Object> eventTypes = new HashMap<>();
+
+        for (BroadcastEvent.Type type : BroadcastEvent.Type.values()) {
+            eventTypes.put(type.name(), (double) EventSubscriptionRegistry.getBit(type));
+        }
+        constants.put("EVENT_TYPES", eventTypes);
+        constants.put("EVENT_SUBSCRIPTIONS", (double) EventSubscriptionRegistry.getInstance().getMask());
+        constants.put("SET_EVENT_SUBSCRIPTIONS", SET_EVENT_SUBSCRIPTIONS);
+        constants.put("EXECUTE_COMMANDS", EXECUTE_COMMANDS);
+
         return constants;
     }
 
+    /**
+     * Pushes the current mask of the event types to be sent, the JS side asks for it once it
+     * has registered for {@link #SET_EVENT_SUBSCRIPTIONS}, in case it changed in between.
+     */
+    @ReactMethod
+    public void requestEventSubscriptions() {
+        emitEventSubscriptions(EventSubscriptionRegistry.getInstance().getMask());
+    }
+
+    /**
+     * Receives the outcome of a command sent with {@link CommandService}.
+     *
+     * @param commandId The correlation id of the command.
+     * @param result The result of the command, {@code null} if it failed.
+     * @param error The error the command failed with, {@code null} if it succeeded.
+     */
+    @ReactMethod
+    public void sendCommandResult(String commandId, @Nullable ReadableMap result, @Nullable String error) {
+        CommandService.getInstance().onCommandResult(commandId, result, error);
+    }
+
     /**
      * Dispatches an event that occurred on the JavaScript side of the SDK to
      * the native side.
@@ -111,10 +235,57 @@ class ExternalAPIModule extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public void sendEvent(String name, ReadableMap data) {
-        // Keep track of the current ongoing conference.
-        OngoingConferenceTracker.getInstance().onExternalAPIEvent(name, data);
+        dispatchEvent(name, data, 0);
+    }
+
+    /**
+     * Same as {@link #sendEvent(String, ReadableMap)}, with the time the event was sent at, for
+     * {@link EventDispatchMetrics}.
+     *
+     * @param name The name of the event.
+     * @param data The details/specifics of the event.
+     * @param sentAt The JS {@code performance.now()} timestamp of the event, in milliseconds.
+     */
+    @ReactMethod
+    public void sendTimedEvent(String name, ReadableMap data, double sentAt) {
+        dispatchEvent(name, data, EventDispatchMetrics.fromJSTime(sentAt));
+    }
+
+    private void dispatchEvent(String name, ReadableMap data, long sentAtNanos) {
+        long arrivalNanos = System.nanoTime();
+
+        BroadcastEvent.Type type = BroadcastEvent.Type.fromName(name);
+        ConferenceStateStore stateStore = ConferenceStateStore.getInstance();
+        JitsiMeetEventBus eventBus = JitsiMeetEventBus.getInstance();
+
+        // Typed events are only built for the types someone is subscribed to or the store
+        // handles, once for both.
+        boolean post = type != null && eventBus.hasSubscribers(JitsiMeetEvents.getEventClass(type));
+        boolean keep = type != null && stateStore.handles(type);
+        JitsiMeetEvent event = post || keep
+            ? JitsiMeetEvents.fromReadableMap(type, data, sentAtNanos, arrivalNanos) : null;
+
+        // Keep track of the state of the current conference.
+        if (keep) {
+            stateStore.onEvent(event);
+        }
+
+        JitsiMeetFlightRecorder.recordEvent(name);
+        JitsiMeetLogger.d("%s Sending event: %s with data: %s", TAG, name, data);
+
+        if (type != null) {
+            // The JS side may not have got the latest mask yet.
+            if (!EventSubscriptionRegistry.getInstance().isSubscribed(type)) {
+                return;
+            }
+
+            EventDispatchMetrics.getInstance().recordArrival(type, sentAtNanos, arrivalNanos);
+        }
+
+        if (post) {
+            eventBus.post(event);
+        }
 
-        JitsiMeetLogger.d(TAG + " Sending event: " + name + " with data: " + data);
-        broadcastEmitter.sendBroadcast(name, data);
+        broadcastEmitter.sendBroadcast(name, data, sentAtNanos, arrivalNanos);
     }
 }
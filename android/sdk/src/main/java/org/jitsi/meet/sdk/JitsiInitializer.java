@@ -23,6 +23,7 @@ import androidx.annotation.NonNull;
 import androidx.startup.Initializer;
 
 import com.facebook.soloader.SoLoader;
+import org.jitsi.meet.sdk.log.JitsiMeetFlightRecorder;
 import org.wonday.orientation.OrientationActivityLifecycle;
 
 import java.util.Collections;
@@ -37,9 +38,18 @@ public class JitsiInitializer implements Initializer<Boolean> {
 
         SoLoader.init(context, /* native exopackage */ false);
 
+        // Set up where the flight recorder writes its report on a crash.
+        JitsiMeetFlightRecorder.init(context);
+
         // Register our uncaught exception handler.
         JitsiMeetUncaughtExceptionHandler.register();
 
+        // Clean up the phone accounts left behind by a previous run and register the one of the
+        // conferences, off the main thread.
+        if (AudioModeModule.useConnectionService()) {
+            PhoneAccountPool.getInstance().init(context);
+        }
+
         // Register activity lifecycle handler for the orientation locker module.
         ((Application) context).registerActivityLifecycleCallbacks(OrientationActivityLifecycle.getInstance());
 
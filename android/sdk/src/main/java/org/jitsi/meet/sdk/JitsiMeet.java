@@ -18,12 +18,19 @@ package org.jitsi.meet.sdk;
 import android.app.Activity;
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.os.Build;
 import android.os.Bundle;
 
 import com.facebook.react.ReactInstanceManager;
 
 import org.devio.rn.splashscreen.SplashScreen;
 import org.jitsi.meet.sdk.log.JitsiMeetLogger;
+import org.jitsi.meet.sdk.metrics.LatencyHistogram;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class JitsiMeet {
 
@@ -54,6 +61,152 @@ public class JitsiMeet {
         return OngoingConferenceTracker.getInstance().getCurrentConference();
     }
 
+    /**
+     * Sets whether events are also broadcast as intents through the LocalBroadcastManager, in
+     * addition to being posted on the {@link JitsiMeetEventBus}. Enabled by default, apps which
+     * only use the bus should disable it to save building an intent for every event.
+     *
+     * @param enabled - Whether to broadcast intents.
+     */
+    public static void setBroadcastIntentsEnabled(boolean enabled) {
+        BroadcastEmitter.setBroadcastIntentsEnabled(enabled);
+    }
+
+    /**
+     * Sets whether the JS side only sends the events someone registered for with the
+     * {@link EventSubscriptionRegistry}. Disabled by default, enable it once all the app's
+     * listeners declare the event types they consume.
+     *
+     * @param enabled - Whether to filter the events.
+     */
+    public static void setEventFilteringEnabled(boolean enabled) {
+        EventSubscriptionRegistry.getInstance().setFilteringEnabled(enabled);
+    }
+
+    /**
+     * Sets how long the system has to set up the call of a conference with ConnectionService
+     * (Android 8 and later), 5 seconds by default. Past that the conference goes on without
+     * ConnectionService, as it does on devices which don't support it. Incoming calls which
+     * aren't set up in time end, see {@link #reportIncomingCall}.
+     *
+     * @param timeout - The timeout, {@code 0} to wait forever.
+     * @param unit - The unit of the timeout.
+     */
+    public static void setStartCallTimeout(long timeout, TimeUnit unit) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            RNConnectionService.setStartCallTimeout(timeout, unit);
+        }
+    }
+
+    /**
+     * Gets the time it took for the conferences whose call couldn't be set up with
+     * ConnectionService to go on without it, since the process started.
+     *
+     * @return A snapshot of the latencies, empty before Android 8.
+     */
+    public static LatencyHistogram.Snapshot getStartCallFallbackLatency() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            return RNConnectionService.getStartCallFallbackLatency();
+        }
+
+        return new LatencyHistogram().getSnapshot();
+    }
+
+    /**
+     * Sets how long a call set up with ConnectionService (Android 8 and later) may stay in a
+     * transitional state, e.g. waiting for Telecom to create its connection, before it's logged
+     * and counted as stuck, 10 seconds by default, see {@link #getStuckCallCounts()}.
+     *
+     * @param timeout - The timeout, {@code 0} disables the reports.
+     * @param unit - The unit of the timeout.
+     */
+    public static void setStuckCallTimeout(long timeout, TimeUnit unit) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            CallRegistry.getInstance().setStuckTimeout(timeout, unit);
+        }
+    }
+
+    /**
+     * Gets the number of calls set up with ConnectionService which got stuck, by the state they
+     * got stuck in ({@code REGISTERING}, {@code PLACING}, {@code ANSWERED} or
+     * {@code DISCONNECTING}), since the process started.
+     *
+     * @return A new map with the counts, by state name, empty before Android 8.
+     */
+    public static Map<String, Long> getStuckCallCounts() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            return CallRegistry.getInstance().getStuckCounts();
+        }
+
+        return new HashMap<>();
+    }
+
+    /**
+     * Reports a call coming in, e.g. upon a push notification, to the system (Android 8 and
+     * later, with ConnectionService), which then has the app show its ringing UI, see
+     * {@link IncomingCallListener}. Meanwhile the React Native instance is started, and the
+     * server of the conference looked up and its config loaded, so that the conference joins
+     * sooner once the call is answered.
+     *
+     * The conference must be joined with the UUID of the call as the {@code callUUID} config
+     * override, see {@link JitsiMeetConferenceOptions.Builder#setConfigOverride(String, String)}.
+     *
+     * @param context - The context.
+     * @param callUUID - The UUID of the call. It is upper-cased, as it is on the JS side, before
+     * it is passed to the listener.
+     * @param handle - Who is calling, shown by the system, e.g. on a watch or in a car.
+     * @param options - The options the conference will be joined with.
+     * @param listener - The listener of the call.
+     * @return {@code false} if the system couldn't be told about the call, in which case the app
+     * rings on its own. The conference is made ready to join nonetheless.
+     */
+    public static boolean reportIncomingCall(
+            Context context,
+            String callUUID,
+            String handle,
+            JitsiMeetConferenceOptions options,
+            IncomingCallListener listener) {
+        ConferencePrewarmer.getInstance().prewarm(context, options);
+
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O || !AudioModeModule.useConnectionService()) {
+            return false;
+        }
+
+        return ConnectionService.addIncomingCall(
+            context, callUUID.toUpperCase(Locale.ROOT), handle, listener);
+    }
+
+    /**
+     * Answers a call reported with {@link #reportIncomingCall}, from the app's ringing UI.
+     * {@link IncomingCallListener#onAnswer(String)} is called then, as when the call is answered
+     * through the system.
+     *
+     * @param callUUID - The UUID of the call.
+     * @return {@code false} if there's no such call ringing.
+     */
+    public static boolean answerIncomingCall(String callUUID) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+            return false;
+        }
+
+        return ConnectionService.answerIncomingCall(callUUID.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Rejects a call reported with {@link #reportIncomingCall} which wasn't answered, from the
+     * app's ringing UI or because the caller hung up.
+     *
+     * @param callUUID - The UUID of the call.
+     * @return {@code false} if there's no such call ringing.
+     */
+    public static boolean rejectIncomingCall(String callUUID) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+            return false;
+        }
+
+        return ConnectionService.rejectIncomingCall(callUUID.toUpperCase(Locale.ROOT));
+    }
+
     /**
      * Helper to get the default conference options as a {@link Bundle}.
      *
@@ -97,4 +250,33 @@ public class JitsiMeet {
             JitsiMeetLogger.e(e, "Failed to show splash screen");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Listens to a call reported with {@link #reportIncomingCall}, on the main thread.
+     */
+    public interface IncomingCallListener {
+        /**
+         * Called when the app is to show its ringing UI, e.g. a notification with a full screen
+         * intent, from which the call is answered or rejected.
+         *
+         * @param callUUID - The UUID of the call.
+         */
+        void onShowIncomingCallUi(String callUUID);
+
+        /**
+         * Called when the call is answered, through the system or with
+         * {@link #answerIncomingCall(String)}. The app joins the conference then.
+         *
+         * @param callUUID - The UUID of the call.
+         */
+        void onAnswer(String callUUID);
+
+        /**
+         * Called when the call ended, whether it was answered or not. The app dismisses its
+         * ringing UI, if it still shows it.
+         *
+         * @param callUUID - The UUID of the call.
+         */
+        void onEnded(String callUUID);
+    }
+}
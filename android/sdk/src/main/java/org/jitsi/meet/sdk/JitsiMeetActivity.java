@@ -18,20 +18,25 @@ package org.jitsi.meet.sdk;
 
 import android.annotation.SuppressLint;
 import android.app.Activity;
-import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
-import android.content.IntentFilter;
 import android.content.res.Configuration;
 import android.net.Uri;
 import android.os.Bundle;
 
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
-import androidx.localbroadcastmanager.content.LocalBroadcastManager;
 
 import com.facebook.react.modules.core.PermissionListener;
 
+import org.jitsi.meet.sdk.events.ConferenceJoinedEvent;
+import org.jitsi.meet.sdk.events.ConferenceTerminatedEvent;
+import org.jitsi.meet.sdk.events.ConferenceWillJoinEvent;
+import org.jitsi.meet.sdk.events.JitsiMeetEvent;
+import org.jitsi.meet.sdk.events.ParticipantJoinedEvent;
+import org.jitsi.meet.sdk.events.ParticipantLeftEvent;
+import org.jitsi.meet.sdk.events.ParticipantsJoinedBatchEvent;
+import org.jitsi.meet.sdk.events.ParticipantsLeftBatchEvent;
 import org.jitsi.meet.sdk.log.JitsiMeetLogger;
 
 import java.util.HashMap;
@@ -56,12 +61,8 @@ public class JitsiMeetActivity extends AppCompatActivity
 
     private boolean isReadyToClose;
 
-    private final BroadcastReceiver broadcastReceiver = new BroadcastReceiver() {
-        @Override
-        public void onReceive(Context context, Intent intent) {
-            onBroadcastReceived(intent);
-        }
-    };
+    private JitsiMeetEventBus.Subscription eventSubscription;
+    private EventSubscriptionRegistry.Registration eventRegistration;
 
     /**
      * Instance of the {@link JitsiMeetView} which this activity will display.
@@ -147,7 +148,14 @@ public class JitsiMeetActivity extends AppCompatActivity
         }
         JitsiMeetOngoingConferenceService.abort(this);
 
-        LocalBroadcastManager.getInstance(this).unregisterReceiver(broadcastReceiver);
+        if (eventSubscription != null) {
+            eventSubscription.unsubscribe();
+            eventSubscription = null;
+        }
+        if (eventRegistration != null) {
+            eventRegistration.release();
+            eventRegistration = null;
+        }
 
         JitsiMeetActivityDelegate.onHostDestroy(this);
 
@@ -231,33 +239,92 @@ public class JitsiMeetActivity extends AppCompatActivity
         join(getConferenceOptions(getIntent()));
     }
 
+    protected void onConferenceJoined(ConferenceJoinedEvent event) {
+        onConferenceJoined(event.toLegacyHashMap());
+    }
+
+    protected void onConferenceTerminated(ConferenceTerminatedEvent event) {
+        onConferenceTerminated(event.toLegacyHashMap());
+    }
+
+    protected void onConferenceWillJoin(ConferenceWillJoinEvent event) {
+        onConferenceWillJoin(event.toLegacyHashMap());
+    }
+
+    protected void onParticipantJoined(ParticipantJoinedEvent event) {
+        onParticipantJoined(event.toLegacyHashMap());
+    }
+
+    protected void onParticipantLeft(ParticipantLeftEvent event) {
+        onParticipantLeft(event.toLegacyHashMap());
+    }
+
+    /**
+     * @deprecated Override {@link #onConferenceJoined(ConferenceJoinedEvent)} instead.
+     */
+    @Deprecated
     protected void onConferenceJoined(HashMap<String, Object> extraData) {
         JitsiMeetLogger.i("Conference joined: " + extraData);
         // Launch the service for the ongoing notification.
         JitsiMeetOngoingConferenceService.launch(this, extraData);
     }
 
+    /**
+     * @deprecated Override {@link #onConferenceTerminated(ConferenceTerminatedEvent)} instead.
+     */
+    @Deprecated
     protected void onConferenceTerminated(HashMap<String, Object> extraData) {
         JitsiMeetLogger.i("Conference terminated: " + extraData);
     }
 
+    /**
+     * @deprecated Override {@link #onConferenceWillJoin(ConferenceWillJoinEvent)} instead.
+     */
+    @Deprecated
     protected void onConferenceWillJoin(HashMap<String, Object> extraData) {
         JitsiMeetLogger.i("Conference will join: " + extraData);
     }
 
+    /**
+     * @deprecated Override {@link #onParticipantJoined(ParticipantJoinedEvent)} instead.
+     */
+    @Deprecated
     protected void onParticipantJoined(HashMap<String, Object> extraData) {
-        try {
-            JitsiMeetLogger.i("Participant joined: ", extraData);
-        } catch (Exception e) {
-            JitsiMeetLogger.w("Invalid participant joined extraData", e);
-        }
+        JitsiMeetLogger.i("Participant joined: " + extraData);
     }
 
+    /**
+     * @deprecated Override {@link #onParticipantLeft(ParticipantLeftEvent)} instead.
+     */
+    @Deprecated
     protected void onParticipantLeft(HashMap<String, Object> extraData) {
-        try {
-            JitsiMeetLogger.i("Participant left: ", extraData);
-        } catch (Exception e) {
-            JitsiMeetLogger.w("Invalid participant left extraData", e);
+        JitsiMeetLogger.i("Participant left: " + extraData);
+    }
+
+    /**
+     * Called with the participants which joined during the last batching window, when event
+     * batching is enabled with the {@code "event-batching.enabled"} feature flag. By default
+     * {@link #onParticipantJoined(ParticipantJoinedEvent)} is called for each of them, override
+     * this in order to handle them all at once.
+     *
+     * @param event - The event, with the participants in the order they joined.
+     */
+    protected void onParticipantsJoined(ParticipantsJoinedBatchEvent event) {
+        for (ParticipantInfo participant : event.getParticipants()) {
+            onParticipantJoined(new ParticipantJoinedEvent(participant));
+        }
+    }
+
+    /**
+     * Called with the participants which left during the last batching window, see
+     * {@link #onParticipantsJoined(ParticipantsJoinedBatchEvent)}. By default
+     * {@link #onParticipantLeft(ParticipantLeftEvent)} is called for each of them.
+     *
+     * @param event - The event, with the participants in the order they left.
+     */
+    protected void onParticipantsLeft(ParticipantsLeftBatchEvent event) {
+        for (ParticipantInfo participant : event.getParticipants()) {
+            onParticipantLeft(new ParticipantLeftEvent(participant));
         }
     }
 
@@ -267,12 +334,12 @@ public class JitsiMeetActivity extends AppCompatActivity
         finish();
     }
 
-//    protected void onTranscriptionChunkReceived(HashMap<String, Object> extraData) {
-//        JitsiMeetLogger.i("Transcription chunk received: " + extraData);
+//    protected void onTranscriptionChunkReceived(TranscriptionChunkReceivedEvent event) {
+//        JitsiMeetLogger.i("Transcription chunk received: " + event);
 //    }
 
-//    protected void onCustomOverflowMenuButtonPressed(HashMap<String, Object> extraData) {
-//        JitsiMeetLogger.i("Custom overflow menu button pressed: " + extraData);
+//    protected void onCustomOverflowMenuButtonPressed(CustomOverflowMenuButtonPressedEvent event) {
+//        JitsiMeetLogger.i("Custom overflow menu button pressed: " + event);
 //    }
 
     // Activity lifecycle methods
@@ -325,46 +392,74 @@ public class JitsiMeetActivity extends AppCompatActivity
         JitsiMeetActivityDelegate.onRequestPermissionsResult(requestCode, permissions, grantResults);
     }
 
-    private void registerForBroadcastMessages() {
-        IntentFilter intentFilter = new IntentFilter();
+    /**
+     * Gets the types of the events this activity consumes, see
+     * {@link JitsiMeet#setEventFilteringEnabled(boolean)}. Override it to add the types the
+     * subclass needs.
+     *
+     * @return The types of the events handled by the {@code on...} callbacks.
+     */
+    protected BroadcastEvent.Type[] getSubscribedEventTypes() {
+        return new BroadcastEvent.Type[] {
+            BroadcastEvent.Type.CONFERENCE_JOINED,
+            BroadcastEvent.Type.CONFERENCE_WILL_JOIN,
+            BroadcastEvent.Type.CONFERENCE_TERMINATED,
+            BroadcastEvent.Type.PARTICIPANT_JOINED,
+            BroadcastEvent.Type.PARTICIPANT_LEFT,
+            BroadcastEvent.Type.PARTICIPANTS_JOINED_BATCH,
+            BroadcastEvent.Type.PARTICIPANTS_LEFT_BATCH,
+            BroadcastEvent.Type.READY_TO_CLOSE
+        };
+    }
 
-        for (BroadcastEvent.Type type : BroadcastEvent.Type.values()) {
-            intentFilter.addAction(type.getAction());
-        }
+    private void registerForBroadcastMessages() {
+        eventRegistration
+            = EventSubscriptionRegistry.getInstance().register(getSubscribedEventTypes());
+        eventSubscription = JitsiMeetEventBus.getInstance().subscribe(
+            JitsiMeetEvent.class,
+            JitsiMeetEventBus.ThreadMode.MAIN,
+            new JitsiMeetEventBus.Listener<JitsiMeetEvent>() {
+                @Override
+                public void onEvent(JitsiMeetEvent event) {
+                    onEventReceived(event);
+                }
+            });
+    }
 
-        LocalBroadcastManager.getInstance(this).registerReceiver(broadcastReceiver, intentFilter);
-    }
-
-    private void onBroadcastReceived(Intent intent) {
-        if (intent != null) {
-            BroadcastEvent event = new BroadcastEvent(intent);
-
-            switch (event.getType()) {
-                case CONFERENCE_JOINED:
-                    onConferenceJoined(event.getData());
-                    break;
-                case CONFERENCE_WILL_JOIN:
-                    onConferenceWillJoin(event.getData());
-                    break;
-                case CONFERENCE_TERMINATED:
-                    onConferenceTerminated(event.getData());
-                    break;
-                case PARTICIPANT_JOINED:
-                    onParticipantJoined(event.getData());
-                    break;
-                case PARTICIPANT_LEFT:
-                    onParticipantLeft(event.getData());
-                    break;
-                case READY_TO_CLOSE:
-                    onReadyToClose();
-                    break;
-//                case TRANSCRIPTION_CHUNK_RECEIVED:
-//                    onTranscriptionChunkReceived(event.getData());
-//                    break;
-//                case CUSTOM_OVERFLOW_MENU_BUTTON_PRESSED:
-//                    onCustomOverflowMenuButtonPressed(event.getData());
-//                    break;
-            }
+    private void onEventReceived(JitsiMeetEvent event) {
+        EventDispatchMetrics.getInstance().recordDelivery(event);
+
+        switch (event.getType()) {
+            case CONFERENCE_JOINED:
+                onConferenceJoined((ConferenceJoinedEvent) event);
+                break;
+            case CONFERENCE_WILL_JOIN:
+                onConferenceWillJoin((ConferenceWillJoinEvent) event);
+                break;
+            case CONFERENCE_TERMINATED:
+                onConferenceTerminated((ConferenceTerminatedEvent) event);
+                break;
+            case PARTICIPANT_JOINED:
+                onParticipantJoined((ParticipantJoinedEvent) event);
+                break;
+            case PARTICIPANT_LEFT:
+                onParticipantLeft((ParticipantLeftEvent) event);
+                break;
+            case PARTICIPANTS_JOINED_BATCH:
+                onParticipantsJoined((ParticipantsJoinedBatchEvent) event);
+                break;
+            case PARTICIPANTS_LEFT_BATCH:
+                onParticipantsLeft((ParticipantsLeftBatchEvent) event);
+                break;
+            case READY_TO_CLOSE:
+                onReadyToClose();
+                break;
+//            case TRANSCRIPTION_CHUNK_RECEIVED:
+//                onTranscriptionChunkReceived((TranscriptionChunkReceivedEvent) event);
+//                break;
+//            case CUSTOM_OVERFLOW_MENU_BUTTON_PRESSED:
+//                onCustomOverflowMenuButtonPressed((CustomOverflowMenuButtonPressedEvent) event);
+//                break;
         }
     }
 }
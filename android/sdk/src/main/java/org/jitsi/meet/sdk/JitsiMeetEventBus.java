@@ -0,0 +1,292 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import org.jitsi.meet.sdk.log.JitsiMeetLogger;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * In-process event bus carrying the SDK's events ({@link BroadcastEvent}, from the JS side to
+ * the host app) and commands ({@link BroadcastAction}, from the host app to the JS side).
+ *
+ * Subscribers are kept in a copy-on-write array, so posting an event is a plain loop over it,
+ * with no locking and no intents involved. Every subscriber picks the thread it wants to be
+ * called on, see {@link ThreadMode}.
+ *
+ * Usage:
+ * <pre>
+ *     JitsiMeetEventBus.Subscription subscription = JitsiMeetEventBus.getInstance().subscribe(
+ *         BroadcastEvent.class,
+ *         JitsiMeetEventBus.ThreadMode.MAIN,
+ *         new JitsiMeetEventBus.Listener&lt;BroadcastEvent&gt;() {
+ *             &#64;Override
+ *             public void onEvent(BroadcastEvent event) {
+ *                 // ...
+ *             }
+ *         });
+ *     ...
+ *     subscription.unsubscribe();
+ * </pre>
+ *
+ * The {@link android.content.Intent} based API (see {@link BroadcastEmitter} and
+ * {@link BroadcastReceiver}) is kept on top of this bus for compatibility.
+ */
+public class JitsiMeetEventBus {
+    private static final String TAG = JitsiMeetEventBus.class.getSimpleName();
+
+    /**
+     * The thread a subscriber is called on.
+     */
+    public enum ThreadMode {
+        /**
+         * The thread which posted the event. Events from the JS side are posted on the React
+         * Native JS thread, so listeners using this mode must return quickly.
+         */
+        CALLER,
+
+        /**
+         * The main (UI) thread. Delivered inline if the event was posted on the main thread.
+         */
+        MAIN,
+
+        /**
+         * A background thread shared by all the subscribers using this mode. Events are
+         * delivered in the order they were posted.
+         */
+        BACKGROUND
+    }
+
+    /**
+     * Receives the events of a given type.
+     *
+     * @param <T> - The type of the events.
+     */
+    public interface Listener<T> {
+        void onEvent(T event);
+    }
+
+    /**
+     * A registered listener. Keep it around in order to unsubscribe.
+     */
+    public static final class Subscription {
+        private final JitsiMeetEventBus bus;
+        private final Class<?> eventClass;
+        private final ThreadMode threadMode;
+        private final Listener<Object> listener;
+
+        private volatile boolean active = true;
+
+        @SuppressWarnings("unchecked")
+        private Subscription(
+                JitsiMeetEventBus bus,
+                Class<?> eventClass,
+                ThreadMode threadMode,
+                Listener<?> listener) {
+            this.bus = bus;
+            this.eventClass = eventClass;
+            this.threadMode = threadMode;
+            this.listener = (Listener<Object>) listener;
+        }
+
+        public void unsubscribe() {
+            bus.unsubscribe(this);
+        }
+
+        private void deliver(Object event) {
+            // The subscriber may have gone away while the event was in flight to its thread.
+            if (!active) {
+                return;
+            }
+
+            try {
+                listener.onEvent(event);
+            } catch (Throwable t) {
+                // Don't let a faulty subscriber prevent the others from getting the event.
+                JitsiMeetLogger.e(t, "%s Subscriber failed to handle %s", TAG, event);
+            }
+        }
+    }
+
+    private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+
+    private static final JitsiMeetEventBus instance = new JitsiMeetEventBus();
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Created on first use, most apps only ever use {@link ThreadMode#CALLER} and
+     * {@link ThreadMode#MAIN}.
+     */
+    private ExecutorService backgroundExecutor;
+
+    /**
+     * Replaced, never modified, when subscribers come and go.
+     */
+    private volatile Subscription[] subscriptions = NO_SUBSCRIPTIONS;
+
+    public static JitsiMeetEventBus getInstance() {
+        return instance;
+    }
+
+    private JitsiMeetEventBus() {
+    }
+
+    /**
+     * Registers a listener for the events of the given type, including its subclasses.
+     *
+     * @param eventClass - The type of the events, e.g. {@code BroadcastEvent.class}.
+     * @param threadMode - The thread the listener wants to be called on.
+     * @param listener - The listener.
+     * @return The subscription, to be used to unsubscribe.
+     */
+    public <T> Subscription subscribe(
+            Class<T> eventClass,
+            ThreadMode threadMode,
+            Listener<? super T> listener) {
+        Subscription subscription = new Subscription(this, eventClass, threadMode, listener);
+
+        synchronized (this) {
+            Subscription[] oldSubscriptions = subscriptions;
+            Subscription[] newSubscriptions = new Subscription[oldSubscriptions.length + 1];
+
+            System.arraycopy(oldSubscriptions, 0, newSubscriptions, 0, oldSubscriptions.length);
+            newSubscriptions[oldSubscriptions.length] = subscription;
+            subscriptions = newSubscriptions;
+        }
+
+        return subscription;
+    }
+
+    /**
+     * Removes a subscription. Events which were already on their way to the subscriber's
+     * thread are not delivered.
+     *
+     * @param subscription - The subscription to remove.
+     */
+    public void unsubscribe(Subscription subscription) {
+        subscription.active = false;
+
+        synchronized (this) {
+            Subscription[] oldSubscriptions = subscriptions;
+
+            for (int i = 0; i < oldSubscriptions.length; i++) {
+                if (oldSubscriptions[i] == subscription) {
+                    Subscription[] newSubscriptions = new Subscription[oldSubscriptions.length - 1];
+
+                    System.arraycopy(oldSubscriptions, 0, newSubscriptions, 0, i);
+                    System.arraycopy(
+                        oldSubscriptions, i + 1,
+                        newSubscriptions, i,
+                        oldSubscriptions.length - i - 1);
+                    subscriptions = newSubscriptions;
+
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether there is anyone listening for events of the given type, so that building
+     * an expensive event can be skipped.
+     *
+     * @param eventClass - The type of the events.
+     * @return {@code true} if at least one subscriber would receive such an event.
+     */
+    public boolean hasSubscribers(Class<?> eventClass) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.eventClass.isAssignableFrom(eventClass)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Delivers an event to all the subscribers for its type. Subscribers using
+     * {@link ThreadMode#CALLER} are called before this method returns.
+     *
+     * @param event - The event.
+     */
+    public void post(Object event) {
+        boolean isMainThread = Looper.myLooper() == Looper.getMainLooper();
+
+        for (final Subscription subscription : subscriptions) {
+            if (!subscription.eventClass.isInstance(event)) {
+                continue;
+            }
+
+            switch (subscription.threadMode) {
+                case CALLER:
+                    subscription.deliver(event);
+                    break;
+
+                case MAIN:
+                    if (isMainThread) {
+                        subscription.deliver(event);
+                    } else {
+                        mainHandler.post(new Delivery(subscription, event));
+                    }
+                    break;
+
+                case BACKGROUND:
+                    getBackgroundExecutor().execute(new Delivery(subscription, event));
+                    break;
+            }
+        }
+    }
+
+    private synchronized Executor getBackgroundExecutor() {
+        if (backgroundExecutor == null) {
+            backgroundExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, TAG);
+
+                    thread.setDaemon(true);
+
+                    return thread;
+                }
+            });
+        }
+
+        return backgroundExecutor;
+    }
+
+    private static final class Delivery implements Runnable {
+        private final Subscription subscription;
+        private final Object event;
+
+        Delivery(Subscription subscription, Object event) {
+            this.subscription = subscription;
+            this.event = event;
+        }
+
+        @Override
+        public void run() {
+            subscription.deliver(event);
+        }
+    }
+}
@@ -26,17 +26,17 @@ import android.app.Service;
 import android.content.ComponentName;
 import android.content.Context;
 import android.content.Intent;
-import android.content.IntentFilter;
 import android.content.pm.PackageManager;
 import android.content.pm.ServiceInfo;
 import android.os.Build;
 import android.os.Bundle;
 import android.os.IBinder;
 
-import androidx.localbroadcastmanager.content.LocalBroadcastManager;
-
 import com.facebook.react.modules.core.PermissionListener;
 
+import org.jitsi.meet.sdk.events.AudioMutedChangedEvent;
+import org.jitsi.meet.sdk.events.HangUpCommand;
+import org.jitsi.meet.sdk.events.SetAudioMutedCommand;
 import org.jitsi.meet.sdk.log.JitsiMeetLogger;
 
 import java.util.ArrayList;
@@ -60,7 +60,8 @@ public class JitsiMeetOngoingConferenceService extends Service implements Ongoin
 
     private static final int PERMISSIONS_REQUEST_CODE = (int) (Math.random() * Short.MAX_VALUE);
 
-    private final BroadcastReceiver broadcastReceiver = new BroadcastReceiver();
+    private JitsiMeetEventBus.Subscription eventSubscription;
+    private EventSubscriptionRegistry.Registration eventRegistration;
 
     private boolean isAudioMuted;
     private Class tapBackActivity;
@@ -174,15 +175,30 @@ public class JitsiMeetOngoingConferenceService extends Service implements Ongoin
 
         OngoingConferenceTracker.getInstance().addListener(this);
 
-        IntentFilter intentFilter = new IntentFilter();
-        intentFilter.addAction(BroadcastEvent.Type.AUDIO_MUTED_CHANGED.getAction());
-        LocalBroadcastManager.getInstance(getApplicationContext()).registerReceiver(broadcastReceiver, intentFilter);
+        eventRegistration = EventSubscriptionRegistry.getInstance().register(
+            BroadcastEvent.Type.AUDIO_MUTED_CHANGED);
+        eventSubscription = JitsiMeetEventBus.getInstance().subscribe(
+            AudioMutedChangedEvent.class,
+            JitsiMeetEventBus.ThreadMode.MAIN,
+            new JitsiMeetEventBus.Listener<AudioMutedChangedEvent>() {
+                @Override
+                public void onEvent(AudioMutedChangedEvent event) {
+                    onAudioMutedChanged(event.isMuted());
+                }
+            });
     }
 
     @Override
     public void onDestroy() {
         OngoingConferenceTracker.getInstance().removeListener(this);
-        LocalBroadcastManager.getInstance(getApplicationContext()).unregisterReceiver(broadcastReceiver);
+        if (eventSubscription != null) {
+            eventSubscription.unsubscribe();
+            eventSubscription = null;
+        }
+        if (eventRegistration != null) {
+            eventRegistration.release();
+            eventRegistration = null;
+        }
 
         super.onDestroy();
     }
@@ -230,14 +246,12 @@ public class JitsiMeetOngoingConferenceService extends Service implements Ongoin
             switch (action) {
                 case UNMUTE:
                 case MUTE:
-                    Intent muteBroadcastIntent = BroadcastIntentHelper.buildSetAudioMutedIntent(action == Action.MUTE);
-                    LocalBroadcastManager.getInstance(getApplicationContext()).sendBroadcast(muteBroadcastIntent);
+                    JitsiMeetEventBus.getInstance().post(new SetAudioMutedCommand(action == Action.MUTE));
                     break;
                 case HANGUP:
                     JitsiMeetLogger.i(TAG + " Hangup requested");
 
-                    Intent hangupBroadcastIntent = BroadcastIntentHelper.buildHangUpIntent();
-                    LocalBroadcastManager.getInstance(getApplicationContext()).sendBroadcast(hangupBroadcastIntent);
+                    JitsiMeetEventBus.getInstance().post(HangUpCommand.getInstance());
 
                     stopSelf();
                     break;
@@ -287,28 +301,23 @@ public class JitsiMeetOngoingConferenceService extends Service implements Ongoin
     private Boolean tryParseIsAudioMuted(Intent intent) {
         try {
             HashMap<String, Object> extraData = (HashMap<String, Object>) intent.getBundleExtra(EXTRA_DATA_BUNDLE_KEY).getSerializable(EXTRA_DATA_KEY);
-            return Boolean.parseBoolean((String) extraData.get(IS_AUDIO_MUTED_KEY));
+            return Boolean.parseBoolean(String.valueOf(extraData.get(IS_AUDIO_MUTED_KEY)));
         } catch (Exception ignored) {
         }
         return null;
     }
 
-    private class BroadcastReceiver extends android.content.BroadcastReceiver {
-
-        @Override
-        public void onReceive(Context context, Intent intent) {
-            Class tapBackActivity = JitsiMeetOngoingConferenceService.this.tapBackActivity;
-            isAudioMuted = Boolean.parseBoolean(intent.getStringExtra("muted"));
-            Notification notification = OngoingNotification.buildOngoingConferenceNotification(isAudioMuted, context, tapBackActivity);
-            if (notification == null) {
-                stopSelf();
-                JitsiMeetLogger.w(TAG + " Couldn't update service, notification is null");
-            } else {
-                NotificationManager notificationManager = (NotificationManager) getSystemService(Context.NOTIFICATION_SERVICE);
-                notificationManager.notify(NOTIFICATION_ID, notification);
+    private void onAudioMutedChanged(boolean muted) {
+        isAudioMuted = muted;
+        Notification notification = OngoingNotification.buildOngoingConferenceNotification(isAudioMuted, this, tapBackActivity);
+        if (notification == null) {
+            stopSelf();
+            JitsiMeetLogger.w(TAG + " Couldn't update service, notification is null");
+        } else {
+            NotificationManager notificationManager = (NotificationManager) getSystemService(Context.NOTIFICATION_SERVICE);
+            notificationManager.notify(NOTIFICATION_ID, notification);
 
-                JitsiMeetLogger.i(TAG + " audio muted changed");
-            }
+            JitsiMeetLogger.i(TAG + " audio muted changed");
         }
     }
 }
@@ -17,6 +17,7 @@
 
 package org.jitsi.meet.sdk;
 
+import org.jitsi.meet.sdk.log.JitsiMeetFlightRecorder;
 import org.jitsi.meet.sdk.log.JitsiMeetLogger;
 
 class JitsiMeetUncaughtExceptionHandler implements Thread.UncaughtExceptionHandler {
@@ -44,6 +45,12 @@ class JitsiMeetUncaughtExceptionHandler implements Thread.UncaughtExceptionHandl
             ConnectionService.abortConnections();
         }
 
+        // Make sure buffered logs make it out before the process goes away.
+        JitsiMeetLogger.flush();
+
+        // Persist the recent history so it can be retrieved on the next start.
+        JitsiMeetFlightRecorder.getInstance().dump(t, e);
+
         if (defaultUncaughtExceptionHandler != null) {
             defaultUncaughtExceptionHandler.uncaughtException(t, e);
         }
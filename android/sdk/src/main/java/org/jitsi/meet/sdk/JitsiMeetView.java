@@ -50,7 +50,7 @@ public class JitsiMeetView extends FrameLayout {
      * @param b - The second {@link Bundle}.
      * @return The merged {@link Bundle} object.
      */
-    private static Bundle mergeProps(@Nullable Bundle a, @Nullable Bundle b) {
+    static Bundle mergeProps(@Nullable Bundle a, @Nullable Bundle b) {
         Bundle result = new Bundle();
 
         if (a == null) {
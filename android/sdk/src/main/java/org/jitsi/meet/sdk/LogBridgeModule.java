@@ -16,9 +16,14 @@
 
 package org.jitsi.meet.sdk;
 
+import android.util.Log;
+
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
 import com.facebook.react.module.annotations.ReactModule;
 
 import org.jitsi.meet.sdk.log.JitsiMeetLogger;
@@ -32,6 +37,12 @@ import javax.annotation.Nonnull;
 class LogBridgeModule extends ReactContextBaseJavaModule {
     public static final String NAME = "LogBridge";
 
+    /**
+     * All the logs coming from JS share a rate limit, so a JS loop gone wrong cannot flood the
+     * native logs.
+     */
+    private static final String RATE_LIMIT_KEY = NAME;
+
     public LogBridgeModule(@Nonnull ReactApplicationContext reactContext) {
         super(reactContext);
     }
@@ -43,31 +54,128 @@ class LogBridgeModule extends ReactContextBaseJavaModule {
 
     @ReactMethod
     public void trace(final String message) {
-        JitsiMeetLogger.v(message);
+        JitsiMeetLogger.log(Log.VERBOSE, RATE_LIMIT_KEY, message);
     }
 
     @ReactMethod
     public void debug(final String message) {
-        JitsiMeetLogger.d(message);
+        JitsiMeetLogger.log(Log.DEBUG, RATE_LIMIT_KEY, message);
     }
 
     @ReactMethod
     public void info(final String message) {
-        JitsiMeetLogger.i(message);
+        JitsiMeetLogger.log(Log.INFO, RATE_LIMIT_KEY, message);
     }
 
     @ReactMethod
     public void log(final String message) {
-        JitsiMeetLogger.i(message);
+        JitsiMeetLogger.log(Log.INFO, RATE_LIMIT_KEY, message);
     }
 
     @ReactMethod
     public void warn(final String message) {
-        JitsiMeetLogger.w(message);
+        JitsiMeetLogger.log(Log.WARN, RATE_LIMIT_KEY, message);
     }
 
     @ReactMethod
     public void error(final String message) {
-        JitsiMeetLogger.e(message);
+        JitsiMeetLogger.log(Log.ERROR, RATE_LIMIT_KEY, message);
+    }
+
+    /**
+     * Logs a batch of records buffered on the JS side, in order, with a single bridge call, and
+     * hands them to the log handlers in one go.
+     * Each record is a map with the following keys:
+     * - level: one of the JS logger level names ("trace", "debug", "info", "log", "warn", "error").
+     * - ts: the timestamp at which the record was created on the JS side.
+     * - tag: optional tag, the name of the JS logger.
+     * - msg: the formatted message.
+     *
+     * The JS timestamp is kept as a prefix of the message, because records may reach the native
+     * side some time after they were created.
+     *
+     * @param records - The records to log.
+     */
+    @ReactMethod
+    public void logBatch(final ReadableArray records) {
+        int size = records.size();
+        int[] priorities = new int[size];
+        String[] messages = new String[size];
+        int count = 0;
+        StringBuilder sb = null;
+
+        for (int i = 0; i < size; i++) {
+            ReadableMap record = records.getMap(i);
+
+            if (record == null) {
+                continue;
+            }
+
+            int priority = levelToPriority(getString(record, "level"));
+
+            if (!JitsiMeetLogger.isLoggable(priority)) {
+                continue;
+            }
+
+            if (sb == null) {
+                sb = new StringBuilder(256);
+            } else {
+                sb.setLength(0);
+            }
+
+            String ts = getString(record, "ts");
+            String tag = getString(record, "tag");
+
+            if (ts != null) {
+                sb.append(ts).append(' ');
+            }
+            if (tag != null && !tag.isEmpty()) {
+                sb.append('[').append(tag).append("] ");
+            }
+            sb.append(getString(record, "msg"));
+
+            priorities[count] = priority;
+            messages[count] = sb.toString();
+            count++;
+        }
+
+        JitsiMeetLogger.logBatch(priorities, RATE_LIMIT_KEY, messages, count);
+    }
+
+    private static String getString(ReadableMap map, String key) {
+        if (!map.hasKey(key)) {
+            return null;
+        }
+
+        ReadableType type = map.getType(key);
+
+        if (type == ReadableType.String) {
+            return map.getString(key);
+        } else if (type == ReadableType.Number) {
+            return String.valueOf((long) map.getDouble(key));
+        }
+
+        return null;
+    }
+
+    private static int levelToPriority(String level) {
+        if (level == null) {
+            return Log.INFO;
+        }
+
+        switch (level) {
+            case "trace":
+                return Log.VERBOSE;
+            case "debug":
+                return Log.DEBUG;
+            case "warn":
+                return Log.WARN;
+            case "error":
+                return Log.ERROR;
+            case "info":
+            case "log":
+            default:
+                return Log.INFO;
+        }
     }
 }
@@ -16,27 +16,29 @@
 
 package org.jitsi.meet.sdk;
 
-import com.facebook.react.bridge.ReadableMap;
-
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 
 
 /**
- * Helper class to keep track of what the current conference is.
+ * Helper class to keep track of what the current conference is. A view over the URL of the
+ * {@link ConferenceStateStore}.
  */
 class OngoingConferenceTracker {
     private static final OngoingConferenceTracker instance = new OngoingConferenceTracker();
 
-    private static final String CONFERENCE_WILL_JOIN = "CONFERENCE_WILL_JOIN";
-    private static final String CONFERENCE_TERMINATED = "CONFERENCE_TERMINATED";
-
     private final Collection<OngoingConferenceListener> listeners =
         Collections.synchronizedSet(new HashSet<OngoingConferenceListener>());
     private String currentConference;
 
     public OngoingConferenceTracker() {
+        ConferenceStateStore.getInstance().addListener(new ConferenceStateStore.Listener() {
+            @Override
+            public void onStateChanged(ConferenceState state) {
+                onCurrentConferenceChanged(state.getUrl());
+            }
+        });
     }
 
     public static OngoingConferenceTracker getInstance() {
@@ -48,32 +50,15 @@ class OngoingConferenceTracker {
      *
      * @return - The current conference URL as a String.
      */
-    synchronized String getCurrentConference() {
-        return currentConference;
+    String getCurrentConference() {
+        return ConferenceStateStore.getInstance().getState().getUrl();
     }
 
-    synchronized void onExternalAPIEvent(String name, ReadableMap data) {
-        if (!data.hasKey("url")) {
-            return;
-        }
-
-        String url = data.getString("url");
-        if (url == null) {
-            return;
-        }
-
-        switch(name) {
-            case CONFERENCE_WILL_JOIN:
-                currentConference = url;
-                updateListeners();
-                break;
-
-            case CONFERENCE_TERMINATED:
-                if (url.equals(currentConference)) {
-                    currentConference = null;
-                    updateListeners();
-                }
-                break;
+    private synchronized void onCurrentConferenceChanged(String url) {
+        // Only the URL matters here, not the other changes of the state.
+        if (url == null ? currentConference != null : !url.equals(currentConference)) {
+            currentConference = url;
+            updateListeners();
         }
     }
 
@@ -0,0 +1,430 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Searchable index over the participants of the {@link ParticipantRoster}, for "search as you
+ * type" UIs:
+ * <pre>
+ *     List&lt;ParticipantInfo&gt; matches
+ *         = ParticipantRoster.getInstance().getIndex().search("jo sm", "moderator", 10);
+ * </pre>
+ *
+ * Display names are normalized (lower case, without diacritics) and split into words. Every word
+ * is an entry of a sorted array, so the participants with a word starting with a given prefix
+ * are a contiguous range found with a binary search, and the first K of them are read in
+ * O(log n + K). The participants are also bucketed by role, and a query for a role scans the
+ * bucket instead of the range when the bucket is the smaller of the two.
+ *
+ * The index is kept up to date by the roster, with the participants joining, leaving or being
+ * updated (display name or role changes), see {@link BroadcastEvent.Type#PARTICIPANT_UPDATED}.
+ * All the methods are thread safe.
+ */
+public final class ParticipantIndex {
+    /**
+     * An indexed participant.
+     */
+    private static final class Entry {
+        final ParticipantInfo participantInfo;
+
+        /**
+         * The normalized words of the display name, sorted and without duplicates. A single
+         * empty word for participants without a name, so that they are found by empty queries.
+         */
+        final String[] words;
+
+        Entry(ParticipantInfo participantInfo) {
+            this.participantInfo = participantInfo;
+
+            String[] words = split(normalize(getName(participantInfo)));
+
+            if (words.length == 0) {
+                words = new String[] { "" };
+            }
+            this.words = words;
+        }
+
+        /**
+         * @return The first of the words which starts with the given prefix, or {@code null}.
+         */
+        String getMatchingWord(String prefix) {
+            for (String word : words) {
+                if (word.startsWith(prefix)) {
+                    return word;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The indexed words and the entries they belong to, sorted by word then participant id.
+     * Guarded by {@code this}, as are all the other fields.
+     */
+    private String[] words = new String[INITIAL_CAPACITY];
+    private Entry[] wordEntries = new Entry[INITIAL_CAPACITY];
+    private int size;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * The entries by role, {@code null} being the key of the participants without a role.
+     */
+    private final Map<String, Set<Entry>> roles = new HashMap<>();
+
+    ParticipantIndex() {
+    }
+
+    /**
+     * Searches the participants by display name.
+     *
+     * @param query - The beginning of the words of the display name, e.g. {@code "jo sm"} finds
+     * "John Smith" and "Sm&eacute;agol Jones". Matching ignores the case and diacritics. An empty
+     * query matches everyone.
+     * @param limit - The maximum number of participants to return.
+     * @return Copies of the participants, ordered by the word which matched.
+     */
+    public List<ParticipantInfo> search(String query, int limit) {
+        return search(query, null, limit);
+    }
+
+    /**
+     * Searches the participants with the given role by display name.
+     *
+     * @param query - See {@link #search(String, int)}.
+     * @param role - The role of the participants, e.g. {@code "moderator"}, or {@code null} for
+     * any role.
+     * @param limit - The maximum number of participants to return.
+     * @return Copies of the participants, ordered by the word which matched.
+     */
+    public synchronized List<ParticipantInfo> search(String query, String role, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        String[] queryWords = split(normalize(query));
+        // The longest word is the most selective, the range is scanned for it and the other
+        // words are checked on the candidates.
+        String prefix = "";
+
+        for (String queryWord : queryWords) {
+            if (queryWord.length() > prefix.length()) {
+                prefix = queryWord;
+            }
+        }
+
+        int from = lowerBound(prefix, "");
+        int to = lowerBound(prefix + Character.MAX_VALUE, "");
+
+        if (role != null) {
+            Set<Entry> bucket = roles.get(role);
+
+            if (bucket == null) {
+                return Collections.emptyList();
+            }
+            if (bucket.size() < to - from) {
+                return searchBucket(bucket, prefix, queryWords, limit);
+            }
+        }
+
+        List<ParticipantInfo> results = new ArrayList<>(Math.min(limit, to - from));
+        Set<Entry> seen = new HashSet<>();
+
+        for (int i = from; i < to && results.size() < limit; i++) {
+            Entry entry = wordEntries[i];
+
+            if ((role == null || role.equals(entry.participantInfo.role))
+                    && matches(entry, queryWords)
+                    && seen.add(entry)) {
+                results.add(new ParticipantInfo(entry.participantInfo));
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Gets the number of participants with the given role.
+     *
+     * @param role - The role, or {@code null} for the participants without a role.
+     */
+    public synchronized int getRoleCount(String role) {
+        Set<Entry> bucket = roles.get(role);
+
+        return bucket != null ? bucket.size() : 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Adds a participant, or replaces it if it was already indexed.
+     */
+    synchronized void put(ParticipantInfo participantInfo) {
+        remove(participantInfo.id);
+
+        Entry entry = new Entry(participantInfo);
+
+        entries.put(participantInfo.id, entry);
+        getBucket(participantInfo.role).add(entry);
+        for (String word : entry.words) {
+            insert(word, entry);
+        }
+    }
+
+    synchronized void remove(String participantId) {
+        Entry entry = entries.remove(participantId);
+
+        if (entry == null) {
+            return;
+        }
+
+        Set<Entry> bucket = roles.get(entry.participantInfo.role);
+
+        bucket.remove(entry);
+        if (bucket.isEmpty()) {
+            roles.remove(entry.participantInfo.role);
+        }
+
+        for (String word : entry.words) {
+            int index = lowerBound(word, participantId);
+
+            if (index < size && wordEntries[index] == entry) {
+                System.arraycopy(words, index + 1, words, index, size - index - 1);
+                System.arraycopy(wordEntries, index + 1, wordEntries, index, size - index - 1);
+                size--;
+                words[size] = null;
+                wordEntries[size] = null;
+            }
+        }
+    }
+
+    /**
+     * Replaces all the participants, sorting the words once rather than inserting them one by
+     * one.
+     */
+    synchronized void reset(Collection<ParticipantInfo> participantsInfo) {
+        clear();
+
+        final List<Object[]> pairs = new ArrayList<>();
+
+        for (ParticipantInfo participantInfo : participantsInfo) {
+            Entry entry = new Entry(participantInfo);
+
+            entries.put(participantInfo.id, entry);
+            getBucket(participantInfo.role).add(entry);
+            for (String word : entry.words) {
+                pairs.add(new Object[] { word, entry });
+            }
+        }
+
+        Collections.sort(pairs, new Comparator<Object[]>() {
+            @Override
+            public int compare(Object[] a, Object[] b) {
+                return compareTo(
+                    (String) a[0], (Entry) a[1], (String) b[0], ((Entry) b[1]).participantInfo.id);
+            }
+        });
+
+        ensureCapacity(pairs.size());
+        for (Object[] pair : pairs) {
+            words[size] = (String) pair[0];
+            wordEntries[size] = (Entry) pair[1];
+            size++;
+        }
+    }
+
+    synchronized void clear() {
+        Arrays.fill(words, 0, size, null);
+        Arrays.fill(wordEntries, 0, size, null);
+        size = 0;
+        entries.clear();
+        roles.clear();
+    }
+
+    private List<ParticipantInfo> searchBucket(
+            Set<Entry> bucket,
+            final String prefix,
+            String[] queryWords,
+            int limit) {
+        List<Entry> candidates = new ArrayList<>();
+
+        for (Entry entry : bucket) {
+            if (entry.getMatchingWord(prefix) != null && matches(entry, queryWords)) {
+                candidates.add(entry);
+            }
+        }
+
+        // The same order as the range scan.
+        Collections.sort(candidates, new Comparator<Entry>() {
+            @Override
+            public int compare(Entry a, Entry b) {
+                return compareTo(
+                    a.getMatchingWord(prefix), a, b.getMatchingWord(prefix), b.participantInfo.id);
+            }
+        });
+
+        int count = Math.min(limit, candidates.size());
+        List<ParticipantInfo> results = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            results.add(new ParticipantInfo(candidates.get(i).participantInfo));
+        }
+
+        return results;
+    }
+
+    private Set<Entry> getBucket(String role) {
+        Set<Entry> bucket = roles.get(role);
+
+        if (bucket == null) {
+            bucket = new HashSet<>();
+            roles.put(role, bucket);
+        }
+
+        return bucket;
+    }
+
+    private void insert(String word, Entry entry) {
+        int index = lowerBound(word, entry.participantInfo.id);
+
+        ensureCapacity(size + 1);
+        System.arraycopy(words, index, words, index + 1, size - index);
+        System.arraycopy(wordEntries, index, wordEntries, index + 1, size - index);
+        words[index] = word;
+        wordEntries[index] = entry;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > words.length) {
+            int newCapacity = Math.max(capacity, words.length * 2);
+
+            words = Arrays.copyOf(words, newCapacity);
+            wordEntries = Arrays.copyOf(wordEntries, newCapacity);
+        }
+    }
+
+    /**
+     * Finds the position of the first entry which is not less than the given word and
+     * participant id.
+     */
+    private int lowerBound(String word, String participantId) {
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (compareTo(words[middle], wordEntries[middle], word, participantId) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    private static int compareTo(String word, Entry entry, String otherWord, String otherParticipantId) {
+        int result = word.compareTo(otherWord);
+
+        return result != 0 ? result : entry.participantInfo.id.compareTo(otherParticipantId);
+    }
+
+    private static boolean matches(Entry entry, String[] queryWords) {
+        for (String queryWord : queryWords) {
+            if (entry.getMatchingWord(queryWord) == null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static String getName(ParticipantInfo participantInfo) {
+        return participantInfo.displayName != null
+            ? participantInfo.displayName : participantInfo.name;
+    }
+
+    /**
+     * Lower cases the given text and strips its diacritics, e.g. "Sm&eacute;agol" becomes
+     * "smeagol".
+     */
+    static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder builder = new StringBuilder(decomposed.length());
+
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                builder.append(c);
+            }
+        }
+
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits a normalized text into its words, sorted and without duplicates.
+     */
+    private static String[] split(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String word = text.substring(start, i);
+
+                if (!words.contains(word)) {
+                    words.add(word);
+                }
+                start = -1;
+            }
+        }
+
+        Collections.sort(words);
+
+        return words.toArray(new String[0]);
+    }
+}
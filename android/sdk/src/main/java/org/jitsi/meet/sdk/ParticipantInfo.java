@@ -2,6 +2,12 @@ package org.jitsi.meet.sdk;
 
 import com.google.gson.annotations.SerializedName;
 
+import java.util.Objects;
+
+/**
+ * A participant of the conference. The {@link ParticipantRoster} keeps its own copies and hands
+ * out new ones, so instances can be modified freely by their holder.
+ */
 public class ParticipantInfo {
 
     @SerializedName("participantId")
@@ -24,4 +30,65 @@ public class ParticipantInfo {
 
     @SerializedName("role")
     public String role;
+
+    public ParticipantInfo() {
+    }
+
+    public ParticipantInfo(
+            String id,
+            String displayName,
+            String avatarUrl,
+            String email,
+            String name,
+            boolean isLocal,
+            String role) {
+        this.id = id;
+        this.displayName = displayName;
+        this.avatarUrl = avatarUrl;
+        this.email = email;
+        this.name = name;
+        this.isLocal = isLocal;
+        this.role = role;
+    }
+
+    /**
+     * Copies the given participant.
+     *
+     * @param participantInfo - The participant to copy.
+     */
+    public ParticipantInfo(ParticipantInfo participantInfo) {
+        this(
+            participantInfo.id,
+            participantInfo.displayName,
+            participantInfo.avatarUrl,
+            participantInfo.email,
+            participantInfo.name,
+            participantInfo.isLocal,
+            participantInfo.role);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ParticipantInfo)) {
+            return false;
+        }
+
+        ParticipantInfo that = (ParticipantInfo) o;
+
+        return isLocal == that.isLocal
+            && Objects.equals(id, that.id)
+            && Objects.equals(displayName, that.displayName)
+            && Objects.equals(avatarUrl, that.avatarUrl)
+            && Objects.equals(email, that.email)
+            && Objects.equals(name, that.name)
+            && Objects.equals(role, that.role);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, displayName, avatarUrl, email, name, isLocal, role);
+    }
 }
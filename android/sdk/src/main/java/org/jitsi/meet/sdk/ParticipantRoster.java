@@ -0,0 +1,513 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.events.ConferenceJoinedEvent;
+import org.jitsi.meet.sdk.events.ConferenceTerminatedEvent;
+import org.jitsi.meet.sdk.events.ConferenceWillJoinEvent;
+import org.jitsi.meet.sdk.events.ParticipantEvent;
+import org.jitsi.meet.sdk.events.ParticipantLeftEvent;
+import org.jitsi.meet.sdk.events.ParticipantsBatchEvent;
+import org.jitsi.meet.sdk.events.ParticipantsInfoRetrievedEvent;
+import org.jitsi.meet.sdk.events.ParticipantsJoinedBatchEvent;
+import org.jitsi.meet.sdk.log.JitsiMeetLogger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Native copy of the participants in the current conference, so that
+ * {@link ParticipantsService#retrieveParticipantsInfo} can answer without going through the JS
+ * side.
+ *
+ * The roster is a map from participant id to {@link ParticipantInfo}, updated with the
+ * {@link BroadcastEvent.Type#PARTICIPANT_JOINED}, {@link BroadcastEvent.Type#PARTICIPANT_LEFT}
+ * and {@link BroadcastEvent.Type#PARTICIPANT_UPDATED} events (and their batched versions), mirrored
+ * in a {@link ParticipantIndex} for searches, and replaced by every
+ * {@link BroadcastEvent.Type#PARTICIPANTS_INFO_RETRIEVED} response for the whole list, which is a
+ * full snapshot of the JS state. The JS side doesn't send the participant events outside of a
+ * conference, the local participant among others, so a full sync is requested when a conference
+ * is joined and then periodically, see {@link #setSyncInterval(long, TimeUnit)}.
+ *
+ * All the updates happen on the React Native JS thread, in the order the JS side sent them, so a
+ * snapshot is never overtaken by the events which preceded it. Reads can happen on any thread.
+ *
+ * The roster is only kept once someone retrieved the participants, so that the participant
+ * events don't have to cross the bridge for apps which don't need them, see
+ * {@link EventSubscriptionRegistry}.
+ */
+public final class ParticipantRoster {
+    private static final String TAG = ParticipantRoster.class.getSimpleName();
+
+    /**
+     * The id of the requests for the periodic syncs. The responses to the requests of
+     * {@link ParticipantsService} are used as syncs too.
+     */
+    static final String SYNC_REQUEST_ID = "participant-roster-sync";
+
+    private static final long DEFAULT_SYNC_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private static final ParticipantRoster instance = new ParticipantRoster();
+
+    /**
+     * The participants by id, in the order they joined. The {@link ParticipantInfo}s are private
+     * copies which are never modified once added, readers get copies of them. Guarded by itself,
+     * as is {@link #snapshot}.
+     */
+    private final Map<String, ParticipantInfo> participants = new LinkedHashMap<>();
+
+    /**
+     * Number of syncs whose snapshot didn't match the roster, see
+     * {@link #setConsistencyCheckEnabled(boolean)}.
+     */
+    private final AtomicLong mismatchCount = new AtomicLong();
+
+    private final ParticipantIndex index = new ParticipantIndex();
+
+    private final Runnable syncTask = new Runnable() {
+        @Override
+        public void run() {
+            requestSync();
+            scheduleSync();
+        }
+    };
+
+    /**
+     * An unmodifiable list of the values of {@link #participants}, the local participant first,
+     * rebuilt on the first read after a change.
+     */
+    private volatile List<ParticipantInfo> snapshot;
+
+    /**
+     * Whether the roster got a full snapshot since the current conference started.
+     */
+    private volatile boolean synced;
+
+    private volatile boolean consistencyCheckEnabled;
+
+    private volatile long syncIntervalMillis = DEFAULT_SYNC_INTERVAL_MILLIS;
+
+    /**
+     * Guarded by {@code this}, as is {@link #syncTimeout}.
+     */
+    private boolean started;
+
+    private TimerWheel.Timeout syncTimeout;
+
+    public static ParticipantRoster getInstance() {
+        return instance;
+    }
+
+    private ParticipantRoster() {
+    }
+
+    /**
+     * Starts keeping the roster, if it wasn't already. The roster is out of sync until the first
+     * full snapshot is received.
+     */
+    synchronized void start() {
+        if (started) {
+            return;
+        }
+
+        started = true;
+
+        // Needed for as long as the app runs, never released, nor are the subscriptions.
+        EventSubscriptionRegistry.getInstance().register(
+            BroadcastEvent.Type.CONFERENCE_WILL_JOIN,
+            BroadcastEvent.Type.CONFERENCE_JOINED,
+            BroadcastEvent.Type.CONFERENCE_TERMINATED,
+            BroadcastEvent.Type.PARTICIPANT_JOINED,
+            BroadcastEvent.Type.PARTICIPANT_LEFT,
+            BroadcastEvent.Type.PARTICIPANT_UPDATED,
+            BroadcastEvent.Type.PARTICIPANTS_JOINED_BATCH,
+            BroadcastEvent.Type.PARTICIPANTS_LEFT_BATCH,
+            BroadcastEvent.Type.PARTICIPANTS_INFO_RETRIEVED);
+
+        JitsiMeetEventBus eventBus = JitsiMeetEventBus.getInstance();
+
+        eventBus.subscribe(
+            ConferenceWillJoinEvent.class,
+            JitsiMeetEventBus.ThreadMode.CALLER,
+            new JitsiMeetEventBus.Listener<ConferenceWillJoinEvent>() {
+                @Override
+                public void onEvent(ConferenceWillJoinEvent event) {
+                    clear();
+                }
+            });
+        eventBus.subscribe(
+            ConferenceJoinedEvent.class,
+            JitsiMeetEventBus.ThreadMode.CALLER,
+            new JitsiMeetEventBus.Listener<ConferenceJoinedEvent>() {
+                @Override
+                public void onEvent(ConferenceJoinedEvent event) {
+                    requestSync();
+                    scheduleSync();
+                }
+            });
+        eventBus.subscribe(
+            ConferenceTerminatedEvent.class,
+            JitsiMeetEventBus.ThreadMode.CALLER,
+            new JitsiMeetEventBus.Listener<ConferenceTerminatedEvent>() {
+                @Override
+                public void onEvent(ConferenceTerminatedEvent event) {
+                    // Late terminations of previous conferences don't affect the current one.
+                    if (ConferenceStateStore.getInstance().getState().getUrl() != null) {
+                        return;
+                    }
+
+                    cancelSync();
+                    clear();
+                }
+            });
+        eventBus.subscribe(
+            ParticipantEvent.class,
+            JitsiMeetEventBus.ThreadMode.CALLER,
+            new JitsiMeetEventBus.Listener<ParticipantEvent>() {
+                @Override
+                public void onEvent(ParticipantEvent event) {
+                    if (event instanceof ParticipantLeftEvent) {
+                        remove(event.getParticipantId());
+                    } else {
+                        put(event.toParticipantInfo());
+                    }
+                }
+            });
+        eventBus.subscribe(
+            ParticipantsBatchEvent.class,
+            JitsiMeetEventBus.ThreadMode.CALLER,
+            new JitsiMeetEventBus.Listener<ParticipantsBatchEvent>() {
+                @Override
+                public void onEvent(ParticipantsBatchEvent event) {
+                    boolean joined = event instanceof ParticipantsJoinedBatchEvent;
+
+                    for (ParticipantInfo participantInfo : event.getParticipants()) {
+                        if (joined) {
+                            put(participantInfo);
+                        } else {
+                            remove(participantInfo.id);
+                        }
+                    }
+                }
+            });
+        eventBus.subscribe(
+            ParticipantsInfoRetrievedEvent.class,
+            JitsiMeetEventBus.ThreadMode.CALLER,
+            new JitsiMeetEventBus.Listener<ParticipantsInfoRetrievedEvent>() {
+                @Override
+                public void onEvent(ParticipantsInfoRetrievedEvent event) {
+                    // Pages of the list are no snapshots.
+                    if (event.isComplete()) {
+                        sync(event.getParticipantsInfo());
+                    }
+                }
+            });
+
+        // Started in the middle of a conference, don't wait for the next one to sync.
+        if (ConferenceStateStore.getInstance().getState().isJoined()) {
+            scheduleSync();
+        }
+    }
+
+    /**
+     * @return Whether the roster is being kept, see {@link #start()}.
+     */
+    synchronized boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Checks whether the roster can be used in place of asking the JS side.
+     *
+     * @return {@code true} if the roster got a full snapshot since the current conference
+     * started.
+     */
+    public boolean isSynced() {
+        return synced;
+    }
+
+    /**
+     * Gets the participants.
+     *
+     * @return An unmodifiable list of copies of the participants, in the order of the JS side:
+     * the local participant first, then the remote ones in the order they joined.
+     */
+    public List<ParticipantInfo> getParticipants() {
+        return copyOf(getSnapshot());
+    }
+
+    /**
+     * @return An unmodifiable list of the participants themselves, built at most once per
+     * change. Not to be handed out as is.
+     */
+    List<ParticipantInfo> getSnapshot() {
+        List<ParticipantInfo> snapshot = this.snapshot;
+
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        synchronized (participants) {
+            if (this.snapshot == null) {
+                List<ParticipantInfo> participantsInfo = new ArrayList<>(participants.size());
+
+                for (ParticipantInfo participantInfo : participants.values()) {
+                    if (participantInfo.isLocal) {
+                        participantsInfo.add(0, participantInfo);
+                    } else {
+                        participantsInfo.add(participantInfo);
+                    }
+                }
+                this.snapshot = Collections.unmodifiableList(participantsInfo);
+            }
+
+            return this.snapshot;
+        }
+    }
+
+    /**
+     * Copies the given participants, for handing them out.
+     *
+     * @param participantsInfo - The participants, e.g. a range of {@link #getSnapshot()}.
+     * @return An unmodifiable list of copies.
+     */
+    static List<ParticipantInfo> copyOf(List<ParticipantInfo> participantsInfo) {
+        List<ParticipantInfo> copies = new ArrayList<>(participantsInfo.size());
+
+        for (ParticipantInfo participantInfo : participantsInfo) {
+            copies.add(new ParticipantInfo(participantInfo));
+        }
+
+        return Collections.unmodifiableList(copies);
+    }
+
+    /**
+     * Gets a participant.
+     *
+     * @param participantId - The id of the participant.
+     * @return A copy of the participant, or {@code null} if it isn't in the roster.
+     */
+    public ParticipantInfo getParticipant(String participantId) {
+        ParticipantInfo participantInfo;
+
+        synchronized (participants) {
+            participantInfo = participantId != null ? participants.get(participantId) : null;
+        }
+
+        return participantInfo != null ? new ParticipantInfo(participantInfo) : null;
+    }
+
+    /**
+     * Gets the index for searching the participants by display name and role, starting to keep
+     * the roster if it wasn't already.
+     *
+     * @return The index, empty until the roster is in sync.
+     */
+    public ParticipantIndex getIndex() {
+        start();
+
+        return index;
+    }
+
+    public int size() {
+        synchronized (participants) {
+            return participants.size();
+        }
+    }
+
+    /**
+     * @return The number of participants, without the local one.
+     */
+    int getRemoteParticipantCount() {
+        int count = 0;
+
+        for (ParticipantInfo participantInfo : getSnapshot()) {
+            if (!participantInfo.isLocal) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Sets how often the roster is synced with the JS side during a conference. Takes effect
+     * from the next sync.
+     *
+     * @param interval - The interval, {@code 0} only syncs when a conference is joined.
+     * @param unit - The unit of the interval.
+     */
+    public void setSyncInterval(long interval, TimeUnit unit) {
+        syncIntervalMillis = unit.toMillis(Math.max(0, interval));
+    }
+
+    /**
+     * Sets whether every snapshot from the JS side is compared with the roster before replacing
+     * it, with the differences logged. Meant for debugging: while enabled
+     * {@link ParticipantsService#retrieveParticipantsInfo} also keeps asking the JS side, so that
+     * every call is checked.
+     *
+     * @param enabled - Whether to check the roster.
+     */
+    public void setConsistencyCheckEnabled(boolean enabled) {
+        consistencyCheckEnabled = enabled;
+    }
+
+    public boolean isConsistencyCheckEnabled() {
+        return consistencyCheckEnabled;
+    }
+
+    /**
+     * @return The number of snapshots which didn't match the roster while the consistency check
+     * was enabled.
+     */
+    public long getMismatchCount() {
+        return mismatchCount.get();
+    }
+
+    private void put(ParticipantInfo participantInfo) {
+        if (participantInfo.id == null) {
+            return;
+        }
+
+        ParticipantInfo copy = new ParticipantInfo(participantInfo);
+
+        synchronized (participants) {
+            // An update keeps the position of the participant.
+            participants.put(copy.id, copy);
+            snapshot = null;
+        }
+        index.put(copy);
+    }
+
+    private void remove(String participantId) {
+        if (participantId == null) {
+            return;
+        }
+
+        synchronized (participants) {
+            if (participants.remove(participantId) == null) {
+                return;
+            }
+            snapshot = null;
+        }
+        index.remove(participantId);
+    }
+
+    private void clear() {
+        synced = false;
+        synchronized (participants) {
+            participants.clear();
+            snapshot = null;
+        }
+        index.clear();
+    }
+
+    /**
+     * Replaces the roster with a full snapshot from the JS side.
+     */
+    private void sync(List<ParticipantInfo> participantsInfo) {
+        // In the order of the JS side, for the participants the roster doesn't have yet.
+        Map<String, ParticipantInfo> newParticipants = new LinkedHashMap<>();
+
+        for (ParticipantInfo participantInfo : participantsInfo) {
+            if (participantInfo.id != null) {
+                newParticipants.put(participantInfo.id, new ParticipantInfo(participantInfo));
+            }
+        }
+
+        synchronized (participants) {
+            if (consistencyCheckEnabled && synced) {
+                checkConsistency(newParticipants);
+            }
+
+            participants.keySet().retainAll(newParticipants.keySet());
+            participants.putAll(newParticipants);
+            snapshot = null;
+        }
+        index.reset(newParticipants.values());
+        synced = true;
+    }
+
+    private void checkConsistency(Map<String, ParticipantInfo> expected) {
+        List<String> missing = new ArrayList<>();
+        List<String> stale = new ArrayList<>();
+        List<String> extra = new ArrayList<>();
+
+        for (ParticipantInfo participantInfo : expected.values()) {
+            ParticipantInfo actual = participants.get(participantInfo.id);
+
+            if (actual == null) {
+                missing.add(participantInfo.id);
+            } else if (!actual.equals(participantInfo)) {
+                stale.add(participantInfo.id);
+            }
+        }
+        for (String participantId : participants.keySet()) {
+            if (!expected.containsKey(participantId)) {
+                extra.add(participantId);
+            }
+        }
+
+        if (missing.isEmpty() && stale.isEmpty() && extra.isEmpty()) {
+            JitsiMeetLogger.d("%s Roster matches the JS side (%d participants)", TAG, expected.size());
+            return;
+        }
+
+        mismatchCount.incrementAndGet();
+        JitsiMeetLogger.w(
+            "%s Roster doesn't match the JS side: missing %s, stale %s, extra %s",
+            TAG, missing, stale, extra);
+    }
+
+    /**
+     * Asks the JS side for a full snapshot, which comes back as a
+     * {@link BroadcastEvent.Type#PARTICIPANTS_INFO_RETRIEVED} event.
+     */
+    private void requestSync() {
+        WritableMap data = Arguments.createMap();
+
+        data.putString("requestId", SYNC_REQUEST_ID);
+        ReactInstanceManagerHolder.emitEvent(
+            BroadcastAction.Type.RETRIEVE_PARTICIPANTS_INFO.getAction(), data);
+    }
+
+    private synchronized void scheduleSync() {
+        cancelSync();
+
+        long interval = syncIntervalMillis;
+
+        if (interval > 0) {
+            syncTimeout = TimerWheel.getShared().schedule(syncTask, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void cancelSync() {
+        if (syncTimeout != null) {
+            syncTimeout.cancel();
+            syncTimeout = null;
+        }
+    }
+}
@@ -1,90 +1,342 @@
 package org.jitsi.meet.sdk;
 
-import android.content.Context;
-import android.content.Intent;
-import android.content.IntentFilter;
-
-import androidx.localbroadcastmanager.content.LocalBroadcastManager;
+import android.os.Handler;
+import android.os.Looper;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 
+import org.jitsi.meet.sdk.events.ParticipantsInfoRetrievedEvent;
 import org.jitsi.meet.sdk.log.JitsiMeetLogger;
 
-import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 
 import javax.annotation.Nullable;
 
-public class ParticipantsService extends android.content.BroadcastReceiver {
+public class ParticipantsService {
 
     private static final String TAG = ParticipantsService.class.getSimpleName();
     private static final String REQUEST_ID = "requestId";
 
-    private final Map<String, WeakReference<ParticipantsInfoCallback>> participantsInfoCallbackMap = new HashMap<>();
+    private static final String OFFSET = "offset";
+    private static final String LIMIT = "limit";
+
+    private static final int MAX_PENDING_REQUESTS = 64;
+    private static final long DEFAULT_REQUEST_TIMEOUT_MILLIS = 10000;
+
+    /**
+     * The requests waiting for the JS side. Shared by the successive instances, so that the
+     * counters cover the whole life of the process.
+     */
+    private static final PendingRequests<ParticipantsInfoRetrievedEvent> pendingRequests
+        = new PendingRequests<>(TAG, TimerWheel.getShared(), MAX_PENDING_REQUESTS);
+
+    /**
+     * Runs the host callbacks. Answers arrive on the React Native JS thread and timeouts on the
+     * {@link TimerWheel} thread, neither of which the host should block or touch its UI from.
+     */
+    private static final Executor mainExecutor = new Executor() {
+        private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(Runnable runnable) {
+            mainHandler.post(runnable);
+        }
+    };
+
+    private static volatile long requestTimeoutMillis = DEFAULT_REQUEST_TIMEOUT_MILLIS;
 
     private static ParticipantsService instance;
 
+    private final JitsiMeetEventBus.Subscription subscription;
+    private final EventSubscriptionRegistry.Registration registration;
+
     @Nullable
     public static ParticipantsService getInstance() {
         return instance;
     }
 
-    private ParticipantsService(Context context) {
-        LocalBroadcastManager localBroadcastManager = LocalBroadcastManager.getInstance(context);
+    private ParticipantsService() {
+        registration = EventSubscriptionRegistry.getInstance().register(
+            BroadcastEvent.Type.PARTICIPANTS_INFO_RETRIEVED);
+        subscription = JitsiMeetEventBus.getInstance().subscribe(
+            ParticipantsInfoRetrievedEvent.class,
+            JitsiMeetEventBus.ThreadMode.CALLER,
+            new JitsiMeetEventBus.Listener<ParticipantsInfoRetrievedEvent>() {
+                @Override
+                public void onEvent(ParticipantsInfoRetrievedEvent event) {
+                    onParticipantsInfoRetrieved(event);
+                }
+            });
+    }
+
+    static void init() {
+        // The React instance, and this service with it, may be recreated.
+        if (instance != null) {
+            instance.subscription.unsubscribe();
+            instance.registration.release();
+        }
+
+        instance = new ParticipantsService();
+    }
+
+    /**
+     * Retrieves the participants in the current conference, local one included.
+     *
+     * The participants come from the {@link ParticipantRoster} when it is in sync, in an
+     * unmodifiable list. Otherwise the JS side is asked. Either way, the callback is called on
+     * the main thread, after this method returns.
+     *
+     * @param participantsInfoCallback - The callback, held until the JS side answers or the
+     * request expires, see {@link #setRequestTimeout(long, TimeUnit)}. Override
+     * {@link ParticipantsRequestCallback#onTimeout()} in order to know about the latter.
+     */
+    public void retrieveParticipantsInfo(final ParticipantsInfoCallback participantsInfoCallback) {
+        ParticipantRoster roster = ParticipantRoster.getInstance();
+
+        roster.start();
+
+        if (roster.isSynced() && !roster.isConsistencyCheckEnabled()) {
+            final List<ParticipantInfo> participants = roster.getParticipants();
+
+            mainExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        participantsInfoCallback.onReceived(participants);
+                    } catch (Exception e) {
+                        JitsiMeetLogger.w(e, "%s error handling participantsList", TAG);
+                    }
+                }
+            });
+            return;
+        }
+
+        sendRequest(0, 0).whenCompleteAsync(new BiConsumer<ParticipantsInfoRetrievedEvent, Throwable>() {
+            @Override
+            public void accept(ParticipantsInfoRetrievedEvent event, Throwable error) {
+                if (error != null) {
+                    onRequestFailed(participantsInfoCallback, error);
+                    return;
+                }
+
+                try {
+                    participantsInfoCallback.onReceived(event.getParticipantsInfo());
+                } catch (Exception e) {
+                    JitsiMeetLogger.w(e, "%s error handling participantsList", TAG);
+                }
+            }
+        }, mainExecutor);
+    }
+
+    /**
+     * Retrieves a page of the participants in the current conference, so that large conferences
+     * can be walked through without holding all the participants at once:
+     * <pre>
+     *     service.retrieveParticipantsInfo(0, 100, new ParticipantsService.ParticipantsPageCallback() {
+     *         &#64;Override
+     *         public void onReceived(List&lt;ParticipantInfo&gt; participants, int offset, int total) {
+     *             // ...
+     *             int next = offset + participants.size();
+     *
+     *             if (!participants.isEmpty() &amp;&amp; next &lt; total) {
+     *                 service.retrieveParticipantsInfo(next, 100, this);
+     *             }
+     *         }
+     *     });
+     * </pre>
+     *
+     * Pages are taken from the list as it is when they are retrieved, participants joining or
+     * leaving in between may shift the following pages. The list is in the same order whether
+     * it comes from the roster or the JS side: the local participant first, then the remote ones
+     * in the order they joined. Like
+     * {@link #retrieveParticipantsInfo(ParticipantsInfoCallback)}, the page comes from the
+     * {@link ParticipantRoster} when it is in sync, and the callback is called on the main
+     * thread.
+     *
+     * @param offset - The position of the first participant to retrieve.
+     * @param limit - The maximum number of participants to retrieve.
+     * @param participantsPageCallback - The callback, held until the JS side answers or the
+     * request expires, see {@link #setRequestTimeout(long, TimeUnit)}. Override
+     * {@link ParticipantsRequestCallback#onTimeout()} in order to know about the latter.
+     */
+    public void retrieveParticipantsInfo(
+            int offset,
+            int limit,
+            final ParticipantsPageCallback participantsPageCallback) {
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Invalid page: offset " + offset + ", limit " + limit);
+        }
+
+        ParticipantRoster roster = ParticipantRoster.getInstance();
+
+        roster.start();
+
+        if (roster.isSynced() && !roster.isConsistencyCheckEnabled()) {
+            // Only the page is copied.
+            List<ParticipantInfo> participants = roster.getSnapshot();
+            final int total = participants.size();
+            int from = Math.min(offset, total);
+            final List<ParticipantInfo> page
+                = ParticipantRoster.copyOf(participants.subList(from, Math.min(total, from + limit)));
+            final int pageOffset = offset;
+
+            mainExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        participantsPageCallback.onReceived(page, pageOffset, total);
+                    } catch (Exception e) {
+                        JitsiMeetLogger.w(e, "%s error handling participants page", TAG);
+                    }
+                }
+            });
+            return;
+        }
+
+        sendRequest(offset, limit).whenCompleteAsync(new BiConsumer<ParticipantsInfoRetrievedEvent, Throwable>() {
+            @Override
+            public void accept(ParticipantsInfoRetrievedEvent event, Throwable error) {
+                if (error != null) {
+                    onRequestFailed(participantsPageCallback, error);
+                    return;
+                }
+
+                try {
+                    participantsPageCallback.onReceived(
+                        event.getParticipantsInfo(), event.getOffset(), event.getTotal());
+                } catch (Exception e) {
+                    JitsiMeetLogger.w(e, "%s error handling participants page", TAG);
+                }
+            }
+        }, mainExecutor);
+    }
+
+    /**
+     * Sets how long to wait for the JS side to answer a request, 10 seconds by default.
+     *
+     * @param timeout - The timeout.
+     * @param unit - The unit of the timeout.
+     */
+    public void setRequestTimeout(long timeout, TimeUnit unit) {
+        requestTimeoutMillis = unit.toMillis(timeout);
+    }
+
+    /**
+     * @return The number of requests waiting for the JS side.
+     */
+    public int getPendingRequestCount() {
+        return pendingRequests.size();
+    }
+
+    /**
+     * @return The number of requests the JS side answered, since the process started.
+     */
+    public long getCompletedRequestCount() {
+        return pendingRequests.getCompletedCount();
+    }
 
-        IntentFilter intentFilter = new IntentFilter();
-        intentFilter.addAction(BroadcastEvent.Type.PARTICIPANTS_INFO_RETRIEVED.getAction());
-        localBroadcastManager.registerReceiver(this, intentFilter);
+    /**
+     * @return The number of requests which timed out, since the process started.
+     */
+    public long getExpiredRequestCount() {
+        return pendingRequests.getExpiredCount();
     }
 
-    static void init(Context context) {
-        instance = new ParticipantsService(context);
+    /**
+     * @return The number of requests rejected because too many were pending, since the process
+     * started.
+     */
+    public long getRejectedRequestCount() {
+        return pendingRequests.getRejectedCount();
     }
 
-    public void retrieveParticipantsInfo(ParticipantsInfoCallback participantsInfoCallback) {
-        String callbackKey = UUID.randomUUID().toString();
-        this.participantsInfoCallbackMap.put(callbackKey, new WeakReference<>(participantsInfoCallback));
+    private CompletableFuture<ParticipantsInfoRetrievedEvent> sendRequest(int offset, int limit) {
+        String requestId = PendingRequests.newId();
+        CompletableFuture<ParticipantsInfoRetrievedEvent> future
+            = pendingRequests.add(requestId, requestTimeoutMillis, TimeUnit.MILLISECONDS);
+
+        // Rejected, the table is full.
+        if (future.isDone()) {
+            return future;
+        }
 
         String actionName = BroadcastAction.Type.RETRIEVE_PARTICIPANTS_INFO.getAction();
         WritableMap data = Arguments.createMap();
-        data.putString(REQUEST_ID, callbackKey);
+        data.putString(REQUEST_ID, requestId);
+        if (limit > 0) {
+            data.putInt(OFFSET, offset);
+            data.putInt(LIMIT, limit);
+        }
         ReactInstanceManagerHolder.emitEvent(actionName, data);
+
+        return future;
     }
 
-    @Override
-    public void onReceive(Context context, Intent intent) {
-        BroadcastEvent event = new BroadcastEvent(intent);
+    private static void onRequestFailed(ParticipantsRequestCallback callback, Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
 
-        switch (event.getType()) {
-            case PARTICIPANTS_INFO_RETRIEVED:
-                try {
-                    List<ParticipantInfo> participantInfoList = new Gson().fromJson(
-                        event.getData().get("participantsInfo").toString(),
-                        new TypeToken<ArrayList<ParticipantInfo>>() {
-                        }.getType());
+        JitsiMeetLogger.w("%s Participants request failed: %s", TAG, error.getMessage());
+
+        try {
+            if (error instanceof TimeoutException) {
+                callback.onTimeout();
+            } else {
+                callback.onError(error);
+            }
+        } catch (Exception e) {
+            JitsiMeetLogger.w(e, "%s error handling participants request failure", TAG);
+        }
+    }
 
-                    ParticipantsInfoCallback participantsInfoCallback = this.participantsInfoCallbackMap.get(event.getData().get(REQUEST_ID).toString()).get();
+    private void onParticipantsInfoRetrieved(ParticipantsInfoRetrievedEvent event) {
+        // Unknown ids are the periodic syncs of the ParticipantRoster, or requests which expired.
+        pendingRequests.complete(event.getRequestId(), event);
+    }
 
-                    if (participantsInfoCallback != null) {
-                        participantsInfoCallback.onReceived(participantInfoList);
-                        this.participantsInfoCallbackMap.remove(participantsInfoCallback);
-                    }
-                } catch (Exception e) {
-                    JitsiMeetLogger.w(TAG + "error parsing participantsList", e);
-                }
+    /**
+     * What the callbacks of the retrieval methods have in common: how they learn that a request
+     * failed. Both methods do nothing by default and, like the rest of the callbacks, are called
+     * on the main thread.
+     */
+    public interface ParticipantsRequestCallback {
+        /**
+         * Called when the JS side didn't answer in time.
+         */
+        default void onTimeout() {
+        }
 
-                break;
+        /**
+         * Called when the request failed otherwise, e.g. it couldn't be sent because too many
+         * were pending.
+         *
+         * @param error - Why the request failed.
+         */
+        default void onError(Throwable error) {
         }
     }
 
-    public interface ParticipantsInfoCallback {
+    public interface ParticipantsInfoCallback extends ParticipantsRequestCallback {
         void onReceived(List<ParticipantInfo> participantInfoList);
     }
+
+    /**
+     * Receives a page of participants, see {@link #retrieveParticipantsInfo(int, int, ParticipantsPageCallback)}.
+     */
+    public interface ParticipantsPageCallback extends ParticipantsRequestCallback {
+        /**
+         * @param participants - The participants of the page, in an unmodifiable list.
+         * @param offset - The position of the first participant of the page.
+         * @param total - The number of participants in the conference.
+         */
+        void onReceived(List<ParticipantInfo> participants, int offset, int total);
+    }
 }
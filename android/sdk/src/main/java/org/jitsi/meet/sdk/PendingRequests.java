@@ -0,0 +1,210 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Table of the requests sent to the JS side which are waiting for a response, each with a
+ * {@link CompletableFuture} completed by the response, or failed when its timeout expires.
+ *
+ * Requests are identified by a random correlation id, sent along with the request and echoed
+ * back by the JS side. Whoever removes a request from the table (the response, its timeout or
+ * the caller cancelling the future) gets to complete it, so a request is completed exactly once
+ * and never leaks.
+ *
+ * The table can be bounded, requests added while it is full fail right away with a
+ * {@link RejectedExecutionException}. The bound is checked without locking, so racing callers
+ * may exceed it slightly.
+ *
+ * @param <T> - The type of the responses.
+ */
+final class PendingRequests<T> {
+    private final String name;
+    private final TimerWheel timerWheel;
+    private final int capacity;
+    private final ConcurrentHashMap<String, Request<T>> requests = new ConcurrentHashMap<>();
+
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private static final class Request<T> {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        /**
+         * Set right after the request is added, so it may still be {@code null} if the response
+         * is that quick. The timeout then finds the request gone and does nothing.
+         */
+        volatile TimerWheel.Timeout timeout;
+
+        void cancelTimeout() {
+            TimerWheel.Timeout timeout = this.timeout;
+
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+
+    /**
+     * @param name - The name of the requests, used in the timeout errors.
+     * @param timerWheel - The wheel expiring the requests.
+     */
+    PendingRequests(String name, TimerWheel timerWheel) {
+        this(name, timerWheel, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param name - The name of the requests, used in the errors.
+     * @param timerWheel - The wheel expiring the requests.
+     * @param capacity - The maximum number of requests waiting for a response.
+     */
+    PendingRequests(String name, TimerWheel timerWheel, int capacity) {
+        this.name = name;
+        this.timerWheel = timerWheel;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Generates a new correlation id.
+     */
+    static String newId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Adds a request.
+     *
+     * @param id - The correlation id of the request, see {@link #newId()}.
+     * @param timeout - How long to wait for the response.
+     * @param unit - The unit of the timeout.
+     * @return The future to be completed with the response. Cancelling it withdraws the request.
+     * It is already failed if the table is full.
+     */
+    CompletableFuture<T> add(final String id, final long timeout, TimeUnit unit) {
+        final Request<T> request = new Request<>();
+
+        if (requests.size() >= capacity) {
+            rejectedCount.incrementAndGet();
+            request.future.completeExceptionally(new RejectedExecutionException(
+                name + " " + id + " rejected, " + capacity + " requests are pending"));
+
+            return request.future;
+        }
+
+        requests.put(id, request);
+        request.timeout = timerWheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (requests.remove(id, request)) {
+                    expiredCount.incrementAndGet();
+                    request.future.completeExceptionally(
+                        new TimeoutException(name + " " + id + " timed out"));
+                }
+            }
+        }, timeout, unit);
+
+        // The caller gave up, e.g. cancelled the future.
+        request.future.whenComplete(new BiConsumer<T, Throwable>() {
+            @Override
+            public void accept(T result, Throwable error) {
+                if (requests.remove(id, request)) {
+                    request.cancelTimeout();
+                }
+            }
+        });
+
+        return request.future;
+    }
+
+    /**
+     * Completes a request with its response.
+     *
+     * @param id - The correlation id of the request.
+     * @param response - The response.
+     * @return {@code false} if there is no such request, e.g. it timed out already.
+     */
+    boolean complete(String id, T response) {
+        Request<T> request = id != null ? requests.remove(id) : null;
+
+        if (request == null) {
+            return false;
+        }
+
+        request.cancelTimeout();
+        completedCount.incrementAndGet();
+        request.future.complete(response);
+
+        return true;
+    }
+
+    /**
+     * Fails a request.
+     *
+     * @param id - The correlation id of the request.
+     * @param error - The error.
+     * @return {@code false} if there is no such request, e.g. it timed out already.
+     */
+    boolean fail(String id, Throwable error) {
+        Request<T> request = id != null ? requests.remove(id) : null;
+
+        if (request == null) {
+            return false;
+        }
+
+        request.cancelTimeout();
+        request.future.completeExceptionally(error);
+
+        return true;
+    }
+
+    /**
+     * Gets the number of requests waiting for a response.
+     */
+    int size() {
+        return requests.size();
+    }
+
+    /**
+     * Gets the number of requests completed with a response.
+     */
+    long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * Gets the number of requests which timed out.
+     */
+    long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * Gets the number of requests rejected because the table was full.
+     */
+    long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
@@ -0,0 +1,448 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.content.ComponentName;
+import android.content.Context;
+import android.os.Build;
+import android.os.Bundle;
+import android.telecom.PhoneAccount;
+import android.telecom.PhoneAccountHandle;
+import android.telecom.TelecomManager;
+
+import androidx.annotation.RequiresApi;
+
+import org.jitsi.meet.sdk.log.JitsiMeetLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Self-managed {@link PhoneAccount}s of the {@link ConnectionService}, registered once and leased
+ * by the calls rather than registered and unregistered for every call: both are binder calls
+ * into system_server, the former on the way to joining.
+ *
+ * Accounts are keyed by URI scheme and capabilities, and their ids are derived from the key, so
+ * the accounts registered by a previous run of the app are picked up again on process start,
+ * see {@link #init(Context)}, and anything else it left behind is unregistered.
+ *
+ * At most {@link #MAX_LEASED_ACCOUNTS} accounts are leased at once, which bounds the number of
+ * concurrent calls. The account of a call is given back by {@link CallRegistry} when the call
+ * is removed, whichever way it ended.
+ */
+@RequiresApi(api = Build.VERSION_CODES.O)
+final class PhoneAccountPool {
+    private static final String TAG = ConnectionService.TAG;
+
+    /**
+     * There's one conference at a time, plus the ones still being torn down.
+     */
+    static final int MAX_LEASED_ACCOUNTS = 3;
+
+    /**
+     * The capabilities of the accounts of the conferences.
+     */
+    static final int DEFAULT_CAPABILITIES
+        = PhoneAccount.CAPABILITY_SELF_MANAGED
+            | PhoneAccount.CAPABILITY_VIDEO_CALLING
+            | PhoneAccount.CAPABILITY_SUPPORTS_VIDEO_CALLING;
+
+    static final String ID_PREFIX = "org.jitsi.meet.sdk.pooled";
+    static final char ID_SEPARATOR = ':';
+
+    private static final PhoneAccountPool instance = new PhoneAccountPool(null);
+
+    /**
+     * What the pool, and the calls on its accounts, need from the system, replaced in the tests.
+     */
+    interface Telecom {
+        /**
+         * @return The self-managed accounts of the app's {@link ConnectionService}.
+         * @throws SecurityException if they can't be listed.
+         */
+        List<PhoneAccountHandle> getAccounts();
+
+        PhoneAccountHandle newHandle(String id);
+
+        String getId(PhoneAccountHandle handle);
+
+        void register(PhoneAccountHandle handle, String scheme, int capabilities);
+
+        void unregister(PhoneAccountHandle handle);
+
+        void addNewIncomingCall(PhoneAccountHandle handle, Bundle extras);
+    }
+
+    /**
+     * The registered accounts which are not leased, by key.
+     */
+    private final ConcurrentHashMap<String, ConcurrentLinkedQueue<PhoneAccountHandle>> idle
+        = new ConcurrentHashMap<>();
+
+    /**
+     * The ids of all the accounts of the pool, leased or not.
+     */
+    private final Set<String> accountIds = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger leased = new AtomicInteger();
+
+    /**
+     * The index of the next account id. Guarded by {@code this}, which also serializes taking
+     * back the accounts of a previous run with the allocation of the ids, so that an account
+     * can't be taken back while a call registers it again.
+     */
+    private int nextIndex;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private volatile Telecom telecom;
+
+    private boolean initialized;
+
+    static PhoneAccountPool getInstance() {
+        return instance;
+    }
+
+    /**
+     * @param telecom - The system, {@code null} for the real one, set up with the first context
+     * the pool is given.
+     */
+    PhoneAccountPool(Telecom telecom) {
+        this.telecom = telecom;
+    }
+
+    /**
+     * @param telecom - The system, {@code null} for the real one, set up with the next context
+     * the pool is given.
+     */
+    void setTelecom(Telecom telecom) {
+        this.telecom = telecom;
+    }
+
+    /**
+     * Cleans up the accounts left behind by a previous run of the app, on a background thread,
+     * and registers an account for the conferences so that the first one doesn't have to.
+     *
+     * @param context - The context.
+     */
+    void init(Context context) {
+        synchronized (this) {
+            if (initialized) {
+                return;
+            }
+            initialized = true;
+        }
+
+        getTelecom(context);
+
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    cleanUp();
+
+                    // Pre-register the account of the conferences.
+                    release(lease(null, PhoneAccount.SCHEME_SIP, DEFAULT_CAPABILITIES));
+                } catch (Throwable tr) {
+                    // UnsupportedOperationException: System does not support feature
+                    // android.software.connectionservice, among others.
+                    JitsiMeetLogger.w(tr, "%s failed to set up the phone accounts", TAG);
+                }
+            }
+        }, "JitsiMeetPhoneAccounts");
+
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Leases an account, registering one if none is idle.
+     *
+     * @param context - The context, may be {@code null} once the pool was given one.
+     * @param scheme - The URI scheme of the calls, e.g. {@link PhoneAccount#SCHEME_SIP}.
+     * @param capabilities - The {@code PhoneAccount.CAPABILITY_*} of the account.
+     * @return The account, which must be released with {@link #release(PhoneAccountHandle)}.
+     * @throws IllegalStateException if {@link #MAX_LEASED_ACCOUNTS} accounts are leased already.
+     */
+    PhoneAccountHandle lease(Context context, String scheme, int capabilities) {
+        Telecom telecom = getTelecom(context);
+
+        for (int count = leased.get(); ; count = leased.get()) {
+            if (count >= MAX_LEASED_ACCOUNTS) {
+                throw new IllegalStateException("Too many calls: " + count);
+            }
+            if (leased.compareAndSet(count, count + 1)) {
+                break;
+            }
+        }
+
+        String key = getKey(scheme, capabilities);
+        PhoneAccountHandle handle = getIdle(key).poll();
+
+        if (handle != null) {
+            hits.incrementAndGet();
+            return handle;
+        }
+
+        misses.incrementAndGet();
+
+        String id;
+
+        // Before registering it, so that cleanUp doesn't take it as a leftover.
+        synchronized (this) {
+            id = key + ID_SEPARATOR + nextIndex++;
+            accountIds.add(id);
+        }
+
+        handle = telecom.newHandle(id);
+        try {
+            telecom.register(handle, scheme, capabilities);
+        } catch (RuntimeException e) {
+            accountIds.remove(id);
+            leased.decrementAndGet();
+            throw e;
+        }
+
+        return handle;
+    }
+
+    /**
+     * Returns a leased account to the pool. Accounts which aren't from the pool are unregistered.
+     *
+     * @param handle - The account.
+     */
+    void release(PhoneAccountHandle handle) {
+        Telecom telecom = this.telecom;
+        String key = getKey(telecom.getId(handle));
+
+        if (key == null) {
+            telecom.unregister(handle);
+            return;
+        }
+
+        getIdle(key).offer(handle);
+        leased.decrementAndGet();
+    }
+
+    /**
+     * Tells the system about an incoming call, on a leased account.
+     *
+     * @param handle - The account.
+     * @param extras - The extras of the call, see {@link TelecomManager#addNewIncomingCall}.
+     */
+    void addNewIncomingCall(PhoneAccountHandle handle, Bundle extras) {
+        telecom.addNewIncomingCall(handle, extras);
+    }
+
+    /**
+     * @return The number of leases served by an idle account, since the process started.
+     */
+    int getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of leases which had to register an account, since the process started.
+     */
+    int getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return The number of accounts which are leased.
+     */
+    int getLeasedCount() {
+        return leased.get();
+    }
+
+    /**
+     * Takes back the accounts of the pool registered by a previous run of the app, and
+     * unregisters the other ones, e.g. the accounts of the calls which were going on when the
+     * app crashed, from before there was a pool.
+     */
+    void cleanUp() {
+        Telecom telecom = this.telecom;
+        List<PhoneAccountHandle> handles;
+
+        try {
+            handles = telecom.getAccounts();
+        } catch (SecurityException e) {
+            // READ_PHONE_STATE is needed before Android 13, the accounts of the pool are
+            // registered again as they are leased.
+            JitsiMeetLogger.i("%s can't list the phone accounts: %s", TAG, e.getMessage());
+            return;
+        }
+
+        List<PhoneAccountHandle> stale = new ArrayList<>();
+
+        synchronized (this) {
+            int maxIndex = -1;
+
+            for (PhoneAccountHandle handle : handles) {
+                String id = telecom.getId(handle);
+                String key = getKey(id);
+
+                if (key == null) {
+                    stale.add(handle);
+                    continue;
+                }
+
+                maxIndex = Math.max(maxIndex, Integer.parseInt(id.substring(id.lastIndexOf(ID_SEPARATOR) + 1)));
+                // Unless a call registered it again in the meantime.
+                if (accountIds.add(id)) {
+                    getIdle(key).offer(handle);
+                }
+            }
+
+            // Not to reuse the ids of the accounts taken back.
+            nextIndex = Math.max(nextIndex, maxIndex + 1);
+        }
+
+        for (PhoneAccountHandle handle : stale) {
+            JitsiMeetLogger.i("%s unregistering stale phone account %s", TAG, telecom.getId(handle));
+            telecom.unregister(handle);
+        }
+    }
+
+    private Telecom getTelecom(Context context) {
+        Telecom telecom = this.telecom;
+
+        if (telecom == null) {
+            synchronized (this) {
+                if (this.telecom == null) {
+                    this.telecom = new SystemTelecom(context.getApplicationContext());
+                }
+                telecom = this.telecom;
+            }
+        }
+
+        return telecom;
+    }
+
+    private ConcurrentLinkedQueue<PhoneAccountHandle> getIdle(String key) {
+        ConcurrentLinkedQueue<PhoneAccountHandle> queue = idle.get(key);
+
+        if (queue == null) {
+            ConcurrentLinkedQueue<PhoneAccountHandle> newQueue = new ConcurrentLinkedQueue<>();
+
+            queue = idle.putIfAbsent(key, newQueue);
+            if (queue == null) {
+                queue = newQueue;
+            }
+        }
+
+        return queue;
+    }
+
+    private static String getKey(String scheme, int capabilities) {
+        return ID_PREFIX + ID_SEPARATOR + scheme + ID_SEPARATOR + capabilities;
+    }
+
+    /**
+     * @return The key of an account of the pool, or {@code null} if the account isn't from the
+     * pool.
+     */
+    private static String getKey(String id) {
+        if (id == null || !id.startsWith(ID_PREFIX + ID_SEPARATOR)) {
+            return null;
+        }
+
+        int separator = id.lastIndexOf(ID_SEPARATOR);
+
+        // Pooled ids are <prefix>:<scheme>:<capabilities>:<index>.
+        try {
+            Integer.parseInt(id.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        return id.substring(0, separator);
+    }
+
+    /**
+     * The accounts of the app's {@link ConnectionService}, through {@link TelecomManager}.
+     */
+    private static final class SystemTelecom implements Telecom {
+        private final Context context;
+        private final ComponentName componentName;
+
+        SystemTelecom(Context context) {
+            this.context = context;
+            this.componentName = new ComponentName(context, ConnectionService.class);
+        }
+
+        @Override
+        public List<PhoneAccountHandle> getAccounts() {
+            TelecomManager telecomManager = context.getSystemService(TelecomManager.class);
+            List<PhoneAccountHandle> handles
+                = Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                    ? telecomManager.getOwnSelfManagedPhoneAccounts()
+                    : telecomManager.getSelfManagedPhoneAccounts();
+            List<PhoneAccountHandle> accounts = new ArrayList<>();
+
+            for (PhoneAccountHandle handle : handles) {
+                if (componentName.equals(handle.getComponentName())) {
+                    accounts.add(handle);
+                }
+            }
+
+            return accounts;
+        }
+
+        @Override
+        public PhoneAccountHandle newHandle(String id) {
+            return new PhoneAccountHandle(componentName, id);
+        }
+
+        @Override
+        public String getId(PhoneAccountHandle handle) {
+            return handle.getId();
+        }
+
+        @Override
+        public void register(PhoneAccountHandle handle, String scheme, int capabilities) {
+            PhoneAccount account
+                = PhoneAccount.builder(handle, context.getApplicationInfo().loadLabel(context.getPackageManager()))
+                    .setCapabilities(capabilities)
+                    .addSupportedUriScheme(scheme)
+                    .build();
+
+            context.getSystemService(TelecomManager.class).registerPhoneAccount(account);
+        }
+
+        @Override
+        public void unregister(PhoneAccountHandle handle) {
+            TelecomManager telecomManager = context.getSystemService(TelecomManager.class);
+
+            if (telecomManager != null) {
+                telecomManager.unregisterPhoneAccount(handle);
+            } else {
+                JitsiMeetLogger.e("%s unregisterPhoneAccount - telecom is null", TAG);
+            }
+        }
+
+        @Override
+        public void addNewIncomingCall(PhoneAccountHandle handle, Bundle extras) {
+            context.getSystemService(TelecomManager.class).addNewIncomingCall(handle, extras);
+        }
+    }
+}
@@ -14,6 +14,7 @@ import android.telecom.VideoProfile;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
 
+import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
@@ -25,6 +26,9 @@ import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
 
 import org.jitsi.meet.sdk.log.JitsiMeetLogger;
+import org.jitsi.meet.sdk.metrics.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * The react-native side of Jitsi Meet's {@link ConnectionService}. Exposes
@@ -40,6 +44,22 @@ class RNConnectionService extends ReactContextBaseJavaModule {
 
     private static final String TAG = ConnectionService.TAG;
 
+    /**
+     * The code the start call promise is rejected with when Telecom neither created the
+     * connection nor reported a failure in time.
+     */
+    static final String START_CALL_TIMEOUT = "START_CALL_TIMEOUT";
+
+    private static final long DEFAULT_START_CALL_TIMEOUT_MILLIS = 5000;
+
+    private static volatile long startCallTimeoutMillis = DEFAULT_START_CALL_TIMEOUT_MILLIS;
+
+    /**
+     * The time from the JS side starting a call to its promise being rejected so that it falls
+     * back to not using ConnectionService.
+     */
+    private static final LatencyHistogram startCallFallbackLatency = new LatencyHistogram();
+
     private static RNConnectionService sRNConnectionServiceInstance;
     /**
      * Handler for dealing with call state changes. We are acting as a proxy between ConnectionService
@@ -55,12 +75,40 @@ class RNConnectionService extends ReactContextBaseJavaModule {
      */
     @RequiresApi(api = Build.VERSION_CODES.O)
     static void setAudioRoute(int audioRoute) {
-        for (ConnectionService.ConnectionImpl c
-                : ConnectionService.getConnections()) {
-            c.setAudioRoute(audioRoute);
+        for (CallRegistry.Call call : CallRegistry.getInstance().getCalls()) {
+            ConnectionService.ConnectionImpl c = call.connection;
+
+            if (c != null) {
+                c.setAudioRoute(audioRoute);
+            }
         }
     }
 
+    /**
+     * Sets how long Telecom has to create the connection of a started call, 5 seconds by default.
+     *
+     * @param timeout - The timeout, {@code 0} to wait forever.
+     * @param unit - The unit of the timeout.
+     */
+    static void setStartCallTimeout(long timeout, TimeUnit unit) {
+        startCallTimeoutMillis = unit.toMillis(timeout);
+    }
+
+    /**
+     * @return How long Telecom has to create the connection of a call, in milliseconds.
+     */
+    static long getStartCallTimeoutMillis() {
+        return startCallTimeoutMillis;
+    }
+
+    /**
+     * @return The time it took for the calls which couldn't be started to fall back to not using
+     * ConnectionService, since the process started.
+     */
+    static LatencyHistogram.Snapshot getStartCallFallbackLatency() {
+        return startCallFallbackLatency.getSnapshot();
+    }
+
     RNConnectionService(ReactApplicationContext reactContext) {
         super(reactContext);
         sRNConnectionServiceInstance = this;
@@ -108,20 +156,75 @@ class RNConnectionService extends ReactContextBaseJavaModule {
                             hasVideo);
 
         ReactApplicationContext ctx = getReactApplicationContext();
+        CallRegistry registry = CallRegistry.getInstance();
+        CallRegistry.Call call = registry.add(callUUID, promise);
+
+        if (call == null) {
+            CallRegistry.Call existingCall = registry.get(callUUID);
+
+            // The conference of an incoming call, its connection is set up
+            // already, or will be by Telecom.
+            if (existingCall != null && existingCall.isIncoming()) {
+                if (ConnectionService.adoptIncomingCall(existingCall)) {
+                    JitsiMeetLogger.d("%s startCall %s is incoming", TAG, callUUID);
+                    promise.resolve(null);
+                } else {
+                    JitsiMeetLogger.w("%s startCall %s incoming call ended", TAG, callUUID);
+                    promise.reject("INCOMING_CALL_ENDED", "The incoming call with the same UUID ended");
+                }
+                return;
+            }
+
+            JitsiMeetLogger.e("%s startCall %s already exists", TAG, callUUID);
+            promise.reject("CALL_ALREADY_EXISTS", "A call with the same UUID exists already");
+            return;
+        }
+
+        CallSetupMetrics metrics = CallSetupMetrics.getInstance();
+
+        metrics.begin(call, CallSetupMetrics.Stage.SETUP);
+        metrics.begin(call, CallSetupMetrics.Stage.START_CALL);
+        try {
+            placeCall(ctx, call, handle, hasVideo);
+        } finally {
+            metrics.end(call, CallSetupMetrics.Stage.START_CALL);
+        }
+    }
 
+    /**
+     * Leases a phone account for a call and hands the call to Telecom.
+     *
+     * NOTE regarding the "missingPermission" suppress - see {@link #startCall}.
+     */
+    @SuppressLint("MissingPermission")
+    private void placeCall(
+            Context ctx,
+            CallRegistry.Call call,
+            String handle,
+            boolean hasVideo) {
+        CallSetupMetrics metrics = CallSetupMetrics.getInstance();
         Uri address = Uri.fromParts(PhoneAccount.SCHEME_SIP, handle, null);
         PhoneAccountHandle accountHandle;
 
+        metrics.begin(call, CallSetupMetrics.Stage.LEASE_PHONE_ACCOUNT);
         try {
-            accountHandle
-                = ConnectionService.registerPhoneAccount(getReactApplicationContext(), address, callUUID);
+            accountHandle = PhoneAccountPool.getInstance().lease(
+                ctx, PhoneAccount.SCHEME_SIP, PhoneAccountPool.DEFAULT_CAPABILITIES);
         } catch (Throwable tr) {
-            JitsiMeetLogger.e(tr, TAG + " error in startCall");
+            JitsiMeetLogger.e(tr, "%s error in startCall", TAG);
 
-            promise.reject(tr);
+            rejectStartCall(call, tr);
             return;
+        } finally {
+            metrics.end(call, CallSetupMetrics.Stage.LEASE_PHONE_ACCOUNT);
         }
 
+        call.setPhoneAccountHandle(accountHandle);
+
+        // Passed on to the ConnectionRequest.
+        Bundle callExtras = new Bundle();
+        callExtras.putString(ConnectionService.EXTRA_CALL_UUID, call.getCallUUID());
+
         Bundle extras = new Bundle();
         extras.putParcelable(
                 TelecomManager.EXTRA_PHONE_ACCOUNT_HANDLE,
@@ -131,29 +234,82 @@ class RNConnectionService extends ReactContextBaseJavaModule {
             hasVideo
                 ? VideoProfile.STATE_BIDIRECTIONAL
                 : VideoProfile.STATE_AUDIO_ONLY);
+        extras.putBundle(TelecomManager.EXTRA_OUTGOING_CALL_EXTRAS, callExtras);
 
-        ConnectionService.registerStartCallPromise(callUUID, promise);
-
-        TelecomManager tm = null;
+        CallRegistry.getInstance().moveTo(call, CallRegistry.State.PLACING);
+        watchStartCall(call);
 
+        // Telecom may create the connection before placeCall returns.
+        metrics.begin(call, CallSetupMetrics.Stage.CREATE_CONNECTION);
+        metrics.begin(call, CallSetupMetrics.Stage.PLACE_CALL);
         try {
-            tm = (TelecomManager) ctx.getSystemService(Context.TELECOM_SERVICE);
+            TelecomManager tm = (TelecomManager) ctx.getSystemService(Context.TELECOM_SERVICE);
             tm.placeCall(address, extras);
         } catch (Throwable tr) {
-            JitsiMeetLogger.e(tr, TAG + " error in startCall");
-            if (tm != null) {
-                try {
-                    tm.unregisterPhoneAccount(accountHandle);
-                } catch (Throwable tr1) {
-                    // UnsupportedOperationException: System does not support feature android.software.connectionservice
-                    // was observed here. Ignore.
-                }
-            }
-            ConnectionService.unregisterStartCallPromise(callUUID);
+            JitsiMeetLogger.e(tr, "%s error in startCall", TAG);
+            rejectStartCall(call, tr);
+        } finally {
+            metrics.end(call, CallSetupMetrics.Stage.PLACE_CALL);
+        }
+    }
+
+    /**
+     * Fails a call which couldn't be placed.
+     */
+    private static void rejectStartCall(CallRegistry.Call call, Throwable tr) {
+        CallRegistry.getInstance().moveTo(call, CallRegistry.State.DISCONNECTED);
+
+        Promise promise = call.takeStartCallPromise();
+
+        if (promise != null) {
+            startCallFallbackLatency.recordNanos(System.nanoTime() - call.createdAtNanos);
             promise.reject(tr);
         }
     }
 
+    /**
+     * Rejects the start call promise with {@link #START_CALL_TIMEOUT} if Telecom doesn't call
+     * back in time, which some OEM builds were seen not to do. The JS side then falls back to not
+     * using ConnectionService rather than waiting forever.
+     */
+    private static void watchStartCall(final CallRegistry.Call call) {
+        long timeout = startCallTimeoutMillis;
+
+        if (timeout <= 0) {
+            return;
+        }
+
+        call.startCallWatchdog = TimerWheel.getShared().schedule(new Runnable() {
+            @Override
+            public void run() {
+                Promise promise = call.takeStartCallPromise();
+
+                // Telecom called back.
+                if (promise == null) {
+                    return;
+                }
+
+                long elapsedNanos = System.nanoTime() - call.createdAtNanos;
+
+                JitsiMeetLogger.w("%s startCall %s timed out after %dms",
+                    TAG, call.getCallUUID(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+
+                CallRegistry.getInstance().moveTo(call, CallRegistry.State.DISCONNECTED);
+
+                // Telecom may be creating the connection right now.
+                ConnectionService.ConnectionImpl connection = call.connection;
+
+                if (connection != null) {
+                    ConnectionService.disconnect(
+                        call, connection, new DisconnectCause(DisconnectCause.CANCELED));
+                }
+
+                startCallFallbackLatency.recordNanos(elapsedNanos);
+                promise.reject(START_CALL_TIMEOUT, "Telecom didn't create the connection in time");
+            }
+        }, timeout, TimeUnit.MILLISECONDS);
+    }
+
     /**
      * Called by the JS side of things to mark the call as failed.
      *
@@ -161,7 +317,7 @@ class RNConnectionService extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public void reportCallFailed(String callUUID) {
-        JitsiMeetLogger.d(TAG + " reportCallFailed " + callUUID);
+        JitsiMeetLogger.d("%s reportCallFailed %s", TAG, callUUID);
         ConnectionService.setConnectionDisconnected(
                 callUUID,
                 new DisconnectCause(DisconnectCause.ERROR));
@@ -174,7 +330,7 @@ class RNConnectionService extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public void endCall(String callUUID) {
-        JitsiMeetLogger.d(TAG + " endCall " + callUUID);
+        JitsiMeetLogger.d("%s endCall %s", TAG, callUUID);
         ConnectionService.setConnectionDisconnected(
                 callUUID,
                 new DisconnectCause(DisconnectCause.LOCAL));
@@ -187,7 +343,7 @@ class RNConnectionService extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public void reportConnectedOutgoingCall(String callUUID, Promise promise) {
-        JitsiMeetLogger.d(TAG + " reportConnectedOutgoingCall " + callUUID);
+        JitsiMeetLogger.d("%s reportConnectedOutgoingCall %s", TAG, callUUID);
         if (ConnectionService.setConnectionActive(callUUID)) {
             promise.resolve(null);
         } else {
@@ -195,6 +351,40 @@ class RNConnectionService extends ReactContextBaseJavaModule {
         }
     }
 
+    /**
+     * Called by the JS side to get the durations of the stages of the calls, see
+     * {@link CallSetupMetrics}.
+     *
+     * @param promise - Resolved with the count, mean, 50th, 90th and 99th percentiles and
+     * maximum of the durations of each stage, in milliseconds, by stage.
+     */
+    @ReactMethod
+    public void getCallSetupMetrics(Promise promise) {
+        promise.resolve(CallSetupMetrics.getInstance().toWritableMap());
+    }
+
+    /**
+     * Called by the JS side to take the conference which was prewarmed for an
+     * incoming call, and preload its config.js, see {@link ConferencePrewarmer}.
+     *
+     * @param promise - Resolved with the {@code url} prop the conference will
+     * be joined with, merged with the default options like
+     * {@link JitsiMeetView} does, or {@code null}.
+     */
+    @ReactMethod
+    public void takePrewarmedConference(Promise promise) {
+        JitsiMeetConferenceOptions options = ConferencePrewarmer.getInstance().takeOptions();
+
+        if (options == null) {
+            promise.resolve(null);
+            return;
+        }
+
+        Bundle props = JitsiMeetView.mergeProps(JitsiMeet.getDefaultProps(), options.asProps());
+
+        promise.resolve(Arguments.fromBundle(props.getBundle("url")));
+    }
+
     @Override
     public String getName() {
         return NAME;
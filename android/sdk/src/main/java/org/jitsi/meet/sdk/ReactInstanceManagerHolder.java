@@ -17,6 +17,7 @@
 package org.jitsi.meet.sdk;
 
 import android.app.Activity;
+import android.app.Application;
 import android.util.Log;
 
 import androidx.annotation.Nullable;
@@ -217,6 +218,35 @@ class ReactInstanceManagerHolder {
             return;
         }
 
+        Log.d(TAG, "initializing RN with Activity");
+
+        reactInstanceManager = createReactInstanceManager(activity.getApplication(), activity);
+    }
+
+    /**
+     * Initializes the React Native instance manager, if needed, without an
+     * {@code Activity}, and starts loading the JavaScript bundle in the
+     * background, so that a conference can be joined sooner, e.g. once an
+     * incoming call is answered. Must be called on the main thread.
+     *
+     * @param application {@code Application} the application.
+     */
+    static void warmUp(Application application) {
+        if (reactInstanceManager == null) {
+            Log.d(TAG, "initializing RN without Activity");
+
+            reactInstanceManager = createReactInstanceManager(application, null);
+        }
+
+        // Otherwise the first ReactRootView does it.
+        if (!reactInstanceManager.hasStartedCreatingInitialContext()) {
+            reactInstanceManager.createReactContextInBackground();
+        }
+    }
+
+    private static ReactInstanceManager createReactInstanceManager(
+            Application application,
+            @Nullable Activity activity) {
         // Initialize the WebRTC module options.
         WebRTCModuleOptions options = WebRTCModuleOptions.getInstance();
 
@@ -227,18 +257,18 @@ class ReactInstanceManagerHolder {
         options.enableMediaProjectionService = true;
 //      options.loggingSeverity = Logging.Severity.LS_INFO;
 
-        Log.d(TAG, "initializing RN with Activity");
-
-        reactInstanceManager
-            = ReactInstanceManager.builder()
-                .setApplication(activity.getApplication())
+        // Without an Activity, the instance manager is resumed along with the
+        // first one, see JitsiMeetActivityDelegate#onHostResume.
+        return ReactInstanceManager.builder()
+                .setApplication(application)
                 .setCurrentActivity(activity)
                 .setBundleAssetName("index.android.bundle")
                 .setJSMainModulePath("index.android")
                 .setJavaScriptExecutorFactory(new HermesExecutorFactory())
                 .addPackages(getReactNativePackages())
                 .setUseDeveloperSupport(BuildConfig.DEBUG)
-                .setInitialLifecycleState(LifecycleState.RESUMED)
+                .setInitialLifecycleState(
+                    activity != null ? LifecycleState.RESUMED : LifecycleState.BEFORE_CREATE)
                 .build();
     }
 }
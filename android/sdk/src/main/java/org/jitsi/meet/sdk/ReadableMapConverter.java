@@ -0,0 +1,252 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.os.Bundle;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.ReadableType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Converts the payloads of the events coming from JS into {@link Bundle}s, keeping the types of
+ * the values. The {@link ReadableMap} is walked directly, there is no intermediate
+ * {@link java.util.HashMap}.
+ *
+ * Types are mapped as follows:
+ * <ul>
+ *     <li>booleans, strings and {@code null}: the same type;</li>
+ *     <li>numbers: {@code double}, as in JS;</li>
+ *     <li>objects: nested {@link Bundle}s;</li>
+ *     <li>arrays of objects: {@code ArrayList<Bundle>}, read it with
+ *     {@link Bundle#getParcelableArrayList(String)};</li>
+ *     <li>arrays of strings, numbers or booleans: {@code ArrayList<String>}, {@code double[]}
+ *     and {@code boolean[]} respectively;</li>
+ *     <li>empty arrays: an empty {@code ArrayList<Bundle>};</li>
+ *     <li>anything else (e.g. arrays of mixed types): a {@link java.io.Serializable}
+ *     {@link ArrayList}.</li>
+ * </ul>
+ *
+ * The legacy {@link java.util.HashMap} and intent APIs only ever had strings as values, see
+ * {@link #toLegacyString(Object)}.
+ */
+final class ReadableMapConverter {
+    private ReadableMapConverter() {
+    }
+
+    /**
+     * Converts the given map.
+     *
+     * @param map - The map to convert.
+     * @return A new {@link Bundle} with the same contents.
+     */
+    static Bundle toBundle(ReadableMap map) {
+        Bundle bundle = new Bundle();
+        ReadableMapKeySetIterator iterator = map.keySetIterator();
+
+        while (iterator.hasNextKey()) {
+            String key = iterator.nextKey();
+
+            switch (map.getType(key)) {
+                case Null:
+                    bundle.putString(key, null);
+                    break;
+                case Boolean:
+                    bundle.putBoolean(key, map.getBoolean(key));
+                    break;
+                case Number:
+                    bundle.putDouble(key, map.getDouble(key));
+                    break;
+                case String:
+                    bundle.putString(key, map.getString(key));
+                    break;
+                case Map:
+                    bundle.putBundle(key, toBundle(map.getMap(key)));
+                    break;
+                case Array:
+                    putArray(bundle, key, map.getArray(key));
+                    break;
+            }
+        }
+
+        return bundle;
+    }
+
+    /**
+     * Converts a value of a {@link Bundle} made by {@link #toBundle(ReadableMap)} to the string
+     * the legacy APIs used to have for it, i.e. the {@code toString()} of what
+     * {@link ReadableMap#toHashMap()} returns for it: "true", "1.0", "{key=value}", "[a, b]", etc.
+     *
+     * @param value - The value to convert.
+     * @return The value as a string, {@code null} for {@code null}.
+     */
+    static String toLegacyString(Object value) {
+        return value != null ? toHashMapValue(value).toString() : null;
+    }
+
+    /**
+     * Gets the top level values of a {@link Bundle} made by {@link #toBundle(ReadableMap)} as
+     * strings, see {@link #toLegacyString(Object)}. {@code null} values are left out.
+     *
+     * @param bundle - The bundle to convert.
+     * @return A new map.
+     */
+    static HashMap<String, Object> toLegacyHashMap(Bundle bundle) {
+        HashMap<String, Object> map = new HashMap<>();
+
+        for (String key : bundle.keySet()) {
+            String value = toLegacyString(bundle.get(key));
+
+            if (value != null) {
+                map.put(key, value);
+            }
+        }
+
+        return map;
+    }
+
+    /**
+     * Converts a value back to what {@link ReadableMap#toHashMap()} has for it.
+     */
+    private static Object toHashMapValue(Object value) {
+        if (value instanceof Bundle) {
+            Bundle bundle = (Bundle) value;
+            HashMap<String, Object> map = new HashMap<>();
+
+            for (String key : bundle.keySet()) {
+                Object item = bundle.get(key);
+
+                map.put(key, item != null ? toHashMapValue(item) : null);
+            }
+
+            return map;
+        }
+
+        if (value instanceof ArrayList) {
+            ArrayList<?> items = (ArrayList<?>) value;
+            ArrayList<Object> list = new ArrayList<>(items.size());
+
+            for (Object item : items) {
+                list.add(item != null ? toHashMapValue(item) : null);
+            }
+
+            return list;
+        }
+
+        if (value instanceof double[]) {
+            double[] numbers = (double[]) value;
+            ArrayList<Object> list = new ArrayList<>(numbers.length);
+
+            for (double number : numbers) {
+                list.add(number);
+            }
+
+            return list;
+        }
+
+        if (value instanceof boolean[]) {
+            boolean[] booleans = (boolean[]) value;
+            ArrayList<Object> list = new ArrayList<>(booleans.length);
+
+            for (boolean b : booleans) {
+                list.add(b);
+            }
+
+            return list;
+        }
+
+        return value;
+    }
+
+    private static void putArray(Bundle bundle, String key, ReadableArray array) {
+        int size = array.size();
+
+        switch (getElementType(array)) {
+            case Map: {
+                ArrayList<Bundle> bundles = new ArrayList<>(size);
+
+                for (int i = 0; i < size; i++) {
+                    bundles.add(toBundle(array.getMap(i)));
+                }
+                bundle.putParcelableArrayList(key, bundles);
+                break;
+            }
+            case String: {
+                ArrayList<String> strings = new ArrayList<>(size);
+
+                for (int i = 0; i < size; i++) {
+                    strings.add(array.getString(i));
+                }
+                bundle.putStringArrayList(key, strings);
+                break;
+            }
+            case Number: {
+                double[] numbers = new double[size];
+
+                for (int i = 0; i < size; i++) {
+                    numbers[i] = array.getDouble(i);
+                }
+                bundle.putDoubleArray(key, numbers);
+                break;
+            }
+            case Boolean: {
+                boolean[] booleans = new boolean[size];
+
+                for (int i = 0; i < size; i++) {
+                    booleans[i] = array.getBoolean(i);
+                }
+                bundle.putBooleanArray(key, booleans);
+                break;
+            }
+            default:
+                bundle.putSerializable(key, array.toArrayList());
+                break;
+        }
+    }
+
+    /**
+     * Gets the type shared by all the elements of the given array.
+     *
+     * @return The type of the elements, {@link ReadableType#Map} for empty arrays and
+     * {@link ReadableType#Null} if the array mixes types or contains nulls or arrays.
+     */
+    private static ReadableType getElementType(ReadableArray array) {
+        int size = array.size();
+
+        if (size == 0) {
+            return ReadableType.Map;
+        }
+
+        ReadableType type = array.getType(0);
+
+        if (type == ReadableType.Array) {
+            return ReadableType.Null;
+        }
+
+        for (int i = 1; i < size; i++) {
+            if (array.getType(i) != type) {
+                return ReadableType.Null;
+            }
+        }
+
+        return type;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import org.jitsi.meet.sdk.log.JitsiMeetLogger;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timer wheel used to expire the SDK's pending requests.
+ *
+ * Timeouts are dropped into one of a fixed number of buckets according to their deadline and a
+ * single thread sweeps a bucket per tick, so scheduling and cancelling are O(1) and thousands of
+ * pending timeouts cost no more than one. Deadlines are rounded up to the next tick. The thread
+ * only ticks while there are timeouts pending.
+ */
+final class TimerWheel {
+    private static final String TAG = TimerWheel.class.getSimpleName();
+
+    private static final long DEFAULT_TICK_MILLIS = 100;
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static TimerWheel shared;
+
+    /**
+     * A scheduled task.
+     */
+    static final class Timeout {
+        private final Runnable task;
+        private final long deadlineTick;
+
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Prevents the task from running, if it didn't already. The timeout stays in its bucket
+         * until the wheel gets to it.
+         */
+        void cancel() {
+            cancelled = true;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final long tickNanos;
+    private final ConcurrentLinkedQueue<Timeout>[] buckets;
+    private final int mask;
+    private final ScheduledExecutorService executor;
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Number of timeouts in the buckets, cancelled ones included.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * The last tick which was swept, only touched by the ticking thread.
+     */
+    private long lastTick = -1;
+
+    /**
+     * Guarded by {@code this}.
+     */
+    private ScheduledFuture<?> ticker;
+
+    /**
+     * Gets the wheel shared by the whole SDK.
+     */
+    static synchronized TimerWheel getShared() {
+        if (shared == null) {
+            shared = new TimerWheel(DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+        }
+
+        return shared;
+    }
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("The wheel size must be a power of two");
+        }
+
+        tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        buckets = new ConcurrentLinkedQueue[wheelSize];
+        mask = wheelSize - 1;
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, TAG);
+
+                thread.setDaemon(true);
+
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Runs a task after the given delay, on the wheel's thread. Tasks must be quick.
+     *
+     * @param task - The task.
+     * @param delay - The delay.
+     * @param unit - The unit of the delay.
+     * @return The timeout, to cancel the task.
+     */
+    Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long deadlineNanos = System.nanoTime() - startNanos + unit.toNanos(Math.max(0, delay));
+        // Round up, so the task never runs early.
+        long deadlineTick = (deadlineNanos + tickNanos - 1) / tickNanos;
+        Timeout timeout = new Timeout(task, deadlineTick);
+
+        buckets[(int) (deadlineTick & mask)].add(timeout);
+
+        if (size.incrementAndGet() == 1) {
+            start();
+        }
+
+        return timeout;
+    }
+
+    /**
+     * Gets the number of timeouts which are pending, cancelled ones which were not swept yet
+     * included.
+     */
+    int size() {
+        return size.get();
+    }
+
+    private synchronized void start() {
+        if (ticker == null) {
+            ticker = executor.scheduleAtFixedRate(new Runnable() {
+                @Override
+                public void run() {
+                    tick();
+                }
+            }, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void tick() {
+        long currentTick = (System.nanoTime() - startNanos) / tickNanos;
+
+        // Sweep all the ticks we missed, each bucket at most once.
+        long firstTick = Math.max(lastTick + 1, currentTick - mask);
+
+        for (long tick = firstTick; tick <= currentTick; tick++) {
+            sweep(buckets[(int) (tick & mask)], currentTick);
+        }
+        lastTick = currentTick;
+
+        synchronized (this) {
+            // Checked under the lock, schedule() restarts us if it adds a timeout meanwhile.
+            if (size.get() == 0 && ticker != null) {
+                ticker.cancel(false);
+                ticker = null;
+            }
+        }
+    }
+
+    private void sweep(ConcurrentLinkedQueue<Timeout> bucket, long currentTick) {
+        for (Iterator<Timeout> iterator = bucket.iterator(); iterator.hasNext();) {
+            Timeout timeout = iterator.next();
+
+            if (timeout.cancelled) {
+                iterator.remove();
+                size.decrementAndGet();
+            } else if (timeout.deadlineTick <= currentTick) {
+                // Timeouts further away than a full turn of the wheel stay for the next turns.
+                iterator.remove();
+                size.decrementAndGet();
+                timeout.cancelled = true;
+
+                try {
+                    timeout.task.run();
+                } catch (Throwable t) {
+                    JitsiMeetLogger.e(t, "%s Timeout task failed", TAG);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.BroadcastEvent;
+
+/**
+ * {@link BroadcastEvent.Type#AUDIO_MUTED_CHANGED}: the local participant's audio was muted or unmuted.
+ */
+public final class AudioMutedChangedEvent extends JitsiMeetEvent {
+    private final boolean muted;
+
+    public AudioMutedChangedEvent(boolean muted) {
+        this.muted = muted;
+    }
+
+    public static AudioMutedChangedEvent fromReadableMap(ReadableMap map) {
+        return new AudioMutedChangedEvent(ReadableMaps.getBoolean(map, "muted"));
+    }
+
+    /**
+     * @return Whether the audio is now muted.
+     */
+    public boolean isMuted() {
+        return muted;
+    }
+
+    @Override
+    public BroadcastEvent.Type getType() {
+        return BroadcastEvent.Type.AUDIO_MUTED_CHANGED;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        WritableMap map = Arguments.createMap();
+
+        map.putBoolean("muted", muted);
+
+        return map;
+    }
+}
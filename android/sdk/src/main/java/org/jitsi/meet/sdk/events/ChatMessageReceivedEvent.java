@@ -0,0 +1,93 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.BroadcastEvent;
+
+/**
+ * {@link BroadcastEvent.Type#CHAT_MESSAGE_RECEIVED}: a chat message was received.
+ */
+public final class ChatMessageReceivedEvent extends JitsiMeetEvent {
+    private final String senderId;
+    private final String message;
+    private final boolean isPrivate;
+    private final long timestamp;
+
+    public ChatMessageReceivedEvent(String senderId, String message, boolean isPrivate, long timestamp) {
+        this.senderId = senderId;
+        this.message = message;
+        this.isPrivate = isPrivate;
+        this.timestamp = timestamp;
+    }
+
+    public static ChatMessageReceivedEvent fromReadableMap(ReadableMap map) {
+        return new ChatMessageReceivedEvent(
+            ReadableMaps.getString(map, "senderId"),
+            ReadableMaps.getString(map, "message"),
+            ReadableMaps.getBoolean(map, "isPrivate"),
+            ReadableMaps.getLong(map, "timestamp"));
+    }
+
+    /**
+     * @return The id of the participant who sent the message.
+     */
+    public String getSenderId() {
+        return senderId;
+    }
+
+    /**
+     * @return The message.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return Whether it is a private message.
+     */
+    public boolean isPrivate() {
+        return isPrivate;
+    }
+
+    /**
+     * @return When the message was sent, in milliseconds since the epoch. {@code 0} if unknown.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public BroadcastEvent.Type getType() {
+        return BroadcastEvent.Type.CHAT_MESSAGE_RECEIVED;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        WritableMap map = Arguments.createMap();
+
+        map.putString("senderId", senderId);
+        map.putString("message", message);
+        map.putBoolean("isPrivate", isPrivate);
+        map.putDouble("timestamp", timestamp);
+
+        return map;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.JitsiMeetEventBus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Queues {@link JitsiMeetCommand}s and sends them to the JS side all at once, with a single
+ * crossing of the bridge. The JS side executes them in the order they were added, each as its
+ * own Redux dispatch, inside a React batch: the re-renders they cause are coalesced, the
+ * dispatches and the work of the middlewares are not.
+ * <pre>
+ *     new CommandBatch()
+ *         .setAudioMuted(true)
+ *         .sendChatMessage(null, "Muting everyone for the keynote")
+ *         .flush();
+ * </pre>
+ *
+ * A batch is not thread-safe, use it from one thread at a time. Once flushed it's empty and can
+ * be reused. The batch {@link JitsiMeetEventBus} listeners get is a read-only copy: its
+ * {@link #add(JitsiMeetCommand)} and {@link #flush()} throw
+ * {@link UnsupportedOperationException}.
+ */
+public final class CommandBatch {
+    private final List<JitsiMeetCommand> commands;
+
+    public CommandBatch() {
+        this.commands = new ArrayList<>();
+    }
+
+    /**
+     * Creates the read-only copy of a batch which is sent to the listeners.
+     */
+    private CommandBatch(List<JitsiMeetCommand> commands) {
+        this.commands = Collections.unmodifiableList(commands);
+    }
+
+    /**
+     * Queues a command.
+     *
+     * @param command - The command.
+     * @return This batch.
+     * @throws UnsupportedOperationException If this is the read-only copy sent to the
+     * listeners.
+     */
+    public CommandBatch add(JitsiMeetCommand command) {
+        commands.add(command);
+
+        return this;
+    }
+
+    public CommandBatch setAudioMuted(boolean muted) {
+        return add(new SetAudioMutedCommand(muted));
+    }
+
+    public CommandBatch setVideoMuted(boolean muted) {
+        return add(new SetVideoMutedCommand(muted));
+    }
+
+    public CommandBatch openChat(String to) {
+        return add(new OpenChatCommand(to));
+    }
+
+    public CommandBatch closeChat() {
+        return add(CloseChatCommand.getInstance());
+    }
+
+    public CommandBatch sendChatMessage(String to, String message) {
+        return add(new SendChatMessageCommand(to, message));
+    }
+
+    public CommandBatch sendEndpointTextMessage(String to, String message) {
+        return add(new SendEndpointTextMessageCommand(to, message));
+    }
+
+    public CommandBatch toggleScreenShare(boolean enabled) {
+        return add(new ToggleScreenShareCommand(enabled));
+    }
+
+    public CommandBatch setClosedCaptionsEnabled(boolean enabled) {
+        return add(new SetClosedCaptionsEnabledCommand(enabled));
+    }
+
+    public CommandBatch toggleCamera() {
+        return add(ToggleCameraCommand.getInstance());
+    }
+
+    /**
+     * @return The queued commands, in order.
+     */
+    public List<JitsiMeetCommand> getCommands() {
+        return Collections.unmodifiableList(commands);
+    }
+
+    public int size() {
+        return commands.size();
+    }
+
+    /**
+     * Sends the queued commands and empties this batch. Does nothing if it's empty.
+     *
+     * @throws UnsupportedOperationException If this is the read-only copy sent to the
+     * listeners.
+     */
+    public void flush() {
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        // Listeners on other threads get a copy, this one is reused right away.
+        CommandBatch batch = new CommandBatch(new ArrayList<>(commands));
+
+        commands.clear();
+        JitsiMeetEventBus.getInstance().post(batch);
+    }
+
+    /**
+     * Converts the commands to the payload the JS side expects: an array of
+     * {@code { type, data }} objects, where {@code type} is the action of the command.
+     *
+     * @return A new array with an entry for each command.
+     */
+    public WritableArray toWritableArray() {
+        WritableArray array = Arguments.createArray();
+
+        for (JitsiMeetCommand command : commands) {
+            WritableMap entry = Arguments.createMap();
+
+            entry.putString("type", command.getType().getAction());
+            entry.putMap("data", command.toWritableMap());
+            array.pushMap(entry);
+        }
+
+        return array;
+    }
+
+    @Override
+    public String toString() {
+        return "CommandBatch" + commands;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.BroadcastEvent;
+
+/**
+ * {@link BroadcastEvent.Type#CONFERENCE_BLURRED}: the conference lost the focus, e.g. a dialog was opened on top of it.
+ */
+public final class ConferenceBlurredEvent extends JitsiMeetEvent {
+    private static final ConferenceBlurredEvent instance = new ConferenceBlurredEvent();
+
+    /**
+     * The event has no data, so there is a single instance.
+     */
+    public static ConferenceBlurredEvent getInstance() {
+        return instance;
+    }
+
+    public static ConferenceBlurredEvent fromReadableMap(ReadableMap map) {
+        return instance;
+    }
+
+    private ConferenceBlurredEvent() {
+    }
+
+    @Override
+    public BroadcastEvent.Type getType() {
+        return BroadcastEvent.Type.CONFERENCE_BLURRED;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        return Arguments.createMap();
+    }
+}
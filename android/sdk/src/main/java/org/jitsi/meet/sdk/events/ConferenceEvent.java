@@ -0,0 +1,99 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.HashMap;
+
+/**
+ * Base class of the events about the life cycle of a conference.
+ */
+public abstract class ConferenceEvent extends JitsiMeetEvent {
+    private final String url;
+    private final String error;
+    private final boolean isAudioMuted;
+
+    ConferenceEvent(String url, String error, boolean isAudioMuted) {
+        this.url = url;
+        this.error = error;
+        this.isAudioMuted = isAudioMuted;
+    }
+
+    ConferenceEvent(ReadableMap map) {
+        this(
+            ReadableMaps.getString(map, "url"),
+            ReadableMaps.getString(map, "error"),
+            ReadableMaps.getBoolean(map, "isAudioMuted"));
+    }
+
+    /**
+     * @return The URL of the conference.
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return The error which caused the event, if any, e.g. why the conference failed.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return Whether the local participant's audio is muted.
+     */
+    public boolean isAudioMuted() {
+        return isAudioMuted;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        WritableMap map = Arguments.createMap();
+
+        map.putString("url", url);
+        if (error != null) {
+            map.putString("error", error);
+        }
+        map.putBoolean("isAudioMuted", isAudioMuted);
+
+        return map;
+    }
+
+    /**
+     * Converts the event to the map the deprecated {@code HashMap} callbacks of
+     * {@link org.jitsi.meet.sdk.JitsiMeetActivity} get, where all the values are strings.
+     *
+     * @return A new map with the non-{@code null} fields of the event.
+     */
+    public HashMap<String, Object> toLegacyHashMap() {
+        HashMap<String, Object> map = new HashMap<>();
+
+        if (url != null) {
+            map.put("url", url);
+        }
+        if (error != null) {
+            map.put("error", error);
+        }
+        map.put("isAudioMuted", String.valueOf(isAudioMuted));
+
+        return map;
+    }
+}
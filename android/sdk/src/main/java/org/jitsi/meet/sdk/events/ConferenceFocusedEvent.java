@@ -0,0 +1,54 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.BroadcastEvent;
+
+/**
+ * {@link BroadcastEvent.Type#CONFERENCE_FOCUSED}: the conference got the focus back.
+ */
+public final class ConferenceFocusedEvent extends JitsiMeetEvent {
+    private static final ConferenceFocusedEvent instance = new ConferenceFocusedEvent();
+
+    /**
+     * The event has no data, so there is a single instance.
+     */
+    public static ConferenceFocusedEvent getInstance() {
+        return instance;
+    }
+
+    public static ConferenceFocusedEvent fromReadableMap(ReadableMap map) {
+        return instance;
+    }
+
+    private ConferenceFocusedEvent() {
+    }
+
+    @Override
+    public BroadcastEvent.Type getType() {
+        return BroadcastEvent.Type.CONFERENCE_FOCUSED;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        return Arguments.createMap();
+    }
+}
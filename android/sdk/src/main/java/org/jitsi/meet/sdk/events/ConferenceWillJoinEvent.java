@@ -0,0 +1,43 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.ReadableMap;
+
+import org.jitsi.meet.sdk.BroadcastEvent;
+
+/**
+ * {@link BroadcastEvent.Type#CONFERENCE_WILL_JOIN}: the local participant is about to join a conference.
+ */
+public final class ConferenceWillJoinEvent extends ConferenceEvent {
+    public ConferenceWillJoinEvent(String url, String error, boolean isAudioMuted) {
+        super(url, error, isAudioMuted);
+    }
+
+    private ConferenceWillJoinEvent(ReadableMap map) {
+        super(map);
+    }
+
+    public static ConferenceWillJoinEvent fromReadableMap(ReadableMap map) {
+        return new ConferenceWillJoinEvent(map);
+    }
+
+    @Override
+    public BroadcastEvent.Type getType() {
+        return BroadcastEvent.Type.CONFERENCE_WILL_JOIN;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.BroadcastEvent;
+
+/**
+ * {@link BroadcastEvent.Type#CUSTOM_OVERFLOW_MENU_BUTTON_PRESSED}: a custom button added to the overflow menu was pressed.
+ */
+public final class CustomOverflowMenuButtonPressedEvent extends JitsiMeetEvent {
+    private final String id;
+    private final String text;
+
+    public CustomOverflowMenuButtonPressedEvent(String id, String text) {
+        this.id = id;
+        this.text = text;
+    }
+
+    public static CustomOverflowMenuButtonPressedEvent fromReadableMap(ReadableMap map) {
+        return new CustomOverflowMenuButtonPressedEvent(
+            ReadableMaps.getString(map, "id"),
+            ReadableMaps.getString(map, "text"));
+    }
+
+    /**
+     * @return The id of the button.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return The text of the button.
+     */
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public BroadcastEvent.Type getType() {
+        return BroadcastEvent.Type.CUSTOM_OVERFLOW_MENU_BUTTON_PRESSED;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        WritableMap map = Arguments.createMap();
+
+        map.putString("id", id);
+        map.putString("text", text);
+
+        return map;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.BroadcastEvent;
+
+/**
+ * {@link BroadcastEvent.Type#ENDPOINT_TEXT_MESSAGE_RECEIVED}: a text message was received through the data channel.
+ */
+public final class EndpointTextMessageReceivedEvent extends JitsiMeetEvent {
+    private final String senderId;
+    private final String message;
+
+    public EndpointTextMessageReceivedEvent(String senderId, String message) {
+        this.senderId = senderId;
+        this.message = message;
+    }
+
+    public static EndpointTextMessageReceivedEvent fromReadableMap(ReadableMap map) {
+        return new EndpointTextMessageReceivedEvent(
+            ReadableMaps.getString(map, "senderId"),
+            ReadableMaps.getString(map, "message"));
+    }
+
+    /**
+     * @return The id of the participant who sent the message.
+     */
+    public String getSenderId() {
+        return senderId;
+    }
+
+    /**
+     * @return The message.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public BroadcastEvent.Type getType() {
+        return BroadcastEvent.Type.ENDPOINT_TEXT_MESSAGE_RECEIVED;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        WritableMap map = Arguments.createMap();
+
+        map.putString("senderId", senderId);
+        map.putString("message", message);
+
+        return map;
+    }
+}
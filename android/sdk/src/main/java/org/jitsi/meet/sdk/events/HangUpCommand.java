@@ -0,0 +1,54 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.BroadcastAction;
+
+/**
+ * {@link BroadcastAction.Type#HANG_UP}: leaves the conference.
+ */
+public final class HangUpCommand extends JitsiMeetCommand {
+    private static final HangUpCommand instance = new HangUpCommand();
+
+    /**
+     * The command has no data, so there is a single instance.
+     */
+    public static HangUpCommand getInstance() {
+        return instance;
+    }
+
+    public static HangUpCommand fromReadableMap(ReadableMap map) {
+        return instance;
+    }
+
+    private HangUpCommand() {
+    }
+
+    @Override
+    public BroadcastAction.Type getType() {
+        return BroadcastAction.Type.HANG_UP;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        return Arguments.createMap();
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.BroadcastAction;
+
+/**
+ * Base class of the typed commands the host app sends to the JS side, one per
+ * {@link BroadcastAction.Type}. Post them on the {@link org.jitsi.meet.sdk.JitsiMeetEventBus}:
+ * <pre>
+ *     JitsiMeetEventBus.getInstance().post(new SetAudioMutedCommand(true));
+ * </pre>
+ */
+public abstract class JitsiMeetCommand {
+    public abstract BroadcastAction.Type getType();
+
+    /**
+     * Converts the command to the payload the JS side expects.
+     *
+     * @return A new map with the fields of the command.
+     */
+    public abstract WritableMap toWritableMap();
+
+    @Override
+    public String toString() {
+        return getType().name();
+    }
+}
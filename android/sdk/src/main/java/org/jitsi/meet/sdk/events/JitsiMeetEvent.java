@@ -0,0 +1,83 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.BroadcastEvent;
+
+/**
+ * Base class of the typed events sent by the JS side, one per {@link BroadcastEvent.Type}.
+ * Events are immutable and posted on the {@link org.jitsi.meet.sdk.JitsiMeetEventBus}, only
+ * when there is someone subscribed to them:
+ * <pre>
+ *     JitsiMeetEventBus.getInstance().subscribe(
+ *         ParticipantJoinedEvent.class,
+ *         JitsiMeetEventBus.ThreadMode.MAIN,
+ *         new JitsiMeetEventBus.Listener&lt;ParticipantJoinedEvent&gt;() {
+ *             &#64;Override
+ *             public void onEvent(ParticipantJoinedEvent event) {
+ *                 // ...
+ *             }
+ *         });
+ * </pre>
+ *
+ * Every subclass has a static {@code fromReadableMap(ReadableMap)} which reads the fields it
+ * needs straight from the JS payload, see {@link JitsiMeetEvents}.
+ */
+public abstract class JitsiMeetEvent {
+    /**
+     * When the JS side sent the event, {@link System#nanoTime()} based, {@code 0} if unknown.
+     */
+    long sentAtNanos;
+
+    /**
+     * When the event got to the native side, {@link System#nanoTime()} based, {@code 0} for the
+     * events built by the app itself.
+     */
+    long arrivalNanos;
+
+    public abstract BroadcastEvent.Type getType();
+
+    /**
+     * @return When the JS side sent the event, see
+     * {@link org.jitsi.meet.sdk.EventDispatchMetrics}.
+     */
+    public long getSentAtNanos() {
+        return sentAtNanos;
+    }
+
+    /**
+     * @return When the event got to the native side, see
+     * {@link org.jitsi.meet.sdk.EventDispatchMetrics}.
+     */
+    public long getArrivalNanos() {
+        return arrivalNanos;
+    }
+
+    /**
+     * Converts the event back to the payload the JS side sent.
+     *
+     * @return A new map with the fields of the event.
+     */
+    public abstract WritableMap toWritableMap();
+
+    @Override
+    public String toString() {
+        return getType().name();
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.ReadableMap;
+
+import org.jitsi.meet.sdk.BroadcastAction;
+import org.jitsi.meet.sdk.BroadcastEvent;
+
+/**
+ * Maps the {@link BroadcastEvent.Type}s and {@link BroadcastAction.Type}s to their typed
+ * classes.
+ */
+public final class JitsiMeetEvents {
+    private JitsiMeetEvents() {
+    }
+
+    /**
+     * Gets the class of the events of the given type, so one can check whether there is anyone
+     * subscribed to them before converting the payload.
+     *
+     * @param type - The type of the event.
+     * @return The class of the event.
+     */
+    public static Class<? extends JitsiMeetEvent> getEventClass(BroadcastEvent.Type type) {
+        switch (type) {
+            case CONFERENCE_BLURRED:
+                return ConferenceBlurredEvent.class;
+            case CONFERENCE_FOCUSED:
+                return ConferenceFocusedEvent.class;
+            case CONFERENCE_JOINED:
+                return ConferenceJoinedEvent.class;
+            case CONFERENCE_TERMINATED:
+                return ConferenceTerminatedEvent.class;
+            case CONFERENCE_WILL_JOIN:
+                return ConferenceWillJoinEvent.class;
+            case AUDIO_MUTED_CHANGED:
+                return AudioMutedChangedEvent.class;
+            case PARTICIPANT_JOINED:
+                return ParticipantJoinedEvent.class;
+            case PARTICIPANT_LEFT:
+                return ParticipantLeftEvent.class;
+            case ENDPOINT_TEXT_MESSAGE_RECEIVED:
+                return EndpointTextMessageReceivedEvent.class;
+            case SCREEN_SHARE_TOGGLED:
+                return ScreenShareToggledEvent.class;
+            case PARTICIPANTS_INFO_RETRIEVED:
+                return ParticipantsInfoRetrievedEvent.class;
+            case CHAT_MESSAGE_RECEIVED:
+                return ChatMessageReceivedEvent.class;
+            case CHAT_TOGGLED:
+                return ChatToggledEvent.class;
+            case VIDEO_MUTED_CHANGED:
+                return VideoMutedChangedEvent.class;
+            case READY_TO_CLOSE:
+                return ReadyToCloseEvent.class;
+            case TRANSCRIPTION_CHUNK_RECEIVED:
+                return TranscriptionChunkReceivedEvent.class;
+            case CUSTOM_OVERFLOW_MENU_BUTTON_PRESSED:
+                return CustomOverflowMenuButtonPressedEvent.class;
+            case PARTICIPANTS_JOINED_BATCH:
+                return ParticipantsJoinedBatchEvent.class;
+            case PARTICIPANTS_LEFT_BATCH:
+                return ParticipantsLeftBatchEvent.class;
+            case PARTICIPANT_UPDATED:
+                return ParticipantUpdatedEvent.class;
+        }
+
+        throw new IllegalArgumentException("Unknown event type: " + type);
+    }
+
+    /**
+     * Converts the payload of an event sent by the JS side, keeping when it was sent and when it
+     * arrived for {@link org.jitsi.meet.sdk.EventDispatchMetrics}.
+     *
+     * @param type - The type of the event.
+     * @param map - The payload.
+     * @param sentAtNanos - When the JS side sent the event, {@code 0} if unknown.
+     * @param arrivalNanos - When the event got to the native side.
+     * @return The event.
+     */
+    public static JitsiMeetEvent fromReadableMap(
+            BroadcastEvent.Type type,
+            ReadableMap map,
+            long sentAtNanos,
+            long arrivalNanos) {
+        JitsiMeetEvent event = fromReadableMap(type, map);
+
+        event.sentAtNanos = sentAtNanos;
+        event.arrivalNanos = arrivalNanos;
+
+        return event;
+    }
+
+    /**
+     * Converts the payload of an event sent by the JS side.
+     *
+     * @param type - The type of the event.
+     * @param map - The payload.
+     * @return The event.
+     */
+    public static JitsiMeetEvent fromReadableMap(BroadcastEvent.Type type, ReadableMap map) {
+        switch (type) {
+            case CONFERENCE_BLURRED:
+                return ConferenceBlurredEvent.fromReadableMap(map);
+            case CONFERENCE_FOCUSED:
+                return ConferenceFocusedEvent.fromReadableMap(map);
+            case CONFERENCE_JOINED:
+                return ConferenceJoinedEvent.fromReadableMap(map);
+            case CONFERENCE_TERMINATED:
+                return ConferenceTerminatedEvent.fromReadableMap(map);
+            case CONFERENCE_WILL_JOIN:
+                return ConferenceWillJoinEvent.fromReadableMap(map);
+            case AUDIO_MUTED_CHANGED:
+                return AudioMutedChangedEvent.fromReadableMap(map);
+            case PARTICIPANT_JOINED:
+                return ParticipantJoinedEvent.fromReadableMap(map);
+            case PARTICIPANT_LEFT:
+                return ParticipantLeftEvent.fromReadableMap(map);
+            case ENDPOINT_TEXT_MESSAGE_RECEIVED:
+                return EndpointTextMessageReceivedEvent.fromReadableMap(map);
+            case SCREEN_SHARE_TOGGLED:
+                return ScreenShareToggledEvent.fromReadableMap(map);
+            case PARTICIPANTS_INFO_RETRIEVED:
+                return ParticipantsInfoRetrievedEvent.fromReadableMap(map);
+            case CHAT_MESSAGE_RECEIVED:
+                return ChatMessageReceivedEvent.fromReadableMap(map);
+            case CHAT_TOGGLED:
+                return ChatToggledEvent.fromReadableMap(map);
+            case VIDEO_MUTED_CHANGED:
+                return VideoMutedChangedEvent.fromReadableMap(map);
+            case READY_TO_CLOSE:
+                return ReadyToCloseEvent.fromReadableMap(map);
+            case TRANSCRIPTION_CHUNK_RECEIVED:
+                return TranscriptionChunkReceivedEvent.fromReadableMap(map);
+            case CUSTOM_OVERFLOW_MENU_BUTTON_PRESSED:
+                return CustomOverflowMenuButtonPressedEvent.fromReadableMap(map);
+            case PARTICIPANTS_JOINED_BATCH:
+                return ParticipantsJoinedBatchEvent.fromReadableMap(map);
+            case PARTICIPANTS_LEFT_BATCH:
+                return ParticipantsLeftBatchEvent.fromReadableMap(map);
+            case PARTICIPANT_UPDATED:
+                return ParticipantUpdatedEvent.fromReadableMap(map);
+        }
+
+        throw new IllegalArgumentException("Unknown event type: " + type);
+    }
+
+    /**
+     * Converts the payload of a command, as the JS side would see it.
+     *
+     * @param type - The type of the command.
+     * @param map - The payload.
+     * @return The command.
+     */
+    public static JitsiMeetCommand commandFromReadableMap(BroadcastAction.Type type, ReadableMap map) {
+        switch (type) {
+            case SET_AUDIO_MUTED:
+                return SetAudioMutedCommand.fromReadableMap(map);
+            case HANG_UP:
+                return HangUpCommand.fromReadableMap(map);
+            case SEND_ENDPOINT_TEXT_MESSAGE:
+                return SendEndpointTextMessageCommand.fromReadableMap(map);
+            case TOGGLE_SCREEN_SHARE:
+                return ToggleScreenShareCommand.fromReadableMap(map);
+            case RETRIEVE_PARTICIPANTS_INFO:
+                return RetrieveParticipantsInfoCommand.fromReadableMap(map);
+            case OPEN_CHAT:
+                return OpenChatCommand.fromReadableMap(map);
+            case CLOSE_CHAT:
+                return CloseChatCommand.fromReadableMap(map);
+            case SEND_CHAT_MESSAGE:
+                return SendChatMessageCommand.fromReadableMap(map);
+            case SET_VIDEO_MUTED:
+                return SetVideoMutedCommand.fromReadableMap(map);
+            case SET_CLOSED_CAPTIONS_ENABLED:
+                return SetClosedCaptionsEnabledCommand.fromReadableMap(map);
+            case TOGGLE_CAMERA:
+                return ToggleCameraCommand.fromReadableMap(map);
+        }
+
+        throw new IllegalArgumentException("Unknown command type: " + type);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.ParticipantInfo;
+
+import java.util.HashMap;
+
+/**
+ * Base class of the events about a participant joining, leaving or being updated.
+ */
+public abstract class ParticipantEvent extends JitsiMeetEvent {
+    private final ParticipantInfo participant;
+
+    ParticipantEvent(ParticipantInfo participant) {
+        this.participant = participant;
+    }
+
+    ParticipantEvent(
+            String participantId,
+            String displayName,
+            String avatarUrl,
+            String email,
+            String name,
+            boolean isLocal,
+            String role) {
+        this(new ParticipantInfo(participantId, displayName, avatarUrl, email, name, isLocal, role));
+    }
+
+    ParticipantEvent(ReadableMap map) {
+        this(ReadableMaps.toParticipantInfo(map));
+    }
+
+    public String getParticipantId() {
+        return participant.id;
+    }
+
+    public String getDisplayName() {
+        return participant.displayName;
+    }
+
+    public String getAvatarUrl() {
+        return participant.avatarUrl;
+    }
+
+    public String getEmail() {
+        return participant.email;
+    }
+
+    public String getName() {
+        return participant.name;
+    }
+
+    public boolean isLocal() {
+        return participant.isLocal;
+    }
+
+    public String getRole() {
+        return participant.role;
+    }
+
+    /**
+     * @return The participant, as returned by {@link org.jitsi.meet.sdk.ParticipantsService}.
+     */
+    public ParticipantInfo toParticipantInfo() {
+        return participant;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        WritableMap map = Arguments.createMap();
+
+        ReadableMaps.putParticipantInfo(map, participant);
+
+        return map;
+    }
+
+    /**
+     * Converts the event to the map the deprecated {@code HashMap} callbacks of
+     * {@link org.jitsi.meet.sdk.JitsiMeetActivity} get, where all the values are strings.
+     *
+     * @return A new map with the non-{@code null} fields of the participant.
+     */
+    public HashMap<String, Object> toLegacyHashMap() {
+        HashMap<String, Object> map = new HashMap<>();
+
+        putIfNotNull(map, "participantId", participant.id);
+        putIfNotNull(map, "displayName", participant.displayName);
+        putIfNotNull(map, "avatarUrl", participant.avatarUrl);
+        putIfNotNull(map, "email", participant.email);
+        putIfNotNull(map, "name", participant.name);
+        map.put("isLocal", String.valueOf(participant.isLocal));
+        putIfNotNull(map, "role", participant.role);
+
+        return map;
+    }
+
+    private static void putIfNotNull(HashMap<String, Object> map, String key, String value) {
+        if (value != null) {
+            map.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.ReadableMap;
+
+import org.jitsi.meet.sdk.BroadcastEvent;
+import org.jitsi.meet.sdk.ParticipantInfo;
+
+/**
+ * {@link BroadcastEvent.Type#PARTICIPANT_JOINED}: a participant joined the conference.
+ */
+public final class ParticipantJoinedEvent extends ParticipantEvent {
+    public ParticipantJoinedEvent(ParticipantInfo participant) {
+        super(participant);
+    }
+
+    public ParticipantJoinedEvent(
+            String participantId,
+            String displayName,
+            String avatarUrl,
+            String email,
+            String name,
+            boolean isLocal,
+            String role) {
+        super(participantId, displayName, avatarUrl, email, name, isLocal, role);
+    }
+
+    private ParticipantJoinedEvent(ReadableMap map) {
+        super(map);
+    }
+
+    public static ParticipantJoinedEvent fromReadableMap(ReadableMap map) {
+        return new ParticipantJoinedEvent(map);
+    }
+
+    @Override
+    public BroadcastEvent.Type getType() {
+        return BroadcastEvent.Type.PARTICIPANT_JOINED;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.ReadableMap;
+
+import org.jitsi.meet.sdk.BroadcastEvent;
+import org.jitsi.meet.sdk.ParticipantInfo;
+
+/**
+ * {@link BroadcastEvent.Type#PARTICIPANT_UPDATED}: the info of a participant changed, e.g.
+ * their display name or role. Carries all the info, not only what changed.
+ */
+public final class ParticipantUpdatedEvent extends ParticipantEvent {
+    public ParticipantUpdatedEvent(ParticipantInfo participant) {
+        super(participant);
+    }
+
+    public ParticipantUpdatedEvent(
+            String participantId,
+            String displayName,
+            String avatarUrl,
+            String email,
+            String name,
+            boolean isLocal,
+            String role) {
+        super(participantId, displayName, avatarUrl, email, name, isLocal, role);
+    }
+
+    private ParticipantUpdatedEvent(ReadableMap map) {
+        super(map);
+    }
+
+    public static ParticipantUpdatedEvent fromReadableMap(ReadableMap map) {
+        return new ParticipantUpdatedEvent(map);
+    }
+
+    @Override
+    public BroadcastEvent.Type getType() {
+        return BroadcastEvent.Type.PARTICIPANT_UPDATED;
+    }
+}
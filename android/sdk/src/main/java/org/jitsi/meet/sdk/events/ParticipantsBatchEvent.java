@@ -0,0 +1,65 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.ParticipantInfo;
+
+import java.util.List;
+
+/**
+ * Base class of the events carrying several participants joining or leaving at once. They are
+ * only sent when event batching is enabled through the {@code "event-batching.enabled"} feature
+ * flag, in place of the per participant events.
+ */
+public abstract class ParticipantsBatchEvent extends JitsiMeetEvent {
+    private final List<ParticipantInfo> participants;
+
+    ParticipantsBatchEvent(List<ParticipantInfo> participants) {
+        this.participants = participants;
+    }
+
+    ParticipantsBatchEvent(ReadableMap map) {
+        this(
+            ReadableMaps.toParticipantInfoList(
+                map.hasKey("participants") && map.getType("participants") == ReadableType.Array
+                    ? map.getArray("participants") : null));
+    }
+
+    /**
+     * @return The participants, in the order they joined or left.
+     */
+    public List<ParticipantInfo> getParticipants() {
+        return participants;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        WritableMap map = Arguments.createMap();
+        WritableArray array = Arguments.createArray();
+
+        ReadableMaps.putParticipantInfoList(array, participants);
+        map.putArray("participants", array);
+
+        return map;
+    }
+}
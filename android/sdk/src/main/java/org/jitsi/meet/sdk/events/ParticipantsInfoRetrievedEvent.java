@@ -0,0 +1,131 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.BroadcastEvent;
+import org.jitsi.meet.sdk.ParticipantInfo;
+
+import java.util.List;
+
+/**
+ * {@link BroadcastEvent.Type#PARTICIPANTS_INFO_RETRIEVED}: the response to a
+ * {@link RetrieveParticipantsInfoCommand}.
+ */
+public final class ParticipantsInfoRetrievedEvent extends JitsiMeetEvent {
+    private final String requestId;
+    private final List<ParticipantInfo> participantsInfo;
+    private final int offset;
+    private final int total;
+
+    public ParticipantsInfoRetrievedEvent(String requestId, List<ParticipantInfo> participantsInfo) {
+        this(requestId, participantsInfo, 0, participantsInfo.size());
+    }
+
+    /**
+     * Creates the response to a paged request.
+     *
+     * @param requestId - The id of the request.
+     * @param participantsInfo - The page of participants.
+     * @param offset - The position of the first participant of the page in the whole list.
+     * @param total - The number of participants in the whole list.
+     */
+    public ParticipantsInfoRetrievedEvent(
+            String requestId,
+            List<ParticipantInfo> participantsInfo,
+            int offset,
+            int total) {
+        this.requestId = requestId;
+        this.participantsInfo = participantsInfo;
+        this.offset = offset;
+        this.total = total;
+    }
+
+    public static ParticipantsInfoRetrievedEvent fromReadableMap(ReadableMap map) {
+        List<ParticipantInfo> participantsInfo = ReadableMaps.toParticipantInfoList(
+            map.hasKey("participantsInfo") && map.getType("participantsInfo") == ReadableType.Array
+                ? map.getArray("participantsInfo") : null);
+
+        // Older JS bundles don't page, the response is the whole list.
+        return new ParticipantsInfoRetrievedEvent(
+            ReadableMaps.getString(map, "requestId"),
+            participantsInfo,
+            (int) ReadableMaps.getLong(map, "offset"),
+            map.hasKey("total") ? (int) ReadableMaps.getLong(map, "total") : participantsInfo.size());
+    }
+
+    /**
+     * @return The id of the request this is the response to.
+     */
+    public String getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * @return The participants in the conference, local one included, or the requested page of
+     * them.
+     */
+    public List<ParticipantInfo> getParticipantsInfo() {
+        return participantsInfo;
+    }
+
+    /**
+     * @return The position of the first participant of {@link #getParticipantsInfo()} in the
+     * whole list.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return The number of participants in the whole list.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return Whether {@link #getParticipantsInfo()} is the whole list rather than a page.
+     */
+    public boolean isComplete() {
+        return offset == 0 && participantsInfo.size() == total;
+    }
+
+    @Override
+    public BroadcastEvent.Type getType() {
+        return BroadcastEvent.Type.PARTICIPANTS_INFO_RETRIEVED;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        WritableMap map = Arguments.createMap();
+        WritableArray array = Arguments.createArray();
+
+        ReadableMaps.putParticipantInfoList(array, participantsInfo);
+        map.putString("requestId", requestId);
+        map.putArray("participantsInfo", array);
+        map.putInt("offset", offset);
+        map.putInt("total", total);
+
+        return map;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.ReadableMap;
+
+import org.jitsi.meet.sdk.BroadcastEvent;
+import org.jitsi.meet.sdk.ParticipantInfo;
+
+import java.util.List;
+
+/**
+ * {@link BroadcastEvent.Type#PARTICIPANTS_JOINED_BATCH}: participants joined the conference, sent
+ * instead of a {@link ParticipantJoinedEvent} for each of them when event batching is enabled.
+ */
+public final class ParticipantsJoinedBatchEvent extends ParticipantsBatchEvent {
+    public ParticipantsJoinedBatchEvent(List<ParticipantInfo> participants) {
+        super(participants);
+    }
+
+    private ParticipantsJoinedBatchEvent(ReadableMap map) {
+        super(map);
+    }
+
+    public static ParticipantsJoinedBatchEvent fromReadableMap(ReadableMap map) {
+        return new ParticipantsJoinedBatchEvent(map);
+    }
+
+    @Override
+    public BroadcastEvent.Type getType() {
+        return BroadcastEvent.Type.PARTICIPANTS_JOINED_BATCH;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.ParticipantInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Helpers used by the event classes to read the JS payloads. JS leaves out undefined values,
+ * so missing (and {@code null}) values read as {@code null}, {@code false} or {@code 0}.
+ */
+final class ReadableMaps {
+    private ReadableMaps() {
+    }
+
+    static String getString(ReadableMap map, String key) {
+        return map.hasKey(key) && map.getType(key) == ReadableType.String
+            ? map.getString(key) : null;
+    }
+
+    /**
+     * Reads a boolean. Numbers are accepted as well, e.g. the video muted state is a bitmask.
+     */
+    static boolean getBoolean(ReadableMap map, String key) {
+        if (!map.hasKey(key)) {
+            return false;
+        }
+
+        switch (map.getType(key)) {
+            case Boolean:
+                return map.getBoolean(key);
+            case Number:
+                return map.getDouble(key) != 0;
+            default:
+                return false;
+        }
+    }
+
+    static long getLong(ReadableMap map, String key) {
+        return map.hasKey(key) && map.getType(key) == ReadableType.Number
+            ? (long) map.getDouble(key) : 0;
+    }
+
+    static ReadableMap getMap(ReadableMap map, String key) {
+        return map.hasKey(key) && map.getType(key) == ReadableType.Map
+            ? map.getMap(key) : null;
+    }
+
+    static ParticipantInfo toParticipantInfo(ReadableMap map) {
+        return new ParticipantInfo(
+            getString(map, "participantId"),
+            getString(map, "displayName"),
+            getString(map, "avatarUrl"),
+            getString(map, "email"),
+            getString(map, "name"),
+            getBoolean(map, "isLocal"),
+            getString(map, "role"));
+    }
+
+    static void putParticipantInfo(WritableMap map, ParticipantInfo participantInfo) {
+        map.putString("participantId", participantInfo.id);
+        map.putString("displayName", participantInfo.displayName);
+        map.putString("avatarUrl", participantInfo.avatarUrl);
+        map.putString("email", participantInfo.email);
+        map.putString("name", participantInfo.name);
+        map.putBoolean("isLocal", participantInfo.isLocal);
+        map.putString("role", participantInfo.role);
+    }
+
+    static List<ParticipantInfo> toParticipantInfoList(ReadableArray array) {
+        if (array == null) {
+            return Collections.emptyList();
+        }
+
+        int size = array.size();
+        List<ParticipantInfo> participantInfoList = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            if (array.getType(i) == ReadableType.Map) {
+                participantInfoList.add(toParticipantInfo(array.getMap(i)));
+            }
+        }
+
+        return Collections.unmodifiableList(participantInfoList);
+    }
+
+    static void putParticipantInfoList(
+            WritableArray array,
+            List<ParticipantInfo> participantInfoList) {
+        for (ParticipantInfo participantInfo : participantInfoList) {
+            WritableMap map = Arguments.createMap();
+
+            putParticipantInfo(map, participantInfo);
+            array.pushMap(map);
+        }
+    }
+}
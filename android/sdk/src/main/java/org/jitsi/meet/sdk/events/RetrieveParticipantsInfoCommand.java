@@ -0,0 +1,89 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.BroadcastAction;
+
+/**
+ * {@link BroadcastAction.Type#RETRIEVE_PARTICIPANTS_INFO}: asks for the list of participants, which comes back in a {@link ParticipantsInfoRetrievedEvent}.
+ */
+public final class RetrieveParticipantsInfoCommand extends JitsiMeetCommand {
+    private final String requestId;
+    private final int offset;
+    private final int limit;
+
+    /**
+     * Creates the command for the whole list.
+     *
+     * @param requestId - The id of the request, echoed in the response.
+     */
+    public RetrieveParticipantsInfoCommand(String requestId) {
+        this(requestId, 0, 0);
+    }
+
+    /**
+     * Creates the command for a page of the list.
+     *
+     * @param requestId - The id of the request, echoed in the response.
+     * @param offset - The position of the first participant to retrieve.
+     * @param limit - The maximum number of participants to retrieve, {@code 0} for all of them.
+     */
+    public RetrieveParticipantsInfoCommand(String requestId, int offset, int limit) {
+        this.requestId = requestId;
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    public static RetrieveParticipantsInfoCommand fromReadableMap(ReadableMap map) {
+        return new RetrieveParticipantsInfoCommand(
+            ReadableMaps.getString(map, "requestId"),
+            (int) ReadableMaps.getLong(map, "offset"),
+            (int) ReadableMaps.getLong(map, "limit"));
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public BroadcastAction.Type getType() {
+        return BroadcastAction.Type.RETRIEVE_PARTICIPANTS_INFO;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        WritableMap map = Arguments.createMap();
+
+        map.putString("requestId", requestId);
+        map.putInt("offset", offset);
+        map.putInt("limit", limit);
+
+        return map;
+    }
+}
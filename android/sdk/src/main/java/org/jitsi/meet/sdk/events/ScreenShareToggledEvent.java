@@ -0,0 +1,71 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.BroadcastEvent;
+
+/**
+ * {@link BroadcastEvent.Type#SCREEN_SHARE_TOGGLED}: a participant started or stopped sharing their screen.
+ */
+public final class ScreenShareToggledEvent extends JitsiMeetEvent {
+    private final String participantId;
+    private final boolean sharing;
+
+    public ScreenShareToggledEvent(String participantId, boolean sharing) {
+        this.participantId = participantId;
+        this.sharing = sharing;
+    }
+
+    public static ScreenShareToggledEvent fromReadableMap(ReadableMap map) {
+        return new ScreenShareToggledEvent(
+            ReadableMaps.getString(map, "participantId"),
+            ReadableMaps.getBoolean(map, "sharing"));
+    }
+
+    /**
+     * @return The id of the participant.
+     */
+    public String getParticipantId() {
+        return participantId;
+    }
+
+    /**
+     * @return Whether the participant is now sharing their screen.
+     */
+    public boolean isSharing() {
+        return sharing;
+    }
+
+    @Override
+    public BroadcastEvent.Type getType() {
+        return BroadcastEvent.Type.SCREEN_SHARE_TOGGLED;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        WritableMap map = Arguments.createMap();
+
+        map.putString("participantId", participantId);
+        map.putBoolean("sharing", sharing);
+
+        return map;
+    }
+}
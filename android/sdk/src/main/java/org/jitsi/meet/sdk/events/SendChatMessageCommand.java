@@ -0,0 +1,71 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.BroadcastAction;
+
+/**
+ * {@link BroadcastAction.Type#SEND_CHAT_MESSAGE}: sends a chat message.
+ */
+public final class SendChatMessageCommand extends JitsiMeetCommand {
+    private final String to;
+    private final String message;
+
+    /**
+     * Creates the command.
+     *
+     * @param to - The id of the recipient of a private message, or {@code null} to send it to everyone.
+     * @param message - The message.
+     */
+    public SendChatMessageCommand(String to, String message) {
+        this.to = to;
+        this.message = message;
+    }
+
+    public static SendChatMessageCommand fromReadableMap(ReadableMap map) {
+        return new SendChatMessageCommand(
+            ReadableMaps.getString(map, "to"),
+            ReadableMaps.getString(map, "message"));
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public BroadcastAction.Type getType() {
+        return BroadcastAction.Type.SEND_CHAT_MESSAGE;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        WritableMap map = Arguments.createMap();
+
+        map.putString("to", to);
+        map.putString("message", message);
+
+        return map;
+    }
+}
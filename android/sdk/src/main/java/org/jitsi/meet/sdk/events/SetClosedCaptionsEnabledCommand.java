@@ -0,0 +1,61 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.BroadcastAction;
+
+/**
+ * {@link BroadcastAction.Type#SET_CLOSED_CAPTIONS_ENABLED}: shows or hides the closed captions.
+ */
+public final class SetClosedCaptionsEnabledCommand extends JitsiMeetCommand {
+    private final boolean enabled;
+
+    /**
+     * Creates the command.
+     *
+     * @param enabled - Whether to show the closed captions.
+     */
+    public SetClosedCaptionsEnabledCommand(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public static SetClosedCaptionsEnabledCommand fromReadableMap(ReadableMap map) {
+        return new SetClosedCaptionsEnabledCommand(ReadableMaps.getBoolean(map, "enabled"));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public BroadcastAction.Type getType() {
+        return BroadcastAction.Type.SET_CLOSED_CAPTIONS_ENABLED;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        WritableMap map = Arguments.createMap();
+
+        map.putBoolean("enabled", enabled);
+
+        return map;
+    }
+}
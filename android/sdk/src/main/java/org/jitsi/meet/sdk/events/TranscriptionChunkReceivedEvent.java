@@ -0,0 +1,146 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.events;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.jitsi.meet.sdk.BroadcastEvent;
+
+/**
+ * {@link BroadcastEvent.Type#TRANSCRIPTION_CHUNK_RECEIVED}: a piece of a transcription was
+ * received. Only one of the final, stable and unstable texts is set.
+ */
+public final class TranscriptionChunkReceivedEvent extends JitsiMeetEvent {
+    private final String messageId;
+    private final String language;
+    private final String participantId;
+    private final String participantName;
+    private final String participantAvatarUrl;
+    private final String finalText;
+    private final String stableText;
+    private final String unstableText;
+
+    public TranscriptionChunkReceivedEvent(
+            String messageId,
+            String language,
+            String participantId,
+            String participantName,
+            String participantAvatarUrl,
+            String finalText,
+            String stableText,
+            String unstableText) {
+        this.messageId = messageId;
+        this.language = language;
+        this.participantId = participantId;
+        this.participantName = participantName;
+        this.participantAvatarUrl = participantAvatarUrl;
+        this.finalText = finalText;
+        this.stableText = stableText;
+        this.unstableText = unstableText;
+    }
+
+    public static TranscriptionChunkReceivedEvent fromReadableMap(ReadableMap map) {
+        ReadableMap participant = ReadableMaps.getMap(map, "participant");
+        ReadableMap text = ReadableMaps.getMap(map, "text");
+
+        return new TranscriptionChunkReceivedEvent(
+            ReadableMaps.getString(map, "messageID"),
+            ReadableMaps.getString(map, "language"),
+            participant != null ? ReadableMaps.getString(participant, "id") : null,
+            participant != null ? ReadableMaps.getString(participant, "name") : null,
+            participant != null ? ReadableMaps.getString(participant, "avatarUrl") : null,
+            text != null ? ReadableMaps.getString(text, "final") : null,
+            text != null ? ReadableMaps.getString(text, "stable") : null,
+            text != null ? ReadableMaps.getString(text, "unstable") : null);
+    }
+
+    public String getMessageId() {
+        return messageId;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public String getParticipantId() {
+        return participantId;
+    }
+
+    public String getParticipantName() {
+        return participantName;
+    }
+
+    public String getParticipantAvatarUrl() {
+        return participantAvatarUrl;
+    }
+
+    /**
+     * @return The final text of the chunk, which won't change anymore.
+     */
+    public String getFinalText() {
+        return finalText;
+    }
+
+    /**
+     * @return The interim text of the chunk, when it is unlikely to change.
+     */
+    public String getStableText() {
+        return stableText;
+    }
+
+    /**
+     * @return The interim text of the chunk, when it is likely to change.
+     */
+    public String getUnstableText() {
+        return unstableText;
+    }
+
+    @Override
+    public BroadcastEvent.Type getType() {
+        return BroadcastEvent.Type.TRANSCRIPTION_CHUNK_RECEIVED;
+    }
+
+    @Override
+    public WritableMap toWritableMap() {
+        WritableMap map = Arguments.createMap();
+        WritableMap participant = Arguments.createMap();
+        WritableMap text = Arguments.createMap();
+
+        participant.putString("id", participantId);
+        participant.putString("name", participantName);
+        participant.putString("avatarUrl", participantAvatarUrl);
+
+        if (finalText != null) {
+            text.putString("final", finalText);
+        }
+        if (stableText != null) {
+            text.putString("stable", stableText);
+        }
+        if (unstableText != null) {
+            text.putString("unstable", unstableText);
+        }
+
+        map.putString("messageID", messageId);
+        map.putString("language", language);
+        map.putMap("participant", participant);
+        map.putMap("text", text);
+
+        return map;
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.log;
+
+import android.os.Process;
+import android.util.Log;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link JitsiMeetBaseLogHandler} which moves the work of another handler off the calling thread.
+ * Records are copied into a preallocated {@link LogRingBuffer} and a single background thread
+ * formats and writes them using the wrapped handler. Logging never blocks the caller: when the
+ * buffer is full records are dropped according to the configured {@link OverflowPolicy}.
+ *
+ * Usage:
+ * <pre>
+ *     JitsiMeetLogger.addHandler(new AsyncLogHandler(new MyLogHandler()));
+ * </pre>
+ */
+public class AsyncLogHandler extends JitsiMeetBaseLogHandler {
+    /**
+     * What to do with a new record when the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Evict the oldest buffered record to make room for the new one.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Keep the buffered records and drop the new one.
+         */
+        DROP_NEWEST
+    }
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Upper bound for how long the drain thread sleeps when there is nothing to do. Producers
+     * wake it up as soon as they enqueue something, this is just a safety net.
+     */
+    private static final long MAX_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    /**
+     * How long {@link #flush()} waits for the drain thread to be done with a record, so that a
+     * stuck delegate doesn't hang e.g. an uncaught exception handler.
+     */
+    private static final long FLUSH_TIMEOUT_MILLIS = 1000;
+
+    private final JitsiMeetBaseLogHandler delegate;
+    private final OverflowPolicy overflowPolicy;
+    private final LogRingBuffer buffer;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicBoolean drainerIdle = new AtomicBoolean();
+
+    /**
+     * Held while a record is taken out of the buffer and written, so that the drain thread and
+     * {@link #flush()} don't call the delegate at the same time, or out of order.
+     */
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    private volatile boolean closed;
+
+    private final Thread drainThread;
+
+    /**
+     * Number of dropped records which have already been reported through the delegate.
+     * Only accessed by the drain thread.
+     */
+    private long reportedDroppedCount;
+
+    public AsyncLogHandler(@NotNull JitsiMeetBaseLogHandler delegate) {
+        this(delegate, DEFAULT_CAPACITY, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Creates a new handler and starts its drain thread.
+     *
+     * @param delegate - The handler which does the actual formatting and writing.
+     * @param capacity - Maximum number of buffered records. Rounded up to a power of 2.
+     * @param overflowPolicy - What to do when the buffer is full.
+     */
+    public AsyncLogHandler(
+            @NotNull JitsiMeetBaseLogHandler delegate,
+            int capacity,
+            @NotNull OverflowPolicy overflowPolicy) {
+        this.delegate = delegate;
+        this.overflowPolicy = overflowPolicy;
+        this.buffer = new LogRingBuffer(capacity);
+
+        drainThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drainLoop();
+            }
+        }, "JitsiMeetLogger-" + delegate.getDefaultTag());
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    /**
+     * @return The total number of records dropped because the buffer was full.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Writes all the buffered records on the calling thread, taking turns with the drain thread.
+     * Meant for the few cases in which the process is about to die, e.g. from an uncaught
+     * exception handler. Gives up if the drain thread is stuck writing a record.
+     */
+    public void flush() {
+        LogRingBuffer.Record record = new LogRingBuffer.Record();
+
+        try {
+            while (drainLock.tryLock(FLUSH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                try {
+                    if (!drainOne(record)) {
+                        return;
+                    }
+                } finally {
+                    drainLock.unlock();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops the drain thread once it has written all the buffered records and reported the
+     * dropped ones. Records logged afterwards are written on the calling thread.
+     *
+     * @throws InterruptedException - If interrupted while waiting for the drain thread.
+     */
+    public void close() throws InterruptedException {
+        closed = true;
+        LockSupport.unpark(drainThread);
+        drainThread.join();
+
+        // Whatever raced with the last pass of the drain thread.
+        flush();
+    }
+
+    @Override
+    protected void log(int priority, @Nullable String tag, @NotNull String msg, @Nullable Throwable t) {
+        if (closed) {
+            delegate.log(priority, tag, msg, t);
+            return;
+        }
+
+        if (enqueue(priority, tag, msg, t)) {
+            wakeDrainer();
+        }
+
+        // Closed in the meantime, the drain thread may be gone already.
+        if (closed) {
+            flush();
+        }
+    }
+
+    /**
+     * Buffers the whole batch, then wakes the drain thread up once.
+     */
+    @Override
+    protected void logBatch(int[] priorities, String[] messages, int count) {
+        if (closed) {
+            delegate.logBatch(priorities, messages, count);
+            return;
+        }
+
+        boolean enqueued = false;
+
+        for (int i = 0; i < count; i++) {
+            enqueued |= enqueue(priorities[i], null, messages[i], null);
+        }
+
+        if (enqueued) {
+            wakeDrainer();
+        }
+
+        // Closed in the meantime, the drain thread may be gone already.
+        if (closed) {
+            flush();
+        }
+    }
+
+    @Override
+    protected void doLog(int priority, @NotNull String tag, @NotNull String msg) {
+        delegate.doLog(priority, tag, msg);
+    }
+
+    @Override
+    protected String getDefaultTag() {
+        return delegate.getDefaultTag();
+    }
+
+    /**
+     * @return {@code false} if the record was dropped.
+     */
+    private boolean enqueue(int priority, @Nullable String tag, @NotNull String msg, @Nullable Throwable t) {
+        if (!buffer.offer(priority, tag, msg, t)) {
+            if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                // Keep evicting until there is room, other producers may be racing with us.
+                do {
+                    if (buffer.discardOldest()) {
+                        droppedCount.incrementAndGet();
+                    }
+                } while (!buffer.offer(priority, tag, msg, t));
+            } else {
+                droppedCount.incrementAndGet();
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void wakeDrainer() {
+        if (drainerIdle.compareAndSet(true, false)) {
+            LockSupport.unpark(drainThread);
+        }
+    }
+
+    private void drainLoop() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+
+        LogRingBuffer.Record record = new LogRingBuffer.Record();
+
+        for (;;) {
+            // Read before draining, so that the last pass sees everything logged before close().
+            boolean closing = closed;
+
+            for (;;) {
+                drainLock.lock();
+                try {
+                    if (!drainOne(record)) {
+                        break;
+                    }
+                } finally {
+                    drainLock.unlock();
+                }
+            }
+
+            reportDropped();
+
+            if (closing) {
+                return;
+            }
+
+            drainerIdle.set(true);
+
+            // Re-check after advertising we are idle, a producer may have raced with us and
+            // skipped the unpark.
+            if (buffer.size() == 0 && !closed) {
+                LockSupport.parkNanos(this, MAX_IDLE_NANOS);
+            }
+            drainerIdle.set(false);
+        }
+    }
+
+    /**
+     * Writes the oldest buffered record, with {@link #drainLock} held.
+     *
+     * @return {@code false} if there was none.
+     */
+    private boolean drainOne(LogRingBuffer.Record record) {
+        if (!buffer.poll(record)) {
+            return false;
+        }
+
+        write(record);
+
+        return true;
+    }
+
+    private void write(LogRingBuffer.Record record) {
+        try {
+            delegate.log(record.priority, record.tag, record.msg, record.throwable);
+        } catch (Throwable t) {
+            // Nothing sensible can be done here, don't let it kill the drain thread.
+        } finally {
+            record.clear();
+        }
+    }
+
+    private void reportDropped() {
+        long dropped = droppedCount.get();
+
+        if (dropped != reportedDroppedCount) {
+            delegate.doLog(
+                Log.WARN,
+                delegate.getDefaultTag(),
+                "Dropped " + (dropped - reportedDroppedCount) + " log records (buffer full)");
+            reportedDroppedCount = dropped;
+        }
+    }
+}
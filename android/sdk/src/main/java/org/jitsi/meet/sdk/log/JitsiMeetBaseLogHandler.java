@@ -43,6 +43,20 @@ public abstract class JitsiMeetBaseLogHandler extends Timber.Tree {
         }
     }
 
+    /**
+     * Logs several records at once, see {@link JitsiMeetLogger#logBatch(int[], Object, String[], int)}.
+     * Handlers which can do better than one {@link #log} call per record override it.
+     *
+     * @param priorities - The priorities of the records.
+     * @param messages - The messages of the records.
+     * @param count - The number of records, from the start of the arrays.
+     */
+    protected void logBatch(int[] priorities, String[] messages, int count) {
+        for (int i = 0; i < count; i++) {
+            log(priorities[i], null, messages[i], null);
+        }
+    }
+
     protected abstract void doLog(int priority, @NotNull String tag, @NotNull String msg);
 
     protected abstract String getDefaultTag();
@@ -0,0 +1,245 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.log;
+
+import android.content.Context;
+import android.util.Log;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link JitsiMeetBaseLogHandler} which writes logs to a fixed set of memory-mapped segment files
+ * in the app's files directory, overwriting the oldest segment once all of them are full.
+ *
+ * Writes go straight into the mapped pages, so they are in the kernel's page cache as soon as
+ * {@link #doLog} returns and survive the process being killed; there is no {@code fsync} on the
+ * logging path. Call {@link #export(OutputStream)} to get all the segments, oldest first, as a
+ * single gzip stream.
+ *
+ * Usage:
+ * <pre>
+ *     JitsiMeetLogger.addHandler(new AsyncLogHandler(new JitsiMeetFileLogHandler(context)));
+ * </pre>
+ */
+public class JitsiMeetFileLogHandler extends JitsiMeetBaseLogHandler {
+    private static final String TAG = "JitsiMeetSDK";
+
+    private static final String DIRECTORY_NAME = "jitsi-meet-logs";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    public static final int DEFAULT_SEGMENT_COUNT = 4;
+    public static final int DEFAULT_SEGMENT_SIZE = 256 * 1024;
+
+    /**
+     * Segment header: magic, end of the written data and generation (increases every time a
+     * segment is reused, so the segments can be put back in order).
+     */
+    private static final int MAGIC = 0x4a4d4c47;
+    private static final int POSITION_OFFSET = 4;
+    private static final int GENERATION_OFFSET = 8;
+    private static final int HEADER_SIZE = 16;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final char[] PRIORITY_CHARS = { '?', '?', 'V', 'D', 'I', 'W', 'E', 'A' };
+
+    private final File directory;
+    private final MappedByteBuffer[] segments;
+    private final int segmentSize;
+
+    private final SimpleDateFormat dateFormat
+        = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS", Locale.US);
+    private final Date date = new Date();
+    private final StringBuilder lineBuilder = new StringBuilder(256);
+
+    private int current;
+    private boolean enabled;
+
+    public JitsiMeetFileLogHandler(@NotNull Context context) {
+        this(context, DEFAULT_SEGMENT_COUNT, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates the handler, mapping (and creating if needed) the segment files. Logging resumes
+     * after the last record written by a previous process.
+     *
+     * @param context - Context used to locate the app's files directory.
+     * @param segmentCount - Number of segment files to rotate through.
+     * @param segmentSize - Size of each segment file, in bytes.
+     */
+    public JitsiMeetFileLogHandler(@NotNull Context context, int segmentCount, int segmentSize) {
+        if (segmentCount < 2 || segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("invalid segment count or size");
+        }
+
+        this.directory = new File(context.getFilesDir(), DIRECTORY_NAME);
+        this.segments = new MappedByteBuffer[segmentCount];
+        this.segmentSize = segmentSize;
+
+        try {
+            mapSegments();
+            enabled = true;
+        } catch (IOException e) {
+            // Don't go through JitsiMeetLogger, we are one of its handlers.
+            Log.e(TAG, "Failed to map log segments in " + directory, e);
+        }
+    }
+
+    /**
+     * @return The directory holding the segment files.
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Writes the contents of all the segments, oldest first, to the given stream as a single
+     * gzip stream. The stream is finished but not closed.
+     *
+     * @param out - The stream to write to.
+     * @throws IOException if writing fails.
+     */
+    public synchronized void export(@NotNull OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+
+        if (enabled) {
+            byte[] chunk = new byte[8192];
+
+            for (int i = 1; i <= segments.length; i++) {
+                // Start with the segment after the current one, which is the oldest.
+                ByteBuffer segment = segments[(current + i) % segments.length].duplicate();
+
+                segment.limit(segment.getInt(POSITION_OFFSET));
+                segment.position(HEADER_SIZE);
+
+                while (segment.hasRemaining()) {
+                    int length = Math.min(chunk.length, segment.remaining());
+
+                    segment.get(chunk, 0, length);
+                    gzip.write(chunk, 0, length);
+                }
+            }
+        }
+
+        gzip.finish();
+    }
+
+    @Override
+    protected synchronized void doLog(int priority, @NotNull String tag, @NotNull String msg) {
+        if (!enabled) {
+            return;
+        }
+
+        date.setTime(System.currentTimeMillis());
+        lineBuilder.setLength(0);
+        lineBuilder
+            .append(dateFormat.format(date))
+            .append(' ')
+            .append(priority >= 0 && priority < PRIORITY_CHARS.length ? PRIORITY_CHARS[priority] : '?')
+            .append('/')
+            .append(tag)
+            .append(": ")
+            .append(msg)
+            .append('\n');
+
+        byte[] bytes = lineBuilder.toString().getBytes(UTF_8);
+        int length = Math.min(bytes.length, segmentSize - HEADER_SIZE);
+
+        MappedByteBuffer segment = segments[current];
+        int position = segment.getInt(POSITION_OFFSET);
+
+        if (position + length > segmentSize) {
+            segment = rotate();
+            position = HEADER_SIZE;
+        }
+
+        segment.position(position);
+        segment.put(bytes, 0, length);
+
+        // Publish the new end only after the data is in place, so a process dying mid-write
+        // leaves the previous record as the last one.
+        segment.putInt(POSITION_OFFSET, position + length);
+    }
+
+    @Override
+    protected String getDefaultTag() {
+        return TAG;
+    }
+
+    private MappedByteBuffer rotate() {
+        long generation = segments[current].getLong(GENERATION_OFFSET);
+
+        current = (current + 1) % segments.length;
+
+        MappedByteBuffer segment = segments[current];
+
+        segment.putInt(POSITION_OFFSET, HEADER_SIZE);
+        segment.putLong(GENERATION_OFFSET, generation + 1);
+
+        return segment;
+    }
+
+    private void mapSegments() throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+
+        long newestGeneration = -1;
+
+        for (int i = 0; i < segments.length; i++) {
+            File file = new File(directory, SEGMENT_PREFIX + i + SEGMENT_SUFFIX);
+            RandomAccessFile raf = new RandomAccessFile(file, "rw");
+
+            try {
+                // The mapping stays valid after the channel is closed.
+                MappedByteBuffer segment
+                    = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+                int position = segment.getInt(POSITION_OFFSET);
+
+                if (segment.getInt(0) != MAGIC || position < HEADER_SIZE || position > segmentSize) {
+                    segment.putInt(0, MAGIC);
+                    segment.putInt(POSITION_OFFSET, HEADER_SIZE);
+                    segment.putLong(GENERATION_OFFSET, i == 0 ? 0 : -1);
+                }
+
+                long generation = segment.getLong(GENERATION_OFFSET);
+
+                if (generation > newestGeneration) {
+                    newestGeneration = generation;
+                    current = i;
+                }
+
+                segments[i] = segment;
+            } finally {
+                raf.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.log;
+
+import android.content.Context;
+import android.util.Log;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Always-on, in-memory recorder of the last log records and SDK events. When the process dies
+ * from an uncaught exception its contents are written to a file, which the host app can read
+ * with {@link #getLastCrashReport(Context)} the next time it starts.
+ *
+ * Records live in preallocated parallel arrays (struct-of-arrays) which are overwritten in a
+ * circular fashion, so recording only stores a few fields and never allocates.
+ */
+public class JitsiMeetFlightRecorder extends JitsiMeetBaseLogHandler {
+    private static final String TAG = "JitsiMeetSDK";
+
+    private static final String CRASH_REPORT_FILE_NAME = "jitsi-meet-crash-report.txt";
+
+    private static final int CAPACITY = 512;
+
+    /**
+     * Pseudo-priority used for SDK events, so they can be told apart from log records.
+     */
+    private static final int PRIORITY_EVENT = 0;
+
+    private static final char[] PRIORITY_CHARS = { '*', '?', 'V', 'D', 'I', 'W', 'E', 'A' };
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final JitsiMeetFlightRecorder instance = new JitsiMeetFlightRecorder(CAPACITY);
+
+    private final int mask;
+    private final long[] timestamps;
+    private final int[] priorities;
+    private final String[] messages;
+
+    /**
+     * Sequence number of the record stored in each slot, published after the other fields.
+     * Used when dumping to skip slots which are still being written.
+     */
+    private final AtomicLongArray sequences;
+    private final AtomicLong cursor = new AtomicLong();
+
+    private volatile File crashReportFile;
+
+    public static JitsiMeetFlightRecorder getInstance() {
+        return instance;
+    }
+
+    /**
+     * Sets up the location of the crash report. Called by the SDK on startup.
+     *
+     * @param context - The application context.
+     */
+    public static void init(@NotNull Context context) {
+        instance.setCrashReportFile(getCrashReportFile(context));
+    }
+
+    /**
+     * Records an SDK event, e.g. an event sent to / received from the JS side.
+     *
+     * @param name - The name of the event. Should be a constant, to avoid allocations.
+     */
+    public static void recordEvent(@NotNull String name) {
+        instance.record(PRIORITY_EVENT, name);
+    }
+
+    /**
+     * Gets the report written the last time the process died from an uncaught exception.
+     *
+     * @param context - The application context.
+     * @return The report, or {@code null} if there is none.
+     */
+    @Nullable
+    public static String getLastCrashReport(@NotNull Context context) {
+        File file = getCrashReportFile(context);
+
+        if (!file.isFile()) {
+            return null;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) file.length());
+        byte[] buffer = new byte[8192];
+        FileInputStream in = null;
+
+        try {
+            in = new FileInputStream(file);
+
+            for (int n; (n = in.read(buffer)) != -1; ) {
+                out.write(buffer, 0, n);
+            }
+
+            return new String(out.toByteArray(), UTF_8);
+        } catch (IOException e) {
+            JitsiMeetLogger.w(e, "Failed to read the crash report");
+
+            return null;
+        } finally {
+            closeQuietly(in);
+        }
+    }
+
+    /**
+     * Deletes the report written the last time the process died, once the host app has
+     * consumed it.
+     *
+     * @param context - The application context.
+     */
+    public static void deleteLastCrashReport(@NotNull Context context) {
+        File file = getCrashReportFile(context);
+
+        if (file.exists() && !file.delete()) {
+            JitsiMeetLogger.w("Failed to delete the crash report");
+        }
+    }
+
+    /**
+     * @param capacity - The number of records kept. Must be a power of 2.
+     */
+    JitsiMeetFlightRecorder(int capacity) {
+        mask = capacity - 1;
+        timestamps = new long[capacity];
+        priorities = new int[capacity];
+        messages = new String[capacity];
+        sequences = new AtomicLongArray(capacity);
+
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, -1);
+        }
+    }
+
+    @Override
+    protected void log(int priority, @Nullable String tag, @NotNull String msg, @Nullable Throwable t) {
+        // Timber has already appended the stack trace to the message, if any.
+        record(priority, msg);
+    }
+
+    @Override
+    protected void doLog(int priority, @NotNull String tag, @NotNull String msg) {
+        record(priority, msg);
+    }
+
+    @Override
+    protected String getDefaultTag() {
+        return TAG;
+    }
+
+    private void record(int priority, String msg) {
+        long sequence = cursor.getAndIncrement();
+        int index = (int) (sequence & mask);
+
+        sequences.set(index, -1);
+        timestamps[index] = System.currentTimeMillis();
+        priorities[index] = priority;
+        messages[index] = msg;
+        sequences.set(index, sequence);
+    }
+
+    /**
+     * Synchronously writes the crash report: the uncaught exception followed by the recorded
+     * history, oldest first. Meant to be called from the uncaught exception handler.
+     *
+     * @param thread - The thread which died.
+     * @param throwable - The uncaught exception.
+     */
+    public void dump(@NotNull Thread thread, @NotNull Throwable throwable) {
+        File file = crashReportFile;
+
+        if (file == null) {
+            return;
+        }
+
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS", Locale.US);
+        Date date = new Date();
+        Writer writer = null;
+
+        try {
+            writer = new OutputStreamWriter(new FileOutputStream(file), UTF_8);
+
+            PrintWriter printWriter = new PrintWriter(writer);
+
+            printWriter.println("Uncaught exception in thread " + thread.getName()
+                + " at " + dateFormat.format(date));
+            throwable.printStackTrace(printWriter);
+            printWriter.println();
+            printWriter.println("Recent records (oldest first):");
+
+            long end = cursor.get();
+
+            for (long sequence = Math.max(0, end - messages.length); sequence < end; sequence++) {
+                int index = (int) (sequence & mask);
+
+                // Skip slots being written or already overwritten by a newer record.
+                if (sequences.get(index) != sequence) {
+                    continue;
+                }
+
+                long timestamp = timestamps[index];
+                int priority = priorities[index];
+                String msg = messages[index];
+
+                if (sequences.get(index) != sequence) {
+                    continue;
+                }
+
+                date.setTime(timestamp);
+                printWriter
+                    .append(dateFormat.format(date))
+                    .append(' ')
+                    .append(priority >= 0 && priority < PRIORITY_CHARS.length ? PRIORITY_CHARS[priority] : '?')
+                    .append(' ')
+                    .append(msg)
+                    .append('\n');
+            }
+
+            printWriter.flush();
+            writer.flush();
+        } catch (Throwable t) {
+            Log.e(TAG, "Failed to write the crash report", t);
+        } finally {
+            closeQuietly(writer);
+        }
+    }
+
+    void setCrashReportFile(@Nullable File file) {
+        crashReportFile = file;
+    }
+
+    static File getCrashReportFile(Context context) {
+        return new File(context.getFilesDir(), CRASH_REPORT_FILE_NAME);
+    }
+
+    private static void closeQuietly(java.io.Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -16,11 +16,69 @@
 
 package org.jitsi.meet.sdk.log;
 
+import android.util.Log;
+
 import timber.log.Timber;
 
+/**
+ * Entry point for all the SDK's logging.
+ *
+ * Every method checks {@link #isLoggable(int)} before doing anything else, and there are
+ * fixed-arity overloads (some taking primitives) which format the message only once it is known
+ * to be wanted. Prefer them over string concatenation and over the varargs variants so that a
+ * call for a disabled level does not allocate:
+ * <pre>
+ *     JitsiMeetLogger.d("%s Selected audio device: %s", TAG, device);
+ * </pre>
+ */
 public class JitsiMeetLogger {
+    /**
+     * Minimum priority (see {@link Log} constants) a message needs to have to be logged.
+     */
+    private static volatile int minLevel = Log.VERBOSE;
+
+    /**
+     * Default rate limit, per call site: sustained messages per second and burst size.
+     */
+    public static final double DEFAULT_RATE_LIMIT = 100;
+    public static final int DEFAULT_RATE_LIMIT_BURST = 500;
+
+    /**
+     * Drops messages from call sites which log too often, e.g. flapping Bluetooth headsets or a
+     * JS loop gone wrong, so log storms don't compete with media for the CPU. Errors are never
+     * dropped.
+     */
+    private static final LogRateLimiter rateLimiter = new LogRateLimiter(
+        DEFAULT_RATE_LIMIT,
+        DEFAULT_RATE_LIMIT_BURST,
+        new LogRateLimiter.SuppressionListener() {
+            @Override
+            public void onSuppressed(Object key, long count) {
+                // Bypasses the limiter on purpose.
+                Timber.w("Suppressed %d messages like: %s", count, key);
+            }
+        });
+
+    /**
+     * Rate limiting keys, one per level, of the messages which are not format strings. Those
+     * are often built at runtime, e.g. {@code TAG + " Unknown action received: " + action},
+     * and keying on them would churn the limiter's table, so they share a budget per level.
+     */
+    private static final String VERBOSE_MESSAGES = "<verbose message>";
+    private static final String DEBUG_MESSAGES = "<debug message>";
+    private static final String INFO_MESSAGES = "<info message>";
+    private static final String WARN_MESSAGES = "<warning>";
+
+    /**
+     * The SDK's own handler. Writing to logcat happens on a background thread so that logging
+     * does not add latency to the audio, Telecom and React Native threads.
+     */
+    private static final AsyncLogHandler defaultHandler
+        = new AsyncLogHandler(new JitsiMeetDefaultLogHandler());
+
     static {
-        addHandler(new JitsiMeetDefaultLogHandler());
+        addHandler(defaultHandler);
+        addHandler(JitsiMeetFlightRecorder.getInstance());
     }
 
     public static void addHandler(JitsiMeetBaseLogHandler handler) {
@@ -44,64 +102,507 @@ public class JitsiMeetLogger {
         }
     }
 
+    /**
+     * Sets the minimum priority a message needs to have in order to be logged. Can be changed at
+     * any time, from any thread.
+     *
+     * @param priority - One of the {@link Log} priority constants, e.g. {@link Log#INFO}.
+     */
+    public static void setMinLevel(int priority) {
+        minLevel = priority;
+    }
+
+    public static int getMinLevel() {
+        return minLevel;
+    }
+
+    /**
+     * Whether messages with the given priority will be logged. Can be used to guard expensive
+     * message construction.
+     *
+     * @param priority - One of the {@link Log} priority constants.
+     * @return {@code true} if the priority is at least the current minimum level.
+     */
+    public static boolean isLoggable(int priority) {
+        return priority >= minLevel;
+    }
+
+    /**
+     * Sets the rate limit applied to each call site (i.e. format string) separately. Messages
+     * over the limit are dropped and periodically summarized. Errors are not rate limited.
+     *
+     * @param messagesPerSecond - Sustained number of messages per second. {@code 0} disables
+     * rate limiting.
+     * @param burst - Number of messages allowed back to back before limiting kicks in.
+     */
+    public static void setRateLimit(double messagesPerSecond, int burst) {
+        rateLimiter.setRate(messagesPerSecond, burst);
+    }
+
+    /**
+     * Synchronously writes all the log records buffered by the default handler. To be used
+     * when the process is about to die.
+     */
+    public static void flush() {
+        defaultHandler.flush();
+    }
+
+    /**
+     * Logs a message with the given priority.
+     *
+     * @param priority - One of the {@link Log} priority constants.
+     * @param message - The message to log. It's not treated as a format string.
+     */
+    public static void log(int priority, String message) {
+        if (isLoggable(priority)) {
+            Timber.log(priority, message);
+        }
+    }
+
+    /**
+     * Logs a message with the given priority, rate limited by the given key instead of by
+     * the message. For callers whose messages are not constants, e.g. logs coming from JS.
+     *
+     * @param priority - One of the {@link Log} priority constants.
+     * @param rateLimitKey - The rate limiting key.
+     * @param message - The message to log. It's not treated as a format string.
+     */
+    public static void log(int priority, Object rateLimitKey, String message) {
+        if (isLoggable(priority) && tryAcquire(priority, rateLimitKey)) {
+            Timber.log(priority, message);
+        }
+    }
+
+    /**
+     * Logs several messages, rate limited by the given key, handing them to each handler in a
+     * single call instead of one dispatch through all the handlers per message. For callers
+     * which receive logs in batches, e.g. from JS.
+     *
+     * The messages which are kept are moved to the start of the arrays, which are therefore
+     * modified.
+     *
+     * @param priorities - The {@link Log} priority constants of the messages.
+     * @param rateLimitKey - The rate limiting key.
+     * @param messages - The messages to log. They're not treated as format strings.
+     * @param count - The number of messages, from the start of the arrays.
+     */
+    public static void logBatch(int[] priorities, Object rateLimitKey, String[] messages, int count) {
+        int kept = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (isLoggable(priorities[i]) && tryAcquire(priorities[i], rateLimitKey)) {
+                priorities[kept] = priorities[i];
+                messages[kept] = messages[i];
+                kept++;
+            }
+        }
+
+        if (kept == 0) {
+            return;
+        }
+
+        for (Timber.Tree tree : Timber.forest()) {
+            if (tree instanceof JitsiMeetBaseLogHandler) {
+                ((JitsiMeetBaseLogHandler) tree).logBatch(priorities, messages, kept);
+            } else {
+                for (int i = 0; i < kept; i++) {
+                    tree.log(priorities[i], messages[i]);
+                }
+            }
+        }
+    }
+
+    private static boolean tryAcquire(int priority, Object rateLimitKey) {
+        return priority >= Log.ERROR || rateLimiter.tryAcquire(rateLimitKey);
+    }
+
+    public static void v(String message) {
+        if (isLoggable(Log.VERBOSE) && rateLimiter.tryAcquire(VERBOSE_MESSAGES)) {
+            Timber.v(message);
+        }
+    }
+
+    public static void v(String format, Object arg) {
+        if (isLoggable(Log.VERBOSE) && rateLimiter.tryAcquire(format)) {
+            Timber.v(format, arg);
+        }
+    }
+
+    public static void v(String format, int arg) {
+        if (isLoggable(Log.VERBOSE) && rateLimiter.tryAcquire(format)) {
+            Timber.v(format, arg);
+        }
+    }
+
+    public static void v(String format, Object arg1, Object arg2) {
+        if (isLoggable(Log.VERBOSE) && rateLimiter.tryAcquire(format)) {
+            Timber.v(format, arg1, arg2);
+        }
+    }
+
+    public static void v(String format, Object arg1, int arg2) {
+        if (isLoggable(Log.VERBOSE) && rateLimiter.tryAcquire(format)) {
+            Timber.v(format, arg1, arg2);
+        }
+    }
+
+    public static void v(String format, Object arg1, boolean arg2) {
+        if (isLoggable(Log.VERBOSE) && rateLimiter.tryAcquire(format)) {
+            Timber.v(format, arg1, arg2);
+        }
+    }
+
+    public static void v(String format, Object arg1, Object arg2, Object arg3) {
+        if (isLoggable(Log.VERBOSE) && rateLimiter.tryAcquire(format)) {
+            Timber.v(format, arg1, arg2, arg3);
+        }
+    }
+
     public static void v(String message, Object... args) {
-        Timber.v(message, args);
+        if (isLoggable(Log.VERBOSE) && rateLimiter.tryAcquire(message)) {
+            Timber.v(message, args);
+        }
+    }
+
+    public static void v(Throwable t, String message) {
+        if (isLoggable(Log.VERBOSE) && rateLimiter.tryAcquire(VERBOSE_MESSAGES)) {
+            Timber.v(t, message);
+        }
+    }
+
+    public static void v(Throwable t, String format, Object arg) {
+        if (isLoggable(Log.VERBOSE) && rateLimiter.tryAcquire(format)) {
+            Timber.v(t, format, arg);
+        }
+    }
+
+    public static void v(Throwable t, String format, Object arg1, Object arg2) {
+        if (isLoggable(Log.VERBOSE) && rateLimiter.tryAcquire(format)) {
+            Timber.v(t, format, arg1, arg2);
+        }
     }
 
     public static void v(Throwable t, String message, Object... args) {
-        Timber.v(t, message, args);
+        if (isLoggable(Log.VERBOSE) && rateLimiter.tryAcquire(message)) {
+            Timber.v(t, message, args);
+        }
     }
 
     public static void v(Throwable t) {
-        Timber.v(t);
+        if (isLoggable(Log.VERBOSE)) {
+            Timber.v(t);
+        }
+    }
+
+    public static void d(String message) {
+        if (isLoggable(Log.DEBUG) && rateLimiter.tryAcquire(DEBUG_MESSAGES)) {
+            Timber.d(message);
+        }
+    }
+
+    public static void d(String format, Object arg) {
+        if (isLoggable(Log.DEBUG) && rateLimiter.tryAcquire(format)) {
+            Timber.d(format, arg);
+        }
+    }
+
+    public static void d(String format, int arg) {
+        if (isLoggable(Log.DEBUG) && rateLimiter.tryAcquire(format)) {
+            Timber.d(format, arg);
+        }
+    }
+
+    public static void d(String format, Object arg1, Object arg2) {
+        if (isLoggable(Log.DEBUG) && rateLimiter.tryAcquire(format)) {
+            Timber.d(format, arg1, arg2);
+        }
+    }
+
+    public static void d(String format, Object arg1, int arg2) {
+        if (isLoggable(Log.DEBUG) && rateLimiter.tryAcquire(format)) {
+            Timber.d(format, arg1, arg2);
+        }
+    }
+
+    public static void d(String format, Object arg1, boolean arg2) {
+        if (isLoggable(Log.DEBUG) && rateLimiter.tryAcquire(format)) {
+            Timber.d(format, arg1, arg2);
+        }
+    }
+
+    public static void d(String format, Object arg1, Object arg2, Object arg3) {
+        if (isLoggable(Log.DEBUG) && rateLimiter.tryAcquire(format)) {
+            Timber.d(format, arg1, arg2, arg3);
+        }
     }
 
     public static void d(String message, Object... args) {
-        Timber.d(message, args);
+        if (isLoggable(Log.DEBUG) && rateLimiter.tryAcquire(message)) {
+            Timber.d(message, args);
+        }
+    }
+
+    public static void d(Throwable t, String message) {
+        if (isLoggable(Log.DEBUG) && rateLimiter.tryAcquire(DEBUG_MESSAGES)) {
+            Timber.d(t, message);
+        }
+    }
+
+    public static void d(Throwable t, String format, Object arg) {
+        if (isLoggable(Log.DEBUG) && rateLimiter.tryAcquire(format)) {
+            Timber.d(t, format, arg);
+        }
+    }
+
+    public static void d(Throwable t, String format, Object arg1, Object arg2) {
+        if (isLoggable(Log.DEBUG) && rateLimiter.tryAcquire(format)) {
+            Timber.d(t, format, arg1, arg2);
+        }
     }
 
     public static void d(Throwable t, String message, Object... args) {
-        Timber.d(t, message, args);
+        if (isLoggable(Log.DEBUG) && rateLimiter.tryAcquire(message)) {
+            Timber.d(t, message, args);
+        }
     }
 
     public static void d(Throwable t) {
-        Timber.d(t);
+        if (isLoggable(Log.DEBUG)) {
+            Timber.d(t);
+        }
+    }
+
+    public static void i(String message) {
+        if (isLoggable(Log.INFO) && rateLimiter.tryAcquire(INFO_MESSAGES)) {
+            Timber.i(message);
+        }
+    }
+
+    public static void i(String format, Object arg) {
+        if (isLoggable(Log.INFO) && rateLimiter.tryAcquire(format)) {
+            Timber.i(format, arg);
+        }
+    }
+
+    public static void i(String format, int arg) {
+        if (isLoggable(Log.INFO) && rateLimiter.tryAcquire(format)) {
+            Timber.i(format, arg);
+        }
+    }
+
+    public static void i(String format, Object arg1, Object arg2) {
+        if (isLoggable(Log.INFO) && rateLimiter.tryAcquire(format)) {
+            Timber.i(format, arg1, arg2);
+        }
+    }
+
+    public static void i(String format, Object arg1, int arg2) {
+        if (isLoggable(Log.INFO) && rateLimiter.tryAcquire(format)) {
+            Timber.i(format, arg1, arg2);
+        }
+    }
+
+    public static void i(String format, Object arg1, boolean arg2) {
+        if (isLoggable(Log.INFO) && rateLimiter.tryAcquire(format)) {
+            Timber.i(format, arg1, arg2);
+        }
+    }
+
+    public static void i(String format, Object arg1, Object arg2, Object arg3) {
+        if (isLoggable(Log.INFO) && rateLimiter.tryAcquire(format)) {
+            Timber.i(format, arg1, arg2, arg3);
+        }
     }
 
     public static void i(String message, Object... args) {
-        Timber.i(message, args);
+        if (isLoggable(Log.INFO) && rateLimiter.tryAcquire(message)) {
+            Timber.i(message, args);
+        }
+    }
+
+    public static void i(Throwable t, String message) {
+        if (isLoggable(Log.INFO) && rateLimiter.tryAcquire(INFO_MESSAGES)) {
+            Timber.i(t, message);
+        }
+    }
+
+    public static void i(Throwable t, String format, Object arg) {
+        if (isLoggable(Log.INFO) && rateLimiter.tryAcquire(format)) {
+            Timber.i(t, format, arg);
+        }
+    }
+
+    public static void i(Throwable t, String format, Object arg1, Object arg2) {
+        if (isLoggable(Log.INFO) && rateLimiter.tryAcquire(format)) {
+            Timber.i(t, format, arg1, arg2);
+        }
     }
 
     public static void i(Throwable t, String message, Object... args) {
-        Timber.i(t, message, args);
+        if (isLoggable(Log.INFO) && rateLimiter.tryAcquire(message)) {
+            Timber.i(t, message, args);
+        }
     }
 
     public static void i(Throwable t) {
-        Timber.i(t);
+        if (isLoggable(Log.INFO)) {
+            Timber.i(t);
+        }
+    }
+
+    public static void w(String message) {
+        if (isLoggable(Log.WARN) && rateLimiter.tryAcquire(WARN_MESSAGES)) {
+            Timber.w(message);
+        }
+    }
+
+    public static void w(String format, Object arg) {
+        if (isLoggable(Log.WARN) && rateLimiter.tryAcquire(format)) {
+            Timber.w(format, arg);
+        }
+    }
+
+    public static void w(String format, int arg) {
+        if (isLoggable(Log.WARN) && rateLimiter.tryAcquire(format)) {
+            Timber.w(format, arg);
+        }
+    }
+
+    public static void w(String format, Object arg1, Object arg2) {
+        if (isLoggable(Log.WARN) && rateLimiter.tryAcquire(format)) {
+            Timber.w(format, arg1, arg2);
+        }
+    }
+
+    public static void w(String format, Object arg1, int arg2) {
+        if (isLoggable(Log.WARN) && rateLimiter.tryAcquire(format)) {
+            Timber.w(format, arg1, arg2);
+        }
+    }
+
+    public static void w(String format, Object arg1, boolean arg2) {
+        if (isLoggable(Log.WARN) && rateLimiter.tryAcquire(format)) {
+            Timber.w(format, arg1, arg2);
+        }
+    }
+
+    public static void w(String format, Object arg1, Object arg2, Object arg3) {
+        if (isLoggable(Log.WARN) && rateLimiter.tryAcquire(format)) {
+            Timber.w(format, arg1, arg2, arg3);
+        }
     }
 
     public static void w(String message, Object... args) {
-        Timber.w(message, args);
+        if (isLoggable(Log.WARN) && rateLimiter.tryAcquire(message)) {
+            Timber.w(message, args);
+        }
+    }
+
+    public static void w(Throwable t, String message) {
+        if (isLoggable(Log.WARN) && rateLimiter.tryAcquire(WARN_MESSAGES)) {
+            Timber.w(t, message);
+        }
+    }
+
+    public static void w(Throwable t, String format, Object arg) {
+        if (isLoggable(Log.WARN) && rateLimiter.tryAcquire(format)) {
+            Timber.w(t, format, arg);
+        }
+    }
+
+    public static void w(Throwable t, String format, Object arg1, Object arg2) {
+        if (isLoggable(Log.WARN) && rateLimiter.tryAcquire(format)) {
+            Timber.w(t, format, arg1, arg2);
+        }
     }
 
     public static void w(Throwable t, String message, Object... args) {
-        Timber.w(t, message, args);
+        if (isLoggable(Log.WARN) && rateLimiter.tryAcquire(message)) {
+            Timber.w(t, message, args);
+        }
     }
 
     public static void w(Throwable t) {
-        Timber.w(t);
+        if (isLoggable(Log.WARN)) {
+            Timber.w(t);
+        }
+    }
+
+    public static void e(String message) {
+        if (isLoggable(Log.ERROR)) {
+            Timber.e(message);
+        }
+    }
+
+    public static void e(String format, Object arg) {
+        if (isLoggable(Log.ERROR)) {
+            Timber.e(format, arg);
+        }
+    }
+
+    public static void e(String format, int arg) {
+        if (isLoggable(Log.ERROR)) {
+            Timber.e(format, arg);
+        }
+    }
+
+    public static void e(String format, Object arg1, Object arg2) {
+        if (isLoggable(Log.ERROR)) {
+            Timber.e(format, arg1, arg2);
+        }
+    }
+
+    public static void e(String format, Object arg1, int arg2) {
+        if (isLoggable(Log.ERROR)) {
+            Timber.e(format, arg1, arg2);
+        }
+    }
+
+    public static void e(String format, Object arg1, boolean arg2) {
+        if (isLoggable(Log.ERROR)) {
+            Timber.e(format, arg1, arg2);
+        }
+    }
+
+    public static void e(String format, Object arg1, Object arg2, Object arg3) {
+        if (isLoggable(Log.ERROR)) {
+            Timber.e(format, arg1, arg2, arg3);
+        }
     }
 
     public static void e(String message, Object... args) {
-        Timber.e(message, args);
+        if (isLoggable(Log.ERROR)) {
+            Timber.e(message, args);
+        }
+    }
+
+    public static void e(Throwable t, String message) {
+        if (isLoggable(Log.ERROR)) {
+            Timber.e(t, message);
+        }
+    }
+
+    public static void e(Throwable t, String format, Object arg) {
+        if (isLoggable(Log.ERROR)) {
+            Timber.e(t, format, arg);
+        }
+    }
+
+    public static void e(Throwable t, String format, Object arg1, Object arg2) {
+        if (isLoggable(Log.ERROR)) {
+            Timber.e(t, format, arg1, arg2);
+        }
     }
 
     public static void e(Throwable t, String message, Object... args) {
-        Timber.e(t, message, args);
+        if (isLoggable(Log.ERROR)) {
+            Timber.e(t, message, args);
+        }
     }
 
     public static void e(Throwable t) {
-        Timber.e(t);
+        if (isLoggable(Log.ERROR)) {
+            Timber.e(t);
+        }
     }
-
 }
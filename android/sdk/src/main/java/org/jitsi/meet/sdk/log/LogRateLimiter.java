@@ -0,0 +1,207 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.log;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free, per-key token bucket used by {@link JitsiMeetLogger} to survive log storms.
+ *
+ * The SDK uses the format string of a log call as the key, which identifies both the call site
+ * and, since our format strings embed it, the tag. Keys are matched with {@link Object#equals},
+ * which for the constant format strings of most call sites is a reference comparison, and the
+ * same call site maps to the same bucket even when its message is built at runtime. Each bucket
+ * is a single {@code long} holding its "theoretical arrival time" (GCRA, which is equivalent to a
+ * token bucket), so a check is one CAS and never allocates.
+ *
+ * Buckets live in a fixed-size open addressing table. When all the slots a key could use are
+ * taken by other keys, the one at its home position is recycled.
+ */
+final class LogRateLimiter {
+    /**
+     * Receives the summaries of suppressed messages.
+     */
+    interface SuppressionListener {
+        void onSuppressed(Object key, long count);
+    }
+
+    static final int TABLE_SIZE = 256;
+    static final int MAX_PROBES = 8;
+
+    private static final long SUMMARY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * Immutable limiter configuration, swapped atomically.
+     */
+    private static final class Config {
+        final long intervalNanos;
+        final long toleranceNanos;
+
+        Config(double messagesPerSecond, int burst) {
+            intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / messagesPerSecond);
+            toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        }
+    }
+
+    /**
+     * The key owning each slot, {@code null} for a free slot.
+     */
+    private final AtomicReferenceArray<Object> keys = new AtomicReferenceArray<>(TABLE_SIZE);
+    private final AtomicLongArray arrivalTimes = new AtomicLongArray(TABLE_SIZE);
+    private final AtomicLongArray suppressedCounts = new AtomicLongArray(TABLE_SIZE);
+
+    private final AtomicLong nextSummary = new AtomicLong(System.nanoTime() + SUMMARY_INTERVAL_NANOS);
+
+    private final SuppressionListener listener;
+
+    /**
+     * Current configuration, {@code null} when rate limiting is disabled.
+     */
+    private volatile Config config;
+
+    LogRateLimiter(double messagesPerSecond, int burst, SuppressionListener listener) {
+        this.listener = listener;
+        setRate(messagesPerSecond, burst);
+    }
+
+    /**
+     * Changes the rate, applied to each key separately.
+     *
+     * @param messagesPerSecond - Sustained number of messages per second. {@code 0} (or less)
+     * disables rate limiting.
+     * @param burst - Number of messages allowed back to back before limiting kicks in.
+     */
+    void setRate(double messagesPerSecond, int burst) {
+        config = messagesPerSecond > 0 ? new Config(messagesPerSecond, burst) : null;
+    }
+
+    /**
+     * Checks whether a message for the given key may be logged now, consuming a token if so.
+     *
+     * @param key - The rate limiting key.
+     * @return {@code true} if the message may be logged.
+     */
+    boolean tryAcquire(Object key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    /**
+     * {@link #tryAcquire(Object)} at the given {@link System#nanoTime()}.
+     */
+    boolean tryAcquire(Object key, long now) {
+        Config config = this.config;
+
+        if (config == null || key == null) {
+            return true;
+        }
+
+        maybeSummarize(now);
+
+        int index = indexOf(key);
+
+        for (;;) {
+            long arrivalTime = arrivalTimes.get(index);
+            long base = arrivalTime == 0 || arrivalTime - now < 0 ? now : arrivalTime;
+
+            if (base - now > config.toleranceNanos) {
+                suppressedCounts.incrementAndGet(index);
+
+                return false;
+            }
+
+            if (arrivalTimes.compareAndSet(index, arrivalTime, base + config.intervalNanos)) {
+                break;
+            }
+        }
+
+        // The storm for this key is over (or slowing down), report what we dropped.
+        if (suppressedCounts.get(index) != 0) {
+            report(index);
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds, claims or recycles the slot for the given key.
+     */
+    private int indexOf(Object key) {
+        int hash = key.hashCode();
+        int home = homeOf(hash);
+        int index = home;
+
+        for (int i = 0; i < MAX_PROBES; i++) {
+            Object existing = keys.get(index);
+
+            if (existing == null) {
+                if (keys.compareAndSet(index, null, key)) {
+                    return index;
+                }
+                existing = keys.get(index);
+            }
+
+            if (existing == key || existing.equals(key)) {
+                return index;
+            }
+
+            index = (index + 1) & (TABLE_SIZE - 1);
+        }
+
+        // Recycle the home slot. Racing threads may briefly share a bucket, which is harmless.
+        report(home);
+        keys.set(home, key);
+        arrivalTimes.set(home, 0);
+
+        return home;
+    }
+
+    /**
+     * @return The first slot probed for keys with the given hash code.
+     */
+    static int homeOf(int hash) {
+        return (hash ^ (hash >>> 16)) & (TABLE_SIZE - 1);
+    }
+
+    /**
+     * Periodically reports the keys which are still being suppressed, so a long storm shows up
+     * in the logs even if no message for it gets through.
+     */
+    private void maybeSummarize(long now) {
+        long next = nextSummary.get();
+
+        if (now - next < 0 || !nextSummary.compareAndSet(next, now + SUMMARY_INTERVAL_NANOS)) {
+            return;
+        }
+
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            if (suppressedCounts.get(i) != 0) {
+                report(i);
+            }
+        }
+    }
+
+    private void report(int index) {
+        long count = suppressedCounts.getAndSet(index, 0);
+
+        if (count != 0) {
+            listener.onSuppressed(keys.get(index), count);
+        }
+    }
+}
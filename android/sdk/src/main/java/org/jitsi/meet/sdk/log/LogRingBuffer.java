@@ -0,0 +1,167 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free, multi-producer ring buffer of log records. All the slots are allocated
+ * upfront and reused, so enqueueing a record never allocates.
+ *
+ * Every slot carries a sequence number which tells producers and consumers whether it is
+ * free or holds a published record (see D. Vyukov's bounded MPMC queue). Consumers may also
+ * run concurrently, which is what allows a producer to evict the oldest record when the
+ * buffer is full.
+ */
+final class LogRingBuffer {
+    /**
+     * A single log record, as it was handed to {@link timber.log.Timber.Tree#log}.
+     */
+    static final class Record {
+        int priority;
+        String tag;
+        String msg;
+        Throwable throwable;
+
+        void clear() {
+            tag = null;
+            msg = null;
+            throwable = null;
+        }
+    }
+
+    private final Record[] records;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Creates a new buffer.
+     *
+     * @param capacity - The number of slots, rounded up to the next power of 2.
+     */
+    LogRingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+
+        records = new Record[size];
+        sequences = new AtomicLongArray(size);
+        mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            records[i] = new Record();
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return records.length;
+    }
+
+    /**
+     * Approximate number of records waiting to be consumed.
+     */
+    int size() {
+        long size = tail.get() - head.get();
+
+        return (int) Math.max(0, Math.min(size, records.length));
+    }
+
+    /**
+     * Copies the given record into the next free slot.
+     *
+     * @return {@code true} if the record was enqueued, {@code false} if the buffer is full.
+     */
+    boolean offer(int priority, String tag, String msg, Throwable t) {
+        long pos = tail.get();
+
+        for (;;) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    Record record = records[index];
+
+                    record.priority = priority;
+                    record.tag = tag;
+                    record.msg = msg;
+                    record.throwable = t;
+                    sequences.set(index, pos + 1);
+
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Moves the oldest record into {@code out} and frees its slot.
+     *
+     * @return {@code true} if a record was copied, {@code false} if the buffer is empty.
+     */
+    boolean poll(Record out) {
+        long pos = head.get();
+
+        for (;;) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - (pos + 1);
+
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    Record record = records[index];
+
+                    if (out != null) {
+                        out.priority = record.priority;
+                        out.tag = record.tag;
+                        out.msg = record.msg;
+                        out.throwable = record.throwable;
+                    }
+                    record.clear();
+                    sequences.set(index, pos + records.length);
+
+                    return true;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * Discards the oldest record, if any.
+     *
+     * @return {@code true} if a record was discarded.
+     */
+    boolean discardOldest() {
+        return poll(null);
+    }
+}
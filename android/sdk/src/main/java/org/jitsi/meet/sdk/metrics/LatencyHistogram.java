@@ -0,0 +1,218 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of latencies, in the spirit of HdrHistogram.
+ *
+ * Values are recorded in microseconds into log-linear buckets: every power of two is split in
+ * 16 sub-buckets, so any value is reported within ~6% of what was recorded, from 1 us up to
+ * ~12 days. Recording is a handful of atomic increments on preallocated arrays and never
+ * allocates, so it can be done on the hot path of any thread.
+ */
+public final class LatencyHistogram {
+    /**
+     * Number of bits of precision kept for each value.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+    /**
+     * Values above this are recorded as this.
+     */
+    private static final long MAX_VALUE = (1L << 40) - 1;
+
+    private static final int BUCKET_COUNT = indexOf(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong minMicros = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos - The latency, in nanoseconds. Negative values are ignored.
+     */
+    public void recordNanos(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_VALUE);
+
+        counts.incrementAndGet(indexOf(micros));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(micros);
+
+        for (long min = minMicros.get(); micros < min; min = minMicros.get()) {
+            if (minMicros.compareAndSet(min, micros)) {
+                break;
+            }
+        }
+        for (long max = maxMicros.get(); micros > max; max = maxMicros.get()) {
+            if (maxMicros.compareAndSet(max, micros)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Removes all the recorded values. Values recorded concurrently may or may not survive.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalMicros.set(0);
+        minMicros.set(Long.MAX_VALUE);
+        maxMicros.set(0);
+    }
+
+    /**
+     * Gets a copy of the recorded values. It's taken without stopping the recording threads,
+     * so it may be off by the values recorded while it's being taken.
+     *
+     * @return The snapshot.
+     */
+    public Snapshot getSnapshot() {
+        long[] snapshotCounts = new long[BUCKET_COUNT];
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshotCounts[i] = counts.get(i);
+        }
+
+        return new Snapshot(
+            snapshotCounts, totalCount.get(), totalMicros.get(), minMicros.get(), maxMicros.get());
+    }
+
+    /**
+     * Gets the bucket of a value: values below {@link #SUB_BUCKET_COUNT} get their own bucket,
+     * the others share one with the values with the same top {@link #SUB_BUCKET_BITS} bits.
+     */
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+
+        return (shift + 1) * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift) - SUB_BUCKET_HALF_COUNT;
+    }
+
+    /**
+     * Gets the highest value which falls in the given bucket.
+     */
+    private static long highestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * An immutable copy of a {@link LatencyHistogram}. All the values are in microseconds.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long totalMicros;
+        private final long minMicros;
+        private final long maxMicros;
+
+        private Snapshot(long[] counts, long count, long totalMicros, long minMicros, long maxMicros) {
+            this.counts = counts;
+            this.count = count;
+            this.totalMicros = totalMicros;
+            this.minMicros = count == 0 ? 0 : minMicros;
+            this.maxMicros = maxMicros;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMinMicros() {
+            return minMicros;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        public double getMeanMicros() {
+            return count == 0 ? 0 : (double) totalMicros / count;
+        }
+
+        /**
+         * Gets the value below which the given percentage of the recorded values fall.
+         *
+         * @param percentile - The percentile, between 0 and 100.
+         * @return The value, as the highest value of its bucket but no more than the maximum
+         * recorded value. {@code 0} if nothing was recorded.
+         */
+        public long getValueAtPercentile(double percentile) {
+            long total = 0;
+
+            for (long bucketCount : counts) {
+                total += bucketCount;
+            }
+
+            if (total == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * total));
+            long seen = 0;
+
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+
+                if (seen >= rank) {
+                    return Math.min(highestValueAt(i), maxMicros);
+                }
+            }
+
+            return maxMicros;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                Locale.US,
+                "count=%d min=%dus p50=%dus p90=%dus p99=%dus max=%dus",
+                count,
+                minMicros,
+                getValueAtPercentile(50),
+                getValueAtPercentile(90),
+                getValueAtPercentile(99),
+                maxMicros);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CallRegistry} class.
+ */
+public class CallRegistryTest {
+    private final CallRegistry registry = CallRegistry.getInstance();
+    private final List<CallRegistry.Call> calls = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        for (CallRegistry.Call call : calls) {
+            registry.moveTo(call, CallRegistry.State.DISCONNECTED);
+        }
+        registry.setStuckTimeout(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * A call starts out registering, and there's one call per UUID.
+     */
+    @Test
+    public void testAdd() {
+        String callUUID = UUID.randomUUID().toString();
+        CallRegistry.Call call = add(callUUID);
+
+        assertEquals(CallRegistry.State.REGISTERING, call.getState());
+        assertSame(call, registry.get(callUUID));
+        assertTrue(registry.getCalls().contains(call));
+        assertNull(registry.add(callUUID, null));
+        assertNull(registry.get(null));
+    }
+
+    /**
+     * Calls only move forward, skipping states is fine, and disconnected ones are removed.
+     */
+    @Test
+    public void testMoveForward() {
+        CallRegistry.Call call = add(UUID.randomUUID().toString());
+
+        assertTrue(registry.moveTo(call, CallRegistry.State.PLACING));
+        assertFalse(registry.moveTo(call, CallRegistry.State.PLACING));
+        assertFalse(registry.moveTo(call, CallRegistry.State.REGISTERING));
+        assertEquals(CallRegistry.State.PLACING, call.getState());
+
+        assertTrue(registry.moveTo(call, CallRegistry.State.ACTIVE));
+        assertFalse(registry.moveTo(call, CallRegistry.State.ANSWERED));
+        assertEquals(CallRegistry.State.ACTIVE, call.getState());
+
+        assertTrue(registry.moveTo(call, CallRegistry.State.DISCONNECTED));
+        assertFalse(registry.moveTo(call, CallRegistry.State.DISCONNECTING));
+        assertNull(registry.get(call.getCallUUID()));
+        assertFalse(registry.getCalls().contains(call));
+    }
+
+    /**
+     * When several threads race to make the same transition exactly one of them wins.
+     */
+    @Test
+    public void testRacingTransitions() throws Exception {
+        final int threadCount = 8;
+
+        for (int i = 0; i < 100; i++) {
+            final CallRegistry.Call call = add(UUID.randomUUID().toString());
+            final CountDownLatch start = new CountDownLatch(1);
+            final CountDownLatch done = new CountDownLatch(threadCount);
+            final AtomicInteger winners = new AtomicInteger();
+
+            for (int j = 0; j < threadCount; j++) {
+                // Half of them try to skip ahead, which wins over the others.
+                final CallRegistry.State state
+                    = j % 2 == 0 ? CallRegistry.State.DISCONNECTING : CallRegistry.State.ACTIVE;
+
+                new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            start.await();
+                            if (registry.moveTo(call, state)) {
+                                winners.incrementAndGet();
+                            }
+                        } catch (InterruptedException e) {
+                            // The assertions on the winners fail.
+                        } finally {
+                            done.countDown();
+                        }
+                    }
+                }).start();
+            }
+
+            start.countDown();
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+
+            // Either ACTIVE then DISCONNECTING, or DISCONNECTING only.
+            assertTrue(String.valueOf(winners.get()), winners.get() == 1 || winners.get() == 2);
+            assertEquals(CallRegistry.State.DISCONNECTING, call.getState());
+        }
+    }
+
+    /**
+     * Calls staying in a transitional state for too long are counted, the ones which move on in
+     * time are not.
+     */
+    @Test
+    public void testStuck() throws Exception {
+        long registeringBefore = registry.getStuckCount(CallRegistry.State.REGISTERING);
+        long placingBefore = registry.getStuckCount(CallRegistry.State.PLACING);
+
+        registry.setStuckTimeout(50, TimeUnit.MILLISECONDS);
+
+        add(UUID.randomUUID().toString());
+
+        CallRegistry.Call call = add(UUID.randomUUID().toString());
+
+        registry.moveTo(call, CallRegistry.State.PLACING);
+        registry.moveTo(call, CallRegistry.State.ACTIVE);
+
+        awaitSharedTimerWheel(500);
+
+        assertEquals(
+            registeringBefore + 1, registry.getStuckCount(CallRegistry.State.REGISTERING));
+        assertEquals(placingBefore, registry.getStuckCount(CallRegistry.State.PLACING));
+        assertEquals(
+            Long.valueOf(registeringBefore + 1), registry.getStuckCounts().get("REGISTERING"));
+        assertFalse(registry.getStuckCounts().containsKey("ACTIVE"));
+    }
+
+    private CallRegistry.Call add(String callUUID) {
+        CallRegistry.Call call = registry.add(callUUID, null);
+
+        assertNotNull(call);
+        calls.add(call);
+
+        return call;
+    }
+
+    /**
+     * Waits for the shared wheel to run a task scheduled after the given delay, and with it every
+     * task due earlier.
+     */
+    private static void awaitSharedTimerWheel(long delayMillis) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        TimerWheel.getShared().schedule(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ConferencePrewarmer} class.
+ */
+public class ConferencePrewarmerTest {
+    private final ConferencePrewarmer prewarmer = new ConferencePrewarmer();
+    private final long now = System.nanoTime();
+
+    /**
+     * The options of a prewarmed conference are taken once.
+     */
+    @Test
+    public void testTakeOptions() {
+        JitsiMeetConferenceOptions options = newOptions("room");
+
+        assertNull(prewarmer.takeOptions(now));
+
+        prewarmer.offer(options, now);
+        assertSame(options, prewarmer.takeOptions(now));
+        assertNull(prewarmer.takeOptions(now));
+    }
+
+    /**
+     * Only the last conference is kept.
+     */
+    @Test
+    public void testLastConference() {
+        JitsiMeetConferenceOptions options = newOptions("room2");
+
+        prewarmer.offer(newOptions("room1"), now);
+        prewarmer.offer(options, now);
+
+        assertSame(options, prewarmer.takeOptions(now));
+        assertNull(prewarmer.takeOptions(now));
+    }
+
+    /**
+     * The options aren't taken once they're stale, e.g. the call was never answered.
+     */
+    @Test
+    public void testExpiry() {
+        long ttlNanos = TimeUnit.MILLISECONDS.toNanos(ConferencePrewarmer.OPTIONS_TTL_MILLIS);
+        JitsiMeetConferenceOptions options = newOptions("room");
+
+        prewarmer.offer(options, now);
+        assertSame(options, prewarmer.takeOptions(now + ttlNanos));
+
+        prewarmer.offer(options, now);
+        assertNull(prewarmer.takeOptions(now + ttlNanos + TimeUnit.MILLISECONDS.toNanos(1)));
+        assertNull(prewarmer.takeOptions(now));
+    }
+
+    private static JitsiMeetConferenceOptions newOptions(String room) {
+        return new JitsiMeetConferenceOptions.Builder().setRoom(room).build();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ConnectionService} class, the incoming calls reported with
+ * {@link JitsiMeet#reportIncomingCall}.
+ */
+public class ConnectionServiceTest {
+    /**
+     * The same instance for all the tests, the accounts the pool keeps idle are from it.
+     */
+    private static final PhoneAccountPoolTest.FakeTelecom telecom = new PhoneAccountPoolTest.FakeTelecom();
+
+    private final CallRegistry registry = CallRegistry.getInstance();
+    private final PhoneAccountPool pool = PhoneAccountPool.getInstance();
+    private final List<String> callUUIDs = new ArrayList<>();
+
+    private final JitsiMeet.IncomingCallListener listener = new JitsiMeet.IncomingCallListener() {
+        @Override
+        public void onShowIncomingCallUi(String callUUID) {
+        }
+
+        @Override
+        public void onAnswer(String callUUID) {
+        }
+
+        @Override
+        public void onEnded(String callUUID) {
+        }
+    };
+
+    @Before
+    public void setUp() {
+        telecom.failIncomingCalls = false;
+        pool.setTelecom(telecom);
+    }
+
+    @After
+    public void tearDown() {
+        for (String callUUID : callUUIDs) {
+            CallRegistry.Call call = registry.get(callUUID);
+
+            if (call != null) {
+                registry.moveTo(call, CallRegistry.State.DISCONNECTED);
+            }
+        }
+        pool.setTelecom(null);
+    }
+
+    /**
+     * A reported call is handed to Telecom on a leased account, and there's one call per UUID.
+     */
+    @Test
+    public void testReportIncomingCall() {
+        int leasedCount = pool.getLeasedCount();
+        int incomingCallCount = telecom.incomingCalls.size();
+        String callUUID = reportIncomingCall();
+        CallRegistry.Call call = registry.get(callUUID);
+
+        assertNotNull(call);
+        assertTrue(call.isIncoming());
+        assertEquals(CallRegistry.State.PLACING, call.getState());
+        assertSame(listener, call.getIncomingCallListener());
+        assertEquals(leasedCount + 1, pool.getLeasedCount());
+        assertEquals(incomingCallCount + 1, telecom.incomingCalls.size());
+
+        assertFalse(ConnectionService.addIncomingCall(null, callUUID, "caller", listener));
+        assertEquals(leasedCount + 1, pool.getLeasedCount());
+
+        // Ending the call gives the account back.
+        registry.moveTo(call, CallRegistry.State.DISCONNECTED);
+        assertNull(registry.get(callUUID));
+        assertEquals(leasedCount, pool.getLeasedCount());
+    }
+
+    /**
+     * A call Telecom refuses is forgotten, and its account given back.
+     */
+    @Test
+    public void testReportIncomingCallFailure() {
+        int leasedCount = pool.getLeasedCount();
+        String callUUID = UUID.randomUUID().toString();
+
+        telecom.failIncomingCalls = true;
+
+        assertFalse(ConnectionService.addIncomingCall(null, callUUID, "caller", listener));
+        assertNull(registry.get(callUUID));
+        assertEquals(leasedCount, pool.getLeasedCount());
+    }
+
+    /**
+     * A call is answered once, and can't be rejected once it is.
+     */
+    @Test
+    public void testAnswer() {
+        String callUUID = reportIncomingCall();
+        CallRegistry.Call call = registry.get(callUUID);
+
+        assertTrue(ConnectionService.answerIncomingCall(callUUID));
+        assertEquals(CallRegistry.State.ANSWERED, call.getState());
+
+        assertFalse(ConnectionService.answerIncomingCall(callUUID));
+        assertFalse(ConnectionService.rejectIncomingCall(callUUID));
+        assertEquals(CallRegistry.State.ANSWERED, call.getState());
+
+        assertFalse(ConnectionService.answerIncomingCall(UUID.randomUUID().toString()));
+    }
+
+    /**
+     * A rejected call ends, and can't be answered any more.
+     */
+    @Test
+    public void testReject() {
+        String callUUID = reportIncomingCall();
+        CallRegistry.Call call = registry.get(callUUID);
+
+        assertTrue(ConnectionService.rejectIncomingCall(callUUID));
+        assertEquals(CallRegistry.State.DISCONNECTING, call.getState());
+
+        assertFalse(ConnectionService.answerIncomingCall(callUUID));
+        assertEquals(CallRegistry.State.DISCONNECTING, call.getState());
+
+        assertFalse(ConnectionService.rejectIncomingCall(UUID.randomUUID().toString()));
+    }
+
+    /**
+     * The JS side starting the call of a conference takes over its incoming call, whether it was
+     * answered or not, unless it's ending.
+     */
+    @Test
+    public void testAdoptIncomingCall() {
+        CallRegistry.Call ringing = registry.get(reportIncomingCall());
+
+        assertTrue(ConnectionService.adoptIncomingCall(ringing));
+        assertEquals(CallRegistry.State.ANSWERED, ringing.getState());
+
+        // Joined again.
+        assertTrue(ConnectionService.adoptIncomingCall(ringing));
+        assertEquals(CallRegistry.State.ANSWERED, ringing.getState());
+
+        String callUUID = reportIncomingCall();
+        CallRegistry.Call rejected = registry.get(callUUID);
+
+        assertTrue(ConnectionService.rejectIncomingCall(callUUID));
+        assertFalse(ConnectionService.adoptIncomingCall(rejected));
+
+        CallRegistry.Call outgoing = registry.add(UUID.randomUUID().toString(), null);
+
+        callUUIDs.add(outgoing.getCallUUID());
+        assertFalse(ConnectionService.adoptIncomingCall(outgoing));
+    }
+
+    private String reportIncomingCall() {
+        String callUUID = UUID.randomUUID().toString();
+
+        callUUIDs.add(callUUID);
+        assertTrue(ConnectionService.addIncomingCall(null, callUUID, "caller", listener));
+
+        return callUUID;
+    }
+}
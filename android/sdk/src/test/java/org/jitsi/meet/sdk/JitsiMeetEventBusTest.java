@@ -0,0 +1,126 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link JitsiMeetEventBus} class.
+ */
+public class JitsiMeetEventBusTest {
+    private final JitsiMeetEventBus bus = JitsiMeetEventBus.getInstance();
+
+    /**
+     * Subscribers only get the events of the type they subscribed to, in order, until they
+     * unsubscribe.
+     */
+    @Test
+    public void testTypedSubscription() {
+        final List<String> received = new ArrayList<>();
+
+        JitsiMeetEventBus.Subscription subscription = bus.subscribe(
+            String.class,
+            JitsiMeetEventBus.ThreadMode.CALLER,
+            new JitsiMeetEventBus.Listener<String>() {
+                @Override
+                public void onEvent(String event) {
+                    received.add(event);
+                }
+            });
+
+        assertTrue(bus.hasSubscribers(String.class));
+
+        bus.post("first");
+        bus.post(42);
+        bus.post("second");
+
+        subscription.unsubscribe();
+        bus.post("third");
+
+        assertEquals(2, received.size());
+        assertEquals("first", received.get(0));
+        assertEquals("second", received.get(1));
+        assertFalse(bus.hasSubscribers(String.class));
+    }
+
+    /**
+     * A subscriber which throws does not prevent the others from getting the event.
+     */
+    @Test
+    public void testFailingSubscriber() {
+        final List<Object> received = new ArrayList<>();
+
+        JitsiMeetEventBus.Subscription failing = bus.subscribe(
+            Integer.class,
+            JitsiMeetEventBus.ThreadMode.CALLER,
+            new JitsiMeetEventBus.Listener<Integer>() {
+                @Override
+                public void onEvent(Integer event) {
+                    throw new IllegalStateException();
+                }
+            });
+        JitsiMeetEventBus.Subscription working = bus.subscribe(
+            Integer.class,
+            JitsiMeetEventBus.ThreadMode.CALLER,
+            new JitsiMeetEventBus.Listener<Object>() {
+                @Override
+                public void onEvent(Object event) {
+                    received.add(event);
+                }
+            });
+
+        bus.post(1);
+
+        failing.unsubscribe();
+        working.unsubscribe();
+
+        assertEquals(1, received.size());
+    }
+
+    /**
+     * Background subscribers are called on the bus' own thread.
+     */
+    @Test
+    public void testBackgroundDelivery() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Thread[] deliveryThread = new Thread[1];
+
+        JitsiMeetEventBus.Subscription subscription = bus.subscribe(
+            Long.class,
+            JitsiMeetEventBus.ThreadMode.BACKGROUND,
+            new JitsiMeetEventBus.Listener<Long>() {
+                @Override
+                public void onEvent(Long event) {
+                    deliveryThread[0] = Thread.currentThread();
+                    latch.countDown();
+                }
+            });
+
+        bus.post(1L);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), deliveryThread[0]);
+
+        subscription.unsubscribe();
+    }
+}
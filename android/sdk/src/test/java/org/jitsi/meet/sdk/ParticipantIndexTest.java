@@ -0,0 +1,109 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParticipantIndex} class.
+ */
+public class ParticipantIndexTest {
+    private static ParticipantInfo participant(String id, String displayName, String role) {
+        return new ParticipantInfo(id, displayName, null, null, null, false, role);
+    }
+
+    private static List<String> ids(List<ParticipantInfo> participantsInfo) {
+        List<String> ids = new ArrayList<>();
+
+        for (ParticipantInfo participantInfo : participantsInfo) {
+            ids.add(participantInfo.id);
+        }
+
+        return ids;
+    }
+
+    /**
+     * Any word of the display name can be searched by prefix, ignoring the case and diacritics,
+     * and all the words of the query must match.
+     */
+    @Test
+    public void testSearch() {
+        ParticipantIndex index = new ParticipantIndex();
+
+        index.put(participant("1", "John Smith", "moderator"));
+        index.put(participant("2", "Sm\u00e9agol Jones", "participant"));
+        index.put(participant("3", "Alice", "participant"));
+        index.put(participant("4", null, "participant"));
+
+        assertEquals(Arrays.asList("1", "2"), ids(index.search("jo", 10)));
+        assertEquals(Arrays.asList("2", "1"), ids(index.search("SM", 10)));
+        assertEquals(Arrays.asList("1"), ids(index.search("jo smi", 10)));
+        assertEquals(Arrays.asList("2"), ids(index.search("jo", "participant", 10)));
+        assertEquals(Arrays.asList("1"), ids(index.search("jo", 1)));
+        assertEquals(4, index.search("", 10).size());
+        assertEquals(3, index.search("", "participant", 10).size());
+        assertTrue(index.search("bob", 10).isEmpty());
+        assertTrue(index.search("", "visitor", 10).isEmpty());
+    }
+
+    /**
+     * Updates replace the indexed name and role, and removed participants are no longer found.
+     */
+    @Test
+    public void testUpdateAndRemove() {
+        ParticipantIndex index = new ParticipantIndex();
+
+        index.reset(Arrays.asList(
+            participant("1", "John Smith", "participant"),
+            participant("2", "Jane Doe", "participant")));
+        index.put(participant("1", "Johnny", "moderator"));
+
+        assertTrue(index.search("smith", 10).isEmpty());
+        assertEquals(Arrays.asList("1"), ids(index.search("johnny", "moderator", 10)));
+        assertEquals(1, index.getRoleCount("participant"));
+
+        index.remove("2");
+
+        assertTrue(index.search("jane", 10).isEmpty());
+        assertEquals(0, index.getRoleCount("participant"));
+        assertEquals(1, index.size());
+    }
+
+    /**
+     * Search results are copies, modifying them doesn't affect the index.
+     */
+    @Test
+    public void testSearchReturnsCopies() {
+        ParticipantIndex index = new ParticipantIndex();
+
+        index.put(participant("1", "John Smith", "moderator"));
+
+        ParticipantInfo result = index.search("john", 10).get(0);
+
+        result.displayName = "Jane";
+        result.role = "participant";
+
+        assertEquals(Arrays.asList("1"), ids(index.search("john", "moderator", 10)));
+        assertEquals("John Smith", index.search("john", 10).get(0).displayName);
+        assertTrue(index.search("jane", 10).isEmpty());
+    }
+}
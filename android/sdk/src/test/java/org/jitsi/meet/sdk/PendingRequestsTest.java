@@ -0,0 +1,123 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link PendingRequests} class.
+ */
+public class PendingRequestsTest {
+    private final TimerWheel timerWheel = new TimerWheel(10, 64);
+
+    /**
+     * A response completes its request exactly once.
+     */
+    @Test
+    public void testComplete() throws Exception {
+        PendingRequests<String> requests = new PendingRequests<>("Test", timerWheel);
+        String id = PendingRequests.newId();
+        CompletableFuture<String> future = requests.add(id, 5, TimeUnit.SECONDS);
+
+        assertEquals(1, requests.size());
+        assertTrue(requests.complete(id, "response"));
+        assertFalse(requests.complete(id, "again"));
+        assertEquals("response", future.get(1, TimeUnit.SECONDS));
+        assertEquals(0, requests.size());
+    }
+
+    /**
+     * Requests without a response fail once their timeout expires and are removed.
+     */
+    @Test
+    public void testTimeout() throws Exception {
+        PendingRequests<String> requests = new PendingRequests<>("Test", timerWheel);
+        String id = PendingRequests.newId();
+        CompletableFuture<String> future = requests.add(id, 50, TimeUnit.MILLISECONDS);
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("The request did not time out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+
+        assertEquals(0, requests.size());
+        assertFalse(requests.complete(id, "late"));
+    }
+
+    /**
+     * Cancelling the future withdraws the request.
+     */
+    @Test
+    public void testCancel() {
+        PendingRequests<String> requests = new PendingRequests<>("Test", timerWheel);
+        String id = PendingRequests.newId();
+
+        requests.add(id, 5, TimeUnit.SECONDS).cancel(false);
+
+        assertEquals(0, requests.size());
+        assertFalse(requests.complete(id, "response"));
+    }
+
+    /**
+     * Requests added while the table is full are rejected right away, and every outcome is
+     * counted.
+     */
+    @Test
+    public void testCapacity() throws Exception {
+        PendingRequests<String> requests = new PendingRequests<>("Test", timerWheel, 1);
+        String id = PendingRequests.newId();
+
+        requests.add(id, 5, TimeUnit.SECONDS);
+
+        CompletableFuture<String> rejected
+            = requests.add(PendingRequests.newId(), 5, TimeUnit.SECONDS);
+
+        try {
+            rejected.getNow(null);
+            fail("The request was not rejected");
+        } catch (Exception e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+
+        assertTrue(requests.complete(id, "response"));
+
+        CompletableFuture<String> expired
+            = requests.add(PendingRequests.newId(), 10, TimeUnit.MILLISECONDS);
+
+        // The request is removed and counted before its future fails.
+        try {
+            expired.get(5, TimeUnit.SECONDS);
+            fail("The request did not time out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+
+        assertEquals(0, requests.size());
+        assertEquals(1, requests.getCompletedCount());
+        assertEquals(1, requests.getRejectedCount());
+        assertEquals(1, requests.getExpiredCount());
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import android.os.Bundle;
+import android.telecom.PhoneAccount;
+import android.telecom.PhoneAccountHandle;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link PhoneAccountPool} class.
+ */
+public class PhoneAccountPoolTest {
+    private static final String KEY
+        = PhoneAccountPool.ID_PREFIX + PhoneAccountPool.ID_SEPARATOR + PhoneAccount.SCHEME_SIP
+            + PhoneAccountPool.ID_SEPARATOR + PhoneAccountPool.DEFAULT_CAPABILITIES;
+
+    private final FakeTelecom telecom = new FakeTelecom();
+    private final PhoneAccountPool pool = new PhoneAccountPool(telecom);
+
+    /**
+     * The first lease registers an account, the next ones reuse it once it's released.
+     */
+    @Test
+    public void testReuse() {
+        PhoneAccountHandle handle = lease();
+
+        assertEquals(KEY + ":0", telecom.getId(handle));
+        assertEquals(listOf(KEY + ":0"), telecom.registered);
+        assertEquals(1, pool.getLeasedCount());
+
+        pool.release(handle);
+        assertEquals(0, pool.getLeasedCount());
+
+        assertSame(handle, lease());
+        assertEquals(1, telecom.registered.size());
+        assertEquals(1, pool.getHitCount());
+        assertEquals(1, pool.getMissCount());
+    }
+
+    /**
+     * No more than {@link PhoneAccountPool#MAX_LEASED_ACCOUNTS} accounts are leased at once.
+     */
+    @Test
+    public void testMaxLeased() {
+        List<PhoneAccountHandle> handles = new ArrayList<>();
+
+        for (int i = 0; i < PhoneAccountPool.MAX_LEASED_ACCOUNTS; i++) {
+            handles.add(lease());
+        }
+
+        try {
+            lease();
+            fail("Too many accounts were leased");
+        } catch (IllegalStateException e) {
+            // Expected.
+        }
+
+        pool.release(handles.get(0));
+        assertSame(handles.get(0), lease());
+    }
+
+    /**
+     * An account which fails to be registered isn't leased.
+     */
+    @Test
+    public void testRegisterFailure() {
+        telecom.failRegistrations = true;
+
+        try {
+            lease();
+            fail("The registration didn't fail");
+        } catch (UnsupportedOperationException e) {
+            // Expected.
+        }
+
+        assertEquals(0, pool.getLeasedCount());
+
+        telecom.failRegistrations = false;
+        lease();
+        assertEquals(1, pool.getLeasedCount());
+    }
+
+    /**
+     * Accounts which aren't from the pool are unregistered rather than kept.
+     */
+    @Test
+    public void testReleaseForeign() {
+        PhoneAccountHandle handle = telecom.newHandle("call-uuid");
+
+        pool.release(handle);
+
+        assertEquals(listOf("call-uuid"), telecom.unregistered);
+        assertEquals(KEY + ":0", telecom.getId(lease()));
+    }
+
+    /**
+     * The accounts of the pool registered by a previous run are taken back, without reusing
+     * their ids, and anything else is unregistered.
+     */
+    @Test
+    public void testCleanUp() {
+        PhoneAccountHandle previous = telecom.newHandle(KEY + ":5");
+
+        telecom.accounts.add(previous);
+        telecom.accounts.add(telecom.newHandle("call-uuid"));
+        pool.cleanUp();
+
+        assertEquals(listOf("call-uuid"), telecom.unregistered);
+        assertSame(previous, lease());
+        assertEquals(KEY + ":6", telecom.getId(lease()));
+        assertEquals(listOf(KEY + ":6"), telecom.registered);
+    }
+
+    /**
+     * An account a call registers again while the accounts of the previous run are being taken
+     * back is not made idle as well, so it's never leased twice.
+     */
+    @Test
+    public void testCleanUpRacingLease() throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            FakeTelecom telecom = new FakeTelecom();
+            final PhoneAccountPool pool = new PhoneAccountPool(telecom);
+            final CountDownLatch start = new CountDownLatch(1);
+
+            // Left behind by the previous run, with the id the first lease would get.
+            telecom.accounts.add(telecom.newHandle(KEY + ":0"));
+
+            Thread cleaner = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        pool.cleanUp();
+                    } catch (InterruptedException e) {
+                        // The cleanUp is missing, the assertions fail.
+                    }
+                }
+            });
+
+            cleaner.start();
+            start.countDown();
+
+            Set<String> ids = new HashSet<>();
+
+            ids.add(telecom.getId(pool.lease(null, PhoneAccount.SCHEME_SIP, PhoneAccountPool.DEFAULT_CAPABILITIES)));
+            cleaner.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(cleaner.isAlive());
+
+            for (int j = 1; j < PhoneAccountPool.MAX_LEASED_ACCOUNTS; j++) {
+                ids.add(telecom.getId(pool.lease(null, PhoneAccount.SCHEME_SIP, PhoneAccountPool.DEFAULT_CAPABILITIES)));
+            }
+
+            assertEquals(ids.toString(), PhoneAccountPool.MAX_LEASED_ACCOUNTS, ids.size());
+        }
+    }
+
+    private PhoneAccountHandle lease() {
+        return pool.lease(null, PhoneAccount.SCHEME_SIP, PhoneAccountPool.DEFAULT_CAPABILITIES);
+    }
+
+    private static List<String> listOf(String... items) {
+        List<String> list = new ArrayList<>();
+
+        for (String item : items) {
+            list.add(item);
+        }
+
+        return list;
+    }
+
+    /**
+     * Keeps the ids of the handles itself, the ones of the Android stubs have none.
+     */
+    static class FakeTelecom implements PhoneAccountPool.Telecom {
+        final List<PhoneAccountHandle> accounts = new ArrayList<>();
+        final List<String> registered = new ArrayList<>();
+        final List<String> unregistered = new ArrayList<>();
+        final List<String> incomingCalls = new ArrayList<>();
+        volatile boolean failRegistrations;
+        volatile boolean failIncomingCalls;
+
+        private final Map<PhoneAccountHandle, String> ids = new IdentityHashMap<>();
+
+        @Override
+        public synchronized List<PhoneAccountHandle> getAccounts() {
+            return new ArrayList<>(accounts);
+        }
+
+        @Override
+        public synchronized PhoneAccountHandle newHandle(String id) {
+            PhoneAccountHandle handle = new PhoneAccountHandle(null, id);
+
+            ids.put(handle, id);
+
+            return handle;
+        }
+
+        @Override
+        public synchronized String getId(PhoneAccountHandle handle) {
+            return ids.get(handle);
+        }
+
+        @Override
+        public synchronized void register(PhoneAccountHandle handle, String scheme, int capabilities) {
+            if (failRegistrations) {
+                throw new UnsupportedOperationException("System does not support feature");
+            }
+            registered.add(ids.get(handle));
+        }
+
+        @Override
+        public synchronized void unregister(PhoneAccountHandle handle) {
+            unregistered.add(ids.get(handle));
+        }
+
+        @Override
+        public synchronized void addNewIncomingCall(PhoneAccountHandle handle, Bundle extras) {
+            if (failIncomingCalls) {
+                throw new SecurityException("This PhoneAccountHandle is not enabled");
+            }
+            incomingCalls.add(ids.get(handle));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TimerWheel} class.
+ */
+public class TimerWheelTest {
+    private static final long TICK_MILLIS = 10;
+
+    private final TimerWheel timerWheel = new TimerWheel(TICK_MILLIS, 8);
+
+    private final List<String> ran = new ArrayList<>();
+
+    @After
+    public void tearDown() throws InterruptedException {
+        // Nothing may be left running for the next test.
+        await(schedule("last", 0));
+    }
+
+    /**
+     * A task never runs before its delay.
+     */
+    @Test
+    public void testDelay() throws InterruptedException {
+        long scheduledAtNanos = System.nanoTime();
+        CountDownLatch latch = schedule("task", 50);
+
+        await(latch);
+
+        assertTrue(System.nanoTime() - scheduledAtNanos >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(0, timerWheel.size());
+    }
+
+    /**
+     * Tasks run in the order of their deadlines, whatever the order they were scheduled in, even
+     * when they are further away than a full turn of the wheel.
+     */
+    @Test
+    public void testOrder() throws InterruptedException {
+        // A turn of the wheel is 80ms.
+        CountDownLatch last = schedule("c", 200);
+
+        schedule("b", 100);
+        schedule("a", 20);
+
+        await(last);
+
+        assertEquals(listOf("a", "b", "c"), ran());
+    }
+
+    /**
+     * Cancelled tasks don't run and are swept from the wheel.
+     */
+    @Test
+    public void testCancel() throws InterruptedException {
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        TimerWheel.Timeout timeout = timerWheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+                cancelled.countDown();
+            }
+        }, 20, TimeUnit.MILLISECONDS);
+
+        timeout.cancel();
+        assertTrue(timeout.isCancelled());
+        assertEquals(1, timerWheel.size());
+
+        await(schedule("after", 50));
+
+        assertEquals(1, cancelled.getCount());
+        assertEquals(0, timerWheel.size());
+    }
+
+    /**
+     * A task which fails doesn't keep the others from running.
+     */
+    @Test
+    public void testFailingTask() throws InterruptedException {
+        timerWheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("boom");
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+
+        await(schedule("after", 10));
+    }
+
+    /**
+     * The wheel goes idle once it's empty, and ticks again when a task is scheduled.
+     */
+    @Test
+    public void testRestart() throws InterruptedException {
+        await(schedule("first", 10));
+        assertEquals(0, timerWheel.size());
+
+        await(schedule("second", 10));
+        assertEquals(listOf("first", "second"), ran());
+    }
+
+    /**
+     * The size of the wheel has to be a power of two.
+     */
+    @Test
+    public void testWheelSize() {
+        try {
+            new TimerWheel(TICK_MILLIS, 100);
+            fail("The size was accepted");
+        } catch (IllegalArgumentException e) {
+            // Expected.
+        }
+    }
+
+    private CountDownLatch schedule(final String name, long delayMillis) {
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        timerWheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (ran) {
+                    ran.add(name);
+                }
+                latch.countDown();
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+
+        return latch;
+    }
+
+    private List<String> ran() {
+        synchronized (ran) {
+            return new ArrayList<>(ran);
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws InterruptedException {
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    private static List<String> listOf(String... items) {
+        List<String> list = new ArrayList<>();
+
+        for (String item : items) {
+            list.add(item);
+        }
+
+        return list;
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk.log;
+
+import android.util.Log;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link AsyncLogHandler} class.
+ */
+public class AsyncLogHandlerTest {
+    private static final String TAG = AsyncLogHandlerTest.class.getSimpleName();
+
+    private RecordingHandler delegate;
+    private AsyncLogHandler handler;
+
+    @After
+    public void tearDown() throws Exception {
+        if (delegate != null) {
+            delegate.release();
+        }
+        if (handler != null) {
+            handler.close();
+        }
+    }
+
+    /**
+     * Records are written through the delegate, in order, off the calling thread.
+     */
+    @Test
+    public void testWritesInOrder() throws Exception {
+        delegate = new RecordingHandler(false);
+        handler = new AsyncLogHandler(delegate, 128, AsyncLogHandler.OverflowPolicy.DROP_OLDEST);
+
+        for (int i = 0; i < 100; i++) {
+            handler.log(Log.INFO, null, "msg" + i, null);
+        }
+        handler.close();
+
+        List<String> messages = delegate.getMessages();
+
+        assertEquals(100, messages.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("msg" + i, messages.get(i));
+        }
+        assertFalse(delegate.getThreads().contains(Thread.currentThread()));
+        assertEquals(0, handler.getDroppedCount());
+    }
+
+    /**
+     * With {@link AsyncLogHandler.OverflowPolicy#DROP_OLDEST} the newest records are kept.
+     */
+    @Test
+    public void testOverflowDropOldest() throws Exception {
+        delegate = new RecordingHandler(true);
+        handler = new AsyncLogHandler(delegate, 4, AsyncLogHandler.OverflowPolicy.DROP_OLDEST);
+
+        fillWhileBlocked(10);
+
+        assertEquals(5, handler.getDroppedCount());
+
+        delegate.release();
+        handler.close();
+
+        // The blocked record, then the last 4.
+        assertEquals(
+            listOf("msg0", "msg6", "msg7", "msg8", "msg9", "Dropped 5 log records (buffer full)"),
+            delegate.getMessages());
+    }
+
+    /**
+     * With {@link AsyncLogHandler.OverflowPolicy#DROP_NEWEST} the oldest records are kept.
+     */
+    @Test
+    public void testOverflowDropNewest() throws Exception {
+        delegate = new RecordingHandler(true);
+        handler = new AsyncLogHandler(delegate, 4, AsyncLogHandler.OverflowPolicy.DROP_NEWEST);
+
+        fillWhileBlocked(10);
+
+        assertEquals(5, handler.getDroppedCount());
+
+        delegate.release();
+        handler.close();
+
+        assertEquals(
+            listOf("msg0", "msg1", "msg2", "msg3", "msg4", "Dropped 5 log records (buffer full)"),
+            delegate.getMessages());
+    }
+
+    /**
+     * Drops are reported once per batch, with the count since the previous report.
+     */
+    @Test
+    public void testDropAccounting() throws Exception {
+        delegate = new RecordingHandler(true);
+        handler = new AsyncLogHandler(delegate, 2, AsyncLogHandler.OverflowPolicy.DROP_NEWEST);
+
+        fillWhileBlocked(6);
+        assertEquals(3, handler.getDroppedCount());
+
+        delegate.release();
+        delegate.awaitMessage("Dropped 3 log records (buffer full)");
+
+        delegate.block();
+        fillWhileBlocked(4);
+        assertEquals(4, handler.getDroppedCount());
+
+        delegate.release();
+        handler.close();
+
+        List<String> warnings = new ArrayList<>();
+
+        for (String msg : delegate.getMessages()) {
+            if (msg.startsWith("Dropped")) {
+                warnings.add(msg);
+            }
+        }
+
+        assertEquals(
+            listOf("Dropped 3 log records (buffer full)", "Dropped 1 log records (buffer full)"),
+            warnings);
+        assertEquals(Log.WARN, delegate.getPriority("Dropped 1 log records (buffer full)"));
+    }
+
+    /**
+     * Closing writes everything which is still buffered before the drain thread stops, and
+     * records logged afterwards are written on the calling thread.
+     */
+    @Test
+    public void testCloseDrains() throws Exception {
+        delegate = new RecordingHandler(true);
+        handler = new AsyncLogHandler(delegate, 16, AsyncLogHandler.OverflowPolicy.DROP_NEWEST);
+
+        fillWhileBlocked(8);
+
+        final AsyncLogHandler closing = handler;
+        Thread closer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    closing.close();
+                } catch (InterruptedException e) {
+                    // The assertion on the messages fails.
+                }
+            }
+        });
+
+        closer.start();
+        delegate.release();
+        closer.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(closer.isAlive());
+        assertEquals(8, delegate.getMessages().size());
+
+        handler.log(Log.INFO, null, "after close", null);
+
+        assertEquals("after close", delegate.getMessages().get(8));
+        assertTrue(delegate.getThreads().contains(Thread.currentThread()));
+    }
+
+    /**
+     * Flushing takes turns with the drain thread: it waits for the record being written, and
+     * the delegate never writes two records at once or out of order.
+     */
+    @Test
+    public void testFlush() throws Exception {
+        delegate = new RecordingHandler(true);
+        handler = new AsyncLogHandler(delegate, 16, AsyncLogHandler.OverflowPolicy.DROP_NEWEST);
+
+        fillWhileBlocked(5);
+
+        final AsyncLogHandler flushing = handler;
+        Thread flusher = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                flushing.flush();
+            }
+        });
+
+        flusher.start();
+        delegate.release();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(flusher.isAlive());
+        assertEquals(listOf("msg0", "msg1", "msg2", "msg3", "msg4"), delegate.getMessages());
+        assertEquals(1, delegate.getMaxConcurrentWrites());
+    }
+
+    /**
+     * Logs {@code count} records, the first of which blocks the drain thread in the delegate
+     * until it's released.
+     */
+    private void fillWhileBlocked(int count) throws InterruptedException {
+        handler.log(Log.INFO, null, "msg0", null);
+        assertTrue(delegate.awaitBlocked());
+
+        for (int i = 1; i < count; i++) {
+            handler.log(Log.INFO, null, "msg" + i, null);
+        }
+    }
+
+    private static List<String> listOf(String... items) {
+        List<String> list = new ArrayList<>();
+
+        for (String item : items) {
+            list.add(item);
+        }
+
+        return list;
+    }
+
+    /**
+     * Handler which records what it writes, and can block the thread writing until released.
+     */
+    private static class RecordingHandler extends JitsiMeetBaseLogHandler {
+        private final List<String> messages = new ArrayList<>();
+        private final List<Integer> priorities = new ArrayList<>();
+        private final List<Thread> threads = new ArrayList<>();
+
+        private int concurrentWrites;
+        private int maxConcurrentWrites;
+
+        private CountDownLatch blocked;
+        private CountDownLatch released;
+
+        RecordingHandler(boolean blocking) {
+            if (blocking) {
+                block();
+            }
+        }
+
+        /**
+         * Makes the next write block until {@link #release()}.
+         */
+        synchronized void block() {
+            blocked = new CountDownLatch(1);
+            released = new CountDownLatch(1);
+        }
+
+        synchronized void release() {
+            if (released != null) {
+                released.countDown();
+            }
+        }
+
+        boolean awaitBlocked() throws InterruptedException {
+            CountDownLatch latch;
+
+            synchronized (this) {
+                latch = blocked;
+            }
+
+            return latch == null || latch.await(10, TimeUnit.SECONDS);
+        }
+
+        void awaitMessage(String msg) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+            synchronized (this) {
+                while (!messages.contains(msg)) {
+                    long remainingMillis
+                        = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+
+                    assertTrue("Timed out waiting for " + msg, remainingMillis > 0);
+                    wait(remainingMillis);
+                }
+            }
+        }
+
+        synchronized List<String> getMessages() {
+            return new ArrayList<>(messages);
+        }
+
+        synchronized List<Thread> getThreads() {
+            return new ArrayList<>(threads);
+        }
+
+        synchronized int getMaxConcurrentWrites() {
+            return maxConcurrentWrites;
+        }
+
+        synchronized int getPriority(String msg) {
+            return priorities.get(messages.indexOf(msg));
+        }
+
+        @Override
+        protected void doLog(int priority, @NotNull String tag, @NotNull String msg) {
+            CountDownLatch blocked;
+            CountDownLatch released;
+
+            synchronized (this) {
+                blocked = this.blocked;
+                released = this.released;
+                this.blocked = null;
+                maxConcurrentWrites = Math.max(maxConcurrentWrites, ++concurrentWrites);
+                messages.add(msg);
+                priorities.add(priority);
+                threads.add(Thread.currentThread());
+                notifyAll();
+            }
+
+            if (blocked != null) {
+                blocked.countDown();
+                try {
+                    released.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            synchronized (this) {
+                concurrentWrites--;
+            }
+        }
+
+        @Override
+        protected String getDefaultTag() {
+            return TAG;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk.log;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.util.Log;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link JitsiMeetFileLogHandler} class.
+ */
+public class JitsiMeetFileLogHandlerTest {
+    /**
+     * Size of the header of each segment.
+     */
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     * Size of the lines written by {@link #writeLines}, e.g.
+     * "2024-01-01 00:00:00.000 I/JitsiMeetSDK: msg00\n".
+     */
+    private static final int LINE_SIZE = 46;
+
+    private File filesDir;
+    private Context context;
+
+    @Before
+    public void setUp() throws IOException {
+        filesDir = File.createTempFile("JitsiMeetFileLogHandlerTest", "");
+        assertTrue(filesDir.delete());
+        assertTrue(filesDir.mkdirs());
+
+        context = new ContextWrapper(null) {
+            @Override
+            public File getFilesDir() {
+                return filesDir;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        delete(filesDir);
+    }
+
+    /**
+     * Records are exported in the order they were written, in logcat's format.
+     */
+    @Test
+    public void testExport() throws IOException {
+        JitsiMeetFileLogHandler handler = new JitsiMeetFileLogHandler(context);
+
+        handler.doLog(Log.INFO, "JitsiMeetSDK", "first");
+        handler.doLog(Log.ERROR, "JitsiMeetSDK", "second");
+
+        List<String> lines = export(handler);
+
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0), lines.get(0).endsWith(" I/JitsiMeetSDK: first"));
+        assertTrue(lines.get(1), lines.get(1).endsWith(" E/JitsiMeetSDK: second"));
+    }
+
+    /**
+     * Once all the segments are full the oldest one is reused, and the export still starts with
+     * the oldest record left.
+     */
+    @Test
+    public void testRotation() throws IOException {
+        // Room for 2 lines per segment.
+        JitsiMeetFileLogHandler handler
+            = new JitsiMeetFileLogHandler(context, 2, HEADER_SIZE + 2 * LINE_SIZE + 8);
+
+        writeLines(handler, 0, 10);
+
+        // Segments hold {6, 7} and {8, 9}, everything else was overwritten.
+        assertEquals(listOf("msg06", "msg07", "msg08", "msg09"), messagesOf(export(handler)));
+    }
+
+    /**
+     * The segment files keep their size however much is logged, and a record larger than a
+     * segment is truncated to fit.
+     */
+    @Test
+    public void testSizeCap() throws IOException {
+        int segmentSize = HEADER_SIZE + 2 * LINE_SIZE;
+        JitsiMeetFileLogHandler handler = new JitsiMeetFileLogHandler(context, 3, segmentSize);
+
+        writeLines(handler, 0, 50);
+
+        StringBuilder longMessage = new StringBuilder();
+
+        for (int i = 0; i < segmentSize; i++) {
+            longMessage.append('x');
+        }
+        handler.doLog(Log.INFO, "JitsiMeetSDK", longMessage.toString());
+
+        File[] files = handler.getDirectory().listFiles();
+
+        assertNotNull(files);
+        assertEquals(3, files.length);
+        for (File file : files) {
+            assertEquals(segmentSize, file.length());
+        }
+
+        List<String> lines = export(handler);
+        String last = lines.get(lines.size() - 1);
+
+        assertEquals(segmentSize - HEADER_SIZE, last.length());
+        assertTrue(last.endsWith("xxxx"));
+    }
+
+    /**
+     * A new handler on the same files resumes after the records of the previous one.
+     */
+    @Test
+    public void testResume() throws IOException {
+        int segmentSize = HEADER_SIZE + 2 * LINE_SIZE + 8;
+
+        writeLines(new JitsiMeetFileLogHandler(context, 3, segmentSize), 0, 3);
+
+        JitsiMeetFileLogHandler handler = new JitsiMeetFileLogHandler(context, 3, segmentSize);
+
+        writeLines(handler, 3, 2);
+
+        assertEquals(
+            listOf("msg00", "msg01", "msg02", "msg03", "msg04"),
+            messagesOf(export(handler)));
+    }
+
+    private static void writeLines(JitsiMeetFileLogHandler handler, int first, int count) {
+        for (int i = first; i < first + count; i++) {
+            handler.doLog(Log.INFO, "JitsiMeetSDK", String.format("msg%02d", i));
+        }
+    }
+
+    private static List<String> export(JitsiMeetFileLogHandler handler) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        handler.export(out);
+
+        InputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()));
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+
+        for (int n; (n = in.read(buffer)) != -1; ) {
+            text.write(buffer, 0, n);
+        }
+
+        List<String> lines = new ArrayList<>();
+
+        for (String line : new String(text.toByteArray(), "UTF-8").split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(line);
+            }
+        }
+
+        return lines;
+    }
+
+    private static List<String> messagesOf(List<String> lines) {
+        List<String> messages = new ArrayList<>();
+
+        for (String line : lines) {
+            assertEquals(line, LINE_SIZE - 1, line.length());
+            messages.add(line.substring(line.lastIndexOf(' ') + 1));
+        }
+
+        return messages;
+    }
+
+    private static List<String> listOf(String... items) {
+        List<String> list = new ArrayList<>();
+
+        for (String item : items) {
+            list.add(item);
+        }
+
+        return list;
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk.log;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.util.Log;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link JitsiMeetFlightRecorder} class.
+ */
+public class JitsiMeetFlightRecorderTest {
+    private File filesDir;
+    private Context context;
+    private JitsiMeetFlightRecorder recorder;
+
+    @Before
+    public void setUp() throws IOException {
+        filesDir = File.createTempFile("JitsiMeetFlightRecorderTest", "");
+        assertTrue(filesDir.delete());
+        assertTrue(filesDir.mkdirs());
+
+        context = new ContextWrapper(null) {
+            @Override
+            public File getFilesDir() {
+                return filesDir;
+            }
+        };
+
+        recorder = new JitsiMeetFlightRecorder(4);
+        recorder.setCrashReportFile(JitsiMeetFlightRecorder.getCrashReportFile(context));
+    }
+
+    @After
+    public void tearDown() {
+        JitsiMeetFlightRecorder.deleteLastCrashReport(context);
+        filesDir.delete();
+    }
+
+    /**
+     * The report starts with the uncaught exception, followed by the records, oldest first.
+     */
+    @Test
+    public void testDump() {
+        recorder.doLog(Log.INFO, "JitsiMeetSDK", "joined");
+        recorder.doLog(Log.ERROR, "JitsiMeetSDK", "failed");
+
+        Thread thread = new Thread("worker");
+
+        recorder.dump(thread, new IllegalStateException("boom"));
+
+        String report = JitsiMeetFlightRecorder.getLastCrashReport(context);
+
+        assertNotNull(report);
+
+        String[] lines = report.split("\n");
+
+        assertTrue(lines[0], lines[0].startsWith("Uncaught exception in thread worker at "));
+        assertEquals("java.lang.IllegalStateException: boom", lines[1].trim());
+
+        int records = report.indexOf("Recent records (oldest first):");
+
+        assertTrue(records > 0);
+
+        String history = report.substring(records);
+        int joined = history.indexOf(" I joined\n");
+        int failed = history.indexOf(" E failed\n");
+
+        assertTrue(history, joined > 0);
+        assertTrue(history, failed > joined);
+    }
+
+    /**
+     * Only the most recent records, up to the capacity, make it to the report.
+     */
+    @Test
+    public void testDumpKeepsLatest() {
+        for (int i = 0; i < 10; i++) {
+            recorder.doLog(Log.DEBUG, "JitsiMeetSDK", "msg" + i);
+        }
+
+        recorder.dump(new Thread("worker"), new RuntimeException());
+
+        String report = JitsiMeetFlightRecorder.getLastCrashReport(context);
+
+        assertNotNull(report);
+
+        String history = report.substring(report.indexOf("Recent records (oldest first):"));
+
+        for (int i = 0; i < 6; i++) {
+            assertFalse(history, history.contains(" D msg" + i + "\n"));
+        }
+
+        int previous = 0;
+
+        for (int i = 6; i < 10; i++) {
+            int index = history.indexOf(" D msg" + i + "\n");
+
+            assertTrue(history, index > previous);
+            previous = index;
+        }
+    }
+
+    /**
+     * There's no report until one is dumped, and none once it's deleted.
+     */
+    @Test
+    public void testDeleteLastCrashReport() {
+        assertNull(JitsiMeetFlightRecorder.getLastCrashReport(context));
+
+        recorder.dump(new Thread("worker"), new RuntimeException());
+        assertNotNull(JitsiMeetFlightRecorder.getLastCrashReport(context));
+
+        JitsiMeetFlightRecorder.deleteLastCrashReport(context);
+        assertNull(JitsiMeetFlightRecorder.getLastCrashReport(context));
+    }
+}
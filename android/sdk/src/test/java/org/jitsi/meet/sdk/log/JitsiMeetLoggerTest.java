@@ -0,0 +1,191 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk.log;
+
+import android.util.Log;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests for {@link JitsiMeetLogger} class.
+ */
+public class JitsiMeetLoggerTest {
+    private static final String TAG = JitsiMeetLoggerTest.class.getSimpleName();
+
+    private static final int ITERATIONS = 100000;
+
+    @After
+    public void tearDown() {
+        JitsiMeetLogger.setMinLevel(Log.VERBOSE);
+        JitsiMeetLogger.setRateLimit(
+            JitsiMeetLogger.DEFAULT_RATE_LIMIT, JitsiMeetLogger.DEFAULT_RATE_LIMIT_BURST);
+    }
+
+    /**
+     * Messages below the minimum level are not loggable.
+     */
+    @Test
+    public void testIsLoggable() {
+        JitsiMeetLogger.setMinLevel(Log.INFO);
+
+        assertFalse(JitsiMeetLogger.isLoggable(Log.VERBOSE));
+        assertFalse(JitsiMeetLogger.isLoggable(Log.DEBUG));
+        assertTrue(JitsiMeetLogger.isLoggable(Log.INFO));
+        assertTrue(JitsiMeetLogger.isLoggable(Log.ERROR));
+    }
+
+    /**
+     * A batch reaches each handler in a single call, without the records below the minimum
+     * level.
+     */
+    @Test
+    public void testLogBatch() {
+        JitsiMeetLogger.setMinLevel(Log.INFO);
+
+        BatchRecordingHandler handler = new BatchRecordingHandler();
+
+        JitsiMeetLogger.addHandler(handler);
+        try {
+            JitsiMeetLogger.logBatch(
+                new int[] { Log.DEBUG, Log.INFO, Log.VERBOSE, Log.ERROR },
+                TAG,
+                new String[] { "debug", "info", "verbose", "error" },
+                4);
+        } finally {
+            JitsiMeetLogger.removeHandler(handler);
+        }
+
+        assertEquals(1, handler.batches);
+        assertEquals(2, handler.messages.size());
+        assertEquals("info", handler.messages.get(0));
+        assertEquals("error", handler.messages.get(1));
+        assertEquals(Log.ERROR, (int) handler.priorities.get(1));
+    }
+
+    /**
+     * Messages built at runtime share their level's budget instead of getting a key each, and
+     * errors are never rate limited.
+     */
+    @Test
+    public void testRateLimit() {
+        JitsiMeetLogger.setRateLimit(1, 3);
+
+        BatchRecordingHandler handler = new BatchRecordingHandler();
+
+        JitsiMeetLogger.addHandler(handler);
+        try {
+            for (int i = 0; i < 10; i++) {
+                JitsiMeetLogger.w(TAG + " Unknown action received: " + i);
+                JitsiMeetLogger.e(TAG + " Failed to get IPv6 address for: " + i);
+                JitsiMeetLogger.e("%s Failed to release call %d", TAG, i);
+            }
+        } finally {
+            JitsiMeetLogger.removeHandler(handler);
+        }
+
+        int warnings = 0;
+        int errors = 0;
+
+        for (int priority : handler.priorities) {
+            if (priority == Log.ERROR) {
+                errors++;
+            } else {
+                warnings++;
+            }
+        }
+
+        assertTrue("warnings logged: " + warnings, warnings >= 1 && warnings <= 3);
+        assertEquals(20, errors);
+    }
+
+    /**
+     * Microbenchmark which checks that a {@code d()} call for a disabled level does not
+     * allocate, including the ones taking a {@link Throwable}, using the HotSpot per-thread
+     * allocation counter.
+     */
+    @Test
+    public void testDisabledDebugDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threadMXBean
+            = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        JitsiMeetLogger.setMinLevel(Log.INFO);
+
+        long threadId = Thread.currentThread().getId();
+        Object device = "SPEAKER";
+        Throwable error = new IllegalStateException();
+
+        // Warm up, so class loading and the counter itself are not accounted for.
+        for (int i = 0; i < ITERATIONS; i++) {
+            logDisabled(device, error, i);
+        }
+        threadMXBean.getThreadAllocatedBytes(threadId);
+
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            logDisabled(device, error, i);
+        }
+
+        long after = threadMXBean.getThreadAllocatedBytes(threadId);
+
+        assertEquals("bytes allocated by disabled d() calls", 0, after - before);
+    }
+
+    private static void logDisabled(Object device, Throwable error, int i) {
+        JitsiMeetLogger.d("Audio devices added");
+        JitsiMeetLogger.d("%s Audio devices added", TAG);
+        JitsiMeetLogger.d("%s Update audio route for mode: %d", TAG, i);
+        JitsiMeetLogger.d("%s Selected audio device: %s", TAG, device);
+        JitsiMeetLogger.d("%s %s available: %b", TAG, device, true);
+        JitsiMeetLogger.d(error, "%s Failed to select audio device", TAG);
+        JitsiMeetLogger.d(error, "%s Failed to select audio device: %s", TAG, device);
+    }
+
+    private static class BatchRecordingHandler extends JitsiMeetBaseLogHandler {
+        int batches;
+        final List<Integer> priorities = new ArrayList<>();
+        final List<String> messages = new ArrayList<>();
+
+        @Override
+        protected void logBatch(int[] priorities, String[] messages, int count) {
+            batches++;
+            super.logBatch(priorities, messages, count);
+        }
+
+        @Override
+        protected void doLog(int priority, @NotNull String tag, @NotNull String msg) {
+            priorities.add(priority);
+            messages.add(msg);
+        }
+
+        @Override
+        protected String getDefaultTag() {
+            return TAG;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk.log;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link LogRateLimiter} class.
+ */
+public class LogRateLimiterTest {
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final List<Object> suppressedKeys = new ArrayList<>();
+    private final List<Long> suppressedCounts = new ArrayList<>();
+
+    private LogRateLimiter rateLimiter;
+    private long now;
+
+    @Before
+    public void setUp() {
+        // 10 messages per second, i.e. a token every 100ms, and bursts of 2.
+        rateLimiter = new LogRateLimiter(10, 2, new LogRateLimiter.SuppressionListener() {
+            @Override
+            public void onSuppressed(Object key, long count) {
+                suppressedKeys.add(key);
+                suppressedCounts.add(count);
+            }
+        });
+        now = System.nanoTime();
+    }
+
+    /**
+     * A key gets its burst right away, then tokens come back at the configured rate.
+     */
+    @Test
+    public void testRefill() {
+        assertTrue(rateLimiter.tryAcquire("key", now));
+        assertTrue(rateLimiter.tryAcquire("key", now));
+        assertFalse(rateLimiter.tryAcquire("key", now));
+
+        assertFalse(rateLimiter.tryAcquire("key", now + 50 * MILLIS));
+        assertTrue(rateLimiter.tryAcquire("key", now + 100 * MILLIS));
+        assertFalse(rateLimiter.tryAcquire("key", now + 100 * MILLIS));
+
+        // Idle long enough for the whole burst to be available again, but not more.
+        assertTrue(rateLimiter.tryAcquire("key", now + 1000 * MILLIS));
+        assertTrue(rateLimiter.tryAcquire("key", now + 1000 * MILLIS));
+        assertFalse(rateLimiter.tryAcquire("key", now + 1000 * MILLIS));
+    }
+
+    /**
+     * What was suppressed is reported once a message for the key gets through again.
+     */
+    @Test
+    public void testSuppressionReport() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("key", now);
+        }
+
+        assertTrue(suppressedKeys.isEmpty());
+
+        assertTrue(rateLimiter.tryAcquire("key", now + 100 * MILLIS));
+        assertEquals(1, suppressedKeys.size());
+        assertEquals("key", suppressedKeys.get(0));
+        assertEquals(3L, (long) suppressedCounts.get(0));
+    }
+
+    /**
+     * Keys with the same hash code don't share a bucket.
+     */
+    @Test
+    public void testCollision() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        assertTrue(rateLimiter.tryAcquire("Aa", now));
+        assertTrue(rateLimiter.tryAcquire("Aa", now));
+        assertFalse(rateLimiter.tryAcquire("Aa", now));
+
+        assertTrue(rateLimiter.tryAcquire("BB", now));
+        assertTrue(rateLimiter.tryAcquire("BB", now));
+        assertFalse(rateLimiter.tryAcquire("BB", now));
+    }
+
+    /**
+     * Equal keys share a bucket even when they are different instances.
+     */
+    @Test
+    public void testEqualKeys() {
+        assertTrue(rateLimiter.tryAcquire(new String("key"), now));
+        assertTrue(rateLimiter.tryAcquire(new String("key"), now));
+        assertFalse(rateLimiter.tryAcquire(new String("key"), now));
+    }
+
+    /**
+     * When all the slots a key could use are taken, the bucket at its home slot is recycled,
+     * reporting what its previous key had suppressed.
+     */
+    @Test
+    public void testEviction() {
+        List<String> keys = keysWithSameHome(LogRateLimiter.MAX_PROBES + 1);
+        String first = keys.get(0);
+
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(first, now);
+        }
+        for (int i = 1; i < LogRateLimiter.MAX_PROBES; i++) {
+            assertTrue(rateLimiter.tryAcquire(keys.get(i), now));
+        }
+
+        assertTrue(suppressedKeys.isEmpty());
+
+        String last = keys.get(LogRateLimiter.MAX_PROBES);
+
+        assertTrue(rateLimiter.tryAcquire(last, now));
+        assertEquals(1, suppressedKeys.size());
+        assertEquals(first, suppressedKeys.get(0));
+        assertEquals(1L, (long) suppressedCounts.get(0));
+
+        // The first key was evicted, so it starts over with a full burst.
+        assertTrue(rateLimiter.tryAcquire(first, now));
+        assertTrue(rateLimiter.tryAcquire(first, now));
+        assertFalse(rateLimiter.tryAcquire(first, now));
+
+        // The other keys kept their buckets.
+        assertTrue(rateLimiter.tryAcquire(keys.get(1), now));
+        assertFalse(rateLimiter.tryAcquire(keys.get(1), now));
+    }
+
+    /**
+     * A rate of {@code 0} disables rate limiting.
+     */
+    @Test
+    public void testDisabled() {
+        rateLimiter.setRate(0, 0);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(rateLimiter.tryAcquire("key", now));
+        }
+    }
+
+    private static List<String> keysWithSameHome(int count) {
+        List<String> keys = new ArrayList<>();
+        int home = LogRateLimiter.homeOf("key0".hashCode());
+
+        for (int i = 0; keys.size() < count; i++) {
+            String key = "key" + i;
+
+            if (LogRateLimiter.homeOf(key.hashCode()) == home) {
+                keys.add(key);
+            }
+        }
+
+        return keys;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk.log;
+
+import android.util.Log;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link LogRingBuffer} class.
+ */
+public class LogRingBufferTest {
+    /**
+     * The capacity is rounded up to a power of 2, and a full buffer refuses new records.
+     */
+    @Test
+    public void testCapacity() {
+        LogRingBuffer buffer = new LogRingBuffer(5);
+
+        assertEquals(8, buffer.capacity());
+
+        for (int i = 0; i < 8; i++) {
+            assertTrue(buffer.offer(Log.INFO, null, "msg" + i, null));
+        }
+
+        assertFalse(buffer.offer(Log.INFO, null, "overflow", null));
+        assertEquals(8, buffer.size());
+    }
+
+    /**
+     * Records come out in order, with all their fields, across many laps of the slots.
+     */
+    @Test
+    public void testWraparound() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        LogRingBuffer.Record record = new LogRingBuffer.Record();
+        Throwable throwable = new Exception();
+        int next = 0;
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(buffer.offer(Log.WARN, "tag", "msg" + i, i % 2 == 0 ? throwable : null));
+
+            // Keep the buffer 3/4 full, so that the head and tail chase each other.
+            if (buffer.size() == 3) {
+                assertTrue(buffer.poll(record));
+                assertEquals(Log.WARN, record.priority);
+                assertEquals("tag", record.tag);
+                assertEquals("msg" + next, record.msg);
+                assertSame(next % 2 == 0 ? throwable : null, record.throwable);
+                next++;
+            }
+        }
+
+        while (buffer.poll(record)) {
+            assertEquals("msg" + next++, record.msg);
+        }
+
+        assertEquals(100, next);
+        assertEquals(0, buffer.size());
+        assertFalse(buffer.poll(record));
+    }
+
+    /**
+     * Discarding the oldest record makes room for a new one.
+     */
+    @Test
+    public void testDiscardOldest() {
+        LogRingBuffer buffer = new LogRingBuffer(2);
+        LogRingBuffer.Record record = new LogRingBuffer.Record();
+
+        assertFalse(buffer.discardOldest());
+        buffer.offer(Log.INFO, null, "first", null);
+        buffer.offer(Log.INFO, null, "second", null);
+
+        assertTrue(buffer.discardOldest());
+        assertTrue(buffer.offer(Log.INFO, null, "third", null));
+        assertTrue(buffer.poll(record));
+        assertEquals("second", record.msg);
+        assertTrue(buffer.poll(record));
+        assertEquals("third", record.msg);
+    }
+
+    /**
+     * Concurrent producers never lose nor duplicate a record, and the records of each producer
+     * come out in the order it wrote them.
+     */
+    @Test
+    public void testConcurrentWrites() throws Exception {
+        final int producers = 4;
+        final int recordsPerProducer = 20000;
+        final LogRingBuffer buffer = new LogRingBuffer(64);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger failures = new AtomicInteger();
+        Thread[] threads = new Thread[producers];
+
+        for (int p = 0; p < producers; p++) {
+            final String tag = String.valueOf(p);
+
+            threads[p] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        failures.incrementAndGet();
+                        return;
+                    }
+
+                    for (int i = 0; i < recordsPerProducer; i++) {
+                        String msg = String.valueOf(i);
+
+                        while (!buffer.offer(Log.INFO, tag, msg, null)) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+            threads[p].start();
+        }
+
+        int[] next = new int[producers];
+        int total = 0;
+        LogRingBuffer.Record record = new LogRingBuffer.Record();
+
+        start.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+
+        while (total < producers * recordsPerProducer) {
+            if (buffer.poll(record)) {
+                int producer = Integer.parseInt(record.tag);
+
+                assertEquals(String.valueOf(next[producer]), record.msg);
+                next[producer]++;
+                total++;
+            } else {
+                assertTrue("Timed out draining the buffer", System.nanoTime() < deadline);
+                Thread.yield();
+            }
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, failures.get());
+        assertFalse(buffer.poll(record));
+    }
+
+    /**
+     * The size is a snapshot which stays within bounds while producers and a consumer race.
+     */
+    @Test
+    public void testSizeSnapshot() throws Exception {
+        final LogRingBuffer buffer = new LogRingBuffer(16);
+        final AtomicInteger outOfBounds = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        Thread observer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (done.getCount() != 0) {
+                    int size = buffer.size();
+
+                    if (size < 0 || size > buffer.capacity()) {
+                        outOfBounds.incrementAndGet();
+                    }
+                }
+            }
+        });
+        observer.start();
+
+        LogRingBuffer.Record record = new LogRingBuffer.Record();
+
+        for (int i = 0; i < 100000; i++) {
+            buffer.offer(Log.INFO, null, "msg", null);
+            if (i % 3 != 0) {
+                buffer.poll(record);
+            }
+        }
+
+        done.countDown();
+        observer.join();
+
+        assertEquals(0, outOfBounds.get());
+        assertEquals(buffer.capacity(), buffer.size());
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright @ 2024-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk.metrics;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link LatencyHistogram} class.
+ */
+public class LatencyHistogramTest {
+    /**
+     * Percentiles are reported within the precision of the buckets.
+     */
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (long micros = 1; micros <= 10000; micros++) {
+            histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+
+        assertEquals(10000, snapshot.getCount());
+        assertEquals(1, snapshot.getMinMicros());
+        assertEquals(10000, snapshot.getMaxMicros());
+        assertEquals(5000.5, snapshot.getMeanMicros(), 0.001);
+        assertEquals(5000, snapshot.getValueAtPercentile(50), 5000 * 0.07);
+        assertEquals(9900, snapshot.getValueAtPercentile(99), 9900 * 0.07);
+        assertEquals(10000, snapshot.getValueAtPercentile(100));
+    }
+
+    /**
+     * Small values are exact, negative ones are ignored and reset empties the histogram.
+     */
+    @Test
+    public void testSmallValuesAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(7));
+        histogram.recordNanos(-1);
+
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+
+        assertEquals(1, snapshot.getCount());
+        assertEquals(7, snapshot.getValueAtPercentile(50));
+
+        histogram.reset();
+        snapshot = histogram.getSnapshot();
+
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMinMicros());
+        assertEquals(0, snapshot.getValueAtPercentile(99));
+    }
+}
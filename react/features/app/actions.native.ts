@@ -15,13 +15,8 @@ import { JITSI_CONNECTION_URL_KEY } from '../base/connection/constants';
 import { loadConfig } from '../base/lib-jitsi-meet/functions.native';
 import { createDesiredLocalTracks } from '../base/tracks/actions.native';
 import isInsecureRoomName from '../base/util/isInsecureRoomName';
-import { parseURLParams } from '../base/util/parseURLParams';
-import {
-    appendURLParam,
-    getBackendSafeRoomName,
-    parseURIString,
-    toURLString
-} from '../base/util/uri';
+import { toURLString } from '../base/util/uri';
+import { takePreloadedConfig } from '../mobile/call-integration/functions';
 import { isPrejoinPageEnabled } from '../mobile/navigation/functions';
 import {
     goBackToRoot,
@@ -32,7 +27,7 @@ import { clearNotifications } from '../notifications/actions';
 import { isUnsafeRoomWarningEnabled } from '../prejoin/functions';
 
 import { maybeRedirectToTokenAuthUrl } from './actions.any';
-import { addTrackStateToURL, getDefaultURL } from './functions.native';
+import { addTrackStateToURL, getConfigLocation, getDefaultURL } from './functions.native';
 import logger from './logger';
 import { IReloadNowOptions, IStore } from './types';
 
@@ -52,30 +47,8 @@ export function appNavigate(uri?: string, options: IReloadNowOptions = {}) {
     logger.info(`appNavigate to ${uri}`);
 
     return async (dispatch: IStore['dispatch'], getState: IStore['getState']) => {
-        let location = parseURIString(uri);
-
-        // If the specified location (URI) does not identify a host, use the app's
-        // default.
-        if (!location?.host) {
-            const defaultLocation = parseURIString(getDefaultURL(getState));
-
-            if (location) {
-                location.host = defaultLocation.host;
-
-                // FIXME Turn location's host, hostname, and port properties into
-                // setters in order to reduce the risks of inconsistent state.
-                location.hostname = defaultLocation.hostname;
-                location.pathname
-                    = defaultLocation.pathname + location.pathname.substr(1);
-                location.port = defaultLocation.port;
-                location.protocol = defaultLocation.protocol;
-            } else {
-                location = defaultLocation;
-            }
-        }
-
-        location.protocol || (location.protocol = 'https:');
-        const { contextRoot, host, hostname, pathname, room } = location;
+        const { baseURL, location, url } = getConfigLocation(uri, getDefaultURL(getState));
+        const { hostname, pathname, room } = location;
         const locationURL = new URL(location.toString());
         const { conference } = getConferenceState(getState());
 
@@ -100,22 +73,6 @@ export function appNavigate(uri?: string, options: IReloadNowOptions = {}) {
 
         dispatch(configWillLoad(locationURL, room));
 
-        let protocol = location.protocol.toLowerCase();
-
-        // The React Native app supports an app-specific scheme which is sure to not
-        // be supported by fetch.
-        protocol !== 'http:' && protocol !== 'https:' && (protocol = 'https:');
-
-        const baseURL = `${protocol}//${host}${contextRoot || '/'}`;
-        let url = `${baseURL}config.js`;
-
-        // XXX In order to support multiple shards, tell the room to the deployment.
-        room && (url = appendURLParam(url, 'room', getBackendSafeRoomName(room) ?? ''));
-
-        const { release } = parseURLParams(location, true, 'search');
-
-        release && (url = appendURLParam(url, 'release', release));
-
         let config;
 
         // Avoid (re)loading the config when there is no room.
@@ -125,7 +82,7 @@ export function appNavigate(uri?: string, options: IReloadNowOptions = {}) {
 
         if (!config) {
             try {
-                config = await loadConfig(url);
+                config = await loadConfig(url, await takePreloadedConfig(url));
                 dispatch(storeConfig(baseURL, config));
             } catch (error: any) {
                 config = restoreConfig(baseURL);
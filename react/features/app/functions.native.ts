@@ -3,6 +3,12 @@ import { NativeModules } from 'react-native';
 import { IStateful } from '../base/app/types';
 import { toState } from '../base/redux/functions';
 import { getServerURL } from '../base/settings/functions.native';
+import { parseURLParams } from '../base/util/parseURLParams';
+import {
+    appendURLParam,
+    getBackendSafeRoomName,
+    parseURIString
+} from '../base/util/uri';
 
 export * from './functions.any';
 
@@ -20,6 +26,66 @@ export function getDefaultURL(stateful: IStateful) {
     return getServerURL(state);
 }
 
+/**
+ * Resolves the location of a conference and the URL of its config.js, as
+ * {@code appNavigate} loads it. The config of an incoming call is preloaded
+ * with the same URL, see {@code preloadConfig}.
+ *
+ * @param {string|undefined} uri - The URI of the conference, see
+ * {@code appNavigate}.
+ * @param {string} defaultURL - The URL of the server to use if the URI doesn't
+ * identify a host.
+ * @returns {{ baseURL: string, location: Object, url: string }}
+ */
+export function getConfigLocation(uri: string | undefined, defaultURL: string) {
+    let location = parseURIString(uri);
+
+    // If the specified location (URI) does not identify a host, use the app's
+    // default.
+    if (!location?.host) {
+        const defaultLocation = parseURIString(defaultURL);
+
+        if (location) {
+            location.host = defaultLocation.host;
+
+            // FIXME Turn location's host, hostname, and port properties into
+            // setters in order to reduce the risks of inconsistent state.
+            location.hostname = defaultLocation.hostname;
+            location.pathname
+                = defaultLocation.pathname + location.pathname.substr(1);
+            location.port = defaultLocation.port;
+            location.protocol = defaultLocation.protocol;
+        } else {
+            location = defaultLocation;
+        }
+    }
+
+    location.protocol || (location.protocol = 'https:');
+
+    const { contextRoot, host, room } = location;
+    let protocol = location.protocol.toLowerCase();
+
+    // The React Native app supports an app-specific scheme which is sure to not
+    // be supported by fetch.
+    protocol !== 'http:' && protocol !== 'https:' && (protocol = 'https:');
+
+    const baseURL = `${protocol}//${host}${contextRoot || '/'}`;
+    let url = `${baseURL}config.js`;
+
+    // XXX In order to support multiple shards, tell the room to the deployment.
+    room && (url = appendURLParam(url, 'room', getBackendSafeRoomName(room) ?? ''));
+
+    const { release } = parseURLParams(location, true, 'search');
+
+    release && (url = appendURLParam(url, 'release', release));
+
+    return {
+        baseURL,
+        location,
+        url
+    };
+}
+
 /**
  * Returns application name.
  *
@@ -66,6 +66,28 @@ export const CONFERENCE_TIMER_ENABLED = 'conference-timer.enabled';
  */
 export const CHAT_ENABLED = 'chat.enabled';
 
+/**
+ * Flag indicating if high-frequency events sent to the native side (participants
+ * joining and leaving) should be delivered in batches, e.g.
+ * PARTICIPANTS_JOINED_BATCH instead of one PARTICIPANT_JOINED per participant.
+ * Default: disabled (false).
+ */
+export const EVENT_BATCHING_ENABLED = 'event-batching.enabled';
+
+/**
+ * Flag indicating the maximum number of events in a batch, a batch is sent as
+ * soon as it's full.
+ * Default: 50.
+ */
+export const EVENT_BATCHING_MAX_SIZE = 'event-batching.max-size';
+
+/**
+ * Flag indicating for how long (in milliseconds) events are collected before
+ * the batch is sent.
+ * Default: 200.
+ */
+export const EVENT_BATCHING_WINDOW = 'event-batching.window';
+
 /**
  * Flag indicating if the filmstrip should be enabled.
  * Default: enabled (true).
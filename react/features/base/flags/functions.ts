@@ -13,7 +13,7 @@ import { toState } from '../redux/functions';
  * @returns {*} The value of the specified React {@code Component} prop of the
  * currently mounted {@code App}.
  */
-export function getFeatureFlag(stateful: IStateful, flag: string, defaultValue?: boolean | string) {
+export function getFeatureFlag(stateful: IStateful, flag: string, defaultValue?: boolean | number | string) {
     const state = toState(stateful)['features/base/flags'];
 
     if (state) {
@@ -3,6 +3,7 @@ import { debounce } from 'lodash-es';
 import { IStore } from '../../app/types';
 import { SET_FILMSTRIP_ENABLED } from '../../filmstrip/actionTypes';
 import { APP_STATE_CHANGED } from '../../mobile/background/actionTypes';
+import { SET_CALL_INTEGRATION_HELD } from '../../mobile/call-integration/actionTypes';
 import {
     SET_CAR_MODE,
     VIRTUAL_SCREENSHARE_REMOTE_PARTICIPANTS_UPDATED
@@ -37,6 +38,7 @@ const _updateLastN = debounce(({ dispatch, getState }: IStore) => {
     const { enabled: filmStripEnabled } = state['features/filmstrip'];
     const config = state['features/base/config'];
     const { carMode } = state['features/video-layout'];
+    const { held } = state['features/call-integration'] || {};
 
     // Select the (initial) lastN value based on the following preference order.
     // 1. The last-n value from 'startLastN' if it is specified in config.js
@@ -46,7 +48,7 @@ const _updateLastN = debounce(({ dispatch, getState }: IStore) => {
 
     // Because this is shared, on web appState is always undefined,
     // meaning that it is never active
-    if (navigator.product === 'ReactNative' && (appState !== 'active' || carMode)) {
+    if (navigator.product === 'ReactNative' && (appState !== 'active' || carMode || held)) {
         lastNSelected = 0;
     } else if (audioOnly) {
         const { remoteScreenShares, tileViewEnabled } = state['features/video-layout'];
@@ -81,6 +83,7 @@ MiddlewareRegistry.register(store => next => action => {
     case APP_STATE_CHANGED:
     case CONFERENCE_JOINED:
     case SET_AUDIO_ONLY:
+    case SET_CALL_INTEGRATION_HELD:
     case SET_CAR_MODE:
     case SET_FILMSTRIP_ENABLED:
     case VIRTUAL_SCREENSHARE_REMOTE_PARTICIPANTS_UPDATED:
@@ -14,11 +14,15 @@ const { JavaScriptSandbox } = NativeModules;
  * Loads config.js from a specific remote server.
  *
  * @param {string} url - The URL to load.
+ * @param {string} preloadedConfigTxt - The text of config.js, if it was loaded
+ * already.
  * @returns {Promise<Object>}
  */
-export async function loadConfig(url: string): Promise<Object> {
+export async function loadConfig(url: string, preloadedConfigTxt?: string): Promise<Object> {
     try {
-        const configTxt = await loadScript(url, 10 * 1000 /* Timeout in ms */, true /* skipeval */);
+        const configTxt
+            = preloadedConfigTxt
+                ?? await loadScript(url, 10 * 1000 /* Timeout in ms */, true /* skipeval */);
         const configJson = await JavaScriptSandbox.evaluate(`${configTxt}\nJSON.stringify(config);`);
         const config = safeJsonParse(configJson);
 
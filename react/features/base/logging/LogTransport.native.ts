@@ -1,4 +1,4 @@
-import { NativeModules } from 'react-native';
+import { AppState, NativeModules } from 'react-native';
 // eslint-disable-next-line lines-around-comment
 // @ts-expect-error
 import { format } from 'util';
@@ -8,6 +8,84 @@ import { format } from 'util';
 
 const { LogBridge } = NativeModules;
 
+/**
+ * Whether the native side can take several log records in a single call.
+ */
+const BATCHING_SUPPORTED = typeof LogBridge?.logBatch === 'function';
+
+/**
+ * Maximum number of records to buffer before flushing.
+ */
+const MAX_BATCH_SIZE = 100;
+
+/**
+ * Maximum time (in ms) a record is buffered before flushing.
+ */
+const MAX_BATCH_DELAY = 1000;
+
+/**
+ * Records waiting to be sent to the native side.
+ */
+let batch: Array<{ level: string; msg: string; tag?: string; ts: string; }> = [];
+
+/**
+ * Timer for the next time-triggered flush.
+ */
+let flushTimeout: ReturnType<typeof setTimeout> | undefined;
+
+/**
+ * Sends all the buffered records to the native side in a single bridge call.
+ *
+ * @returns {void}
+ */
+function flush() {
+    if (flushTimeout) {
+        clearTimeout(flushTimeout);
+        flushTimeout = undefined;
+    }
+
+    if (batch.length) {
+        const records = batch;
+
+        batch = [];
+        LogBridge.logBatch(records);
+    }
+}
+
+/**
+ * Buffers a record, flushing if the buffer is full or the record is an error.
+ *
+ * @param {string} level - The log level.
+ * @param {string} ts - The timestamp at which the record was created.
+ * @param {string|undefined} tag - The name of the logger which created the record.
+ * @param {string} msg - The formatted message.
+ * @returns {void}
+ */
+function enqueue(level: string, ts: string, tag: string | undefined, msg: string) {
+    batch.push({
+        level,
+        msg,
+        tag,
+        ts
+    });
+
+    if (batch.length >= MAX_BATCH_SIZE || level === 'error') {
+        flush();
+    } else if (!flushTimeout) {
+        flushTimeout = setTimeout(flush, MAX_BATCH_DELAY);
+    }
+}
+
+// Don't keep anything buffered while in the background, the app may be killed.
+BATCHING_SUPPORTED && AppState.addEventListener('change', (appState: string) => {
+    appState !== 'active' && flush();
+});
+
+/**
+ * Matches the "[id]" prefix which the logger passes as the first argument when it has an id.
+ */
+const TAG_REGEX = /^\[(.+)\]$/;
+
 /**
  * Returns the stack trace for a given @code {Error} object.
  *
@@ -40,8 +118,9 @@ function buildTransport() {
         'error'
     ].reduce((logger: any, logName) => {
         logger[logName] = (timestamp: string, ...args: Array<string>) => {
-            // It ignores the timestamp argument, because LogBridge will add it on the native side anyway
-            const nargs = args.map((arg: any) => {
+            const match = BATCHING_SUPPORTED && typeof args[0] === 'string' && args[0].match(TAG_REGEX);
+            const tag = match ? match[1] : undefined;
+            const nargs = (match ? args.slice(1) : args).map((arg: any) => {
                 if (arg instanceof Error) {
                     const errorBody = {
                         message: arg.message,
@@ -58,7 +137,12 @@ function buildTransport() {
             });
             const message = format(...nargs);
 
-            LogBridge[logName](message);
+            if (BATCHING_SUPPORTED) {
+                enqueue(logName, timestamp, tag, message);
+            } else {
+                // It ignores the timestamp argument, because LogBridge will add it on the native side anyway
+                LogBridge[logName](message);
+            }
         };
 
         return logger;
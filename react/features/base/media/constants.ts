@@ -56,7 +56,8 @@ export const VIDEO_MUTISM_AUTHORITY = {
     AUDIO_ONLY: 1 << 0,
     BACKGROUND: 1 << 1,
     USER: 1 << 2,
-    CAR_MODE: 1 << 3
+    CAR_MODE: 1 << 3,
+    CALL_HOLD: 1 << 4
 };
 
 /* eslint-enable no-bitwise */
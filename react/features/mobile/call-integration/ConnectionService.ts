@@ -20,6 +20,10 @@ if (ConnectionService) {
                 ConnectionService.addListener(
                     'org.jitsi.meet:features/connection_service#abort',
                     delegate._onPerformEndCallAction,
+                    context),
+                ConnectionService.addListener(
+                    'org.jitsi.meet:features/connection_service#hold',
+                    delegate._onPerformSetHeldCallAction,
                     context)
             ];
         },
@@ -11,3 +11,16 @@
  */
 export const _SET_CALL_INTEGRATION_SUBSCRIPTIONS
     = '_SET_CALL_INTEGRATION_SUBSCRIPTIONS';
+
+/**
+ * The type of redux action to put the call of the current conference on hold,
+ * or to take it off hold, as the system asked.
+ *
+ * {
+ *     type: SET_CALL_INTEGRATION_HELD,
+ *     held: boolean,
+ *     audioMutedBeforeHold: boolean,
+ *     conferenceEnded: ?boolean
+ * }
+ */
+export const SET_CALL_INTEGRATION_HELD = 'SET_CALL_INTEGRATION_HELD';
@@ -1,7 +1,14 @@
+import { getConfigLocation } from '../../app/functions.native';
 import { IStateful } from '../../base/app/types';
 import { CALL_INTEGRATION_ENABLED } from '../../base/flags/constants';
 import { getFeatureFlag } from '../../base/flags/functions';
 import { toState } from '../../base/redux/functions';
+import { DEFAULT_SERVER_URL } from '../../base/settings/constants';
+import { loadScript } from '../../base/util/loadScript.native';
+import { toURLString } from '../../base/util/uri';
+
+import ConnectionService from './ConnectionService';
+import logger from './logger';
 
 /**
  * Checks if call integration is enabled or not.
@@ -18,3 +25,88 @@ export function isCallIntegrationEnabled(stateful: IStateful) {
     // The feature flag has precedence.
     return flag ?? !disableCallIntegration;
 }
+
+/**
+ * How long a preloaded config.js is good for, long enough for a call to ring
+ * and be answered.
+ */
+const PRELOADED_CONFIG_TTL = 120000;
+
+/**
+ * The config.js preloaded for the conference of the last incoming call.
+ */
+let preloadedConfig: { loadedAt: number; promise: Promise<string | undefined>; url: string; } | undefined;
+
+/**
+ * Loads the config.js of the conference of an incoming call while it rings,
+ * for {@code appNavigate} to take it once the call is answered, see
+ * {@link takePreloadedConfig}.
+ *
+ * @param {Object} url - The URL of the conference, as the {@code url} prop of
+ * the app.
+ * @returns {void}
+ */
+export function preloadConfig(url: Object) {
+    // There may be no store yet. The native side passes the server of the
+    // SDK's default conference options along, if any. If the settings of the
+    // app name another one, the URLs don't match and appNavigate loads the
+    // config as usual.
+    const { location, url: configURL } = getConfigLocation(toURLString(url), DEFAULT_SERVER_URL);
+
+    if (!location.room) {
+        return;
+    }
+
+    logger.info(`Preloading the config from ${configURL}`);
+
+    preloadedConfig = {
+        loadedAt: Date.now(),
+        promise: loadScript(configURL, 10 * 1000 /* Timeout in ms */, true /* skipeval */)
+            .catch((error: any) => {
+                // appNavigate loads it as usual.
+                logger.warn(`Failed to preload the config from ${configURL}`, error);
+
+                return undefined;
+            }),
+        url: configURL
+    };
+}
+
+/**
+ * Takes the config.js which was preloaded for the conference of an incoming
+ * call, while it was ringing, if any.
+ *
+ * @param {string} url - The URL of config.js.
+ * @returns {Promise<string|undefined>} - The text of config.js.
+ */
+export function takePreloadedConfig(url: string): Promise<string | undefined> {
+    const config = preloadedConfig;
+
+    if (!config || config.url !== url) {
+        return Promise.resolve(undefined);
+    }
+
+    preloadedConfig = undefined;
+
+    if (Date.now() - config.loadedAt > PRELOADED_CONFIG_TTL) {
+        return Promise.resolve(undefined);
+    }
+
+    return config.promise;
+}
+
+/**
+ * Takes the conference the native side prewarmed for an incoming call, if
+ * any, and preloads its config.
+ *
+ * @returns {void}
+ */
+export function preloadPrewarmedConference() {
+    if (!ConnectionService?.takePrewarmedConference) {
+        return;
+    }
+
+    ConnectionService.takePrewarmedConference()
+        .then((url: Object | null) => url && preloadConfig(url))
+        .catch((error: any) => logger.warn('Failed to take the prewarmed conference', error));
+}
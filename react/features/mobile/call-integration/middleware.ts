@@ -21,21 +21,23 @@ import {
 } from '../../base/conference/functions';
 import { IJitsiConference } from '../../base/conference/reducer';
 import { getInviteURL } from '../../base/connection/functions';
-import { setAudioMuted } from '../../base/media/actions';
-import { MEDIA_TYPE } from '../../base/media/constants';
-import { isVideoMutedByAudioOnly } from '../../base/media/functions';
+import { setAudioMuted, setVideoMuted } from '../../base/media/actions';
+import { MEDIA_TYPE, VIDEO_MUTISM_AUTHORITY } from '../../base/media/constants';
+import { isAudioMuted, isVideoMutedByAudioOnly } from '../../base/media/functions';
 import MiddlewareRegistry from '../../base/redux/MiddlewareRegistry';
 import {
     TRACK_ADDED,
     TRACK_REMOVED,
     TRACK_UPDATED
 } from '../../base/tracks/actionTypes';
-import { isLocalTrackMuted } from '../../base/tracks/functions.native';
+import { getTracksByMediaType, isLocalTrackMuted } from '../../base/tracks/functions.native';
+import { ITrack } from '../../base/tracks/types';
 
 import CallKit from './CallKit';
 import ConnectionService from './ConnectionService';
-import { _SET_CALL_INTEGRATION_SUBSCRIPTIONS } from './actionTypes';
-import { isCallIntegrationEnabled } from './functions';
+import { SET_CALL_INTEGRATION_HELD, _SET_CALL_INTEGRATION_SUBSCRIPTIONS } from './actionTypes';
+import { isCallIntegrationEnabled, preloadPrewarmedConference } from './functions';
+import logger from './logger';
 
 const { AudioMode } = NativeModules;
 const CallIntegration = CallKit || ConnectionService;
@@ -51,6 +53,9 @@ CallIntegration && MiddlewareRegistry.register(store => next => action => {
     case _SET_CALL_INTEGRATION_SUBSCRIPTIONS:
         return _setCallKitSubscriptions(store, next, action);
 
+    case SET_CALL_INTEGRATION_HELD:
+        return _setHeld(store, next, action);
+
     case APP_WILL_MOUNT:
         return _appWillMount(store, next, action);
 
@@ -92,6 +97,15 @@ CallIntegration && MiddlewareRegistry.register(store => next => action => {
     return next(action);
 });
 
+// The native side prewarms the conference of an incoming call before the app
+// is mounted, or while it is, its config is preloaded right away.
+if (ConnectionService?.takePrewarmedConference) {
+    ConnectionService.addListener(
+        'org.jitsi.meet:features/connection_service#prewarm',
+        preloadPrewarmedConference);
+    preloadPrewarmedConference();
+}
+
 /**
  * Notifies the feature callkit that the action {@link APP_WILL_MOUNT} is being
  * dispatched within a specific redux {@code store}.
@@ -115,6 +129,7 @@ function _appWillMount({ dispatch, getState }: IStore, next: Function, action: A
 
     const delegate = {
         _onPerformSetMutedCallAction,
+        _onPerformSetHeldCallAction,
         _onPerformEndCallAction
     };
 
@@ -195,6 +210,13 @@ function _conferenceJoined({ getState }: IStore, next: Function, action: AnyActi
                 // so we update it here in case the user selected startWithAudioMuted.
                 if (Platform.OS === 'ios') {
                     _updateCallIntegrationMuted(action.conference, getState());
+                } else if (CallIntegration.getCallSetupMetrics) {
+                    // The durations of the stages of setting up the calls on this device, in ms.
+                    CallIntegration.getCallSetupMetrics()
+                        .then((metrics: any) => logger.info('ConnectionService call setup', JSON.stringify(metrics)))
+                        .catch(() => {
+                            // Not critical.
+                        });
                 }
             })
             .catch(() => {
@@ -224,7 +246,7 @@ function _conferenceJoined({ getState }: IStore, next: Function, action: AnyActi
  * @private
  * @returns {*} The value returned by {@code next(action)}.
  */
-function _conferenceLeft({ getState }: IStore, next: Function, action: AnyAction) {
+function _conferenceLeft({ dispatch, getState }: IStore, next: Function, action: AnyAction) {
     const result = next(action);
 
     if (!isCallIntegrationEnabled(getState)) {
@@ -239,6 +261,16 @@ function _conferenceLeft({ getState }: IStore, next: Function, action: AnyAction
         CallIntegration.endCall(callUUID);
     }
 
+    // A call ended while on hold must not leave the next conference's video
+    // muted by the hold.
+    if (getState()['features/call-integration'].held) {
+        dispatch({
+            type: SET_CALL_INTEGRATION_HELD,
+            conferenceEnded: true,
+            held: false
+        });
+    }
+
     return result;
 }
 
@@ -312,6 +344,18 @@ function _conferenceWillJoin({ dispatch, getState }: IStore, next: Function, act
                         { text: 'OK' }
                     ],
                     { cancelable: false });
+            } else if (error.code === 'INCOMING_CALL_ENDED') {
+                // The incoming call of the conference was rejected, or ended,
+                // while it was being joined. ConnectionService works, there's
+                // just no call to track.
+                delete conference.callUUID;
+            } else if (error.code === 'START_CALL_TIMEOUT') {
+                // The system didn't set up the call in time, as seen on some OEM builds. Fallback
+                // to non-ConnectionService audio device handling, unless the conference was left
+                // in the meantime.
+                if (conference.callUUID && getCurrentConference(getState()) === conference) {
+                    _handleConnectionServiceFailure(getState());
+                }
             } else {
                 // Some devices fail because the CALL_PHONE permission is not granted, which is
                 // nonsense, because it's not needed for self-managed connections.
@@ -397,6 +441,36 @@ function _onPerformSetMutedCallAction({ callUUID, muted }: { callUUID: string; m
     }
 }
 
+/**
+ * Handles ConnectionService's event {@code hold}, the system putting the call
+ * on hold, e.g. for an incoming cellular call, or taking it off hold.
+ *
+ * @param {Object} event - The details of the ConnectionService event
+ * {@code hold}.
+ * @returns {void}
+ */
+function _onPerformSetHeldCallAction({ callUUID, held }: { callUUID: string; held: boolean; }) {
+    // @ts-ignore
+    const { dispatch, getState } = this; // eslint-disable-line @typescript-eslint/no-invalid-this
+    const conference = getCurrentConference(getState);
+
+    if (conference?.callUUID === callUUID) {
+        const state = getState();
+
+        held = Boolean(held); // eslint-disable-line no-param-reassign
+
+        if (held === Boolean(state['features/call-integration'].held)) {
+            return;
+        }
+
+        dispatch({
+            type: SET_CALL_INTEGRATION_HELD,
+            held,
+            audioMutedBeforeHold: held ? isAudioMuted(state) : undefined
+        });
+    }
+}
+
 /**
  * Update CallKit with the audio only state of the conference. When a conference
  * is in audio only mode we will tell CallKit the call has no video. This
@@ -463,6 +537,65 @@ function _setCallKitSubscriptions({ getState }: IStore, next: Function, action:
     return next(action);
 }
 
+/**
+ * Pauses the media of the conference while its call is on hold, and resumes it
+ * once the call is taken off hold, without leaving the conference: the local
+ * tracks are muted, the remote audio tracks disabled, and the video of the
+ * remote participants isn't received, see the lastN middleware.
+ *
+ * @param {Store} store - The redux store in which the specified {@code action}
+ * is being dispatched.
+ * @param {Dispatch} next - The redux {@code dispatch} function to dispatch the
+ * specified {@code action} in the specified {@code store}.
+ * @param {Action} action - The redux action {@code SET_CALL_INTEGRATION_HELD}
+ * which is being dispatched in the specified {@code store}.
+ * @private
+ * @returns {*} The value returned by {@code next(action)}.
+ */
+function _setHeld({ dispatch, getState }: IStore, next: Function, action: AnyAction) {
+    const result = next(action);
+    const { conferenceEnded, held } = action;
+    const state = getState();
+
+    logger.info(`Call ${held ? 'held' : 'resumed'}${conferenceEnded ? ', the conference ended' : ''}`);
+
+    for (const track of getTracksByMediaType(state['features/base/tracks'], MEDIA_TYPE.AUDIO)) {
+        track.local || _setRemoteAudioEnabled(track, !held);
+    }
+
+    if (held) {
+        dispatch(setAudioMuted(true));
+    } else if (!conferenceEnded && !state['features/call-integration'].audioMutedBeforeHold) {
+        dispatch(setAudioMuted(false, /* ensureTrack */ true));
+    }
+
+    // The video is muted by an authority of its own, so that the user
+    // muting or unmuting it in the meantime is kept. There's nothing to
+    // resume once the conference ended, only the authority is cleared.
+    dispatch(setVideoMuted(
+        held,
+        VIDEO_MUTISM_AUTHORITY.CALL_HOLD,
+        /* ensureTrack */ !held && !conferenceEnded));
+
+    return result;
+}
+
+/**
+ * Enables or disables the playback of a remote audio track.
+ *
+ * @param {ITrack} track - The remote audio track.
+ * @param {boolean} enabled - Whether the track is to be played.
+ * @private
+ * @returns {void}
+ */
+function _setRemoteAudioEnabled(track: ITrack, enabled: boolean) {
+    const mediaStreamTrack = track.jitsiTrack?.getTrack?.();
+
+    if (mediaStreamTrack) {
+        mediaStreamTrack.enabled = enabled;
+    }
+}
+
 /**
  * Synchronize the muted state of tracks with CallKit.
  *
@@ -486,6 +619,15 @@ function _syncTrackState({ getState }: IStore, next: Function, action: AnyAction
     const state = getState();
     const conference = getCurrentConference(state);
 
+    // The remote audio tracks added while the call is on hold are not played
+    // either.
+    if (action.type === TRACK_ADDED
+            && !jitsiTrack.isLocal()
+            && jitsiTrack.getType() === 'audio'
+            && state['features/call-integration'].held) {
+        _setRemoteAudioEnabled(action.track, false);
+    }
+
     if (jitsiTrack.isLocal() && conference && conference.callUUID) {
         switch (jitsiTrack.getType()) {
         case 'audio': {
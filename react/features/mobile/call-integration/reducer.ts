@@ -3,9 +3,11 @@ import { set } from '../../base/redux/functions';
 
 import CallKit from './CallKit';
 import ConnectionService from './ConnectionService';
-import { _SET_CALL_INTEGRATION_SUBSCRIPTIONS } from './actionTypes';
+import { SET_CALL_INTEGRATION_HELD, _SET_CALL_INTEGRATION_SUBSCRIPTIONS } from './actionTypes';
 
 export interface ICallIntegrationState {
+    audioMutedBeforeHold?: boolean;
+    held?: boolean;
     subscriptions?: any;
 }
 
@@ -15,6 +17,14 @@ export interface ICallIntegrationState {
         switch (action.type) {
         case _SET_CALL_INTEGRATION_SUBSCRIPTIONS:
             return set(state, 'subscriptions', action.subscriptions);
+
+        case SET_CALL_INTEGRATION_HELD:
+            return {
+                ...state,
+                // Kept when the call is taken off hold, the resume needs it.
+                audioMutedBeforeHold: action.held ? action.audioMutedBeforeHold : state.audioMutedBeforeHold,
+                held: action.held
+            };
         }
 
         return state;
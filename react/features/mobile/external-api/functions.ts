@@ -1,10 +1,83 @@
 import { debounce } from 'lodash-es';
 import { NativeModules } from 'react-native';
 
+import { IStateful } from '../../base/app/types';
+import {
+    EVENT_BATCHING_ENABLED,
+    EVENT_BATCHING_MAX_SIZE,
+    EVENT_BATCHING_WINDOW
+} from '../../base/flags/constants';
+import { getFeatureFlag } from '../../base/flags/functions';
+import { PARTICIPANT_JOINED, PARTICIPANT_LEFT } from '../../base/participants/actionTypes';
 import { IParticipant } from '../../base/participants/types';
 
 import { readyToClose } from './actions';
 
+/**
+ * The events which are delivered in batches when event batching is enabled,
+ * mapped to the name of the event carrying the batch.
+ */
+const BATCHED_EVENTS: { [key: string]: string; } = {
+    [PARTICIPANT_JOINED]: 'PARTICIPANTS_JOINED_BATCH',
+    [PARTICIPANT_LEFT]: 'PARTICIPANTS_LEFT_BATCH'
+};
+
+/**
+ * The default for how long (in milliseconds) events are collected before their
+ * batch is sent.
+ */
+const DEFAULT_BATCH_WINDOW = 200;
+
+/**
+ * The default maximum number of events in a batch.
+ */
+const DEFAULT_BATCH_MAX_SIZE = 50;
+
+/**
+ * The batch being collected, if any.
+ */
+let pendingBatch: {
+    items: Object[];
+    maxSize: number;
+    name: string;
+    timeout: ReturnType<typeof setTimeout>;
+} | undefined;
+
+/**
+ * The types of the events the native side wants, as a bitset with the bits
+ * exported as {@code ExternalAPI.EVENT_TYPES}. Undefined if the native side
+ * doesn't filter the events.
+ */
+let eventSubscriptions: number | undefined = NativeModules.ExternalAPI?.EVENT_SUBSCRIPTIONS;
+
+/**
+ * Sets the types of the events the native side wants, as pushed by it whenever
+ * its listeners change.
+ *
+ * @param {number} mask - The bitset of the wanted event types.
+ * @returns {void}
+ */
+export function setEventSubscriptions(mask: number) {
+    eventSubscriptions = mask;
+}
+
+/**
+ * Checks whether the native side wants the events with the given name. Events
+ * it doesn't know about are always sent.
+ *
+ * @param {string} name - The name of the event.
+ * @returns {boolean}
+ */
+function _isSubscribed(name: string) {
+    const bit = NativeModules.ExternalAPI?.EVENT_TYPES?.[name];
+
+    if (typeof eventSubscriptions === 'undefined' || typeof bit === 'undefined') {
+        return true;
+    }
+
+    // Bitwise operators work on 32 bits, enough for all the types.
+    return (eventSubscriptions & bit) !== 0;
+}
 
 /**
  * Sends a specific event to the native counterpart of the External API. Native
@@ -18,7 +91,93 @@ import { readyToClose } from './actions';
  * @returns {void}
  */
 export function sendEvent(store: Object, name: string, data: Object) {
-    NativeModules.ExternalAPI.sendEvent(name, data);
+    const batchName = BATCHED_EVENTS[name];
+
+    // Don't even cross the bridge for events nobody listens to.
+    if (!_isSubscribed(name) && !(batchName && _isSubscribed(batchName))) {
+        return;
+    }
+
+    if (batchName && getFeatureFlag(store as IStateful, EVENT_BATCHING_ENABLED, false)) {
+        _addToBatch(store as IStateful, batchName, data);
+
+        return;
+    }
+
+    // Whatever was collected so far happened before this event, keep the order.
+    _flushBatch();
+
+    _sendToNative(name, data);
+}
+
+/**
+ * Sends an event to the native side, stamped with the time it's sent at when
+ * the native side measures the dispatch latencies.
+ *
+ * @param {string} name - The name of the event.
+ * @param {Object} data - The data of the event.
+ * @returns {void}
+ */
+function _sendToNative(name: string, data: Object) {
+    const { ExternalAPI } = NativeModules;
+
+    if (ExternalAPI.sendTimedEvent) {
+        // React Native backs performance.now() with the native monotonic clock.
+        ExternalAPI.sendTimedEvent(name, data, performance.now());
+    } else {
+        ExternalAPI.sendEvent(name, data);
+    }
+}
+
+/**
+ * Adds the data of an event to the batch with the given name. The batch is sent
+ * when it's full, when its window is over or when any other event is sent.
+ *
+ * @param {IStateful} stateful - The redux store or {@code getState} function.
+ * @param {string} name - The name of the event carrying the batch.
+ * @param {Object} data - The data of the batched event.
+ * @returns {void}
+ */
+function _addToBatch(stateful: IStateful, name: string, data: Object) {
+    if (pendingBatch && pendingBatch.name !== name) {
+        _flushBatch();
+    }
+
+    if (!pendingBatch) {
+        const window = Number(getFeatureFlag(stateful, EVENT_BATCHING_WINDOW, DEFAULT_BATCH_WINDOW));
+        const maxSize = Number(getFeatureFlag(stateful, EVENT_BATCHING_MAX_SIZE, DEFAULT_BATCH_MAX_SIZE));
+
+        pendingBatch = {
+            items: [],
+            maxSize,
+            name,
+            timeout: setTimeout(_flushBatch, window)
+        };
+    }
+
+    pendingBatch.items.push(data);
+
+    if (pendingBatch.items.length >= pendingBatch.maxSize) {
+        _flushBatch();
+    }
+}
+
+/**
+ * Sends the batch being collected, if any.
+ *
+ * @returns {void}
+ */
+function _flushBatch() {
+    const batch = pendingBatch;
+
+    if (!batch) {
+        return;
+    }
+
+    pendingBatch = undefined;
+    clearTimeout(batch.timeout);
+
+    _sendToNative(batch.name, { participants: batch.items });
 }
 
 /**
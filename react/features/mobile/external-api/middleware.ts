@@ -2,6 +2,7 @@
 
 import { debounce } from 'lodash-es';
 import { NativeEventEmitter, NativeModules } from 'react-native';
+import { batch } from 'react-redux';
 import { AnyAction } from 'redux';
 
 // @ts-expect-error
@@ -37,7 +38,11 @@ import {
 import { SET_AUDIO_MUTED, SET_VIDEO_MUTED } from '../../base/media/actionTypes';
 import { toggleCameraFacingMode } from '../../base/media/actions';
 import { MEDIA_TYPE, VIDEO_TYPE } from '../../base/media/constants';
-import { PARTICIPANT_JOINED, PARTICIPANT_LEFT } from '../../base/participants/actionTypes';
+import {
+    PARTICIPANT_JOINED,
+    PARTICIPANT_LEFT,
+    PARTICIPANT_UPDATED
+} from '../../base/participants/actionTypes';
 import {
     getLocalParticipant,
     getParticipantById,
@@ -60,7 +65,7 @@ import { isExternalAPIAvailable } from '../react-native-sdk/functions';
 
 import { READY_TO_CLOSE } from './actionTypes';
 import { setParticipantsWithScreenShare } from './actions';
-import { participantToParticipantInfo, sendEvent } from './functions';
+import { participantToParticipantInfo, sendEvent, setEventSubscriptions } from './functions';
 import logger from './logger';
 
 /**
@@ -116,6 +121,8 @@ if (externalAPIEnabled) {
  */
 externalAPIEnabled && MiddlewareRegistry.register(store => next => action => {
     const oldAudioMuted = store.getState()['features/base/media'].audio.muted;
+    const oldParticipant = action.type === PARTICIPANT_UPDATED
+        ? getParticipantById(store, action.participant?.id) : undefined;
     const result = next(action);
     const { type } = action;
 
@@ -256,6 +263,25 @@ externalAPIEnabled && MiddlewareRegistry.register(store => next => action => {
         break;
     }
 
+    case PARTICIPANT_UPDATED: {
+        const { conference } = store.getState()['features/base/conference'];
+        const participant = getParticipantById(store, action.participant?.id);
+
+        if (!conference || !oldParticipant || !participant
+                || isScreenShareParticipantById(store.getState(), participant.id)) {
+            break;
+        }
+
+        // Only send the updates which change the participant info, e.g. names and roles.
+        const oldParticipantInfo: any = participantToParticipantInfo(oldParticipant);
+        const participantInfo: any = participantToParticipantInfo(participant);
+
+        if (Object.keys(participantInfo).some(key => participantInfo[key] !== oldParticipantInfo[key])) {
+            sendEvent(store, type, participantInfo /* data */);
+        }
+        break;
+    }
+
     case READY_TO_CLOSE:
         sendEvent(store, type, /* data */ {});
         break;
@@ -331,94 +357,199 @@ externalAPIEnabled && StateListenerRegistry.register(
     }, 100));
 
 /**
- * Registers for events sent from the native side via NativeEventEmitter.
+ * Gets the handlers of the commands sent from the native side, by the name of
+ * the event carrying them.
  *
  * @param {Store} store - The redux store.
  * @private
- * @returns {void}
+ * @returns {Object}
  */
-function _registerForNativeEvents(store: IStore) {
+function _getCommandHandlers(store: IStore): { [key: string]: (data: any) => any; } {
     const { getState, dispatch } = store;
 
-    eventEmitter.addListener(ExternalAPI.HANG_UP, () => {
-        dispatch(appNavigate(undefined));
-    });
+    return {
+        [ExternalAPI.HANG_UP]: () => {
+            dispatch(appNavigate(undefined));
+        },
 
-    eventEmitter.addListener(ExternalAPI.SET_AUDIO_MUTED, ({ muted }: any) => {
-        dispatch(muteLocal(muted, MEDIA_TYPE.AUDIO));
-    });
+        [ExternalAPI.SET_AUDIO_MUTED]: ({ muted }: any) => {
+            dispatch(muteLocal(muted, MEDIA_TYPE.AUDIO));
 
-    eventEmitter.addListener(ExternalAPI.SET_VIDEO_MUTED, ({ muted }: any) => {
-        dispatch(muteLocal(muted, MEDIA_TYPE.VIDEO));
-    });
+            // Muting may be refused, e.g. by A/V moderation, report what we ended up with.
+            return { muted: Boolean(getState()['features/base/media'].audio.muted) };
+        },
 
-    eventEmitter.addListener(ExternalAPI.SEND_ENDPOINT_TEXT_MESSAGE, ({ to, message }: any) => {
-        const conference = getCurrentConference(getState());
+        [ExternalAPI.SET_VIDEO_MUTED]: ({ muted }: any) => {
+            dispatch(muteLocal(muted, MEDIA_TYPE.VIDEO));
 
-        try {
-            conference?.sendEndpointMessage(to, {
-                name: ENDPOINT_TEXT_MESSAGE_NAME,
-                text: message
-            });
-        } catch (error) {
-            logger.warn('Cannot send endpointMessage', error);
-        }
-    });
+            return { muted: Boolean(getState()['features/base/media'].video.muted) };
+        },
 
-    eventEmitter.addListener(ExternalAPI.TOGGLE_SCREEN_SHARE, ({ enabled }: any) => {
-        dispatch(toggleScreensharing(enabled));
-    });
+        [ExternalAPI.SEND_ENDPOINT_TEXT_MESSAGE]: ({ to, message }: any) => {
+            const conference = getCurrentConference(getState());
 
-    eventEmitter.addListener(ExternalAPI.RETRIEVE_PARTICIPANTS_INFO, ({ requestId }: any) => {
+            try {
+                conference?.sendEndpointMessage(to, {
+                    name: ENDPOINT_TEXT_MESSAGE_NAME,
+                    text: message
+                });
+            } catch (error) {
+                logger.warn('Cannot send endpointMessage', error);
+            }
+        },
 
-        const participantsInfo = [];
-        const remoteParticipants = getRemoteParticipants(store);
-        const localParticipant = getLocalParticipant(store);
+        [ExternalAPI.TOGGLE_SCREEN_SHARE]: ({ enabled }: any) => {
+            dispatch(toggleScreensharing(enabled));
+        },
 
-        localParticipant && participantsInfo.push(participantToParticipantInfo(localParticipant));
-        remoteParticipants.forEach(participant => {
-            if (!participant.fakeParticipant) {
-                participantsInfo.push(participantToParticipantInfo(participant));
-            }
-        });
+        [ExternalAPI.RETRIEVE_PARTICIPANTS_INFO]: ({ requestId, offset = 0, limit = 0 }: any) => {
 
-        sendEvent(
-            store,
-            PARTICIPANTS_INFO_RETRIEVED,
-            /* data */ {
-                participantsInfo,
-                requestId
+            const participants = [];
+            const remoteParticipants = getRemoteParticipants(store);
+            const localParticipant = getLocalParticipant(store);
+
+            localParticipant && participants.push(localParticipant);
+            remoteParticipants.forEach(participant => {
+                if (!participant.fakeParticipant) {
+                    participants.push(participant);
+                }
             });
-    });
 
-    eventEmitter.addListener(ExternalAPI.OPEN_CHAT, ({ to }: any) => {
-        const participant = getParticipantById(store, to);
+            // Only the requested page is converted and sent, a limit of 0 means all of them.
+            const page = participants.slice(offset, limit > 0 ? offset + limit : undefined);
+
+            sendEvent(
+                store,
+                PARTICIPANTS_INFO_RETRIEVED,
+                /* data */ {
+                    participantsInfo: page.map(participantToParticipantInfo),
+                    requestId,
+                    offset,
+                    total: participants.length
+                });
+        },
+
+        [ExternalAPI.OPEN_CHAT]: ({ to }: any) => {
+            const participant = getParticipantById(store, to);
 
-        dispatch(openChat(participant));
-    });
+            dispatch(openChat(participant));
+        },
 
-    eventEmitter.addListener(ExternalAPI.CLOSE_CHAT, () => {
-        dispatch(closeChat());
-    });
+        [ExternalAPI.CLOSE_CHAT]: () => {
+            dispatch(closeChat());
+        },
 
-    eventEmitter.addListener(ExternalAPI.SEND_CHAT_MESSAGE, ({ message, to }: any) => {
-        const participant = getParticipantById(store, to);
+        [ExternalAPI.SEND_CHAT_MESSAGE]: ({ message, to }: any) => {
+            const participant = getParticipantById(store, to);
 
-        if (participant) {
-            dispatch(setPrivateMessageRecipient(participant));
-        }
+            if (participant) {
+                dispatch(setPrivateMessageRecipient(participant));
+            }
 
-        dispatch(sendMessage(message));
-    });
+            dispatch(sendMessage(message));
+        },
 
-    eventEmitter.addListener(ExternalAPI.SET_CLOSED_CAPTIONS_ENABLED,
-        ({ enabled, displaySubtitles, language }: any) => {
+        [ExternalAPI.SET_CLOSED_CAPTIONS_ENABLED]: ({ enabled, displaySubtitles, language }: any) => {
             dispatch(setRequestingSubtitles(enabled, displaySubtitles, language));
+        },
+
+        [ExternalAPI.TOGGLE_CAMERA]: () => {
+            dispatch(toggleCameraFacingMode());
+        }
+    };
+}
+
+/**
+ * Executes a command sent from the native side. Failures are logged and, if the
+ * native side waits for the outcome of the command (i.e. it has a commandId),
+ * the result or error is sent back.
+ *
+ * @param {string} type - The name of the event carrying the command.
+ * @param {Function} handler - The handler of the command.
+ * @param {Object} data - The payload of the command.
+ * @private
+ * @returns {void}
+ */
+function _executeCommand(type: string, handler: (data: any) => any, data: any) {
+    const commandId = data?.commandId;
+    let result;
+
+    try {
+        result = handler(data);
+    } catch (error) {
+        logger.error(`Failed to execute ${type}`, error);
+        commandId && _sendCommandResult(commandId, undefined, error);
+
+        return;
+    }
+
+    commandId && Promise.resolve(result).then(
+        value => _sendCommandResult(commandId, value),
+        error => _sendCommandResult(commandId, undefined, error));
+}
+
+/**
+ * Sends the outcome of a command to the native side.
+ *
+ * @param {string} commandId - The correlation id of the command.
+ * @param {*} result - The result of the command, if it succeeded.
+ * @param {*} error - The error, if it failed.
+ * @private
+ * @returns {void}
+ */
+function _sendCommandResult(commandId: string, result?: any, error?: any) {
+    if (!ExternalAPI.sendCommandResult) {
+        return;
+    }
+
+    if (error) {
+        ExternalAPI.sendCommandResult(commandId, null, String(error?.message ?? error));
+    } else {
+        ExternalAPI.sendCommandResult(commandId, typeof result === 'object' && result !== null ? result : {}, null);
+    }
+}
+
+/**
+ * Registers for events sent from the native side via NativeEventEmitter.
+ *
+ * @param {Store} store - The redux store.
+ * @private
+ * @returns {void}
+ */
+function _registerForNativeEvents(store: IStore) {
+    const handlers = _getCommandHandlers(store);
+
+    Object.keys(handlers).forEach(name => eventEmitter.addListener(name,
+        (data: any) => _executeCommand(name, handlers[name], data)));
+
+    // Batches of commands, see CommandBatch in the Android SDK.
+    if (ExternalAPI.EXECUTE_COMMANDS) {
+        eventEmitter.addListener(ExternalAPI.EXECUTE_COMMANDS, (commands: Array<{ data: any; type: string; }>) => {
+            // Apply the whole batch, in order. Each command is still its own dispatch, only the
+            // React re-renders they cause are coalesced.
+            batch(() => {
+                commands.forEach(({ type, data }) => {
+                    const handler = handlers[type];
+
+                    if (handler) {
+                        _executeCommand(type, handler, data);
+                    } else {
+                        logger.warn(`Unknown command in batch: ${type}`);
+                    }
+                });
+            });
+        });
+    }
+
+    // Only the Android SDK filters the events.
+    if (ExternalAPI.SET_EVENT_SUBSCRIPTIONS) {
+        eventEmitter.addListener(ExternalAPI.SET_EVENT_SUBSCRIPTIONS, ({ mask }: any) => {
+            setEventSubscriptions(mask);
         });
 
-    eventEmitter.addListener(ExternalAPI.TOGGLE_CAMERA, () => {
-        dispatch(toggleCameraFacingMode());
-    });
+        // The mask may have changed before we started listening.
+        ExternalAPI.requestEventSubscriptions();
+    }
 }
 
 /**
@@ -439,6 +570,8 @@ function _unregisterForNativeEvents() {
     eventEmitter.removeAllListeners(ExternalAPI.SEND_CHAT_MESSAGE);
     eventEmitter.removeAllListeners(ExternalAPI.SET_CLOSED_CAPTIONS_ENABLED);
     eventEmitter.removeAllListeners(ExternalAPI.TOGGLE_CAMERA);
+    ExternalAPI.EXECUTE_COMMANDS && eventEmitter.removeAllListeners(ExternalAPI.EXECUTE_COMMANDS);
+    ExternalAPI.SET_EVENT_SUBSCRIPTIONS && eventEmitter.removeAllListeners(ExternalAPI.SET_EVENT_SUBSCRIPTIONS);
 }
 
 /**